@@ -8,6 +8,7 @@ import os
 from typing import Dict
 
 import httpx
+from pydantic import BaseModel
 
 from skin_fusion import run_fusion_from_request
 from es_ltr_online import recommend_for_request
@@ -32,7 +33,8 @@ app.add_middleware(
 @app.post("/analyze-and-recommend")
 async def analyze_and_recommend(
     image_url: str = Form(...),
-    survey: str = Form(...)
+    survey: str = Form(...),
+    include_recommendations: bool = Form(True)
 ):
 
     # image_url 입력 검증
@@ -71,8 +73,8 @@ async def analyze_and_recommend(
     # 분석 파이프라인
     fusion = run_fusion_from_request(img_path, survey_dict)
 
-    # LTR 추천
-    recommendations = recommend_for_request(fusion, topk=3)
+    # LTR 추천 (백엔드가 추천 캐시를 쓰면 false 로 보내고 /recommend 를 따로 호출)
+    recommendations = recommend_for_request(fusion, topk=3) if include_recommendations else []
 
     return {
         "status": "success",
@@ -82,6 +84,25 @@ async def analyze_and_recommend(
     }
 
 
+class RecommendRequest(BaseModel):
+    fusion: Dict
+    topk: int = 3
+
+
+# fusion 결과만으로 추천 (ES + LTR), 동기 함수라 threadpool 에서 실행
+@app.post("/recommend")
+def recommend(req: RecommendRequest):
+    try:
+        recommendations = recommend_for_request(req.fusion, topk=req.topk)
+    except Exception as e:
+        return {"error": "추천 생성에 실패했습니다.", "detail": str(e)}
+
+    return {
+        "status": "success",
+        "recommendations": recommendations
+    }
+
+
 # 헬스체크
 @app.get("/health")
 def health_check():
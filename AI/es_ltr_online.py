@@ -263,6 +263,12 @@ def _topk_per_category(ranked: List[dict], k: int = 3) -> List[dict]:
 def recommend_for_request(fusion_json: dict, topk: int = 3) -> List[dict]:
 
     raw = search_candidates(fusion_json, per_cat=15)
+    return rank_candidates(raw, fusion_json, topk=topk)
+
+
+def rank_candidates(raw: Dict[str, List[dict]], fusion_json: dict, topk: int = 3) -> List[dict]:
+    # 카테고리별 후보 → featurize → XGBoost → 카테고리별 top-k
+    # (export_ltr_catalog.py 가 ES 없이 catalog.json 후보로 골든셋을 만들 때도 같은 경로를 씀)
     X, groups, info = featurize(raw, fusion_json)
 
     dtest = xgb.DMatrix(X)
@@ -0,0 +1,175 @@
+#export_ltr_catalog
+# 백엔드(Java) 로컬 추천 엔진용 카탈로그 / 골든셋 내보내기
+#
+#   python export_ltr_catalog.py --out ltr_export            # catalog.json + ltr_booster.json
+#   python export_ltr_catalog.py --out ltr_export --golden 32 # + golden.json (실제 ES + XGBoost 결과)
+#   python export_ltr_catalog.py --out ltr_export --golden 8 \
+#       --catalog ../backend-fresh-clean/src/test/resources/ltr/catalog.json
+#                                                            # ES 없이, 주어진 catalog.json 후보 + 실제 XGBoost 로 golden.json 만
+#
+# catalog.json
+# - products : ES(cosmetics_demo) 문서 전체 (review_text 제외, review_vector 포함)
+# - queries  : search_candidates 가 만드는 쿼리 문장 → 임베딩
+#              Java 에서는 문장 인코더를 돌릴 수 없으므로 skin_type(4) x skin_mbti(16) 조합을 미리 인코딩
+# golden.json
+# - fusion 별 recommend_for_request 결과 (product_id / score_es / score_ltr 순서 그대로)
+#   → 백엔드 LtrRecommenderTest 가 같은 순서 / 점수를 내는지 확인
+# - generated_by : 만든 XGBoost 버전 (직접 평가기로 만든 골든셋과 구분)
+
+import argparse
+import itertools
+import json
+import os
+import shutil
+import time
+
+import numpy as np
+import xgboost as xgb
+from elasticsearch import helpers
+
+from es_ltr_online import CATEGORIES, get_es, get_model, rank_candidates, recommend_for_request, _mbti_to_text
+
+INDEX_NAME = "cosmetics_demo"
+SKIN_TYPES = ["지성", "건성", "복합성", "중성"]
+
+SOURCE_FIELDS = [
+    "product_id",
+    "category",
+    "productName",
+    "brand",
+    "salePrice",
+    "ingredients",
+    "averageReviewScore",
+    "totalReviewCount",
+    "image_url",
+    "xai_keywords",
+    "review_vector",
+]
+
+
+def query_text(skin_type: str, mbti: str) -> str:
+    # search_candidates 와 같은 규칙
+    qtext = (skin_type + " " + _mbti_to_text(mbti)).strip()
+    return qtext or skin_type or "피부"
+
+
+def all_mbti():
+    return ["".join(p) for p in itertools.product("OD", "SR", "PN", "TW")]
+
+
+def export_products():
+    es = get_es()
+    products = []
+    for doc in helpers.scan(es, index=INDEX_NAME, query={"query": {"match_all": {}}}, _source=SOURCE_FIELDS):
+        src = doc["_source"]
+        if src.get("category") not in CATEGORIES or not src.get("review_vector"):
+            continue
+        src["xai_keywords"] = src.get("xai_keywords") or []
+        products.append(src)
+    return products
+
+
+def export_queries():
+    model = get_model()
+    texts = sorted({query_text(t, m) for t in SKIN_TYPES for m in all_mbti()})
+    vectors = model.encode(texts)
+    return {t: v.tolist() for t, v in zip(texts, vectors)}
+
+
+def golden_fusions(n: int):
+    # 지수 high / 그 외 경계를 양쪽으로 걸치도록 격자에서 고름
+    grid = {
+        "oil": [0.5, 1.2, 2.1],
+        "dry": [1.0, 2.5, 3.0],
+        "sensitivity": [0.6, 1.1, 1.8],
+        "wrinkle": [0.9, 1.5],
+        "pigment": [1.0, 1.5, 2.2],
+    }
+    out = []
+    for i, values in enumerate(itertools.product(*grid.values())):
+        if len(out) >= n:
+            break
+        indices = dict(zip(grid.keys(), values))
+        mbti = all_mbti()[i % 16]
+        out.append({"skin_type": SKIN_TYPES[i % len(SKIN_TYPES)], "skin_mbti": mbti, "indices": indices})
+    return out
+
+
+def catalog_candidates(catalog: dict, fusion: dict, per_cat: int = 15):
+    # search_candidates 의 ES script_score(cosineSimilarity + 1.0, float32 _score)를 catalog.json 으로 재현
+    qtext = query_text(fusion.get("skin_type", ""), fusion.get("skin_mbti", ""))
+    qvec = np.asarray(catalog["queries"][qtext], dtype=np.float32)
+    out = {}
+    for cat in CATEGORIES:
+        rows = []
+        for p in catalog["products"]:
+            if p.get("category") != cat:
+                continue
+            vec = np.asarray(p["review_vector"], dtype=np.float32)
+            cos = np.dot(qvec, vec) / (np.linalg.norm(qvec) * np.linalg.norm(vec))
+            row = {k: v for k, v in p.items() if k != "review_vector"}
+            row["score_es"] = float(np.float32(cos + 1.0))
+            row["xai_keywords"] = row.get("xai_keywords") or []
+            rows.append(row)
+        rows.sort(key=lambda r: r["score_es"], reverse=True)
+        out[cat] = rows[:per_cat]
+    return out
+
+
+def export_golden(n: int, catalog: dict = None):
+    cases = []
+    for fusion in golden_fusions(n):
+        if catalog is None:
+            recs = recommend_for_request(fusion, topk=3)
+        else:
+            recs = rank_candidates(catalog_candidates(catalog, fusion), fusion, topk=3)
+        cases.append({
+            "fusion": fusion,
+            "expected": [
+                {"product_id": r["product_id"], "score_es": r["score_es"], "score_ltr": r["score_ltr"]}
+                for r in recs
+            ],
+        })
+    return {"generated_by": f"xgboost {xgb.__version__}", "topk": 3, "cases": cases}
+
+
+def write_golden(out_dir: str, n: int, catalog: dict = None):
+    with open(os.path.join(out_dir, "golden.json"), "w", encoding="utf-8") as f:
+        json.dump(export_golden(n, catalog), f, ensure_ascii=False, indent=1)
+    print(f"[INFO] golden cases={n}")
+
+
+def main():
+    parser = argparse.ArgumentParser()
+    parser.add_argument("--out", default="ltr_export")
+    parser.add_argument("--golden", type=int, default=0, help="골든셋 fusion 수 (0 이면 생략)")
+    parser.add_argument("--catalog", help="이미 있는 catalog.json 으로 골든셋만 생성 (ES / 문장 인코더 불필요)")
+    args = parser.parse_args()
+
+    os.makedirs(args.out, exist_ok=True)
+
+    if args.catalog:
+        with open(args.catalog, encoding="utf-8") as f:
+            write_golden(args.out, max(args.golden, 1), json.load(f))
+        return
+
+    products = export_products()
+    queries = export_queries()
+    catalog = {
+        "version": time.strftime("%Y%m%d%H%M%S"),
+        "dim": len(next(iter(queries.values()))),
+        "categories": CATEGORIES,
+        "queries": queries,
+        "products": products,
+    }
+    with open(os.path.join(args.out, "catalog.json"), "w", encoding="utf-8") as f:
+        json.dump(catalog, f, ensure_ascii=False)
+    shutil.copyfile("ltr_booster.json", os.path.join(args.out, "ltr_booster.json"))
+    print(f"[INFO] products={len(products)} queries={len(queries)} → {args.out}")
+
+    if args.golden > 0:
+        write_golden(args.out, args.golden)
+
+
+if __name__ == "__main__":
+    main()
@@ -20,6 +20,7 @@ import java.util.Map;
 public class CustomOAuth2UserService extends DefaultOAuth2UserService {
 
     private final UserRepository userRepository;
+    private final UserPrincipalCache principalCache;
 
     @Override
     public OAuth2User loadUser(OAuth2UserRequest userRequest) throws OAuth2AuthenticationException {
@@ -69,7 +70,9 @@ public class CustomOAuth2UserService extends DefaultOAuth2UserService {
                             .createdAt(existingUser.getCreatedAt())
                             .updatedAt(OffsetDateTime.now())
                             .build();
-                    return userRepository.save(updatedUser);
+                    User saved = userRepository.save(updatedUser);
+                    principalCache.evict(saved.getId());
+                    return saved;
                 })
                 .orElseGet(() -> {
                     // 새 사용자 생성
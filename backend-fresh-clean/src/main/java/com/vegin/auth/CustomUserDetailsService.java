@@ -29,7 +29,7 @@ public class CustomUserDetailsService implements UserDetailsService {
         );
     }
 
-    public UserDetails loadUserById(Long id) {
+    public UserPrincipal loadUserById(Long id) {
         var user = userRepository.findById(id)
                 .orElseThrow(() -> new UsernameNotFoundException("Not found ID=" + id));
 
@@ -1,6 +1,7 @@
 package com.vegin.auth;
 
 import com.vegin.common.ApiResponse;
+import com.vegin.external.service.FastApiUnavailableException;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.ConstraintViolationException;
 import org.springframework.http.HttpStatus;
@@ -9,6 +10,7 @@ import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.resource.NoResourceFoundException;
 
 @RestControllerAdvice
@@ -69,6 +71,23 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.error(400, e.getMessage()));
     }
 
+    // FastAPI 호출 불가 (서킷 OPEN / 동시 호출 한도 / 시간 초과) → 503
+    @ExceptionHandler(FastApiUnavailableException.class)
+    public ResponseEntity<ApiResponse<?>> handleFastApiUnavailable(FastApiUnavailableException e) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(ApiResponse.error(503, e.getMessage()));
+    }
+
+    // 상태 코드를 직접 지정한 예외 (411 / 413 / 503 등)
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<ApiResponse<?>> handleResponseStatus(ResponseStatusException e) {
+        int status = e.getStatusCode().value();
+        return ResponseEntity
+                .status(status)
+                .body(ApiResponse.error(status, e.getReason()));
+    }
+
     // 그 외 모든 오류 (서버 내부)
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiResponse<?>> handleException(Exception e) {
@@ -6,9 +6,9 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -20,8 +20,14 @@ import java.io.IOException;
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final JwtTokenProvider jwtTokenProvider;
+    private static final String MODE_STATELESS = "stateless";
+
+    private final VerifiedTokenCache verifiedTokenCache;
     private final CustomUserDetailsService userDetailsService;
+    private final UserPrincipalCache principalCache;
+
+    @Value("${jwt.principal.mode:stateless}")
+    private String principalMode;
 
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
@@ -39,15 +45,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String token = resolveToken(request);
 
         try {
-            if (token != null && jwtTokenProvider.validateToken(token)) {
-                Long userId = jwtTokenProvider.extractUserId(token);
-                UserDetails userDetails = userDetailsService.loadUserById(userId);
+            VerifiedToken verified = token != null ? verifiedTokenCache.verify(token).orElse(null) : null;
+            if (verified != null) {
+                UserPrincipal principal = resolvePrincipal(verified);
 
                 UsernamePasswordAuthenticationToken auth =
                         new UsernamePasswordAuthenticationToken(
-                                userDetails,
+                                principal,
                                 null,
-                                userDetails.getAuthorities()
+                                principal.getAuthorities()
                         );
                 auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(auth);
@@ -61,6 +67,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * - stateless : 검증된 토큰의 userId, sub(email)로 바로 principal 생성 → 요청당 DB 조회 없음
+     * - lookup    : users 테이블에서 조회 (UserPrincipalCache 로 짧게 캐시)
+     */
+    private UserPrincipal resolvePrincipal(VerifiedToken verified) {
+        Long userId = verified.userId();
+        if (userId == null) {
+            throw new IllegalArgumentException("userId claim 이 없습니다.");
+        }
+        if (MODE_STATELESS.equals(principalMode)) {
+            return UserPrincipal.fromClaims(userId, verified.email());
+        }
+        return principalCache.get(userId, userDetailsService::loadUserById);
+    }
+
     private String resolveToken(HttpServletRequest request) {
         String header = request.getHeader("Authorization");
         if (header == null || !header.startsWith("Bearer ")) {
@@ -2,16 +2,26 @@ package com.vegin.auth;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
 
+/**
+ * JWT 발급 / 검증
+ * - 서명 키와 parser 는 처음 쓸 때 한 번만 만들고 재사용 (JwtParser 는 불변이라 스레드 안전)
+ * - 요청마다 parseClaims 한 번으로 검증 + claim 추출 (앞단에 VerifiedTokenCache)
+ */
+@Slf4j
 @Component
 public class JwtTokenProvider {
 
@@ -21,8 +31,25 @@ public class JwtTokenProvider {
     @Value("${jwt.expiration}")
     private long expiration;
 
+    private volatile Key key;
+    private volatile JwtParser parser;
+
     private Key getKey() {
-        return Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+        Key k = key;
+        if (k == null) {
+            k = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+            key = k;
+        }
+        return k;
+    }
+
+    private JwtParser getParser() {
+        JwtParser p = parser;
+        if (p == null) {
+            p = Jwts.parserBuilder().setSigningKey(getKey()).build();
+            parser = p;
+        }
+        return p;
     }
 
     public String generateToken(Long userId, String email) {
@@ -30,6 +57,7 @@ public class JwtTokenProvider {
         Date expiry = new Date(now.getTime() + expiration);
 
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString())   // jti: 로그아웃 시 토큰 단위 폐기용
                 .setSubject(email)
                 .claim("userId", userId)
                 .setIssuedAt(now)
@@ -38,21 +66,40 @@ public class JwtTokenProvider {
                 .compact();
     }
 
-    public boolean validateToken(String token) {
+    /**
+     * 서명 / 만료 검증 후 claims 반환 (유효하지 않으면 empty)
+     */
+    public Optional<Claims> parseClaims(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(getKey()).build().parseClaimsJws(token);
-            return true;
+            return Optional.of(getParser().parseClaimsJws(token).getBody());
         } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            log.debug("[JWT] invalid token: {}", e.getMessage());
+            return Optional.empty();
         }
     }
 
+    /**
+     * parseClaims + 필요한 값만 꺼낸 불변 객체 (VerifiedTokenCache 에 저장)
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        return parseClaims(token).map(claims -> new VerifiedToken(
+                extractUserId(claims),
+                claims.getSubject(),
+                claims.getId(),
+                claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null
+        ));
+    }
+
+    public boolean validateToken(String token) {
+        return parseClaims(token).isPresent();
+    }
+
     public Long extractUserId(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return extractUserId(getParser().parseClaimsJws(token).getBody());
+    }
+
+    public Long extractUserId(Claims claims) {
         return claims.get("userId", Long.class);
     }
 
@@ -60,7 +107,3 @@ public class JwtTokenProvider {
         return expiration;
     }
 }
-
-
-
-
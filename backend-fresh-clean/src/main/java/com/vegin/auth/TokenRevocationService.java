@@ -0,0 +1,221 @@
+package com.vegin.auth;
+
+import com.vegin.common.BloomFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JWT 폐기(로그아웃 / 사용자 차단) 목록
+ *
+ * Redis (원본, 모든 노드 공유)
+ * - auth:revoked       ZSET  member=jti,    score=토큰 만료 시각(epoch sec)
+ * - auth:revoked-users ZSET  member=userId, score=폐기 시각(epoch sec, 올림) → 그 초까지 발급된 토큰 전부 거절
+ * - auth:revocations   pub/sub 채널, 다른 노드에 즉시 전파 ("jti:{jti}" / "user:{userId}:{revokedAtSec}")
+ *
+ * 노드 로컬
+ * - 폐기된 jti 의 Bloom filter : 대부분의 요청(폐기 안 된 토큰)은 Redis 를 거치지 않고 통과
+ *   Bloom 이 "있을 수도" 라고 할 때만 Redis ZSCORE 로 확인 (오탐 제거)
+ * - 차단된 userId → 폐기 시각 Map (건수가 적어 그대로 보관)
+ * - resync-ms 마다 Redis 에서 다시 읽어 교체 (만료된 jti 정리 + pub/sub 유실 보정)
+ */
+@Slf4j
+@Component
+public class TokenRevocationService implements MessageListener {
+
+    public static final String CHANNEL = "auth:revocations";
+    private static final String REVOKED_TOKENS_KEY = "auth:revoked";
+    private static final String REVOKED_USERS_KEY = "auth:revoked-users";
+
+    private final StringRedisTemplate redis;
+    private final boolean enabled;
+    private final int expectedRevocations;
+    private final double bloomFpp;
+    private final long tokenLifetimeMs;
+
+    private volatile BloomFilter revokedJtis;
+    private final Map<Long, Long> revokedUsers = new ConcurrentHashMap<>();
+    // resync 도중 도착한 jti 를 새 Bloom 에도 넣기 위해 잠시 보관 (jti → 받은 시각 ms)
+    private final Map<String, Long> recentJtis = new ConcurrentHashMap<>();
+
+    public TokenRevocationService(
+            StringRedisTemplate redis,
+            @Value("${jwt.revocation.enabled:true}") boolean enabled,
+            @Value("${jwt.revocation.expected-revocations:100000}") int expectedRevocations,
+            @Value("${jwt.revocation.bloom-fpp:0.01}") double bloomFpp,
+            @Value("${jwt.expiration}") long tokenLifetimeMs
+    ) {
+        this.redis = redis;
+        this.enabled = enabled;
+        this.expectedRevocations = expectedRevocations;
+        this.bloomFpp = bloomFpp;
+        this.tokenLifetimeMs = tokenLifetimeMs;
+        this.revokedJtis = BloomFilter.create(expectedRevocations, bloomFpp);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 토큰 1개 폐기 (로그아웃)
+     */
+    public void revoke(VerifiedToken token) {
+        if (!enabled) {
+            return;
+        }
+        if (token.jti() == null) {
+            log.info("[Auth] jti 없는 토큰이라 개별 폐기 불가 (만료까지 유효). userId={}", token.userId());
+            return;
+        }
+        long expiresAtSec = token.expiresAt() != null
+                ? token.expiresAt().getEpochSecond()
+                : Instant.now().plusMillis(tokenLifetimeMs).getEpochSecond();
+
+        redis.opsForZSet().add(REVOKED_TOKENS_KEY, token.jti(), expiresAtSec);
+        addLocal(token.jti());
+        publish("jti:" + token.jti());
+        log.info("[Auth] token revoked. userId={} jti={}", token.userId(), token.jti());
+    }
+
+    /**
+     * 사용자의 지금까지 발급된 토큰 전부 폐기 (UserService.changePassword, 이후 차단 / 탈퇴 흐름도 여기로)
+     */
+    public void revokeUser(Long userId) {
+        if (!enabled) {
+            return;
+        }
+        // iat 은 초 단위 → 올림해야 폐기 직전(같은 초)에 발급된 토큰도 거절됨
+        long revokedAtSec = Math.floorDiv(System.currentTimeMillis() + 999, 1000);
+        redis.opsForZSet().add(REVOKED_USERS_KEY, userId.toString(), revokedAtSec);
+        revokedUsers.merge(userId, revokedAtSec, Long::max);
+        publish("user:" + userId + ":" + revokedAtSec);
+        log.info("[Auth] all tokens revoked. userId={}", userId);
+    }
+
+    /**
+     * 요청마다 호출 (VerifiedTokenCache)
+     * - 차단 사용자 : 로컬 Map
+     * - jti        : 로컬 Bloom → 걸린 경우만 Redis 확인
+     */
+    public boolean isRevoked(VerifiedToken token) {
+        if (!enabled) {
+            return false;
+        }
+
+        // 폐기 시각(올림)과 같은 초까지 발급된 토큰 거절 → 폐기 직후 1~2초 안에 재발급된 토큰도 거절될 수 있음 (안전한 쪽)
+        Long userRevokedAtSec = revokedUsers.get(token.userId());
+        if (userRevokedAtSec != null
+                && (token.issuedAt() == null || token.issuedAt().getEpochSecond() <= userRevokedAtSec)) {
+            return true;
+        }
+
+        if (token.jti() == null || !revokedJtis.mightContain(token.jti())) {
+            return false;
+        }
+        try {
+            return redis.opsForZSet().score(REVOKED_TOKENS_KEY, token.jti()) != null;
+        } catch (DataAccessException e) {
+            // Bloom 에 걸린 토큰은 대부분 실제로 폐기된 것이므로 Redis 장애 시 거절 쪽으로 처리
+            log.warn("[Auth] 폐기 여부 확인 실패 → 거절. jti={} : {}", token.jti(), e.getMessage());
+            return true;
+        }
+    }
+
+    /**
+     * 다른 노드(또는 자신)가 발행한 폐기 메시지 수신
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            if (body.startsWith("jti:")) {
+                addLocal(body.substring(4));
+            } else if (body.startsWith("user:")) {
+                String[] parts = body.split(":");
+                revokedUsers.merge(Long.parseLong(parts[1]), Long.parseLong(parts[2]), Long::max);
+            } else {
+                log.warn("[Auth] 알 수 없는 폐기 메시지: {}", body);
+            }
+        } catch (RuntimeException e) {
+            log.warn("[Auth] 폐기 메시지 처리 실패: {}", body, e);
+        }
+    }
+
+    /**
+     * Redis 원본으로 로컬 상태 재구성
+     * - 만료된 jti / 토큰 수명이 지난 사용자 차단 기록 삭제
+     * - 새 Bloom 을 만든 뒤 교체 (Bloom 은 삭제가 안 되므로)
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${jwt.revocation.resync-ms:60000}")
+    public void resync() {
+        if (!enabled) {
+            return;
+        }
+        long startedAt = System.currentTimeMillis();
+        try {
+            long nowSec = startedAt / 1000;
+            redis.opsForZSet().removeRangeByScore(REVOKED_TOKENS_KEY, Double.NEGATIVE_INFINITY, nowSec);
+            Set<String> jtis = redis.opsForZSet().rangeByScore(REVOKED_TOKENS_KEY, nowSec, Double.POSITIVE_INFINITY);
+
+            long userCutoffSec = (startedAt - tokenLifetimeMs) / 1000;
+            redis.opsForZSet().removeRangeByScore(REVOKED_USERS_KEY, Double.NEGATIVE_INFINITY, userCutoffSec);
+            Set<ZSetOperations.TypedTuple<String>> users = redis.opsForZSet().rangeWithScores(REVOKED_USERS_KEY, 0, -1);
+
+            int size = jtis != null ? jtis.size() : 0;
+            BloomFilter next = BloomFilter.create(Math.max(expectedRevocations, size * 2), bloomFpp);
+            if (jtis != null) {
+                jtis.forEach(next::put);
+            }
+
+            Map<Long, Long> nextUsers = new HashMap<>();
+            if (users != null) {
+                for (ZSetOperations.TypedTuple<String> t : users) {
+                    if (t.getValue() != null && t.getScore() != null) {
+                        nextUsers.put(Long.parseLong(t.getValue()), t.getScore().longValue());
+                    }
+                }
+            }
+
+            revokedJtis = next;
+            // 읽는 사이 pub/sub 으로 들어온 jti 다시 반영, 오래된 것은 정리
+            recentJtis.forEach((jti, receivedAt) -> next.put(jti));
+            recentJtis.values().removeIf(receivedAt -> receivedAt < startedAt);
+
+            nextUsers.forEach((userId, at) -> revokedUsers.merge(userId, at, Long::max));
+            revokedUsers.entrySet().removeIf(e -> !nextUsers.containsKey(e.getKey())
+                    && e.getValue() < userCutoffSec);
+
+            log.debug("[Auth] revocation resync. tokens={} users={}", size, nextUsers.size());
+        } catch (DataAccessException e) {
+            log.warn("[Auth] revocation resync 실패, 이전 상태 유지 : {}", e.getMessage());
+        }
+    }
+
+    private void addLocal(String jti) {
+        revokedJtis.put(jti);
+        recentJtis.put(jti, System.currentTimeMillis());
+    }
+
+    private void publish(String message) {
+        try {
+            redis.convertAndSend(CHANNEL, message);
+        } catch (DataAccessException e) {
+            // 다른 노드는 다음 resync 때 반영
+            log.warn("[Auth] 폐기 메시지 발행 실패 : {}", e.getMessage());
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.vegin.auth;
 import com.vegin.module.users.Entity.User;
 import lombok.Getter;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
@@ -11,6 +12,9 @@ import java.util.List;
 @Getter
 public class UserPrincipal implements UserDetails {
 
+    private static final List<SimpleGrantedAuthority> USER_AUTHORITIES =
+            List.of(new SimpleGrantedAuthority("ROLE_USER"));
+
     private final Long id;
     private final String email;
     private final String password;
@@ -33,6 +37,13 @@ public class UserPrincipal implements UserDetails {
         );
     }
 
+    /**
+     * 검증된 JWT claims 만으로 만드는 principal (DB 조회 없음, password 없음)
+     */
+    public static UserPrincipal fromClaims(Long userId, String email) {
+        return new UserPrincipal(userId, email, null, USER_AUTHORITIES);
+    }
+
     @Override
     public String getUsername() {
         return email;
@@ -0,0 +1,60 @@
+package com.vegin.auth;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * userId → UserPrincipal 짧은 TTL 캐시 (jwt.principal.mode=lookup 일 때 사용)
+ * - 같은 사용자의 연속 요청마다 users 테이블을 다시 읽지 않도록 함
+ * - 사용자 정보가 바뀌면 evict, 다른 인스턴스는 TTL 만큼만 이전 값을 볼 수 있음
+ * - ttl-seconds=0 이면 캐시하지 않고 매번 loader 호출
+ */
+@Slf4j
+@Component
+public class UserPrincipalCache {
+
+    private record Entry(UserPrincipal principal, long expiresAtNanos) { }
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    @Value("${jwt.principal.cache-ttl-seconds:30}")
+    private long ttlSeconds;
+
+    @Value("${jwt.principal.cache-max-size:10000}")
+    private int maxSize;
+
+    public UserPrincipal get(Long userId, Function<Long, UserPrincipal> loader) {
+        if (ttlSeconds <= 0) {
+            return loader.apply(userId);
+        }
+
+        long now = System.nanoTime();
+        Entry entry = entries.get(userId);
+        if (entry != null && now - entry.expiresAtNanos() < 0) {
+            return entry.principal();
+        }
+
+        UserPrincipal principal = loader.apply(userId);
+        if (entries.size() >= maxSize) {
+            entries.values().removeIf(e -> now - e.expiresAtNanos() >= 0);
+            if (entries.size() >= maxSize) {
+                log.debug("[Auth] principal cache full, clearing. size={}", entries.size());
+                entries.clear();
+            }
+        }
+        entries.put(userId, new Entry(principal, now + TimeUnit.SECONDS.toNanos(ttlSeconds)));
+        return principal;
+    }
+
+    public void evict(Long userId) {
+        if (userId != null) {
+            entries.remove(userId);
+        }
+    }
+}
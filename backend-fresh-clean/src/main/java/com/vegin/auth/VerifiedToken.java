@@ -0,0 +1,20 @@
+package com.vegin.auth;
+
+import java.time.Instant;
+
+/**
+ * 서명 / 만료 검증이 끝난 JWT 에서 꺼낸 값
+ * - jti 는 이 기능 이전에 발급된 토큰에는 없을 수 있음 (개별 폐기 불가, 사용자 단위 폐기만 적용)
+ */
+public record VerifiedToken(
+        Long userId,
+        String email,
+        String jti,
+        Instant issuedAt,
+        Instant expiresAt
+) {
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+}
@@ -0,0 +1,93 @@
+package com.vegin.auth;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 최근 검증한 JWT 캐시 (토큰 SHA-256 → VerifiedToken, 토큰 만료 시각까지)
+ * - 같은 토큰의 연속 요청은 서명 검증 / claims 파싱을 다시 하지 않음
+ * - 폐기 여부는 캐시 적중이어도 매번 TokenRevocationService 로 확인 (로컬 Bloom / Map 이라 Redis 왕복 없음)
+ * - 토큰 원문 대신 해시를 키로 써서 메모리에 토큰이 그대로 남지 않게 함
+ * - max-size 를 넘으면 만료된 항목 정리, 그래도 가득이면 전체 비움
+ */
+@Slf4j
+@Component
+public class VerifiedTokenCache {
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final TokenRevocationService revocations;
+    private final int maxSize;
+    private final Map<String, VerifiedToken> entries = new ConcurrentHashMap<>();
+
+    public VerifiedTokenCache(
+            JwtTokenProvider jwtTokenProvider,
+            TokenRevocationService revocations,
+            @Value("${jwt.verified-cache.max-size:10000}") int maxSize
+    ) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.revocations = revocations;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * 유효하고 폐기되지 않은 토큰이면 VerifiedToken, 아니면 empty
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        Instant now = Instant.now();
+        String key = maxSize > 0 ? hash(token) : null;
+
+        VerifiedToken verified = key != null ? entries.get(key) : null;
+        if (verified != null && verified.isExpired(now)) {
+            entries.remove(key);
+            verified = null;
+        }
+        if (verified == null) {
+            verified = jwtTokenProvider.verify(token).orElse(null);
+            if (verified == null) {
+                return Optional.empty();
+            }
+            if (key != null) {
+                put(key, verified, now);
+            }
+        }
+
+        if (revocations.isRevoked(verified)) {
+            if (key != null) {
+                entries.remove(key);
+            }
+            log.debug("[Auth] revoked token rejected. userId={} jti={}", verified.userId(), verified.jti());
+            return Optional.empty();
+        }
+        return Optional.of(verified);
+    }
+
+    private void put(String key, VerifiedToken verified, Instant now) {
+        if (entries.size() >= maxSize) {
+            entries.values().removeIf(v -> v.isExpired(now));
+            if (entries.size() >= maxSize) {
+                log.debug("[Auth] verified token cache full, clearing. size={}", entries.size());
+                entries.clear();
+            }
+        }
+        entries.put(key, verified);
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 을 사용할 수 없습니다.", e);
+        }
+    }
+}
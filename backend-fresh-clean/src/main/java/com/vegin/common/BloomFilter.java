@@ -0,0 +1,84 @@
+package com.vegin.common;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 문자열용 Bloom filter (스레드 안전, 삭제 없음)
+ * - mightContain == false 면 확실히 없음, true 면 있을 수도 있음 (오탐률 ≈ fpp)
+ * - 항목을 빼야 하면 새로 만들어서 교체
+ */
+public final class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final int numBits;
+    private final int numHashes;
+
+    private BloomFilter(int numBits, int numHashes) {
+        this.numBits = numBits;
+        this.numHashes = numHashes;
+        this.bits = new AtomicLongArray((numBits + 63) >>> 6);
+    }
+
+    /**
+     * @param expectedInsertions 예상 항목 수
+     * @param fpp                목표 오탐률 (0 ~ 1)
+     */
+    public static BloomFilter create(int expectedInsertions, double fpp) {
+        if (expectedInsertions <= 0 || fpp <= 0 || fpp >= 1) {
+            throw new IllegalArgumentException("expectedInsertions > 0, 0 < fpp < 1 이어야 합니다.");
+        }
+        long m = (long) Math.ceil(-expectedInsertions * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        int numBits = (int) Math.min(Math.max(m, 64), Integer.MAX_VALUE - 63);
+        int numHashes = Math.max(1, (int) Math.round((double) numBits / expectedInsertions * Math.log(2)));
+        return new BloomFilter(numBits, numHashes);
+    }
+
+    public void put(String value) {
+        long h1 = hash(value);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1L;
+        for (int i = 0; i < numHashes; i++) {
+            int bit = (int) Math.floorMod(h1 + i * h2, (long) numBits);
+            int word = bit >>> 6;
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = bits.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!bits.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long h1 = hash(value);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1L;
+        for (int i = 0; i < numHashes; i++) {
+            int bit = (int) Math.floorMod(h1 + i * h2, (long) numBits);
+            if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // FNV-1a 64 + murmur3 fmix64
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= (b & 0xff);
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
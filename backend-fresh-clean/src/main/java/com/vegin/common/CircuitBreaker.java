@@ -0,0 +1,142 @@
+package com.vegin.common;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * 최근 N 번 호출 결과 기준 서킷 브레이커
+ * - CLOSED    : 정상 호출. 최근 windowSize 번 중 실패율이 failureRateThreshold 이상이면 OPEN
+ * - OPEN      : openDurationMs 동안 호출 자체를 막음 (바로 실패)
+ * - HALF_OPEN : OPEN 시간이 지나면 시험 호출 1건만 허용 → 성공이면 CLOSED, 실패면 다시 OPEN
+ *
+ * 임계 구역이 짧아서 락을 잡은 채로 블로킹하지 않음 (가상 스레드 pinning 없음)
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openDurationNanos;
+    private final LongSupplier nanoClock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final boolean[] outcomes;   // true = 실패
+    private int recorded;
+    private int cursor;
+    private int failures;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private boolean probeInFlight;
+
+    public CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold, long openDurationMs) {
+        this(windowSize, minimumCalls, failureRateThreshold, openDurationMs, System::nanoTime);
+    }
+
+    CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold, long openDurationMs,
+                   LongSupplier nanoClock) {
+        if (windowSize <= 0 || minimumCalls <= 0 || minimumCalls > windowSize) {
+            throw new IllegalArgumentException("windowSize / minimumCalls 설정이 올바르지 않습니다.");
+        }
+        this.windowSize = windowSize;
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationNanos = openDurationMs * 1_000_000L;
+        this.nanoClock = nanoClock;
+        this.outcomes = new boolean[windowSize];
+    }
+
+    /**
+     * 호출 가능 여부. true 를 받았으면 반드시 onSuccess / onFailure 중 하나를 호출해야 함
+     */
+    public boolean tryAcquire() {
+        lock.lock();
+        try {
+            switch (state) {
+                case CLOSED:
+                    return true;
+                case OPEN:
+                    if (nanoClock.getAsLong() - openedAt < openDurationNanos) {
+                        return false;
+                    }
+                    state = State.HALF_OPEN;
+                    probeInFlight = true;
+                    return true;
+                default: // HALF_OPEN
+                    if (probeInFlight) {
+                        return false;
+                    }
+                    probeInFlight = true;
+                    return true;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void onSuccess() {
+        lock.lock();
+        try {
+            if (state == State.HALF_OPEN) {
+                close();
+                return;
+            }
+            record(false);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void onFailure() {
+        lock.lock();
+        try {
+            if (state == State.HALF_OPEN) {
+                open();
+                return;
+            }
+            record(true);
+            if (state == State.CLOSED && recorded >= minimumCalls
+                    && failures * 100.0 / recorded >= failureRateThreshold) {
+                open();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public State getState() {
+        lock.lock();
+        try {
+            return state;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void record(boolean failure) {
+        if (recorded == windowSize) {
+            if (outcomes[cursor]) failures--;
+        } else {
+            recorded++;
+        }
+        outcomes[cursor] = failure;
+        if (failure) failures++;
+        cursor = (cursor + 1) % windowSize;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = nanoClock.getAsLong();
+        probeInFlight = false;
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        probeInFlight = false;
+        recorded = 0;
+        cursor = 0;
+        failures = 0;
+    }
+}
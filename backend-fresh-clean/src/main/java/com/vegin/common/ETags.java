@@ -0,0 +1,38 @@
+package com.vegin.common;
+
+/**
+ * 조건부 조회(If-None-Match) 용 ETag 유틸
+ * - ETag 는 강한 태그("...")로만 만들고, If-None-Match 비교는 약한 비교 (W/ 접두어 무시, RFC 9110 13.1.2)
+ * - If-None-Match 는 "a", "b" 목록 또는 * 가능
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String strong(String opaque) {
+        return "\"" + opaque + "\"";
+    }
+
+    /**
+     * @param ifNoneMatch 요청 헤더 (없으면 null)
+     * @param etag        현재 표현의 ETag (null 이면 비교하지 않음)
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        String current = opaque(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.strip();
+            if (tag.equals("*") || opaque(tag).equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String opaque(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+}
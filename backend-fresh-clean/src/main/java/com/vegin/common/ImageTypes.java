@@ -0,0 +1,35 @@
+package com.vegin.common;
+
+import java.util.Locale;
+
+/**
+ * 업로드 허용 이미지 형식 (jpeg / png / webp / heic) + 형식별 S3 key 확장자
+ * - 업로드 이미지는 공개 S3 / CloudFront URL 로 그대로 서빙되므로 image/* 전체가 아니라 이 목록만 허용
+ *   (image/svg+xml 같은 스크립트를 담을 수 있는 형식 차단)
+ */
+public final class ImageTypes {
+
+    private ImageTypes() {
+    }
+
+    public static boolean isAllowed(String contentType) {
+        return !extensionOf(contentType).isEmpty();
+    }
+
+    /**
+     * @return ".jpg" 등, 허용 목록에 없으면 ""
+     */
+    public static String extensionOf(String contentType) {
+        if (contentType == null) return "";
+        int semicolon = contentType.indexOf(';');
+        String mimeType = (semicolon >= 0 ? contentType.substring(0, semicolon) : contentType)
+                .strip().toLowerCase(Locale.ROOT);
+        return switch (mimeType) {
+            case "image/jpeg", "image/jpg" -> ".jpg";
+            case "image/png" -> ".png";
+            case "image/webp" -> ".webp";
+            case "image/heic" -> ".heic";
+            default -> "";
+        };
+    }
+}
@@ -1,12 +1,6 @@
 package com.vegin.common;
 
-import com.amazonaws.AmazonClientException;
-import com.amazonaws.AmazonServiceException;
-import com.amazonaws.auth.AWSStaticCredentialsProvider;
-import com.amazonaws.auth.BasicAWSCredentials;
-import com.amazonaws.services.s3.AmazonS3;
-import com.amazonaws.services.s3.AmazonS3ClientBuilder;
-import com.amazonaws.services.s3.model.ObjectMetadata;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -14,14 +8,42 @@ import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class S3Service {
 
+    // S3Config 에서 만든 공유 클라이언트 (요청마다 새로 만들지 않음)
+    private final S3AsyncClient s3;
+    private final S3Presigner presigner;
+
+    // InputStream → AsyncRequestBody 로 퍼올리는 블로킹 읽기 전용 (가상 스레드)
+    private final ExecutorService streamReader = Executors.newVirtualThreadPerTaskExecutor();
+
     @Value("${cloud.aws.s3.bucket}")
     private String bucket;
 
@@ -31,61 +53,151 @@ public class S3Service {
     @Value("${cloud.aws.s3.cloudfront-url:}")
     private String cloudfrontUrl;
 
-    @Value("${cloud.aws.access-key}")
-    private String accessKey;
-
-    @Value("${cloud.aws.secret-key}")
-    private String secretKey;
-
-    // 기존 구조: 매 요청 시 S3Client 생성 (Bean 안 써도 됨)
-    private AmazonS3 s3() {
-        return AmazonS3ClientBuilder.standard()
-                .withRegion(region)
-                .withCredentials(
-                        new AWSStaticCredentialsProvider(
-                                new BasicAWSCredentials(accessKey, secretKey)
-                        )
-                )
-                .build();
-    }
+    @Value("${cloud.aws.s3.upload-timeout-seconds:60}")
+    private long uploadTimeoutSeconds;
+
+    @Value("${cloud.aws.s3.presign-expiry-seconds:300}")
+    private long presignExpirySeconds;
 
     public void upload(MultipartFile file, String key) {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("file is empty");
+        }
+
+        try (InputStream in = file.getInputStream()) {
+            upload(in, file.getSize(), file.getContentType(), key);
+        } catch (IOException e) {
+            log.error("[S3:IO] {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "File IO error");
+        }
+    }
+
+    /**
+     * 스트림 업로드
+     * - 크기가 multipart 임계값 이상이면 클라이언트가 알아서 파트 병렬 업로드
+     * - 업로드 확인은 별도 HEAD(doesObjectExist) 없이 PUT 응답의 ETag 로 판단
+     *
+     * @return 업로드된 객체의 ETag
+     */
+    public String upload(InputStream in, long contentLength, String contentType, String key) {
+        String type = contentType != null ? contentType : "application/octet-stream";
+        log.info("[S3:PUT] bucket={} key={} size={} type={}", bucket, key, contentLength, type);
+
+        PutObjectRequest request = PutObjectRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .contentType(type)
+                .contentLength(contentLength)
+                .build();
+
         try {
-            if (file == null || file.isEmpty()) {
-                throw new IllegalArgumentException("file is empty");
+            PutObjectResponse response = s3
+                    .putObject(request, AsyncRequestBody.fromInputStream(in, contentLength, streamReader))
+                    .get(uploadTimeoutSeconds, TimeUnit.SECONDS);
+
+            String eTag = response.eTag();
+            if (eTag == null || eTag.isBlank()) {
+                throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Upload failed — empty ETag");
             }
 
-            ObjectMetadata metadata = new ObjectMetadata();
-            metadata.setContentLength(file.getSize());
-            metadata.setContentType(file.getContentType() != null
-                    ? file.getContentType()
-                    : "application/octet-stream");
+            log.info("[S3:OK] s3://{}/{} etag={}", bucket, key, eTag);
+            return eTag;
+
+        } catch (ExecutionException e) {
+            throw translate(e.getCause());
+        } catch (TimeoutException e) {
+            log.error("[S3:Timeout] key={} after {}s", key, uploadTimeoutSeconds);
+            throw new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, "S3 upload timeout");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "S3 upload interrupted");
+        }
+    }
 
-            log.info("[S3:PUT] bucket={} key={} size={} type={}", bucket, key, file.getSize(), metadata.getContentType());
+    /**
+     * 클라이언트 직접 업로드용 presigned PUT URL 발급
+     * - Content-Type / Content-Length 가 서명에 포함되므로 클라이언트는 같은 값으로만 업로드 가능
+     *   (다른 크기의 파일을 올리면 S3가 403 으로 거절 → 업로드 크기 제한이 S3 단에서 강제됨)
+     */
+    public PresignedUpload presignPut(String key, String contentType, long contentLength, long maxBytes) {
+        if (!ImageTypes.isAllowed(contentType)) {
+            throw new IllegalArgumentException("jpeg / png / webp / heic 이미지만 업로드할 수 있습니다.");
+        }
+        if (contentLength <= 0 || contentLength > maxBytes) {
+            throw new IllegalArgumentException("이미지 크기는 " + (maxBytes / (1024 * 1024)) + "MB 를 넘을 수 없습니다.");
+        }
 
-            s3().putObject(bucket, key, file.getInputStream(), metadata);
+        PutObjectRequest request = PutObjectRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .contentType(contentType)
+                .contentLength(contentLength)
+                .build();
 
-            // 업로드 후 즉시 존재 확인
-            boolean exists = s3().doesObjectExist(bucket, key);
-            if (!exists) {
-                throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Upload failed — object not found after putObject");
-            }
+        PresignedPutObjectRequest presigned = presigner.presignPutObject(PutObjectPresignRequest.builder()
+                .signatureDuration(Duration.ofSeconds(presignExpirySeconds))
+                .putObjectRequest(request)
+                .build());
 
-            log.info("[S3:OK] s3://{}/{}", bucket, key);
+        log.info("[S3:PRESIGN] key={} size={} type={} expiresAt={}", key, contentLength, contentType, presigned.expiration());
+        return new PresignedUpload(key, presigned.url().toString(), presigned.expiration());
+    }
 
-        } catch (AmazonServiceException e) {
-            log.error("[S3:Service] Error Code={} Msg={}", e.getErrorCode(), e.getMessage());
-            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "S3 service error: " + e.getErrorMessage());
-        } catch (AmazonClientException e) {
-            log.error("[S3:Client] {}", e.getMessage());
-            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "S3 client error");
-        } catch (IOException e) {
-            log.error("[S3:IO] {}", e.getMessage());
-            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "File IO error");
-        } catch (Exception e) {
-            log.error("[S3:Unknown] {}", e.getMessage(), e);
-            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Unexpected S3 error");
+    public record PresignedUpload(String key, String uploadUrl, Instant expiresAt) {
+    }
+
+    /**
+     * presigned URL 로 올라온 객체 확인 (HEAD)
+     * - key 가 기대한 prefix(사용자 폴더) 아래인지
+     * - 실제로 존재하는지 / 이미지인지 / 최대 크기 이하인지
+     */
+    public HeadObjectResponse verifyUpload(String key, String expectedPrefix, long maxBytes) {
+        if (key == null || !key.startsWith(expectedPrefix) || key.contains("..")) {
+            throw new IllegalArgumentException("업로드 key 가 올바르지 않습니다.");
+        }
+
+        HeadObjectResponse head;
+        try {
+            head = s3.headObject(HeadObjectRequest.builder().bucket(bucket).key(key).build())
+                    .get(uploadTimeoutSeconds, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof NoSuchKeyException
+                    || (e.getCause() instanceof S3Exception s3e && s3e.statusCode() == 404)) {
+                throw new IllegalArgumentException("업로드된 파일을 찾을 수 없습니다.");
+            }
+            throw translate(e.getCause());
+        } catch (TimeoutException e) {
+            log.error("[S3:Timeout] HEAD key={} after {}s", key, uploadTimeoutSeconds);
+            throw new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, "S3 head timeout");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "S3 head interrupted");
+        }
+
+        if (head.contentLength() == null || head.contentLength() <= 0 || head.contentLength() > maxBytes) {
+            throw new IllegalArgumentException("업로드된 파일 크기가 올바르지 않습니다.");
+        }
+        if (!ImageTypes.isAllowed(head.contentType())) {
+            throw new IllegalArgumentException("이미지 파일만 업로드할 수 있습니다.");
         }
+
+        log.info("[S3:HEAD] s3://{}/{} size={} type={}", bucket, key, head.contentLength(), head.contentType());
+        return head;
+    }
+
+    /**
+     * 객체 삭제 (실패해도 예외 없이 로그만, 완료를 기다리지 않음)
+     * - 요청이 중간에 실패해 DB 행 없이 남은 업로드 정리용
+     */
+    public void deleteQuietly(String key) {
+        s3.deleteObject(DeleteObjectRequest.builder().bucket(bucket).key(key).build())
+                .whenComplete((res, e) -> {
+                    if (e != null) {
+                        log.warn("[S3:DELETE] 실패 key={} : {}", key, e.getMessage());
+                    } else {
+                        log.info("[S3:DELETE] s3://{}/{}", bucket, key);
+                    }
+                });
     }
 
     public String getUrl(String key) {
@@ -97,4 +209,26 @@ public class S3Service {
         }
         return "https://" + bucket + ".s3." + region + ".amazonaws.com/" + key;
     }
+
+    private ResponseStatusException translate(Throwable cause) {
+        if (cause instanceof S3Exception e) {
+            log.error("[S3:Service] Error Code={} Msg={}",
+                    e.awsErrorDetails() != null ? e.awsErrorDetails().errorCode() : "?", e.getMessage());
+            return new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "S3 service error: " + e.getMessage());
+        }
+        if (cause instanceof SdkClientException e) {
+            log.error("[S3:Client] {}", e.getMessage());
+            return new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "S3 client error");
+        }
+        if (cause instanceof ResponseStatusException e) {
+            return e;
+        }
+        log.error("[S3:Unknown] {}", cause != null ? cause.getMessage() : "null", cause);
+        return new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Unexpected S3 error");
+    }
+
+    @PreDestroy
+    void shutdown() {
+        streamReader.shutdown();
+    }
 }
@@ -0,0 +1,97 @@
+package com.vegin.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Slf4j
+@Configuration
+@EnableScheduling   // TokenRevocationService.resync 등 @Scheduled 작업
+public class AsyncConfig {
+
+    /**
+     * 비동기 분석 작업(FastAPI 호출)용 워커 풀
+     * - 큐까지 가득 차면 AbortPolicy로 거절 → 호출 측에서 503 처리
+     * - 서블릿 스레드 / DB 커넥션을 FastAPI 응답 대기에 묶어두지 않기 위함
+     * - spring.threads.virtual.enabled=true 이면 플랫폼 스레드 풀 대신 가상 스레드 + 동시 실행 한도 사용
+     */
+    @Bean(name = "analysisExecutor")
+    public TaskExecutor analysisExecutor(
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+            @Value("${analysis.async.core-pool-size:4}") int corePoolSize,
+            @Value("${analysis.async.max-pool-size:16}") int maxPoolSize,
+            @Value("${analysis.async.queue-capacity:200}") int queueCapacity,
+            @Value("${analysis.async.virtual-max-concurrency:2000}") int virtualMaxConcurrency
+    ) {
+        if (virtualThreads) {
+            log.info("[Async] analysisExecutor virtual threads, maxConcurrency={}", virtualMaxConcurrency);
+            return new BoundedVirtualThreadExecutor("analysis-vt-", virtualMaxConcurrency);
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("analysis-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+
+        log.info("[Async] analysisExecutor core={} max={} queue={}", corePoolSize, maxPoolSize, queueCapacity);
+        return executor;
+    }
+
+    /**
+     * 배치 분석 요청의 S3 업로드용 I/O 풀
+     * - analysisExecutor(FastAPI 작업)와 분리 → 제휴사 배치 업로드가 분석 워커 자리를 차지하지 않음
+     * - 큐까지 가득 차면 AbortPolicy로 거절 → 호출 측(AnalysisBatchService)이 요청 스레드에서 직접 업로드
+     */
+    @Bean(name = "uploadExecutor")
+    public TaskExecutor uploadExecutor(
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+            @Value("${analysis.upload.workers:8}") int workers,
+            @Value("${analysis.upload.queue-capacity:50}") int queueCapacity
+    ) {
+        if (virtualThreads) {
+            log.info("[Async] uploadExecutor virtual threads, maxConcurrency={}", workers);
+            return new BoundedVirtualThreadExecutor("upload-vt-", workers);
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("upload-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+
+        log.info("[Async] uploadExecutor workers={} queue={}", workers, queueCapacity);
+        return executor;
+    }
+
+    /**
+     * 업로드 이미지 정규화(디코딩 / 회전 / 축소 / JPEG 인코딩)용 워커 풀
+     * - CPU + 메모리를 많이 쓰는 작업이라 가상 스레드 모드와 상관없이 작은 고정 크기 플랫폼 스레드 풀 사용
+     * - 큐까지 가득 차면 AbortPolicy로 거절 → 호출 측에서 503 처리
+     */
+    @Bean(name = "imageExecutor")
+    public ThreadPoolTaskExecutor imageExecutor(
+            @Value("${analysis.image.workers:2}") int workers,
+            @Value("${analysis.image.queue-capacity:20}") int queueCapacity
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("image-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+
+        log.info("[Async] imageExecutor workers={} queue={}", workers, queueCapacity);
+        return executor;
+    }
+}
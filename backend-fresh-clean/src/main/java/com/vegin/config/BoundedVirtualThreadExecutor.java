@@ -0,0 +1,57 @@
+package com.vegin.config;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 작업당 가상 스레드 1개를 띄우되, 동시에 실행 중인 작업 수는 maxConcurrency 로 제한하는 실행기.
+ * 한도를 넘으면 대기하지 않고 TaskRejectedException 을 던진다 (ThreadPoolTaskExecutor 의 AbortPolicy 와 같은 의미).
+ */
+public class BoundedVirtualThreadExecutor implements TaskExecutor, DisposableBean {
+
+    private final ExecutorService delegate;
+    private final Semaphore permits;
+    private final int maxConcurrency;
+
+    public BoundedVirtualThreadExecutor(String threadNamePrefix, int maxConcurrency) {
+        this.delegate = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name(threadNamePrefix, 0).factory());
+        this.permits = new Semaphore(maxConcurrency);
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (!permits.tryAcquire()) {
+            throw new TaskRejectedException("동시 실행 한도(" + maxConcurrency + ") 초과");
+        }
+        try {
+            delegate.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            permits.release();
+            throw new TaskRejectedException("가상 스레드 실행기에 작업을 등록하지 못했습니다.", e);
+        }
+    }
+
+    public int getActiveCount() {
+        return maxConcurrency - permits.availablePermits();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        delegate.shutdown();
+        delegate.awaitTermination(30, TimeUnit.SECONDS);
+    }
+}
@@ -1,17 +1,92 @@
 package com.vegin.config;
 
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestClient;
 
 @Slf4j
 @Configuration
 public class FastApiConfig {
 
+    /**
+     * FastAPI 전용 커넥션 풀 (Apache HttpClient 5)
+     * - 분석 호출마다 TCP 연결을 새로 맺지 않고 keep-alive 연결을 재사용
+     * - max-connections 는 FastApiClient 벌크헤드(max-concurrent) 이상으로 잡아야 풀 대기가 생기지 않음
+     * - uvicorn 은 HTTP/1.1 전용이라 HTTP/2 다중화 대신 연결 풀로 처리
+     */
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager fastApiConnectionManager(
+            @Value("${ai.fastapi.pool.max-connections:32}") int maxConnections,
+            @Value("${ai.fastapi.connect-timeout-ms:2000}") long connectTimeoutMs,
+            @Value("${ai.fastapi.read-timeout-ms:60000}") long readTimeoutMs,
+            @Value("${ai.fastapi.pool.time-to-live-ms:300000}") long timeToLiveMs
+    ) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnections)   // FastAPI 호스트 하나뿐이라 route 한도 = 전체 한도
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .setTimeToLive(TimeValue.ofMilliseconds(timeToLiveMs))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(1))
+                        .build())
+                .build();
+    }
+
+    /**
+     * 풀을 쓰는 HttpClient
+     * - keep-alive : 서버가 Keep-Alive 헤더를 안 주면 이 값만큼 유지.
+     *                uvicorn 기본 timeout_keep_alive(5s)보다 짧게 잡아야 서버가 먼저 끊은 연결을 재사용하지 않음
+     * - idle-evict : 백그라운드에서 오래 놀고 있는 / 만료된 연결 정리
+     */
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient fastApiHttpClient(
+            PoolingHttpClientConnectionManager fastApiConnectionManager,
+            @Value("${ai.fastapi.pool.keep-alive-ms:4000}") long keepAliveMs,
+            @Value("${ai.fastapi.pool.idle-evict-seconds:30}") long idleEvictSeconds,
+            @Value("${ai.fastapi.pool.acquire-timeout-ms:1000}") long acquireTimeoutMs,
+            @Value("${ai.fastapi.read-timeout-ms:60000}") long readTimeoutMs
+    ) {
+        log.info("[FastAPI] connection pool max={} keepAlive={}ms idleEvict={}s",
+                fastApiConnectionManager.getMaxTotal(), keepAliveMs, idleEvictSeconds);
+
+        return HttpClients.custom()
+                .setConnectionManager(fastApiConnectionManager)
+                .setKeepAliveStrategy((response, context) -> TimeValue.ofMilliseconds(keepAliveMs))
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(idleEvictSeconds))
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(acquireTimeoutMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                .disableAutomaticRetries()   // 분석 호출은 재시도하면 Gemini 비용이 두 번 나감
+                .build();
+    }
+
+    /**
+     * FastAPI 호출용 RestClient (애플리케이션 전체에서 하나만 사용)
+     * - connect-timeout : TCP 연결 대기 한도
+     * - read-timeout    : 요청 1건의 응답 대기 한도 (Gemini + ES 포함 분석 전체 시간 기준으로 설정)
+     * 타임아웃이 없으면 느린 FastAPI 노드 하나 때문에 호출 스레드가 무한정 묶인다.
+     */
     @Bean
-    public RestClient fastApiRestClient(@Value("${ai.fastapi.base-url}") String baseUrl) {
+    public RestClient fastApiRestClient(
+            @Value("${ai.fastapi.base-url}") String baseUrl,
+            CloseableHttpClient fastApiHttpClient
+    ) {
         if (baseUrl == null || baseUrl.isBlank()) {
             log.warn("[FastAPI] ai.fastapi.base-url 이 비어 있습니다. application.yml 을 확인하세요.");
         } else {
@@ -20,6 +95,16 @@ public class FastApiConfig {
 
         return RestClient.builder()
                 .baseUrl(baseUrl)
+                .requestFactory(new HttpComponentsClientHttpRequestFactory(fastApiHttpClient))
                 .build();
     }
-}
\ No newline at end of file
+
+    /**
+     * 풀 상태 메트릭 (httpcomponents.httpclient.pool.*{httpclient="fastapi"})
+     * - total.connections{state=leased|available}, total.pending, total.max
+     */
+    @Bean
+    public MeterBinder fastApiPoolMetrics(PoolingHttpClientConnectionManager fastApiConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(fastApiConnectionManager, "fastapi");
+    }
+}
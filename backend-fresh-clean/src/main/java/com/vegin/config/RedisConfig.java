@@ -0,0 +1,31 @@
+package com.vegin.config;
+
+import com.vegin.auth.TokenRevocationService;
+import com.vegin.module.analysis.service.AnalysisProgressHub;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+@Configuration
+public class RedisConfig {
+
+    /**
+     * Redis pub/sub 구독 컨테이너
+     * - auth:revocations : 다른 노드에서 발생한 로그아웃 / 차단을 로컬 폐기 목록에 바로 반영
+     * - analysis:progress : 분석 진행 단계를 이 노드에 붙은 SSE 연결로 전달
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            TokenRevocationService tokenRevocationService,
+            AnalysisProgressHub analysisProgressHub
+    ) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(tokenRevocationService, new ChannelTopic(TokenRevocationService.CHANNEL));
+        container.addMessageListener(analysisProgressHub, new ChannelTopic(AnalysisProgressHub.CHANNEL));
+        return container;
+    }
+}
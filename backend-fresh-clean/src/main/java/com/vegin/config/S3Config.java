@@ -0,0 +1,91 @@
+package com.vegin.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3AsyncClientBuilder;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.multipart.MultipartConfiguration;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.net.URI;
+import java.time.Duration;
+
+@Slf4j
+@Configuration
+public class S3Config {
+
+    private static final long MB = 1024L * 1024L;
+
+    /**
+     * 애플리케이션 전체에서 공유하는 S3 비동기 클라이언트 (커넥션 풀 / 자격증명 1회 생성)
+     * - multipart-threshold 이상 파일은 파트 단위 병렬 업로드
+     * - cloud.aws.s3.endpoint 를 주면 MinIO 같은 S3 호환 서버로 붙는다 (path-style)
+     */
+    @Bean(destroyMethod = "close")
+    public S3AsyncClient s3AsyncClient(
+            @Value("${cloud.aws.s3.region:ap-northeast-2}") String region,
+            @Value("${cloud.aws.access-key}") String accessKey,
+            @Value("${cloud.aws.secret-key}") String secretKey,
+            @Value("${cloud.aws.s3.endpoint:}") String endpoint,
+            @Value("${cloud.aws.s3.max-connections:64}") int maxConnections,
+            @Value("${cloud.aws.s3.connection-acquire-timeout-ms:10000}") long acquireTimeoutMs,
+            @Value("${cloud.aws.s3.multipart-threshold-mb:8}") long multipartThresholdMb,
+            @Value("${cloud.aws.s3.multipart-part-size-mb:8}") long partSizeMb
+    ) {
+        S3AsyncClientBuilder builder = S3AsyncClient.builder()
+                .region(Region.of(region))
+                .credentialsProvider(StaticCredentialsProvider.create(
+                        AwsBasicCredentials.create(accessKey, secretKey)))
+                .httpClientBuilder(NettyNioAsyncHttpClient.builder()
+                        .maxConcurrency(maxConnections)
+                        .connectionAcquisitionTimeout(Duration.ofMillis(acquireTimeoutMs))
+                        .connectionMaxIdleTime(Duration.ofSeconds(60)))
+                .multipartEnabled(true)
+                .multipartConfiguration(MultipartConfiguration.builder()
+                        .thresholdInBytes(multipartThresholdMb * MB)
+                        .minimumPartSizeInBytes(partSizeMb * MB)
+                        .build());
+
+        if (endpoint != null && !endpoint.isBlank()) {
+            builder.endpointOverride(URI.create(endpoint))
+                    .forcePathStyle(true);
+            log.info("[S3] endpoint override = {}", endpoint);
+        }
+
+        log.info("[S3] S3AsyncClient region={} maxConnections={} multipartThreshold={}MB",
+                region, maxConnections, multipartThresholdMb);
+        return builder.build();
+    }
+
+    /**
+     * 클라이언트가 백엔드를 거치지 않고 S3에 바로 PUT 할 수 있도록 presigned URL 발급용
+     * 서명만 로컬에서 계산하므로 네트워크 호출 없음
+     */
+    @Bean(destroyMethod = "close")
+    public S3Presigner s3Presigner(
+            @Value("${cloud.aws.s3.region:ap-northeast-2}") String region,
+            @Value("${cloud.aws.access-key}") String accessKey,
+            @Value("${cloud.aws.secret-key}") String secretKey,
+            @Value("${cloud.aws.s3.endpoint:}") String endpoint
+    ) {
+        S3Presigner.Builder builder = S3Presigner.builder()
+                .region(Region.of(region))
+                .credentialsProvider(StaticCredentialsProvider.create(
+                        AwsBasicCredentials.create(accessKey, secretKey)));
+
+        if (endpoint != null && !endpoint.isBlank()) {
+            builder.endpointOverride(URI.create(endpoint))
+                    .serviceConfiguration(S3Configuration.builder()
+                            .pathStyleAccessEnabled(true)
+                            .build());
+        }
+        return builder.build();
+    }
+}
@@ -4,6 +4,7 @@ import com.vegin.auth.CustomOAuth2UserService;
 import com.vegin.auth.JwtAuthenticationEntryPoint;
 import com.vegin.auth.JwtAuthenticationFilter;
 import com.vegin.auth.OAuth2AuthenticationSuccessHandler;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -86,6 +87,8 @@ public class SecurityConfig {
                                 "/favicon.ico",
                                 "/error"
                         ).permitAll()
+                        // SSE(/api/analysis/events) 비동기 재디스패치: 최초 요청에서 이미 JWT 인증됨
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .anyRequest().authenticated()    // 나머지는 JWT 필수
                 )
                 .oauth2Login(oauth2 -> oauth2
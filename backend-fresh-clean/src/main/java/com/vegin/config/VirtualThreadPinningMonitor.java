@@ -0,0 +1,100 @@
+package com.vegin.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 가상 스레드 pinning 진단
+ * - JFR jdk.VirtualThreadPinned 이벤트를 스트리밍으로 구독해서
+ *   synchronized 블록 안에서 블로킹된 지점을 로그 + 메트릭으로 남긴다.
+ * - JDBC 드라이버(com.mysql) / 커넥션 풀(com.zaxxer) 프레임이 포함된 경우 source=jdbc 로 구분
+ *
+ * app.threads.pinning-diagnostics.enabled=true 일 때만 동작 (JDK 21+)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.threads.pinning-diagnostics.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    private static final String EVENT = "jdk.VirtualThreadPinned";
+    private static final List<String> JDBC_PACKAGES = List.of("com.mysql.", "com.zaxxer.hikari.", "org.hibernate.");
+    private static final int MAX_FRAMES = 8;
+
+    private final Counter jdbcPinned;
+    private final Counter otherPinned;
+    private final long thresholdMs;
+
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(
+            MeterRegistry meterRegistry,
+            @Value("${app.threads.pinning-diagnostics.threshold-ms:20}") long thresholdMs
+    ) {
+        this.jdbcPinned = Counter.builder("jvm.threads.virtual.pinned")
+                .tag("source", "jdbc")
+                .register(meterRegistry);
+        this.otherPinned = Counter.builder("jvm.threads.virtual.pinned")
+                .tag("source", "other")
+                .register(meterRegistry);
+        this.thresholdMs = thresholdMs;
+    }
+
+    @PostConstruct
+    void start() {
+        stream = new RecordingStream();
+        stream.enable(EVENT)
+                .withThreshold(Duration.ofMillis(thresholdMs))
+                .withStackTrace();
+        stream.onEvent(EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("[VT-Pinning] JFR {} 모니터링 시작 (threshold={}ms)", EVENT, thresholdMs);
+    }
+
+    private void onPinned(RecordedEvent event) {
+        List<RecordedFrame> frames = event.getStackTrace() != null
+                ? event.getStackTrace().getFrames()
+                : List.of();
+
+        boolean jdbc = frames.stream().anyMatch(this::isJdbcFrame);
+        (jdbc ? jdbcPinned : otherPinned).increment();
+
+        StringBuilder sb = new StringBuilder();
+        frames.stream().limit(MAX_FRAMES).forEach(f -> sb
+                .append("\n\tat ")
+                .append(f.getMethod().getType().getName())
+                .append('.')
+                .append(f.getMethod().getName())
+                .append(':')
+                .append(f.getLineNumber()));
+
+        log.warn("[VT-Pinning] pinned {}ms source={} thread={}{}",
+                event.getDuration().toMillis(),
+                jdbc ? "jdbc" : "other",
+                event.getThread() != null ? event.getThread().getJavaName() : "?",
+                sb);
+    }
+
+    private boolean isJdbcFrame(RecordedFrame frame) {
+        String type = frame.getMethod().getType().getName();
+        return JDBC_PACKAGES.stream().anyMatch(type::startsWith);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+}
@@ -3,7 +3,11 @@ package com.vegin.domain;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 @Getter
 @RequiredArgsConstructor
 public enum BSTInfo {
@@ -144,11 +148,14 @@ public enum BSTInfo {
     private final String whiteListRecommendation;
     private final List<String> blackListIngredients;
 
+    // 코드 → BSTInfo (valueOf 예외 대신 맵 조회)
+    private static final Map<String, BSTInfo> BY_CODE = Arrays.stream(values())
+            .collect(Collectors.toUnmodifiableMap(Enum::name, Function.identity()));
+
+    /**
+     * @return 알 수 없는 코드 / null 이면 null
+     */
     public static BSTInfo fromCode(String code) {
-        try {
-            return BSTInfo.valueOf(code);
-        } catch (Exception e) {
-            return null;
-        }
+        return code == null ? null : BY_CODE.get(code);
     }
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.vegin.dto.request;
+
+import com.vegin.domain.SurveyDto;
+
+/**
+ * presigned URL 로 업로드를 마친 뒤 분석 시작 요청
+ */
+public record AnalysisConfirmRequest(
+        String key,
+        SurveyDto survey
+) {}
@@ -0,0 +1,17 @@
+package com.vegin.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+public class PasswordChangeRequest {
+    @NotBlank
+    private String currentPassword;
+
+    @NotBlank
+    private String newPassword;
+}
@@ -0,0 +1,8 @@
+package com.vegin.dto.request;
+
+/**
+ * presigned URL 로 업로드를 마친 객체 key 확인 요청 (프로필 이미지)
+ */
+public record UploadConfirmRequest(
+        String key
+) {}
@@ -0,0 +1,10 @@
+package com.vegin.dto.request;
+
+/**
+ * presigned PUT URL 발급 요청
+ * 여기서 보낸 contentType / contentLength 그대로 업로드해야 S3가 받아줌
+ */
+public record UploadUrlRequest(
+        String contentType,
+        long contentLength
+) {}
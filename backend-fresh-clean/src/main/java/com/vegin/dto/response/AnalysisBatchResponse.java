@@ -0,0 +1,20 @@
+package com.vegin.dto.response;
+
+import java.util.List;
+
+/**
+ * 배치 분석 요청 결과 / 진행 상태
+ * - items 는 요청한 파일 순서 그대로 (index 0부터)
+ */
+public record AnalysisBatchResponse(
+        String batchId,
+        List<Item> items
+) {
+
+    public record Item(
+            int index,
+            Long analysisId,
+            String imageUrl,
+            String status
+    ) { }
+}
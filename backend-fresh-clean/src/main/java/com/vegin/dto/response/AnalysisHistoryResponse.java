@@ -0,0 +1,21 @@
+package com.vegin.dto.response;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * 분석 히스토리 한 페이지
+ * - nextCursor 가 null 이면 마지막 페이지
+ */
+public record AnalysisHistoryResponse(
+        List<Item> items,
+        String nextCursor
+) {
+
+    public record Item(
+            Long analysisId,
+            String imageUrl,
+            String status,
+            OffsetDateTime createdAt
+    ) { }
+}
@@ -0,0 +1,33 @@
+package com.vegin.dto.response;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 기간별 분석 분포 (DONE 건만)
+ * - to 는 포함 (그날 끝까지)
+ * - ratio 는 total 대비 비율 (0 ~ 1)
+ */
+public record AnalysisStatsResponse(
+        LocalDate from,
+        LocalDate to,
+        long total,
+        List<Bucket> byMbti,
+        List<Bucket> bySkinType
+) {
+
+    public record Bucket(
+            String code,
+            long count,
+            double ratio,
+            Indices avgIndices
+    ) { }
+
+    public record Indices(
+            Double oil,
+            Double dry,
+            Double sensitivity,
+            Double wrinkle,
+            Double pigment
+    ) { }
+}
@@ -0,0 +1,3 @@
+package com.vegin.dto.response;
+
+public record AnalysisStatusResponse(Long analysisId, String status) {}
@@ -1,3 +1,9 @@
 package com.vegin.dto.response;
 
-public record AnalysisUploadResponse(Long analysisId, String s3Url) {}
+public record AnalysisUploadResponse(Long analysisId, String s3Url, String status) {
+
+    // 동기 플로우는 응답 시점에 이미 DONE
+    public AnalysisUploadResponse(Long analysisId, String s3Url) {
+        this(analysisId, s3Url, "DONE");
+    }
+}
@@ -1,5 +1,6 @@
 package com.vegin.dto.response;
 
+import com.vegin.external.dto.FastApiResponseDto;
 import lombok.Builder;
 import lombok.Getter;
 
@@ -18,5 +19,36 @@ public class CategoryRecommendationResponse {
     private String imageUrl;           // 제품 이미지 URL
     private List<String> xaiKeywords; // 제품의 핵심 키워드 (e.g., "수부지 개선", "촉촉")
     private List<String> tags;        // xaiKeywords의 별칭 (프론트엔드 호환성)
-}
+    private List<String> matchedWhiteList;  // 제품 성분 중 내 피부 타입 추천 성분 (BST whiteList 표기)
+    private List<String> matchedBlackList;  // 제품 성분 중 내 피부 타입 주의 성분 (BST blackList 표기)
+
+    /**
+     * FastAPI 추천 제품 → 응답 변환
+     */
+    public static CategoryRecommendationResponse from(FastApiResponseDto.FastApiProductDto product) {
+        return from(product, List.of(), List.of());
+    }
 
+    /**
+     * 성분 매칭 결과(IngredientMatcher) 포함
+     */
+    public static CategoryRecommendationResponse from(FastApiResponseDto.FastApiProductDto product,
+                                                      List<String> matchedWhiteList,
+                                                      List<String> matchedBlackList) {
+        List<String> xaiKeywords = product.xaiKeywords() != null ? product.xaiKeywords() : List.of();
+        return CategoryRecommendationResponse.builder()
+                .productId(product.productId())
+                .productName(product.productName() != null ? product.productName() : "")
+                .brand(product.brand())
+                .salePrice(product.salePrice())
+                .averageReviewScore(product.averageReviewScore())
+                .totalReviewCount(product.totalReviewCount())
+                .category(product.category() != null ? product.category() : "")
+                .imageUrl(product.imageUrl() != null ? product.imageUrl() : "")
+                .xaiKeywords(xaiKeywords)
+                .tags(xaiKeywords) // 프론트엔드 호환성을 위해 tags도 설정
+                .matchedWhiteList(matchedWhiteList)
+                .matchedBlackList(matchedBlackList)
+                .build();
+    }
+}
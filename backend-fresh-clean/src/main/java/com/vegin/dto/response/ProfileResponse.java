@@ -1,11 +1,11 @@
 package com.vegin.dto.response;
 
+import com.vegin.external.dto.FastApiResponseDto;
 import lombok.Builder;
 import lombok.Getter;
 
 import java.time.OffsetDateTime;
 import java.util.List;
-import java.util.Map;
 
 @Getter
 @Builder
@@ -24,7 +24,7 @@ public class ProfileResponse {
         private String mbti;
         private String skinType;
         private OffsetDateTime date;
-        private Map<String, Object> concerns; // acne, redness, melasma_darkspots 객체 포함
+        private FastApiResponseDto.FastApiVisionRawDto concerns; // acne, redness, melasma_darkspots 객체 포함
         private List<CategoryRecommendationResponse> recommendations; // 카테고리별 추천 화장품
     }
     
@@ -43,7 +43,7 @@ public class ProfileResponse {
         private Long analysisId;
         private String imageUrl;
         private OffsetDateTime createdAt;
-        private Map<String, Object> concerns; // acne, redness, melasma_darkspots 객체 포함
+        private FastApiResponseDto.FastApiVisionRawDto concerns; // acne, redness, melasma_darkspots 객체 포함
         private List<CategoryRecommendationResponse> recommendations; // 카테고리별 추천 화장품
     }
 }
@@ -0,0 +1,16 @@
+package com.vegin.dto.response;
+
+import java.time.Instant;
+
+/**
+ * presigned PUT URL 발급 결과
+ * - FE는 uploadUrl 로 PUT (Content-Type / Content-Length 는 요청한 값 그대로)
+ * - 업로드 후 key 를 confirm API 로 보냄
+ */
+public record UploadUrlResponse(
+        String key,
+        String uploadUrl,
+        String contentType,
+        long contentLength,
+        Instant expiresAt
+) {}
@@ -1,21 +1,35 @@
 package com.vegin.external.dto;
 
+import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.util.List;
-import java.util.Map;
 
+/**
+ * FastAPI /analyze-and-recommend 응답
+ * - 필드 이름은 FastAPI(JSON) 의 snake_case 그대로 매핑 → 직렬화해도 같은 모양이라
+ *   skin_analysis_result 로 옮긴 예전 JSON(Map 기반 DTO 로 저장한 것)도 그대로 읽힘
+ * - 응답 본문에서 바로 이 레코드들로 디코딩 (Map / String 중간 복사 없음)
+ */
 @JsonIgnoreProperties(ignoreUnknown = true)
 public record FastApiResponseDto(
         String status,
-        Map<String, Object> fusion,
-        List<Map<String, Object>> recommendations,
+        FastApiFusionDto fusion,
+        List<FastApiProductDto> recommendations,
         String error
 ) {
 
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record FastApiFusionDto(
+            @JsonProperty("skin_type") String skinType,
+            @JsonProperty("skin_mbti") String skinMbti,
+            FastApiIndicesDto indices,
+            @JsonProperty("vision_raw") FastApiVisionRawDto visionRaw
+    ) { }
 
-    // ====== 편의를 위한 서브 DTO들 (Map -> 자바 객체 변환용) ======
-
+    @JsonIgnoreProperties(ignoreUnknown = true)
     public record FastApiIndicesDto(
             double oil,
             double dry,
@@ -24,28 +38,41 @@ public record FastApiResponseDto(
             double pigment
     ) { }
 
+    /**
+     * Gemini 비전 분석 원본 (score: 0~100 실수)
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
     public record FastApiVisionRawDto(
             FastApiScoreReasonDto acne,
             FastApiScoreReasonDto redness,
-            FastApiScoreReasonDto melasmaDarkspots
+            @JsonProperty("melasma_darkspots") FastApiScoreReasonDto melasmaDarkspots,
+            FastApiScoreReasonDto wrinkle
     ) { }
 
+    @JsonIgnoreProperties(ignoreUnknown = true)
     public record FastApiScoreReasonDto(
-            int score,
+            double score,
             String reason
     ) { }
 
+    /**
+     * ES + LTR 추천 제품 (es_ltr_online.recommend_for_request)
+     * product_id 는 예전 코드가 productId 로 읽던 값도 받을 수 있게 alias 유지
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
     public record FastApiProductDto(
-            String productId,
+            @JsonProperty("product_id") @JsonAlias("productId") String productId,
             String productName,
             String brand,
-            List<String> ingredients,
-            int salePrice,
-            double averageReviewScore,
-            int totalReviewCount,
+            @JsonFormat(with = JsonFormat.Feature.ACCEPT_SINGLE_VALUE_AS_ARRAY) List<String> ingredients,
+            Integer salePrice,
+            Double averageReviewScore,
+            Integer totalReviewCount,
             String category,
-            double scoreEs,
-            double scoreLtr,
-            String imageUrl
+            @JsonProperty("score_es") Double scoreEs,
+            @JsonProperty("score_ltr") Double scoreLtr,
+            @JsonProperty("image_url") String imageUrl,
+            @JsonProperty("xai_keywords") @JsonFormat(with = JsonFormat.Feature.ACCEPT_SINGLE_VALUE_AS_ARRAY)
+            List<String> xaiKeywords
     ) { }
-}
\ No newline at end of file
+}
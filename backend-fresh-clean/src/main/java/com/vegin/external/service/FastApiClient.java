@@ -1,7 +1,12 @@
 package com.vegin.external.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vegin.common.CircuitBreaker;
 import com.vegin.external.dto.FastApiResponseDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
@@ -9,49 +14,133 @@ import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.util.MultiValueMap;
 import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestClient;
 import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.multipart.MultipartFile;
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.HttpHeaders;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.http.HttpTimeoutException;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
+/**
+ * FastAPI(/analyze-and-recommend, /recommend) 호출 클라이언트
+ * - 타임아웃 : FastApiConfig 의 RestClient (connect / read)
+ * - 벌크헤드 : 동시에 나가는 분석 호출 수 제한, 자리가 없으면 max-wait 만큼만 기다리고 503
+ * - 서킷     : 최근 호출 실패율이 높으면 open-duration 동안 바로 503 (느린 노드에 스레드가 쌓이지 않게)
+ * - 메트릭   : fastapi.calls{outcome}, fastapi.call.duration, fastapi.circuit.state{state}, fastapi.bulkhead.in_flight
+ * - 디코딩   : 응답 스트림 → FastApiResponseDto 레코드 직접 매핑, 원본 본문 로그는 DEBUG + 샘플링
+ */
 @Component
 @Slf4j
 public class FastApiClient {
 
+    private static final String UNAVAILABLE_MESSAGE = "AI 분석 서버가 일시적으로 응답하지 않습니다. 잠시 후 다시 시도해주세요.";
+
     private final RestClient restClient;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
-    public FastApiClient(@Value("${ai.fastapi.base-url}") String baseUrl) {
-        this.restClient = RestClient.builder()
-                .baseUrl(baseUrl)
-                .build();
-        log.info("[FastAPI] baseUrl={}", baseUrl);
+    private final Semaphore bulkhead;
+    private final long bulkheadMaxWaitMs;
+    private final CircuitBreaker circuitBreaker;
+
+    private final MeterRegistry meterRegistry;
+    private final Timer callTimer;
+
+    private final double rawLogSampleRate;
+
+    public FastApiClient(
+            RestClient fastApiRestClient,
+            MeterRegistry meterRegistry,
+            @Value("${ai.fastapi.bulkhead.max-concurrent:16}") int maxConcurrent,
+            @Value("${ai.fastapi.bulkhead.max-wait-ms:200}") long bulkheadMaxWaitMs,
+            @Value("${ai.fastapi.circuit.window-size:20}") int windowSize,
+            @Value("${ai.fastapi.circuit.minimum-calls:10}") int minimumCalls,
+            @Value("${ai.fastapi.circuit.failure-rate-threshold:50}") double failureRateThreshold,
+            @Value("${ai.fastapi.circuit.open-duration-ms:30000}") long openDurationMs,
+            @Value("${ai.fastapi.log-raw.sample-rate:0.0}") double rawLogSampleRate
+    ) {
+        this.restClient = fastApiRestClient;
+        this.meterRegistry = meterRegistry;
+        this.bulkhead = new Semaphore(maxConcurrent);
+        this.bulkheadMaxWaitMs = bulkheadMaxWaitMs;
+        this.circuitBreaker = new CircuitBreaker(windowSize, minimumCalls, failureRateThreshold, openDurationMs);
+        this.rawLogSampleRate = rawLogSampleRate;
+
+        this.callTimer = Timer.builder("fastapi.call.duration")
+                .description("FastAPI /analyze-and-recommend 호출 시간")
+                .register(meterRegistry);
+        Gauge.builder("fastapi.bulkhead.in_flight", bulkhead, b -> maxConcurrent - b.availablePermits())
+                .register(meterRegistry);
+        for (CircuitBreaker.State state : CircuitBreaker.State.values()) {
+            Gauge.builder("fastapi.circuit.state", circuitBreaker, cb -> cb.getState() == state ? 1 : 0)
+                    .tag("state", state.name().toLowerCase())
+                    .register(meterRegistry);
+        }
+
+        log.info("[FastAPI] bulkhead={} (wait {}ms), circuit window={} minCalls={} failureRate={}% open={}ms",
+                maxConcurrent, bulkheadMaxWaitMs, windowSize, minimumCalls, failureRateThreshold, openDurationMs);
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
     }
 
     /**
      * 1) 개발용: 파일 그대로 FastAPI(image_file)로 보냄
+     * - file.getBytes() 로 전체를 복사하지 않고 InputStream 그대로 multipart 파트에 실어 보냄
      */
     public FastApiResponseDto analyzeWithImageFile(MultipartFile file, String surveyJson) {
+        try (InputStream in = file.getInputStream()) {
+            return analyzeWithImageStream(in, file.getSize(), file.getContentType(),
+                    file.getOriginalFilename(), surveyJson);
+        } catch (IOException e) {
+            log.error("[FastAPI] 업로드 파일 읽기 실패, filename={}", file.getOriginalFilename(), e);
+            throw new RuntimeException("FastAPI 호출 실패 (image_file)", e);
+        }
+    }
+
+    /**
+     * 1-1) 개발용: 스트림을 FastAPI(image_file)로 그대로 흘려보냄
+     * - contentLength 를 미리 알려줘서 길이 계산 때문에 스트림을 한 번 더 읽지 않도록 함
+     */
+    public FastApiResponseDto analyzeWithImageStream(InputStream in,
+                                                     long contentLength,
+                                                     String contentType,
+                                                     String filename,
+                                                     String surveyJson) {
         try {
-            log.info("[FastAPI] /analyze-and-recommend (image_file) 호출 시작, filename={}", file.getOriginalFilename());
+            log.info("[FastAPI] /analyze-and-recommend (image_file) 호출 시작, filename={} size={}", filename, contentLength);
 
             MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
 
-            ByteArrayResource imageResource = new ByteArrayResource(file.getBytes()) {
+            InputStreamResource imageResource = new InputStreamResource(in) {
                 @Override
                 public String getFilename() {
-                    return file.getOriginalFilename();
+                    return filename != null ? filename : "upload";
+                }
+
+                @Override
+                public long contentLength() {
+                    return contentLength;
                 }
             };
 
             HttpHeaders imageHeaders = new HttpHeaders();
             imageHeaders.setContentType(MediaType.parseMediaType(
-                    file.getContentType() != null ? file.getContentType() : "image/jpeg"
+                    contentType != null ? contentType : "image/jpeg"
             ));
-            HttpEntity<ByteArrayResource> imagePart = new HttpEntity<>(imageResource, imageHeaders);
+            HttpEntity<InputStreamResource> imagePart = new HttpEntity<>(imageResource, imageHeaders);
 
             HttpHeaders surveyHeaders = new HttpHeaders();
             surveyHeaders.setContentType(MediaType.TEXT_PLAIN);
@@ -60,22 +149,10 @@ public class FastApiClient {
             body.add("image_file", imagePart);
             body.add("survey", surveyPart);
 
-            // ★ 원본 JSON 문자열로 먼저 받기
-            String raw = restClient.post()
-                    .uri("/analyze-and-recommend")
-                    .contentType(MediaType.MULTIPART_FORM_DATA)
-                    .body(body)
-                    .retrieve()
-                    .body(String.class);
-
-            log.info("[FastAPI] raw response (image_file) = {}", raw);
-
-            if (raw == null || raw.isBlank()) {
-                throw new RuntimeException("FastAPI 응답이 비어 있습니다.");
-            }
-
-            return objectMapper.readValue(raw, FastApiResponseDto.class);
+            return exchange(body, "image_file");
 
+        } catch (FastApiUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             log.error("[FastAPI] /analyze-and-recommend (image_file) 호출 실패", e);
             throw new RuntimeException("FastAPI 호출 실패 (image_file)", e);
@@ -86,12 +163,20 @@ public class FastApiClient {
      * 2) 실서비스용: S3 image_url 로 전송
      */
     public FastApiResponseDto analyzeWithImageUrl(String imageUrl, String surveyJson) {
+        return analyzeWithImageUrl(imageUrl, surveyJson, true);
+    }
+
+    /**
+     * 2-1) includeRecommendations=false 면 FastAPI 는 fusion 까지만 계산 (ES + LTR 추천 생략)
+     * - 추천은 RecommendationCache / recommend() 로 따로 채움
+     */
+    public FastApiResponseDto analyzeWithImageUrl(String imageUrl, String surveyJson, boolean includeRecommendations) {
         try {
             log.info("[FastAPI] /analyze-and-recommend (image_url) 호출 시작, url={}", imageUrl);
-            
+
             // ✅ surveyJson 검증 및 로깅
             log.info("[FastAPI] surveyJson (raw) = {}", surveyJson);
-            
+
             if (surveyJson == null || surveyJson.isBlank() || surveyJson.equals("{}")) {
                 log.warn("[FastAPI] ⚠️ surveyJson이 비어있거나 유효하지 않습니다!");
                 surveyJson = "{}";
@@ -99,16 +184,16 @@ public class FastApiClient {
                 // ✅ JSON 파싱해서 키 확인
                 try {
                     Map<String, Object> surveyMap = objectMapper.readValue(surveyJson, Map.class);
-                    log.info("[FastAPI] surveyJson 파싱 성공. 키 개수: {}, 키 목록: {}", 
+                    log.info("[FastAPI] surveyJson 파싱 성공. 키 개수: {}, 키 목록: {}",
                             surveyMap.size(), surveyMap.keySet());
-                    
+
                     // ✅ q1~q10 키 확인
                     boolean hasQ1 = surveyMap.containsKey("q1");
                     if (!hasQ1) {
                         log.error("[FastAPI] ⚠️ surveyJson에 'q1' 키가 없습니다! 전체 내용: {}", surveyJson);
                         log.error("[FastAPI] ⚠️ FastAPI에서 KeyError: 'q1' 에러가 발생할 수 있습니다!");
                     }
-                    
+
                     // ✅ 모든 q1~q10 키 확인
                     for (int i = 1; i <= 10; i++) {
                         String key = "q" + i;
@@ -133,22 +218,12 @@ public class FastApiClient {
 
             body.add("image_url", urlPart);
             body.add("survey", surveyPart);
+            if (!includeRecommendations) {
+                body.add("include_recommendations", "false");
+            }
 
             try {
-                String raw = restClient.post()
-                        .uri("/analyze-and-recommend")
-                        .contentType(MediaType.MULTIPART_FORM_DATA)
-                        .body(body)
-                        .retrieve()
-                        .body(String.class);
-
-                log.info("[FastAPI] raw response (image_url) = {}", raw);
-
-                if (raw == null || raw.isBlank()) {
-                    throw new RuntimeException("FastAPI 응답이 비어 있습니다.");
-                }
-
-                return objectMapper.readValue(raw, FastApiResponseDto.class);
+                return exchange(body, "image_url");
 
             } catch (HttpServerErrorException e) {
                 // ✅ 500 에러 상세 로깅
@@ -161,9 +236,163 @@ public class FastApiClient {
                 throw new RuntimeException("FastAPI 500 에러: " + errorBody, e);
             }
 
+        } catch (FastApiUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             log.error("[FastAPI] /analyze-and-recommend (image_url) 호출 실패, url={}", imageUrl, e);
             throw new RuntimeException("FastAPI 호출 실패 (image_url): " + e.getMessage(), e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 3) fusion 결과만으로 추천 (POST /recommend, JSON)
+     * - es_ltr_online.recommend_for_request 와 같은 결과 (ES script_score + XGBoost)
+     */
+    public List<FastApiResponseDto.FastApiProductDto> recommend(FastApiResponseDto.FastApiFusionDto fusion, int topk) {
+        log.info("[FastAPI] /recommend 호출 시작, skinType={} mbti={}", fusion.skinType(), fusion.skinMbti());
+        FastApiResponseDto res = exchange("/recommend", MediaType.APPLICATION_JSON,
+                Map.of("fusion", fusion, "topk", topk), "recommend");
+        return res.recommendations() != null ? res.recommendations() : List.of();
+    }
+
+    // ================== 내부 유틸 ==================
+
+    /**
+     * 호출 + 응답 디코딩
+     * - 평소에는 응답 스트림에서 바로 FastApiResponseDto 로 디코딩 (본문 전체를 String 으로 복사하지 않음)
+     * - DEBUG 로그가 켜져 있고 log-raw.sample-rate 확률에 걸린 호출만 원본 본문을 문자열로 받아 남김
+     * - FastAPI 는 내부 오류를 200 + {"error": ...} 로 돌려주므로 여기서 실패로 변환
+     */
+    private FastApiResponseDto exchange(MultiValueMap<String, Object> body, String mode) {
+        return exchange("/analyze-and-recommend", MediaType.MULTIPART_FORM_DATA, body, mode);
+    }
+
+    private FastApiResponseDto exchange(String uri, MediaType contentType, Object body, String mode) {
+        boolean logRaw = shouldLogRaw();
+
+        FastApiResponseDto res = guarded(() -> {
+            RestClient.ResponseSpec response = restClient.post()
+                    .uri(uri)
+                    .contentType(contentType)
+                    .body(body)
+                    .retrieve();
+            if (!logRaw) {
+                return response.body(FastApiResponseDto.class);
+            }
+            String raw = response.body(String.class);
+            log.debug("[FastAPI] raw response ({}) = {}", mode, raw);
+            return readRaw(raw);
+        });
+
+        if (res == null) {
+            throw new RuntimeException("FastAPI 응답이 비어 있습니다.");
+        }
+        if (res.status() == null && res.error() != null) {
+            log.error("[FastAPI] {} ({}) 분석 실패 응답: {}", uri, mode, res.error());
+            throw new RuntimeException("FastAPI 분석 실패: " + res.error());
+        }
+        return res;
+    }
+
+    private boolean shouldLogRaw() {
+        return rawLogSampleRate > 0
+                && log.isDebugEnabled()
+                && ThreadLocalRandom.current().nextDouble() < rawLogSampleRate;
+    }
+
+    private FastApiResponseDto readRaw(String raw) {
+        if (raw == null || raw.isBlank()) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(raw, FastApiResponseDto.class);
+        } catch (IOException e) {
+            throw new IllegalStateException("FastAPI 응답 파싱 실패", e);
+        }
+    }
+
+    /**
+     * 벌크헤드 + 서킷 브레이커 + 메트릭으로 감싼 호출
+     * - 5xx / 타임아웃 / 연결 실패 → 서킷 실패로 집계
+     * - 4xx (설문 형식 오류 등) → FastAPI 는 정상 동작 중이므로 성공으로 집계
+     */
+    private <T> T guarded(Supplier<T> call) {
+        if (!acquireBulkhead()) {
+            count("rejected_bulkhead");
+            log.warn("[FastAPI] 동시 호출 한도 초과로 거절");
+            throw new FastApiUnavailableException(UNAVAILABLE_MESSAGE);
+        }
+        try {
+            if (!circuitBreaker.tryAcquire()) {
+                count("rejected_open");
+                log.warn("[FastAPI] 서킷 OPEN 상태라 호출하지 않고 바로 실패");
+                throw new FastApiUnavailableException(UNAVAILABLE_MESSAGE);
+            }
+
+            Timer.Sample sample = Timer.start(meterRegistry);
+            try {
+                T result = call.get();
+                circuitBreaker.onSuccess();
+                count("success");
+                return result;
+            } catch (HttpClientErrorException e) {
+                circuitBreaker.onSuccess();
+                count("client_error");
+                throw e;
+            } catch (HttpServerErrorException e) {
+                onFailure("server_error");
+                throw e;
+            } catch (ResourceAccessException e) {
+                boolean timeout = isTimeout(e);
+                onFailure(timeout ? "timeout" : "io_error");
+                log.error("[FastAPI] {} : {}", timeout ? "응답 시간 초과" : "연결 실패", e.getMessage());
+                throw new FastApiUnavailableException(UNAVAILABLE_MESSAGE, e);
+            } catch (RuntimeException e) {
+                onFailure("error");
+                throw e;
+            } finally {
+                sample.stop(callTimer);
+            }
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private boolean acquireBulkhead() {
+        try {
+            return bulkhead.tryAcquire(bulkheadMaxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void onFailure(String outcome) {
+        CircuitBreaker.State before = circuitBreaker.getState();
+        circuitBreaker.onFailure();
+        count(outcome);
+        if (before != CircuitBreaker.State.OPEN && circuitBreaker.getState() == CircuitBreaker.State.OPEN) {
+            log.error("[FastAPI] 서킷 OPEN 전환 (outcome={})", outcome);
+        }
+    }
+
+    private void count(String outcome) {
+        Counter.builder("fastapi.calls")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * HC5 의 연결 / 풀 대기 타임아웃(ConnectTimeoutException, ConnectionRequestTimeoutException)과
+     * 응답 대기 SocketTimeoutException 은 모두 InterruptedIOException 하위 타입
+     */
+    private static boolean isTimeout(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof InterruptedIOException || t instanceof HttpTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,16 @@
+package com.vegin.external.service;
+
+/**
+ * FastAPI 를 지금 호출할 수 없음 (서킷 OPEN / 동시 호출 한도 초과 / 시간 초과 / 연결 실패)
+ * GlobalExceptionHandler 에서 503 으로 변환
+ */
+public class FastApiUnavailableException extends RuntimeException {
+
+    public FastApiUnavailableException(String message) {
+        super(message);
+    }
+
+    public FastApiUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
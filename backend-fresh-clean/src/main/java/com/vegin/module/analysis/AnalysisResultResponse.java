@@ -1,12 +1,17 @@
 package com.vegin.module.analysis;
 
 import com.vegin.dto.response.CategoryRecommendationResponse;
+import com.vegin.external.dto.FastApiResponseDto;
 import lombok.Builder;
 import lombok.Getter;
 
 import java.util.Map;
 import java.util.List;
 
+/**
+ * 결과 상세 응답 data 형식
+ * 실제 응답은 AnalysisResultRenderer 가 미리 직렬화한 조각을 이어붙여 만듦 → 필드를 바꾸면 렌더러도 같이 바꿔야 함
+ */
 @Getter
 @Builder
 public class AnalysisResultResponse {
@@ -22,8 +27,8 @@ public class AnalysisResultResponse {
     private String whiteListRecommendation;
     private List<String> blackListIngredients;
 
-    private Map<String, Object> axis;      // 축별 결과
-    private Map<String, Object> concerns;  // 고민 결과
+    private FastApiResponseDto.FastApiIndicesDto axis;        // 축별 결과
+    private FastApiResponseDto.FastApiVisionRawDto concerns;  // 고민 결과
 
     private Map<String, Boolean> actions;  // 버튼 활성화
     
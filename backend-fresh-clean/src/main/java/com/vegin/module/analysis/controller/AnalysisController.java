@@ -4,20 +4,45 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vegin.auth.UserPrincipal;
 import com.vegin.common.ApiResponse;
 import com.vegin.domain.SurveyDto;
-import com.vegin.module.analysis.AnalysisResultResponse;
+import com.vegin.dto.request.AnalysisConfirmRequest;
+import com.vegin.dto.request.UploadUrlRequest;
+import com.vegin.dto.response.AnalysisBatchResponse;
+import com.vegin.dto.response.AnalysisHistoryResponse;
+import com.vegin.dto.response.AnalysisStatsResponse;
+import com.vegin.dto.response.AnalysisStatusResponse;
 import com.vegin.dto.response.AnalysisUploadResponse;
+import com.vegin.dto.response.UploadUrlResponse;
 import com.vegin.external.dto.FastApiResponseDto;
+import com.vegin.module.analysis.service.AnalysisBatchService;
+import com.vegin.module.analysis.service.AnalysisProgressHub;
+import com.vegin.module.analysis.service.AnalysisResultDocument;
+import com.vegin.module.analysis.service.AnalysisStatsService;
 import com.vegin.module.analysis.service.SkinAnalysisService;
 import com.vegin.module.users.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
 
 @Slf4j
 @Tag(name = "Analysis", description = "피부 이미지 분석 API")
@@ -27,15 +52,27 @@ import org.springframework.web.multipart.MultipartFile;
 public class AnalysisController {
 
     private final SkinAnalysisService service;
+    private final AnalysisStatsService statsService;
+    private final AnalysisProgressHub progressHub;
+    private final AnalysisBatchService batchService;
     private final UserService userService;
     private final ObjectMapper objectMapper;
 
+    // 스트리밍 업로드도 multipart 업로드와 같은 최대 크기 사용
+    @Value("${spring.servlet.multipart.max-file-size:20MB}")
+    private DataSize maxUploadSize;
+
+    // 전체 사용자 분포 통계는 제품팀 / 운영용 → 목록에 있는 userId 만, 비어 있으면 엔드포인트 자체를 닫음
+    @Value("${analysis.stats.admin-user-ids:}")
+    private Set<Long> statsAdminUserIds;
+
     /**
      * 실제 서비스용:
      *  - 이미지 S3 업로드
      *  - image_url + surveyJson 을 FastAPI로 전송
      *  - DB에 PENDING → DONE 업데이트
      *  - FE에는 analysisId + imageUrl 반환
+     *  - 비동기 모드에서는 PENDING 상태로 바로 반환 (status 필드 확인)
      */
     @Operation(
             summary = "피부 이미지 업로드 & 분석 요청",
@@ -62,27 +99,252 @@ public class AnalysisController {
         String surveyJson = toSurveyJson(survey);
         log.info("[AnalysisController] survey received: {}", surveyJson);
 
-        AnalysisUploadResponse res = service.uploadAndAnalyze(
-                userId,
-                file,
-                surveyJson
-        );
+        // analysis.async.enabled=true 이면 PENDING 으로 즉시 반환하고 워커가 분석 진행
+        AnalysisUploadResponse res = service.isAsyncEnabled()
+                ? service.submitAnalysis(userId, file, surveyJson)
+                : service.uploadAndAnalyze(userId, file, surveyJson);
+
+        return ApiResponse.ok(res);
+    }
+
+    /**
+     * 스트리밍 업로드용:
+     *  - 요청 본문 = 이미지 바이트 그대로 (Content-Type: image/*, Content-Length 필수)
+     *  - 설문은 survey 쿼리 파라미터(JSON 문자열)로 전달
+     *  - multipart 파싱 / 임시 파일 / byte[] 복사 없이 S3로 바로 흘려보냄
+     */
+    @Operation(
+            summary = "피부 이미지 스트리밍 업로드 & 분석 요청",
+            description = """
+                    요청 본문에 이미지 바이트를 그대로 담아 보내면 서버가 버퍼링 없이 S3로 바로 업로드합니다.
+                    Content-Length 헤더가 없으면 411, 최대 크기를 넘으면 413을 반환합니다.
+                    응답 형식은 /api/analysis/image 와 같습니다.
+                    """,
+            security = { @SecurityRequirement(name = "bearerAuth") }
+    )
+    @PostMapping(
+            value = "/image/stream",
+            consumes = { MediaType.IMAGE_JPEG_VALUE, MediaType.IMAGE_PNG_VALUE, "image/webp", "image/heic" },
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ApiResponse<AnalysisUploadResponse> uploadStreamAndAnalyze(
+            @RequestParam("survey") String survey,
+            HttpServletRequest request,
+            Authentication auth
+    ) throws IOException {
+        Long userId = resolveUserId(auth);
+        long contentLength = requireContentLength(request);
+
+        // SurveyDto 로 한 번 읽어서 multipart 엔드포인트와 같은 형태의 JSON 으로 정규화
+        String surveyJson = toSurveyJson(parseSurvey(survey));
+        log.info("[AnalysisController] stream upload. size={} survey={}", contentLength, surveyJson);
+
+        AnalysisUploadResponse res = service.uploadStreamAndAnalyze(
+                userId, request.getInputStream(), contentLength, request.getContentType(), surveyJson);
 
         return ApiResponse.ok(res);
     }
 
-    @GetMapping("/{analysisId}")
+    /**
+     * 직접 업로드 1단계:
+     *  - presigned PUT URL + key 발급 (이미지는 FE → S3 로 바로 업로드)
+     */
+    @Operation(
+            summary = "피부 이미지 직접 업로드 URL 발급",
+            description = """
+                    S3 presigned PUT URL 과 key 를 발급합니다.
+                    FE는 요청한 Content-Type / Content-Length 그대로 uploadUrl 에 PUT 한 뒤
+                    /api/analysis/image/confirm 으로 key 와 설문을 보내 분석을 시작합니다.
+                    """,
+            security = { @SecurityRequirement(name = "bearerAuth") }
+    )
+    @PostMapping(
+            value = "/image/upload-url",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ApiResponse<UploadUrlResponse> issueUploadUrl(
+            @RequestBody UploadUrlRequest req,
+            Authentication auth
+    ) {
+        Long userId = resolveUserId(auth);
+        return ApiResponse.ok(service.issueUploadUrl(userId, req.contentType(), req.contentLength()));
+    }
+
+    /**
+     * 직접 업로드 2단계:
+     *  - 업로드된 key 확인 후 분석 시작 (응답은 /image 와 동일)
+     */
+    @Operation(
+            summary = "피부 이미지 직접 업로드 완료 & 분석 요청",
+            description = "presigned URL 로 업로드한 key 와 설문을 받아 분석을 시작합니다. 응답 형식은 /api/analysis/image 와 같습니다.",
+            security = { @SecurityRequirement(name = "bearerAuth") }
+    )
+    @PostMapping(
+            value = "/image/confirm",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ApiResponse<AnalysisUploadResponse> confirmUpload(
+            @RequestBody AnalysisConfirmRequest req,
+            Authentication auth
+    ) {
+        Long userId = resolveUserId(auth);
+        String surveyJson = toSurveyJson(req.survey());
+        log.info("[AnalysisController] confirm upload. key={} survey={}", req.key(), surveyJson);
+        return ApiResponse.ok(service.confirmUpload(userId, req.key(), surveyJson));
+    }
+
+    /**
+     * 배치 분석 요청:
+     *  - 한 사용자의 사진 여러 장(files) + 설문 1개
+     *  - 병렬 업로드 → PENDING 행 일괄 저장 → 건별 워커 등록 (항상 비동기)
+     */
+    @Operation(
+            summary = "피부 이미지 배치 업로드 & 분석 요청",
+            description = """
+                    같은 사용자의 사진 여러 장(전후 / 다각도)을 설문 1개와 함께 한 번에 분석 요청합니다.
+                    files 파트를 사진 수만큼 보내며, 최대 장수는 analysis.batch.max-items 입니다.
+                    응답의 batchId 로 GET /api/analysis/batch/{batchId} 에서 건별 상태를 확인합니다.
+                    분석 워커가 가득 차 등록하지 못한 건은 FAILED 로 표시됩니다.
+                    """,
+            security = { @SecurityRequirement(name = "bearerAuth") }
+    )
+    @PostMapping(
+            value = "/batch",
+            consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ApiResponse<AnalysisBatchResponse> submitBatch(
+            @RequestPart("files") List<MultipartFile> files,
+            @RequestPart("survey") SurveyDto survey,
+            Authentication auth
+    ) {
+        Long userId = resolveUserId(auth);
+        String surveyJson = toSurveyJson(survey);
+        log.info("[AnalysisController] batch received. count={} survey={}", files.size(), surveyJson);
+        return ApiResponse.ok(batchService.submitBatch(userId, files, surveyJson));
+    }
+
+    @GetMapping("/batch/{batchId}")
+    @Operation(
+            summary = "배치 분석 건별 상태 조회",
+            description = "배치 요청 순서대로 analysisId / imageUrl / status(PENDING, DONE, FAILED) 를 반환합니다.",
+            security = { @SecurityRequirement(name = "bearerAuth") }
+    )
+    public ApiResponse<AnalysisBatchResponse> getBatch(
+            @PathVariable String batchId,
+            Authentication auth
+    ) {
+        Long userId = resolveUserId(auth);
+        return ApiResponse.ok(batchService.getBatch(userId, batchId));
+    }
+
+    @GetMapping("/history")
+    @Operation(
+            summary = "피부 분석 히스토리 조회 (커서 페이지네이션)",
+            description = """
+                    최신순으로 size 건씩 반환합니다. (분석 결과 JSON 제외: analysisId, imageUrl, status, createdAt)
+                    다음 페이지는 응답의 nextCursor 를 cursor 로 넘겨서 조회합니다. nextCursor 가 null 이면 마지막 페이지입니다.
+                    """,
+            security = { @SecurityRequirement(name = "bearerAuth") }
+    )
+    public ApiResponse<AnalysisHistoryResponse> getHistory(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size,
+            Authentication auth
+    ) {
+        Long userId = resolveUserId(auth);
+        return ApiResponse.ok(service.getHistory(userId, cursor, size));
+    }
+
+    @GetMapping("/stats")
+    @Operation(
+            summary = "피부 분석 분포 통계",
+            description = """
+                    기간 내 DONE 분석의 MBTI / 피부타입별 건수, 비율, 평균 지수(oil, dry, sensitivity, wrinkle, pigment)를 반환합니다.
+                    from / to 는 yyyy-MM-dd (to 포함), 생략 시 최근 30일. 최대 366일.
+                    analysis.stats.admin-user-ids 에 있는 사용자만 호출 가능 (비어 있으면 404, 목록에 없으면 403).
+                    """,
+            security = { @SecurityRequirement(name = "bearerAuth") }
+    )
+    public ApiResponse<AnalysisStatsResponse> getStats(
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            Authentication auth
+    ) {
+        if (statsAdminUserIds.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        }
+        if (!statsAdminUserIds.contains(resolveUserId(auth))) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "통계 조회 권한이 없습니다.");
+        }
+        return ApiResponse.ok(statsService.getStats(from, to));
+    }
+
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            summary = "피부 분석 진행 단계 스트림 (SSE)",
+            description = """
+                    내 분석들의 진행 단계를 progress 이벤트로 내려줍니다.
+                    (UPLOADED → VISION_DONE → FUSION_DONE → RECOMMENDATIONS_DONE → DONE, 실패 시 FAILED)
+                    연결 직후 최근 10분 내 분석들의 마지막 단계를 먼저 보내고, 15초마다 ping 주석을 보냅니다.
+                    어느 서버에 연결해도 같은 이벤트를 받습니다. (Redis pub/sub)
+                    """,
+            security = { @SecurityRequirement(name = "bearerAuth") }
+    )
+    public SseEmitter events(Authentication auth) {
+        if (!progressHub.isEnabled()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "진행 단계 스트림이 비활성화되어 있습니다.");
+        }
+        Long userId = resolveUserId(auth);
+        return progressHub.subscribe(userId);
+    }
+
+    @GetMapping(value = "/{analysisId}", produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(
             summary = "피부 분석 결과 조회",
-            description = "FastAPI 결과 + BST정보 + 유저정보 + DO / DONT 성분 + action 버튼 반환",
+            description = """
+                    FastAPI 결과 + BST정보 + 유저정보 + DO / DONT 성분 + action 버튼 반환
+                    (data 형식은 AnalysisResultResponse, 미리 직렬화된 조각을 이어붙여 응답)
+                    본문에 닉네임이 들어가므로 ETag + Cache-Control: private, no-cache (매번 재검증) 를 내려주고,
+                    If-None-Match 가 같으면 본문 없이 304 를 반환합니다.
+                    """,
+            security = { @SecurityRequirement(name = "bearerAuth") }
+    )
+    public ResponseEntity<byte[]> getResult(
+            @PathVariable Long analysisId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            Authentication auth
+    ) {
+        Long userId = resolveUserId(auth);
+        AnalysisResultDocument document = service.getAnalysisResultDocument(analysisId, userId, ifNoneMatch);
+        CacheControl cacheControl = CacheControl.noCache().cachePrivate();
+        if (document.isNotModified()) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(document.etag())
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(document.etag())
+                .cacheControl(cacheControl)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(document.body());
+    }
+
+    @GetMapping("/{analysisId}/status")
+    @Operation(
+            summary = "피부 분석 진행 상태 조회",
+            description = "비동기 분석 모드에서 PENDING / DONE / FAILED 상태를 확인합니다.",
             security = { @SecurityRequirement(name = "bearerAuth") }
     )
-    public ApiResponse<AnalysisResultResponse> getResult(
+    public ApiResponse<AnalysisStatusResponse> getStatus(
             @PathVariable Long analysisId,
             Authentication auth
     ) {
         Long userId = resolveUserId(auth);
-        return ApiResponse.ok(service.getAnalysisResult(analysisId, userId));
+        return ApiResponse.ok(service.getStatus(analysisId, userId));
     }
 
 
@@ -120,6 +382,31 @@ public class AnalysisController {
         return ApiResponse.ok(dto);
     }
 
+    /**
+     * (옵션) 개발/테스트용 스트리밍 버전:
+     *  - 요청 본문을 S3, DB 없이 FastAPI image_file 로 바로 흘려보냄
+     */
+    @Operation(
+            summary = "FastAPI 직접 호출 테스트 (스트리밍 전송)",
+            description = "개발/테스트용 엔드포인트입니다. 요청 본문 이미지를 버퍼링 없이 FastAPI의 image_file로 전송합니다."
+    )
+    @PostMapping(
+            value = "/image/stream/test-direct",
+            consumes = { MediaType.IMAGE_JPEG_VALUE, MediaType.IMAGE_PNG_VALUE, "image/webp", "image/heic" },
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ApiResponse<FastApiResponseDto> testDirectFastApiStream(
+            @RequestParam("survey") String survey,
+            HttpServletRequest request
+    ) throws IOException {
+        long contentLength = requireContentLength(request);
+        String surveyJson = toSurveyJson(parseSurvey(survey));
+
+        FastApiResponseDto dto = service.analyzeStreamOnlyForTest(
+                request.getInputStream(), contentLength, request.getContentType(), surveyJson);
+        return ApiResponse.ok(dto);
+    }
+
     // ================== 내부 유틸 ==================
 
     /**
@@ -134,6 +421,32 @@ public class AnalysisController {
         }
     }
 
+    /**
+     * survey 쿼리 파라미터(JSON 문자열) → SurveyDto
+     */
+    private SurveyDto parseSurvey(String survey) {
+        try {
+            return objectMapper.readValue(survey, SurveyDto.class);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("설문 데이터 형식이 올바르지 않습니다.");
+        }
+    }
+
+    /**
+     * 스트리밍 업로드는 길이를 알아야 S3에 한 번에 흘려보낼 수 있으므로 Content-Length 필수
+     */
+    private long requireContentLength(HttpServletRequest request) {
+        long contentLength = request.getContentLengthLong();
+        if (contentLength < 0) {
+            throw new ResponseStatusException(HttpStatus.LENGTH_REQUIRED, "Content-Length 헤더가 필요합니다.");
+        }
+        if (contentLength > maxUploadSize.toBytes()) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                    "이미지 크기는 " + maxUploadSize.toMegabytes() + "MB 를 넘을 수 없습니다.");
+        }
+        return contentLength;
+    }
+
     private Long resolveUserId(Authentication auth) {
         Object principal = auth.getPrincipal();
 
@@ -0,0 +1,42 @@
+package com.vegin.module.analysis.domain;
+
+import com.vegin.dto.request.RecommendationCard;
+import com.vegin.external.dto.FastApiResponseDto;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 분석 완료 / 실패 이벤트 (outbox payload, Redis Streams 메시지의 payload 필드)
+ * - 소비자가 skin_analysis / 결과 원본을 다시 읽지 않아도 되도록 요약 + 추천 상위 N개를 담음
+ * - recommendations 는 recommendation.items 형식 그대로 (productId, name, xaiText)
+ */
+public record AnalysisEvent(
+        Long analysisId,
+        Long userId,
+        String status,
+        String skinMbti,
+        String skinType,
+        List<RecommendationCard> recommendations
+) {
+
+    public static final String DONE = "analysis.done";
+    public static final String FAILED = "analysis.failed";
+
+    public static AnalysisEvent of(SkinAnalysis analysis, FastApiResponseDto result, int topk) {
+        List<FastApiResponseDto.FastApiProductDto> products =
+                result != null && result.recommendations() != null ? result.recommendations() : List.of();
+        List<RecommendationCard> cards = products.stream()
+                .filter(Objects::nonNull)
+                .limit(topk)
+                .map(p -> new RecommendationCard(p.productId(), p.productName(),
+                        p.xaiKeywords() != null ? String.join(", ", p.xaiKeywords()) : null))
+                .toList();
+        return new AnalysisEvent(analysis.getId(), analysis.getUserId(), analysis.getStatus(),
+                analysis.getSkinMbti(), analysis.getSkinType(), cards);
+    }
+
+    public String type() {
+        return "DONE".equals(status) ? DONE : FAILED;
+    }
+}
@@ -0,0 +1,43 @@
+package com.vegin.module.analysis.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+/**
+ * 분석 이벤트 outbox 행 (payload = AnalysisEvent JSON)
+ * - published_at 이 null 이면 아직 내보내지 않은 이벤트
+ */
+@Entity
+@Table(name = "analysis_outbox")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AnalysisOutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "analysis_id", nullable = false)
+    private Long analysisId;
+
+    @Column(name = "event_type", nullable = false, length = 40)
+    private String eventType;
+
+    @Column(columnDefinition = "json", nullable = false)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private OffsetDateTime createdAt;
+
+    @Column(name = "published_at")
+    private OffsetDateTime publishedAt;
+
+    @PrePersist
+    void init() { createdAt = OffsetDateTime.now(); }
+}
@@ -0,0 +1,17 @@
+package com.vegin.module.analysis.domain;
+
+import java.time.OffsetDateTime;
+
+/**
+ * 결과 상세 조회용 프로젝션 (skin_analysis + skin_analysis_result.rendered + users.nickname 한 번에)
+ * - payload / user_input 등 큰 컬럼은 읽지 않음
+ * - rendered 는 결과 행이 없거나 V16 이전 결과면 null
+ * - resultCreatedAt 은 결과 행의 버전 (ETag 용), 결과 행이 없으면 null
+ */
+public record AnalysisResultDocumentRow(
+        String status,
+        String skinMbti,
+        byte[] rendered,
+        OffsetDateTime resultCreatedAt,
+        String nickname
+) { }
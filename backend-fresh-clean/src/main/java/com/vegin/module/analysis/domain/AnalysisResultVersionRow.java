@@ -0,0 +1,13 @@
+package com.vegin.module.analysis.domain;
+
+import java.time.OffsetDateTime;
+
+/**
+ * 결과 상세 조건부 조회(If-None-Match)용 프로젝션
+ * - ETag 계산에 필요한 값만 읽음 (rendered / payload 등 BLOB 제외)
+ */
+public record AnalysisResultVersionRow(
+        String status,
+        OffsetDateTime resultCreatedAt,
+        String nickname
+) { }
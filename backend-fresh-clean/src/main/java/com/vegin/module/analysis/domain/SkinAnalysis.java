@@ -1,5 +1,6 @@
 package com.vegin.module.analysis.domain;
 
+import com.vegin.external.dto.FastApiResponseDto;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -13,7 +14,7 @@ import java.time.OffsetDateTime;
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class SkinAnalysis {
     @Id
     @GeneratedValue(strategy= GenerationType.IDENTITY)
@@ -31,11 +32,70 @@ public class SkinAnalysis {
     @Column(name = "status", nullable=false, length=30)
     private String status;  // PENDING/DONE/FAILED
 
-    @Column(columnDefinition="json")
-    private String result;    // 분석 결과 JSON
+    // 분석 결과 요약 (원본 JSON 은 skin_analysis_result 에 압축 저장)
+    @Column(name = "skin_mbti", length = 10)
+    private String skinMbti;
+
+    @Column(name = "skin_type", length = 30)
+    private String skinType;
+
+    @Column(name = "oil_index")
+    private Double oilIndex;
+
+    @Column(name = "dry_index")
+    private Double dryIndex;
+
+    @Column(name = "sensitivity_index")
+    private Double sensitivityIndex;
+
+    @Column(name = "wrinkle_index")
+    private Double wrinkleIndex;
+
+    @Column(name = "pigment_index")
+    private Double pigmentIndex;
+
+    @Column(name = "content_hash", length = 64)
+    private String contentHash; // SHA-256(이미지 + 설문), 중복 분석 재사용용
+
+    @Column(name = "batch_id", length = 36)
+    private String batchId; // 배치 요청으로 함께 만들어진 행 묶음 (단건 요청은 null)
 
     @Column(name = "created_at", nullable=false)
     private OffsetDateTime createdAt;
 
     @PrePersist void init(){ createdAt = OffsetDateTime.now(); }
+
+    /**
+     * 상태/결과 요약만 바꾼 사본 (id, createdAt 등은 그대로 유지)
+     * - result 가 null 이면(FAILED 등) 요약 컬럼은 비움
+     */
+    public SkinAnalysis withResult(String status, FastApiResponseDto result) {
+        FastApiResponseDto.FastApiFusionDto fusion = result != null ? result.fusion() : null;
+        FastApiResponseDto.FastApiIndicesDto indices = fusion != null ? fusion.indices() : null;
+        return toBuilder()
+                .status(status)
+                .skinMbti(fusion != null ? fusion.skinMbti() : null)
+                .skinType(fusion != null ? fusion.skinType() : null)
+                .oilIndex(indices != null ? indices.oil() : null)
+                .dryIndex(indices != null ? indices.dry() : null)
+                .sensitivityIndex(indices != null ? indices.sensitivity() : null)
+                .wrinkleIndex(indices != null ? indices.wrinkle() : null)
+                .pigmentIndex(indices != null ? indices.pigment() : null)
+                .build();
+    }
+
+    /**
+     * 중복 요청 재사용: 같은 사용자의 새 DONE 행 (결과 요약은 이 행 그대로)
+     */
+    public SkinAnalysis copyAsDone(String s3Key, String userInput, String contentHash) {
+        return toBuilder()
+                .id(null)
+                .s3Key(s3Key)
+                .userInput(userInput)
+                .status("DONE")
+                .contentHash(contentHash)
+                .batchId(null)
+                .createdAt(null)
+                .build();
+    }
 }
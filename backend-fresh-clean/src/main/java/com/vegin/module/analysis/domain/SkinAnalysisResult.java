@@ -0,0 +1,44 @@
+package com.vegin.module.analysis.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+/**
+ * 분석 결과 원본(FastAPI 응답 JSON) 보관용 테이블
+ * - skin_analysis 행에서 분리 → 목록 / 상태 조회 때 큰 JSON 을 읽지 않음
+ * - payload 는 codec 에 따라 인코딩 (AnalysisResultStore 참고)
+ * - rendered 는 결과 상세 응답 중 분석 건별 부분을 DONE 시점에 미리 직렬화한 JSON 조각 (AnalysisResultRenderer 참고)
+ */
+@Entity
+@Table(name="skin_analysis_result")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SkinAnalysisResult {
+    @Id
+    @Column(name = "analysis_id")
+    private Long analysisId;
+
+    @Column(nullable=false, length=16)
+    private String codec;       // zlib (MySQL COMPRESS 형식) / json
+
+    @Column(nullable=false, columnDefinition="mediumblob")
+    private byte[] payload;
+
+    @Column(name = "raw_size", nullable=false)
+    private int rawSize;        // 원본 JSON 바이트 수
+
+    @Column(columnDefinition="mediumblob")
+    private byte[] rendered;    // null 이면 (V16 이전 결과) 조회 때 payload 로 렌더링
+
+    @Column(name = "created_at", nullable=false)
+    private OffsetDateTime createdAt;
+
+    @PrePersist void init(){ if (createdAt == null) createdAt = OffsetDateTime.now(); }
+}
@@ -0,0 +1,15 @@
+package com.vegin.module.analysis.domain;
+
+/**
+ * 통계용 GROUP BY 결과 한 줄 (skin_mbti 또는 skin_type 별)
+ * - 평균 지수는 요약 컬럼에서 바로 계산 (결과 JSON 파싱 없음)
+ */
+public record SkinAnalysisStatRow(
+        String code,
+        Long count,
+        Double avgOil,
+        Double avgDry,
+        Double avgSensitivity,
+        Double avgWrinkle,
+        Double avgPigment
+) { }
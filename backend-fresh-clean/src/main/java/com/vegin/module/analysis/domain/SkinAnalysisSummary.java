@@ -0,0 +1,13 @@
+package com.vegin.module.analysis.domain;
+
+import java.time.OffsetDateTime;
+
+/**
+ * 히스토리 목록용 가벼운 프로젝션 (result / user_input JSON 컬럼은 읽지 않음)
+ */
+public record SkinAnalysisSummary(
+        Long id,
+        String s3Key,
+        String status,
+        OffsetDateTime createdAt
+) { }
@@ -0,0 +1,36 @@
+package com.vegin.module.analysis.repository;
+
+import com.vegin.module.analysis.domain.AnalysisOutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+public interface AnalysisOutboxRepository extends JpaRepository<AnalysisOutboxEvent, Long> {
+
+    /**
+     * 미발행 이벤트를 id 순으로 잠금 (다른 노드의 릴레이가 잡은 행은 건너뜀 → 노드 여러 대가 나눠서 발행)
+     */
+    @Query(value = """
+            SELECT * FROM analysis_outbox
+            WHERE published_at IS NULL
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<AnalysisOutboxEvent> lockUnpublished(@Param("limit") int limit);
+
+    @Modifying
+    @Query("update AnalysisOutboxEvent e set e.publishedAt = :publishedAt where e.id in :ids")
+    int markPublished(@Param("ids") List<Long> ids, @Param("publishedAt") OffsetDateTime publishedAt);
+
+    /**
+     * 보관 기간이 지난 발행 완료 행 정리 (한 번에 limit 건씩)
+     */
+    @Modifying
+    @Query(value = "DELETE FROM analysis_outbox WHERE published_at < :before LIMIT :limit", nativeQuery = true)
+    int deletePublishedBefore(@Param("before") OffsetDateTime before, @Param("limit") int limit);
+}
@@ -2,6 +2,9 @@ package com.vegin.module.analysis.repository;
 
 import com.vegin.module.analysis.domain.Recommendation;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -10,4 +13,17 @@ public interface RecommendationRepository extends JpaRepository<Recommendation,
     List<Recommendation> findByUserIdOrderByCreatedAtDesc(Long userId);
     Optional<Recommendation> findFirstByUserIdOrderByCreatedAtDesc(Long userId);
     List<Recommendation> findByAnalysisId(Long analysisId);
+    boolean existsByAnalysisId(Long analysisId);
+
+    /**
+     * 분석 1건당 1행 (uk_recommendation_analysis), 이미 있으면 아무것도 바꾸지 않음
+     * - 같은 이벤트를 두 노드가 동시에 처리해도 예외 / 중복 행 없음
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO recommendation (user_id, analysis_id, items)
+            VALUES (:userId, :analysisId, :items)
+            ON DUPLICATE KEY UPDATE analysis_id = analysis_id
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId, @Param("analysisId") Long analysisId, @Param("items") String items);
 }
\ No newline at end of file
@@ -0,0 +1,75 @@
+package com.vegin.module.analysis.repository;
+
+import com.vegin.module.analysis.domain.SkinAnalysis;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 배치 분석 요청의 PENDING 행을 INSERT 문 1번으로 저장
+ * - SkinAnalysis 는 IDENTITY 키라 Hibernate 가 INSERT 를 묶지 못함 → 다중 VALUES INSERT 로 직접 저장
+ * - 생성 키는 VALUES 순서대로 돌려받음 (MySQL 다중 행 INSERT 는 연속된 AUTO_INCREMENT 값)
+ */
+@Repository
+@RequiredArgsConstructor
+public class SkinAnalysisBatchInserter {
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO skin_analysis (user_id, s3_key, user_input, status, content_hash, batch_id, created_at) VALUES ";
+    private static final String VALUES_ROW = "(?, ?, ?, ?, ?, ?, ?)";
+    private static final int COLUMNS = 7;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @param rows id / createdAt 이 비어 있는 PENDING 행
+     * @return id / createdAt 이 채워진 행 (입력 순서 그대로)
+     */
+    public List<SkinAnalysis> insertPending(List<SkinAnalysis> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        OffsetDateTime now = OffsetDateTime.now();
+        Timestamp createdAt = Timestamp.from(now.toInstant());
+        String sql = INSERT_PREFIX + String.join(", ", Collections.nCopies(rows.size(), VALUES_ROW));
+
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+            int i = 0;
+            for (SkinAnalysis row : rows) {
+                int base = i++ * COLUMNS;
+                ps.setLong(base + 1, row.getUserId());
+                ps.setString(base + 2, row.getS3Key());
+                ps.setString(base + 3, row.getUserInput());
+                ps.setString(base + 4, row.getStatus());
+                ps.setString(base + 5, row.getContentHash());
+                ps.setString(base + 6, row.getBatchId());
+                ps.setTimestamp(base + 7, createdAt);
+            }
+            return ps;
+        }, keys);
+
+        List<Map<String, Object>> generated = keys.getKeyList();
+        if (generated.size() != rows.size()) {
+            throw new IllegalStateException("배치 INSERT 생성 키 개수 불일치: " + generated.size() + " / " + rows.size());
+        }
+        List<SkinAnalysis> saved = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            Number id = (Number) generated.get(i).values().iterator().next();
+            saved.add(rows.get(i).toBuilder().id(id.longValue()).createdAt(now).build());
+        }
+        return saved;
+    }
+}
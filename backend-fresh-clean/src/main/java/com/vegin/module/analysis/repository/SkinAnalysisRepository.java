@@ -1,11 +1,112 @@
 package com.vegin.module.analysis.repository;
 
+import com.vegin.module.analysis.domain.AnalysisResultDocumentRow;
+import com.vegin.module.analysis.domain.AnalysisResultVersionRow;
 import com.vegin.module.analysis.domain.SkinAnalysis;
+import com.vegin.module.analysis.domain.SkinAnalysisStatRow;
+import com.vegin.module.analysis.domain.SkinAnalysisSummary;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
 
 public interface SkinAnalysisRepository extends JpaRepository<SkinAnalysis, Long> {
     List<SkinAnalysis> findByUserIdOrderByCreatedAtDesc(Long userId);
+    List<SkinAnalysis> findByUserIdOrderByCreatedAtDesc(Long userId, Pageable pageable);
     Optional<SkinAnalysis> findByIdAndUserId(Long id, Long userId);
-}
\ No newline at end of file
+    Optional<SkinAnalysis> findFirstByUserIdAndContentHashAndStatusOrderByIdDesc(Long userId, String contentHash, String status);
+    boolean existsByS3Key(String s3Key);
+    List<SkinAnalysis> findByUserIdAndBatchIdOrderByIdAsc(Long userId, String batchId);
+
+    /**
+     * 결과 상세: 상태 + MBTI + 미리 렌더링된 결과 + 닉네임을 쿼리 1회로 (PK 조회 3건)
+     */
+    @Query("""
+            select new com.vegin.module.analysis.domain.AnalysisResultDocumentRow(
+                a.status, a.skinMbti, r.rendered, r.createdAt, u.nickname)
+            from SkinAnalysis a
+            join User u on u.id = a.userId
+            left join SkinAnalysisResult r on r.analysisId = a.id
+            where a.id = :id and a.userId = :userId
+            """)
+    Optional<AnalysisResultDocumentRow> findResultDocument(@Param("id") Long id, @Param("userId") Long userId);
+
+    /**
+     * 결과 상세 304 판단용: 상태 + 결과 행 버전 + 닉네임만 (rendered BLOB 은 읽지 않음)
+     */
+    @Query("""
+            select new com.vegin.module.analysis.domain.AnalysisResultVersionRow(
+                a.status, r.createdAt, u.nickname)
+            from SkinAnalysis a
+            join User u on u.id = a.userId
+            left join SkinAnalysisResult r on r.analysisId = a.id
+            where a.id = :id and a.userId = :userId
+            """)
+    Optional<AnalysisResultVersionRow> findResultVersion(@Param("id") Long id, @Param("userId") Long userId);
+
+    /**
+     * 히스토리 첫 페이지 (idx_skin_analysis_user_created 사용, 목록 컬럼만 프로젝션)
+     */
+    @Query("""
+            select new com.vegin.module.analysis.domain.SkinAnalysisSummary(a.id, a.s3Key, a.status, a.createdAt)
+            from SkinAnalysis a
+            where a.userId = :userId
+            order by a.createdAt desc, a.id desc
+            """)
+    List<SkinAnalysisSummary> findHistory(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * 히스토리 다음 페이지: (created_at, id) < (cursorCreatedAt, cursorId)
+     */
+    @Query("""
+            select new com.vegin.module.analysis.domain.SkinAnalysisSummary(a.id, a.s3Key, a.status, a.createdAt)
+            from SkinAnalysis a
+            where a.userId = :userId
+              and (a.createdAt < :cursorCreatedAt
+                   or (a.createdAt = :cursorCreatedAt and a.id < :cursorId))
+            order by a.createdAt desc, a.id desc
+            """)
+    List<SkinAnalysisSummary> findHistoryBefore(@Param("userId") Long userId,
+                                                @Param("cursorCreatedAt") OffsetDateTime cursorCreatedAt,
+                                                @Param("cursorId") Long cursorId,
+                                                Pageable pageable);
+
+    /**
+     * 기간 내 DONE 분석의 skin_mbti 분포 + 평균 지수 (idx_skin_analysis_stats 커버링 인덱스만 읽음)
+     */
+    @Query("""
+            select new com.vegin.module.analysis.domain.SkinAnalysisStatRow(
+                a.skinMbti, count(a), avg(a.oilIndex), avg(a.dryIndex),
+                avg(a.sensitivityIndex), avg(a.wrinkleIndex), avg(a.pigmentIndex))
+            from SkinAnalysis a
+            where a.status = 'DONE'
+              and a.createdAt >= :from and a.createdAt < :to
+              and a.skinMbti is not null
+            group by a.skinMbti
+            order by count(a) desc
+            """)
+    List<SkinAnalysisStatRow> countByMbti(@Param("from") OffsetDateTime from,
+                                          @Param("to") OffsetDateTime to);
+
+    /**
+     * 기간 내 DONE 분석의 skin_type 분포 + 평균 지수
+     */
+    @Query("""
+            select new com.vegin.module.analysis.domain.SkinAnalysisStatRow(
+                a.skinType, count(a), avg(a.oilIndex), avg(a.dryIndex),
+                avg(a.sensitivityIndex), avg(a.wrinkleIndex), avg(a.pigmentIndex))
+            from SkinAnalysis a
+            where a.status = 'DONE'
+              and a.createdAt >= :from and a.createdAt < :to
+              and a.skinType is not null
+            group by a.skinType
+            order by count(a) desc
+            """)
+    List<SkinAnalysisStatRow> countBySkinType(@Param("from") OffsetDateTime from,
+                                              @Param("to") OffsetDateTime to);
+
+}
@@ -0,0 +1,7 @@
+package com.vegin.module.analysis.repository;
+
+import com.vegin.module.analysis.domain.SkinAnalysisResult;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface SkinAnalysisResultRepository extends JpaRepository<SkinAnalysisResult, Long> {
+}
@@ -0,0 +1,186 @@
+package com.vegin.module.analysis.service;
+
+import com.vegin.common.S3Service;
+import com.vegin.dto.response.AnalysisBatchResponse;
+import com.vegin.module.analysis.domain.SkinAnalysis;
+import com.vegin.module.analysis.repository.SkinAnalysisBatchInserter;
+import com.vegin.module.analysis.repository.SkinAnalysisRepository;
+import com.vegin.module.users.service.ProfileSummaryCache;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * 배치 분석 요청 (한 사용자의 사진 여러 장 + 설문 1개, 제휴 클리닉 전후 / 다각도 촬영용)
+ * 1) 파일별 해시 + S3 업로드를 uploadExecutor(분석 워커와 별도 I/O 풀)에서 병렬로
+ *    하나라도 실패하면 남은 업로드는 취소하고, 이미 올라간 객체는 삭제 (DB 행 없는 고아 객체 방지)
+ * 2) PENDING 행 N개를 INSERT 1번으로 저장 (같은 batchId)
+ * 3) 건별로 AnalysisJobWorker 에 등록 → FastAPI 동시 호출 수는 워커 풀 + FastApiClient bulkhead 가 제한
+ * 4) batchId + 건별 상태 반환, 이후 GET /api/analysis/batch/{batchId} 또는 SSE 로 진행 확인
+ * 단건 요청과 달리 항상 비동기, 중복 재사용(reuseExisting)은 하지 않음 (해시는 저장해서 이후 단건 요청이 재사용 가능)
+ */
+@Slf4j
+@Service
+public class AnalysisBatchService {
+
+    private final SkinAnalysisService analysisService;    // 업로드 / 해시 (단건 요청과 같은 규칙)
+    private final SkinAnalysisRepository analyses;
+    private final SkinAnalysisBatchInserter batchInserter;
+    private final AnalysisJobWorker jobWorker;
+    private final S3Service s3;
+    private final ProfileSummaryCache profileSummaryCache;
+    private final AnalysisProgressHub progressHub;
+    private final TaskExecutor uploadExecutor;
+    private final int maxItems;
+
+    public AnalysisBatchService(SkinAnalysisService analysisService,
+                                SkinAnalysisRepository analyses,
+                                SkinAnalysisBatchInserter batchInserter,
+                                AnalysisJobWorker jobWorker,
+                                S3Service s3,
+                                ProfileSummaryCache profileSummaryCache,
+                                AnalysisProgressHub progressHub,
+                                @Qualifier("uploadExecutor") TaskExecutor uploadExecutor,
+                                @Value("${analysis.batch.max-items:5}") int maxItems) {
+        this.analysisService = analysisService;
+        this.analyses = analyses;
+        this.batchInserter = batchInserter;
+        this.jobWorker = jobWorker;
+        this.s3 = s3;
+        this.profileSummaryCache = profileSummaryCache;
+        this.progressHub = progressHub;
+        this.uploadExecutor = uploadExecutor;
+        this.maxItems = maxItems;
+    }
+
+    public AnalysisBatchResponse submitBatch(Long userId, List<MultipartFile> files, String surveyJson) {
+        if (files == null || files.isEmpty()) {
+            throw new IllegalArgumentException("이미지 파일이 비어 있습니다.");
+        }
+        if (files.size() > maxItems) {
+            throw new IllegalArgumentException("한 번에 최대 " + maxItems + "장까지 분석할 수 있습니다.");
+        }
+        for (MultipartFile file : files) {
+            if (file == null || file.isEmpty()) {
+                throw new IllegalArgumentException("이미지 파일이 비어 있습니다.");
+            }
+        }
+
+        String batchId = UUID.randomUUID().toString();
+
+        // 1) 병렬 업로드 (하나라도 실패하면 배치 전체 실패, 행은 만들지 않음)
+        List<CompletableFuture<Uploaded>> uploads = new ArrayList<>(files.size());
+        for (MultipartFile file : files) {
+            uploads.add(runAsync(() -> new Uploaded(
+                    analysisService.hashContent(file, surveyJson),
+                    analysisService.uploadImage(userId, file))));
+        }
+        List<Uploaded> uploaded;
+        try {
+            uploaded = uploads.stream().map(AnalysisBatchService::join).toList();
+        } catch (RuntimeException e) {
+            discard(batchId, uploads);
+            throw e;
+        }
+        log.info("[AnalysisBatch] upload done. batchId={} count={}", batchId, uploaded.size());
+
+        // 2) PENDING 행 일괄 저장
+        List<SkinAnalysis> rows = uploaded.stream()
+                .map(u -> SkinAnalysis.builder()
+                        .userId(userId)
+                        .s3Key(u.key())
+                        .userInput(surveyJson)
+                        .status("PENDING")
+                        .contentHash(u.contentHash())
+                        .batchId(batchId)
+                        .build())
+                .toList();
+        List<SkinAnalysis> saved;
+        try {
+            saved = batchInserter.insertPending(rows);
+        } catch (RuntimeException e) {
+            discard(batchId, uploads);
+            throw e;
+        }
+        profileSummaryCache.evict(userId);
+
+        // 3) 건별 워커 등록 (풀이 가득 차면 그 건만 FAILED)
+        List<AnalysisBatchResponse.Item> items = new ArrayList<>(saved.size());
+        for (int i = 0; i < saved.size(); i++) {
+            SkinAnalysis entity = saved.get(i);
+            String imageUrl = s3.getUrl(entity.getS3Key());
+            progressHub.publish(userId, entity.getId(), AnalysisProgressHub.Stage.UPLOADED, null);
+            boolean queued = jobWorker.enqueue(userId, entity.getId(), imageUrl, surveyJson);
+            items.add(new AnalysisBatchResponse.Item(i, entity.getId(), imageUrl, queued ? "PENDING" : "FAILED"));
+        }
+        log.info("[AnalysisBatch] submitted. batchId={} ids={}", batchId,
+                saved.stream().map(SkinAnalysis::getId).toList());
+        return new AnalysisBatchResponse(batchId, items);
+    }
+
+    @Transactional(readOnly = true)
+    public AnalysisBatchResponse getBatch(Long userId, String batchId) {
+        List<SkinAnalysis> rows = analyses.findByUserIdAndBatchIdOrderByIdAsc(userId, batchId);
+        if (rows.isEmpty()) {
+            throw new EntityNotFoundException("배치 분석을 찾을 수 없습니다.");
+        }
+        List<AnalysisBatchResponse.Item> items = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            SkinAnalysis row = rows.get(i);
+            items.add(new AnalysisBatchResponse.Item(i, row.getId(), s3.getUrl(row.getS3Key()), row.getStatus()));
+        }
+        return new AnalysisBatchResponse(batchId, items);
+    }
+
+    // ================== 내부 유틸 ==================
+
+    /**
+     * 실패한 배치의 업로드 정리
+     * - 아직 시작 안 한 업로드는 취소 (cancel 된 future 의 작업은 실행되지 않음)
+     * - 끝난 / 진행 중인 업로드는 완료되는 대로 객체 삭제
+     */
+    private void discard(String batchId, List<CompletableFuture<Uploaded>> uploads) {
+        log.warn("[AnalysisBatch] upload failed → 업로드 취소 / 정리. batchId={}", batchId);
+        for (CompletableFuture<Uploaded> upload : uploads) {
+            upload.cancel(false);
+            upload.thenAccept(u -> s3.deleteQuietly(u.key()));
+        }
+    }
+
+    /**
+     * 업로드 풀이 가득 차 있으면 요청 스레드에서 직접 실행 (업로드는 배치를 거절할 이유가 아님)
+     */
+    private <T> CompletableFuture<T> runAsync(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, uploadExecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.supplyAsync(task, Runnable::run);
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record Uploaded(String contentHash, String key) { }
+}
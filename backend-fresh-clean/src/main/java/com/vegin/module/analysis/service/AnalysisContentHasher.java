@@ -0,0 +1,79 @@
+package com.vegin.module.analysis.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * 분석 요청 내용 해시 (중복 분석 방지용)
+ * - SHA-256(이미지 바이트 + 0x00 + 정규화된 설문 JSON)
+ * - 이미지는 스트림으로 읽으면서 해시 → 전체 바이트를 힙에 올리지 않음
+ * - 설문 JSON은 키 정렬 + 공백 제거로 정규화해서 필드 순서 차이를 흡수
+ */
+@Slf4j
+@Component
+public class AnalysisContentHasher {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final ObjectMapper canonicalMapper;
+
+    public AnalysisContentHasher(ObjectMapper objectMapper) {
+        this.canonicalMapper = objectMapper.copy()
+                .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true)
+                .configure(SerializationFeature.INDENT_OUTPUT, false);
+    }
+
+    public String hash(MultipartFile file, String surveyJson) {
+        MessageDigest digest = newDigest();
+        try (InputStream in = file.getInputStream()) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, n);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("이미지 해시 계산 실패", e);
+        }
+        return finish(digest, surveyJson);
+    }
+
+    /**
+     * 이미 이미지 바이트 해시를 누적한 digest 에 설문을 이어붙여 최종 해시 생성
+     */
+    public String finish(MessageDigest imageDigest, String surveyJson) {
+        imageDigest.update((byte) 0);
+        imageDigest.update(normalizeSurvey(surveyJson).getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(imageDigest.digest());
+    }
+
+    public MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 을 사용할 수 없습니다.", e);
+        }
+    }
+
+    String normalizeSurvey(String surveyJson) {
+        if (surveyJson == null || surveyJson.isBlank()) {
+            return "{}";
+        }
+        try {
+            Object tree = canonicalMapper.readValue(surveyJson, Object.class);
+            return canonicalMapper.writeValueAsString(tree);
+        } catch (Exception e) {
+            log.warn("[AnalysisHash] 설문 JSON 정규화 실패 → 원문 사용");
+            return surveyJson.strip();
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.vegin.module.analysis.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vegin.module.analysis.domain.AnalysisEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * analysis:events 소비자 그룹 리더 → AnalysisEventHandler 들에 전달
+ * - 노드마다 같은 그룹의 다른 consumer 로 붙어서 메시지를 나눠 받음
+ * - poll: 새 메시지만 읽음 (XREADGROUP >)
+ * - reclaim: 그룹 전체 pending 중 claim-min-idle 이상 ACK 안 된 메시지를 내 consumer 로 가져와 재처리
+ *   (XPENDING + XCLAIM, 처리 실패 / 죽은 노드 / 재시작으로 이름이 바뀐 consumer 의 메시지 모두 포함)
+ * - max-deliveries 번 전달돼도 실패하면 analysis:events:dead 로 옮기고 ACK (같은 메시지가 계속 막지 않음)
+ * - 모든 핸들러가 성공해야 ACK, 형식이 깨진 메시지는 다시 받아도 소용없으므로 로그 후 ACK
+ */
+@Slf4j
+@Component
+public class AnalysisEventConsumer {
+
+    private static final String STREAM = RedisStreamAnalysisEventPublisher.STREAM;
+    static final String DEAD_STREAM = STREAM + ":dead";
+
+    private final StringRedisTemplate redis;
+    private final ObjectMapper objectMapper;
+    private final List<AnalysisEventHandler> handlers;
+    private final boolean enabled;
+    private final String group;
+    private final String consumerName;
+    private final int batchSize;
+    private final Duration claimMinIdle;
+    private final long maxDeliveries;
+
+    private volatile boolean groupReady;
+
+    public AnalysisEventConsumer(StringRedisTemplate redis,
+                                 ObjectMapper objectMapper,
+                                 List<AnalysisEventHandler> handlers,
+                                 @Value("${analysis.events.enabled:true}") boolean enabled,
+                                 @Value("${analysis.events.group:vegin-projections}") String group,
+                                 @Value("${analysis.events.consumer-name:${HOSTNAME:local}}") String consumerName,
+                                 @Value("${analysis.events.batch-size:100}") int batchSize,
+                                 @Value("${analysis.events.claim-min-idle-ms:60000}") long claimMinIdleMs,
+                                 @Value("${analysis.events.max-deliveries:5}") long maxDeliveries) {
+        this.redis = redis;
+        this.objectMapper = objectMapper;
+        this.handlers = handlers;
+        this.enabled = enabled;
+        this.group = group;
+        this.consumerName = consumerName;
+        this.batchSize = batchSize;
+        this.claimMinIdle = Duration.ofMillis(claimMinIdleMs);
+        this.maxDeliveries = maxDeliveries;
+    }
+
+    @Scheduled(fixedDelayString = "${analysis.events.poll-ms:1000}")
+    public void poll() {
+        if (!enabled || handlers.isEmpty()) {
+            return;
+        }
+        try {
+            ensureGroup();
+            List<MapRecord<String, Object, Object>> records = redis.opsForStream().read(
+                    Consumer.from(group, consumerName),
+                    StreamReadOptions.empty().count(batchSize),
+                    StreamOffset.create(STREAM, ReadOffset.lastConsumed()));
+            if (records == null) {
+                return;
+            }
+            for (MapRecord<String, Object, Object> record : records) {
+                if (dispatch(record.getValue())) {
+                    redis.opsForStream().acknowledge(STREAM, group, record.getId());
+                }
+            }
+        } catch (DataAccessException e) {
+            groupReady = false;   // 스트림 / 그룹이 지워졌을 수 있으므로 다음 주기에 다시 만듦
+            log.warn("[AnalysisEvents] 스트림 읽기 실패 : {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 오래 ACK 안 된 pending 메시지 인수 (consumer 이름과 무관하게 그룹 전체 대상)
+     * - XCLAIM 에 min-idle 을 같이 넘기므로 여러 노드가 동시에 돌아도 한 노드만 가져감
+     * - 인수 전 전달 횟수가 max-deliveries 이상이면 재처리 대신 dead stream 으로
+     */
+    @Scheduled(fixedDelayString = "${analysis.events.claim-ms:30000}")
+    public void reclaim() {
+        if (!enabled || handlers.isEmpty()) {
+            return;
+        }
+        try {
+            ensureGroup();
+            PendingMessages pending = redis.opsForStream().pending(STREAM, group, Range.unbounded(), batchSize);
+            Map<RecordId, Long> deliveries = new HashMap<>();
+            for (PendingMessage message : pending) {
+                if (message.getElapsedTimeSinceLastDelivery().compareTo(claimMinIdle) >= 0) {
+                    deliveries.put(message.getId(), message.getTotalDeliveryCount());
+                }
+            }
+            if (deliveries.isEmpty()) {
+                return;
+            }
+
+            List<MapRecord<String, Object, Object>> claimed = redis.opsForStream().claim(
+                    STREAM, group, consumerName, claimMinIdle, deliveries.keySet().toArray(RecordId[]::new));
+            for (MapRecord<String, Object, Object> record : claimed) {
+                long delivered = deliveries.getOrDefault(record.getId(), 0L);
+                if (delivered >= maxDeliveries) {
+                    deadLetter(record, delivered);
+                } else if (dispatch(record.getValue())) {
+                    redis.opsForStream().acknowledge(STREAM, group, record.getId());
+                }
+            }
+            if (!claimed.isEmpty()) {
+                log.info("[AnalysisEvents] pending 인수. claimed={} idle>={}ms", claimed.size(), claimMinIdle.toMillis());
+            }
+        } catch (DataAccessException e) {
+            groupReady = false;
+            log.warn("[AnalysisEvents] pending 인수 실패 : {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 원본 필드 + sourceId / deliveries 를 dead stream 에 남기고 원본은 ACK (수동 확인 후 재발행)
+     */
+    private void deadLetter(MapRecord<String, Object, Object> record, long delivered) {
+        Map<Object, Object> fields = new LinkedHashMap<>(record.getValue());
+        fields.put("sourceId", record.getId().getValue());
+        fields.put("deliveries", String.valueOf(delivered));
+        redis.opsForStream().add(DEAD_STREAM, fields);
+        redis.opsForStream().acknowledge(STREAM, group, record.getId());
+        log.error("[AnalysisEvents] {}회 전달 후에도 실패 → {} 로 이동. id={} eventId={}",
+                delivered, DEAD_STREAM, record.getId(), fields.get("eventId"));
+    }
+
+    /**
+     * @return ACK 해도 되는지 (핸들러 실패 시 false → pending 으로 남아 claim-min-idle 뒤 reclaim 에서 재처리)
+     */
+    boolean dispatch(Map<Object, Object> fields) {
+        AnalysisEvent event;
+        long eventId;
+        String type;
+        try {
+            eventId = Long.parseLong(String.valueOf(fields.get("eventId")));
+            type = String.valueOf(fields.get("type"));
+            event = objectMapper.readValue(String.valueOf(fields.get("payload")), AnalysisEvent.class);
+        } catch (NumberFormatException | JsonProcessingException e) {
+            log.error("[AnalysisEvents] 형식이 잘못된 메시지 → 건너뜀. fields={}", fields, e);
+            return true;
+        }
+
+        try {
+            for (AnalysisEventHandler handler : handlers) {
+                handler.handle(eventId, type, event);
+            }
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("[AnalysisEvents] 처리 실패 → 재시도 대기. eventId={} analysisId={} : {}",
+                    eventId, event.analysisId(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * XGROUP CREATE analysis:events {group} 0 MKSTREAM (이미 있으면 BUSYGROUP → 그대로 사용)
+     */
+    private void ensureGroup() {
+        if (groupReady) {
+            return;
+        }
+        try {
+            redis.execute((RedisCallback<String>) connection -> createGroup(connection));
+            log.info("[AnalysisEvents] consumer group 생성. group={}", group);
+        } catch (DataAccessException e) {
+            if (!String.valueOf(e.getMostSpecificCause().getMessage()).contains("BUSYGROUP")) {
+                throw e;
+            }
+        }
+        groupReady = true;
+    }
+
+    private String createGroup(RedisConnection connection) {
+        return connection.streamCommands().xGroupCreate(
+                STREAM.getBytes(StandardCharsets.UTF_8), group, ReadOffset.from("0"), true);
+    }
+}
@@ -0,0 +1,13 @@
+package com.vegin.module.analysis.service;
+
+import com.vegin.module.analysis.domain.AnalysisEvent;
+
+/**
+ * analysis:events 소비자 (파생 데이터를 이벤트 1건씩 갱신)
+ * - 같은 이벤트가 두 번 이상 올 수 있음 (at-least-once) → 두 번 처리해도 결과가 같아야 함
+ * - 예외를 던지면 ACK 하지 않고 다음 주기에 다시 받음
+ */
+public interface AnalysisEventHandler {
+
+    void handle(long eventId, String type, AnalysisEvent event);
+}
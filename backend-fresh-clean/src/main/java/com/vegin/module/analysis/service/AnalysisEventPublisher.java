@@ -0,0 +1,18 @@
+package com.vegin.module.analysis.service;
+
+import com.vegin.module.analysis.domain.AnalysisOutboxEvent;
+
+import java.util.List;
+
+/**
+ * outbox 이벤트를 밖으로 내보내는 방법 (기본 Redis Streams, 브로커로 옮길 때는 구현만 교체)
+ * - analysis.outbox.publisher 로 구현 선택
+ */
+public interface AnalysisEventPublisher {
+
+    /**
+     * 전부 보냈을 때만 정상 반환, 실패하면 예외 → 릴레이가 배치 전체를 다음 주기에 다시 보냄
+     * 일부는 이미 나갔을 수 있으므로 소비자는 eventId 기준으로 중복 처리에 안전해야 함 (at-least-once)
+     */
+    void publish(List<AnalysisOutboxEvent> events);
+}
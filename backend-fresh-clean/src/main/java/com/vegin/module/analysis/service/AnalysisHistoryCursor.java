@@ -0,0 +1,39 @@
+package com.vegin.module.analysis.service;
+
+import com.vegin.module.analysis.domain.SkinAnalysisSummary;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+/**
+ * 히스토리 keyset 커서 = 마지막으로 내려준 행의 (createdAt, id)
+ * - 클라이언트에는 base64url 문자열로만 노출 (형식은 바뀔 수 있음)
+ */
+record AnalysisHistoryCursor(OffsetDateTime createdAt, Long id) {
+
+    private static final String SEPARATOR = "_";
+
+    static AnalysisHistoryCursor of(SkinAnalysisSummary last) {
+        return new AnalysisHistoryCursor(last.createdAt(), last.id());
+    }
+
+    String encode() {
+        String raw = createdAt.toInstant() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static AnalysisHistoryCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf(SEPARATOR);
+            Instant createdAt = Instant.parse(raw.substring(0, sep));
+            long id = Long.parseLong(raw.substring(sep + 1));
+            return new AnalysisHistoryCursor(createdAt.atOffset(ZoneOffset.UTC), id);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("잘못된 cursor 입니다.");
+        }
+    }
+}
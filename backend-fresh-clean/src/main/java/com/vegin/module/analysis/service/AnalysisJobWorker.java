@@ -0,0 +1,107 @@
+package com.vegin.module.analysis.service;
+
+import com.vegin.external.dto.FastApiResponseDto;
+import com.vegin.module.analysis.domain.SkinAnalysis;
+import com.vegin.module.analysis.repository.SkinAnalysisRepository;
+import com.vegin.module.users.service.ProfileSummaryCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * 비동기 분석 작업 실행기
+ * - PENDING 으로 저장된 분석 건을 analysisExecutor 에서 FastAPI로 보내고
+ * - 결과에 따라 DONE / FAILED 로 상태를 갱신한다. (완료 이벤트도 같은 트랜잭션으로 outbox 에 기록)
+ * 요청 스레드와 DB 커넥션은 FastAPI 응답을 기다리지 않는다.
+ */
+@Slf4j
+@Component
+public class AnalysisJobWorker {
+
+    private final SkinAnalysisRepository analyses;
+    private final SkinAnalyzer skinAnalyzer;
+    private final AnalysisResultStore resultStore;
+    private final TaskExecutor analysisExecutor;
+    private final ProfileSummaryCache profileSummaryCache;
+    private final AnalysisProgressHub progressHub;
+    private final AnalysisOutbox analysisOutbox;
+
+    public AnalysisJobWorker(SkinAnalysisRepository analyses,
+                             SkinAnalyzer skinAnalyzer,
+                             AnalysisResultStore resultStore,
+                             @Qualifier("analysisExecutor") TaskExecutor analysisExecutor,
+                             ProfileSummaryCache profileSummaryCache,
+                             AnalysisProgressHub progressHub,
+                             AnalysisOutbox analysisOutbox) {
+        this.analyses = analyses;
+        this.skinAnalyzer = skinAnalyzer;
+        this.resultStore = resultStore;
+        this.analysisExecutor = analysisExecutor;
+        this.profileSummaryCache = profileSummaryCache;
+        this.progressHub = progressHub;
+        this.analysisOutbox = analysisOutbox;
+    }
+
+    /**
+     * 워커 풀에 분석 작업 등록
+     * 큐가 가득 차 거절되면 해당 건을 FAILED 로 남기고 503을 던진다.
+     */
+    public void submit(Long userId, Long analysisId, String imageUrl, String surveyJson) {
+        if (!enqueue(userId, analysisId, imageUrl, surveyJson)) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "분석 요청이 많습니다. 잠시 후 다시 시도해주세요.");
+        }
+    }
+
+    /**
+     * submit 과 같지만 거절 시 던지지 않고 false (배치 요청은 건별 상태로 돌려줌)
+     */
+    public boolean enqueue(Long userId, Long analysisId, String imageUrl, String surveyJson) {
+        try {
+            analysisExecutor.execute(() -> run(userId, analysisId, imageUrl, surveyJson));
+            log.info("[AnalysisJob] queued. id={}", analysisId);
+            return true;
+        } catch (TaskRejectedException e) {
+            log.warn("[AnalysisJob] 워커 풀 포화로 거절됨. id={}", analysisId);
+            complete(analysisId, "FAILED", null);
+            progressHub.publish(userId, analysisId, AnalysisProgressHub.Stage.FAILED, null);
+            return false;
+        }
+    }
+
+    void run(Long userId, Long analysisId, String imageUrl, String surveyJson) {
+        log.info("[AnalysisJob] start. id={}", analysisId);
+        try {
+            FastApiResponseDto res = skinAnalyzer.analyze(imageUrl, surveyJson, progressHub.tracker(userId, analysisId));
+            resultStore.save(analysisId, res);   // 원본 먼저, 그다음 DONE
+            SkinAnalysis done = complete(analysisId, "DONE", res);
+            if (done != null) {
+                profileSummaryCache.onAnalysisSaved(done, res);
+                progressHub.publish(userId, analysisId, AnalysisProgressHub.Stage.DONE, null);
+            }
+            log.info("[AnalysisJob] DONE. id={}", analysisId);
+        } catch (Exception e) {
+            log.error("[AnalysisJob] FAILED. id={}", analysisId, e);
+            complete(analysisId, "FAILED", null);
+            progressHub.publish(userId, analysisId, AnalysisProgressHub.Stage.FAILED, null);
+        }
+    }
+
+    private SkinAnalysis complete(Long analysisId, String status, FastApiResponseDto result) {
+        try {
+            SkinAnalysis entity = analyses.findById(analysisId).orElse(null);
+            if (entity == null) {
+                log.warn("[AnalysisJob] 분석 건이 사라졌습니다. id={}", analysisId);
+                return null;
+            }
+            return analysisOutbox.saveCompleted(entity.withResult(status, result), result);
+        } catch (Exception e) {
+            log.error("[AnalysisJob] 상태 갱신 실패. id={} status={}", analysisId, status, e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.vegin.module.analysis.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vegin.external.dto.FastApiResponseDto;
+import com.vegin.module.analysis.domain.AnalysisEvent;
+import com.vegin.module.analysis.domain.AnalysisOutboxEvent;
+import com.vegin.module.analysis.domain.SkinAnalysis;
+import com.vegin.module.analysis.repository.AnalysisOutboxRepository;
+import com.vegin.module.analysis.repository.SkinAnalysisRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 분석 상태 변경(DONE / FAILED) + 이벤트 outbox 기록을 한 트랜잭션으로
+ * - 상태만 바뀌고 이벤트가 빠지거나, 이벤트만 남고 상태가 롤백되는 경우가 없음
+ * - 실제 발행은 AnalysisOutboxRelay 가 커밋된 행만 읽어서 처리
+ * - 중복 요청 재사용으로 만든 DONE 행(copyAsDone)도 같은 이벤트를 남김 → 파생 데이터에 빠지는 분석 없음
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AnalysisOutbox {
+
+    private final SkinAnalysisRepository analyses;
+    private final AnalysisOutboxRepository outbox;
+    private final AnalysisResultStore resultStore;
+    private final ObjectMapper objectMapper;
+
+    @Value("${analysis.outbox.enabled:true}")
+    private boolean enabled;
+
+    @Value("${analysis.outbox.recommendation-topk:3}")
+    private int recommendationTopk;
+
+    /**
+     * 호출 측 트랜잭션이 있으면 합류, 없으면 이 메서드가 트랜잭션
+     */
+    @Transactional
+    public SkinAnalysis saveCompleted(SkinAnalysis completed, FastApiResponseDto result) {
+        SkinAnalysis saved = analyses.save(completed);
+        append(saved, result);
+        return saved;
+    }
+
+    /**
+     * 중복 요청 재사용: 사본 행 저장 + 결과 원본 복사 + 원본 분석 결과로 만든 analysis.done 이벤트, 한 트랜잭션
+     */
+    @Transactional
+    public SkinAnalysis saveCopy(SkinAnalysis source, SkinAnalysis copy) {
+        SkinAnalysis saved = analyses.save(copy);
+        resultStore.copy(source.getId(), saved.getId());
+        append(saved, enabled ? sourceResult(source) : null);
+        return saved;
+    }
+
+    private void append(SkinAnalysis saved, FastApiResponseDto result) {
+        if (!enabled) {
+            return;
+        }
+        AnalysisEvent event = AnalysisEvent.of(saved, result, recommendationTopk);
+        outbox.save(AnalysisOutboxEvent.builder()
+                .analysisId(saved.getId())
+                .eventType(event.type())
+                .payload(toJson(event))
+                .build());
+        log.debug("[AnalysisOutbox] appended. analysisId={} type={}", saved.getId(), event.type());
+    }
+
+    /**
+     * 원본 결과를 못 읽으면 추천 없이 요약만 담은 이벤트 (재사용 자체는 막지 않음)
+     */
+    private FastApiResponseDto sourceResult(SkinAnalysis source) {
+        try {
+            return resultStore.load(source.getId()).orElse(null);
+        } catch (IllegalStateException e) {
+            log.warn("[AnalysisOutbox] 원본 결과 읽기 실패 → 추천 없이 이벤트 기록. sourceId={} : {}",
+                    source.getId(), e.getMessage());
+            return null;
+        }
+    }
+
+    private String toJson(AnalysisEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("분석 이벤트 직렬화 실패. analysisId=" + event.analysisId(), e);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.vegin.module.analysis.service;
+
+import com.vegin.module.analysis.domain.AnalysisOutboxEvent;
+import com.vegin.module.analysis.repository.AnalysisOutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * outbox → AnalysisEventPublisher 릴레이
+ * - 미발행 행을 batch-size 건씩 FOR UPDATE SKIP LOCKED 로 잡고 → 발행 → published_at 기록, 한 트랜잭션
+ *   발행 후 커밋 전에 죽으면 다음 주기에 다시 나감 (at-least-once)
+ * - 노드 여러 대가 동시에 돌아도 서로 다른 행을 잡음
+ * - 밀린 게 많으면 한 주기에 max-batches-per-run 배치까지 연달아 처리
+ */
+@Slf4j
+@Component
+public class AnalysisOutboxRelay {
+
+    private static final int PURGE_CHUNK = 1000;
+
+    private final AnalysisOutboxRepository outbox;
+    private final AnalysisEventPublisher publisher;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration retention;
+
+    public AnalysisOutboxRelay(AnalysisOutboxRepository outbox,
+                               AnalysisEventPublisher publisher,
+                               TransactionTemplate transactionTemplate,
+                               @Value("${analysis.outbox.enabled:true}") boolean enabled,
+                               @Value("${analysis.outbox.batch-size:100}") int batchSize,
+                               @Value("${analysis.outbox.max-batches-per-run:10}") int maxBatchesPerRun,
+                               @Value("${analysis.outbox.retention-hours:72}") long retentionHours) {
+        this.outbox = outbox;
+        this.publisher = publisher;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.retention = Duration.ofHours(retentionHours);
+    }
+
+    @Scheduled(fixedDelayString = "${analysis.outbox.poll-ms:1000}")
+    public void relay() {
+        if (!enabled) {
+            return;
+        }
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            int relayed;
+            try {
+                relayed = relayBatch();
+            } catch (RuntimeException e) {
+                log.warn("[AnalysisOutbox] 발행 실패 → 다음 주기에 재시도 : {}", e.getMessage());
+                return;
+            }
+            if (relayed < batchSize) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return 이번 배치에서 발행한 건수
+     */
+    int relayBatch() {
+        Integer relayed = transactionTemplate.execute(status -> {
+            List<AnalysisOutboxEvent> events = outbox.lockUnpublished(batchSize);
+            if (events.isEmpty()) {
+                return 0;
+            }
+            publisher.publish(events);
+            outbox.markPublished(events.stream().map(AnalysisOutboxEvent::getId).toList(), OffsetDateTime.now());
+            log.debug("[AnalysisOutbox] relayed. count={} lastId={}", events.size(), events.get(events.size() - 1).getId());
+            return events.size();
+        });
+        return relayed != null ? relayed : 0;
+    }
+
+    /**
+     * 발행 후 보관 기간이 지난 행 정리 (재발행이 필요하면 보관 기간 안에서 published_at 을 비우면 됨)
+     */
+    @Scheduled(cron = "${analysis.outbox.purge-cron:0 30 4 * * *}")
+    public void purgePublished() {
+        if (!enabled) {
+            return;
+        }
+        OffsetDateTime before = OffsetDateTime.now().minus(retention);
+        int total = 0;
+        int deleted;
+        do {
+            Integer chunk = transactionTemplate.execute(status -> outbox.deletePublishedBefore(before, PURGE_CHUNK));
+            deleted = chunk != null ? chunk : 0;
+            total += deleted;
+        } while (deleted == PURGE_CHUNK);
+        log.info("[AnalysisOutbox] purged. count={} before={}", total, before);
+    }
+}
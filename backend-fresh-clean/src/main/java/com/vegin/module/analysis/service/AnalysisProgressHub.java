@@ -0,0 +1,278 @@
+package com.vegin.module.analysis.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vegin.external.dto.FastApiResponseDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 분석 진행 단계 알림 (SSE, GET /api/analysis/events)
+ *
+ * 사용자당 연결 1개로 진행 중인 분석 전부의 단계 이벤트를 받음
+ * - 파이프라인(SkinAnalysisService / AnalysisJobWorker / SkinAnalyzer)이 단계마다 publish
+ * - analysis:progress pub/sub 채널로 모든 노드에 전달 → 그 사용자의 SSE 연결을 가진 노드가 내려줌
+ *   메시지 = "{userId}:{이벤트 JSON}", 이벤트 JSON 은 파싱하지 않고 그대로 data 로 씀
+ * - analysis:progress:user:{userId} HASH (analysisId → 마지막 이벤트) : 연결 직후 현재 단계를 바로 보내기 위한 재생용
+ * - Redis 장애 시 발행은 이 노드의 연결에만 전달, 나머지는 상태 조회(GET /{id}/status)로 확인
+ */
+@Slf4j
+@Component
+public class AnalysisProgressHub implements MessageListener {
+
+    public static final String CHANNEL = "analysis:progress";
+    private static final String REPLAY_KEY_PREFIX = "analysis:progress:user:";
+
+    /**
+     * VISION_DONE / FUSION_DONE : 지금 FastAPI 는 비전 + fusion 을 한 번에 돌려주므로 응답을 받은 시점에 연달아 발행
+     */
+    public enum Stage {
+        UPLOADED, VISION_DONE, FUSION_DONE, RECOMMENDATIONS_DONE, DONE, FAILED
+    }
+
+    private final StringRedisTemplate redis;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final long timeoutMs;
+    private final int maxConnectionsPerUser;
+    private final Duration replayTtl;
+
+    private final Map<Long, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
+
+    public AnalysisProgressHub(
+            StringRedisTemplate redis,
+            ObjectMapper objectMapper,
+            @Value("${analysis.progress.enabled:true}") boolean enabled,
+            @Value("${analysis.progress.timeout-ms:1800000}") long timeoutMs,
+            @Value("${analysis.progress.max-connections-per-user:3}") int maxConnectionsPerUser,
+            @Value("${analysis.progress.replay-ttl-seconds:600}") long replayTtlSeconds
+    ) {
+        this.redis = redis;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.timeoutMs = timeoutMs;
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+        this.replayTtl = Duration.ofSeconds(replayTtlSeconds);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // ================== 구독 (SSE) ==================
+
+    /**
+     * 연결 등록 후 진행 중이던 분석들의 마지막 단계를 먼저 보냄 (등록 → 재생 순서라 사이에 온 이벤트는 중복될 수는 있어도 빠지지 않음)
+     */
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        // 등록 / 초과분 정리를 remove() 와 같은 compute 안에서 (빈 목록이 지워진 뒤 add 되어 고아가 되는 경우 방지)
+        List<SseEmitter> evicted = new ArrayList<>();
+        emitters.compute(userId, (id, list) -> {
+            List<SseEmitter> next = list != null ? list : new CopyOnWriteArrayList<>();
+            next.add(emitter);
+            while (next.size() > maxConnectionsPerUser) {
+                evicted.add(next.remove(0));
+            }
+            return next;
+        });
+        // complete() 콜백이 remove() 를 부르므로 compute 밖에서
+        evicted.forEach(SseEmitter::complete);
+        emitter.onCompletion(() -> remove(userId, emitter));
+        emitter.onTimeout(() -> remove(userId, emitter));
+        emitter.onError(e -> remove(userId, emitter));
+
+        try {
+            Map<Object, Object> last = redis.opsForHash().entries(replayKey(userId));
+            for (Object event : last.values()) {
+                send(userId, emitter, event.toString());
+            }
+        } catch (DataAccessException e) {
+            log.warn("[AnalysisProgress] 재생 목록 조회 실패. userId={} : {}", userId, e.getMessage());
+        }
+        log.debug("[AnalysisProgress] subscribed. userId={} connections={}", userId, list.size());
+        return emitter;
+    }
+
+    /**
+     * 프록시 / 로드밸런서 유휴 타임아웃 방지 + 끊긴 연결 정리
+     */
+    @Scheduled(fixedDelayString = "${analysis.progress.heartbeat-ms:15000}")
+    public void heartbeat() {
+        emitters.forEach((userId, list) -> {
+            for (SseEmitter emitter : list) {
+                try {
+                    emitter.send(SseEmitter.event().comment("ping"));
+                } catch (IOException | IllegalStateException e) {
+                    remove(userId, emitter);
+                }
+            }
+        });
+    }
+
+    // ================== 발행 ==================
+
+    /**
+     * 트랜잭션 안이면 커밋 후 발행 (이벤트를 받은 클라이언트가 바로 조회해도 행이 보이도록)
+     */
+    public void publish(Long userId, Long analysisId, Stage stage, Object data) {
+        if (!enabled || userId == null || analysisId == null) {
+            return;
+        }
+        String event;
+        try {
+            event = objectMapper.writeValueAsString(new ProgressEvent(analysisId, stage, data, System.currentTimeMillis()));
+        } catch (JsonProcessingException e) {
+            log.warn("[AnalysisProgress] 이벤트 직렬화 실패. analysisId={} stage={}", analysisId, stage, e);
+            return;
+        }
+        afterCommit(() -> broadcast(userId, analysisId, event));
+    }
+
+    public Tracker tracker(Long userId, Long analysisId) {
+        return new Tracker(this, userId, analysisId);
+    }
+
+    private void broadcast(Long userId, Long analysisId, String event) {
+        try {
+            String replayKey = replayKey(userId);
+            redis.opsForHash().put(replayKey, analysisId.toString(), event);
+            redis.expire(replayKey, replayTtl);
+            redis.convertAndSend(CHANNEL, userId + ":" + event);
+        } catch (DataAccessException e) {
+            log.warn("[AnalysisProgress] 발행 실패 → 이 노드 연결에만 전달. userId={} : {}", userId, e.getMessage());
+            deliver(userId, event);
+        }
+    }
+
+    /**
+     * 다른 노드(또는 자신)가 발행한 이벤트 수신
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int sep = body.indexOf(':');
+        if (sep <= 0) {
+            log.warn("[AnalysisProgress] 알 수 없는 메시지: {}", body);
+            return;
+        }
+        try {
+            deliver(Long.parseLong(body.substring(0, sep)), body.substring(sep + 1));
+        } catch (NumberFormatException e) {
+            log.warn("[AnalysisProgress] 알 수 없는 메시지: {}", body);
+        }
+    }
+
+    private void deliver(Long userId, String event) {
+        List<SseEmitter> list = emitters.get(userId);
+        if (list == null) {
+            return;
+        }
+        for (SseEmitter emitter : list) {
+            send(userId, emitter, event);
+        }
+    }
+
+    private void send(Long userId, SseEmitter emitter, String event) {
+        try {
+            emitter.send(SseEmitter.event().name("progress").data(event, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            remove(userId, emitter);
+        }
+    }
+
+    private void remove(Long userId, SseEmitter emitter) {
+        emitters.computeIfPresent(userId, (id, list) -> {
+            list.remove(emitter);
+            return list.isEmpty() ? null : list;
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static String replayKey(Long userId) {
+        return REPLAY_KEY_PREFIX + userId;
+    }
+
+    /**
+     * SSE data 형식 (at = epoch ms)
+     */
+    record ProgressEvent(Long analysisId, Stage stage, Object data, long at) { }
+
+    /**
+     * 분석 1건의 단계 발행기 (SkinAnalyzer 에 넘김), NONE 은 아무것도 하지 않음
+     */
+    public static final class Tracker {
+
+        public static final Tracker NONE = new Tracker(null, null, null);
+
+        private final AnalysisProgressHub hub;
+        private final Long userId;
+        private final Long analysisId;
+
+        private Tracker(AnalysisProgressHub hub, Long userId, Long analysisId) {
+            this.hub = hub;
+            this.userId = userId;
+            this.analysisId = analysisId;
+        }
+
+        /**
+         * 비전 + fusion 응답 수신: 고민 점수 / MBTI / 지수를 결과 화면보다 먼저 보여줄 수 있음
+         */
+        public void fusionDone(FastApiResponseDto.FastApiFusionDto fusion) {
+            if (fusion == null) {
+                return;
+            }
+            Map<String, Object> vision = new HashMap<>();
+            vision.put("concerns", fusion.visionRaw());
+            publish(Stage.VISION_DONE, vision);
+
+            Map<String, Object> fused = new HashMap<>();
+            fused.put("skinMbti", fusion.skinMbti());
+            fused.put("skinType", fusion.skinType());
+            fused.put("axis", fusion.indices());
+            publish(Stage.FUSION_DONE, fused);
+        }
+
+        public void recommendationsDone(List<FastApiResponseDto.FastApiProductDto> recommendations) {
+            publish(Stage.RECOMMENDATIONS_DONE, Map.of("count", recommendations != null ? recommendations.size() : 0));
+        }
+
+        private void publish(Stage stage, Object data) {
+            if (hub != null) {
+                hub.publish(userId, analysisId, stage, data);
+            }
+        }
+    }
+}
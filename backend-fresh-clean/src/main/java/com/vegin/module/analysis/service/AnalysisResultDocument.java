@@ -0,0 +1,16 @@
+package com.vegin.module.analysis.service;
+
+/**
+ * 결과 상세 응답 (미리 직렬화된 JSON 바이트) + ETag
+ * - body 가 null 이면 If-None-Match 와 같은 표현 → 304
+ */
+public record AnalysisResultDocument(String etag, byte[] body) {
+
+    static AnalysisResultDocument notModified(String etag) {
+        return new AnalysisResultDocument(etag, null);
+    }
+
+    public boolean isNotModified() {
+        return body == null;
+    }
+}
@@ -0,0 +1,201 @@
+package com.vegin.module.analysis.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vegin.common.ETags;
+import com.vegin.domain.BSTInfo;
+import com.vegin.dto.response.CategoryRecommendationResponse;
+import com.vegin.external.dto.FastApiResponseDto;
+import com.vegin.module.recommend.service.IngredientMatcher;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.zip.CRC32C;
+
+/**
+ * 결과 상세 응답(ApiResponse&lt;AnalysisResultResponse&gt;) 을 바이트 조각 이어붙이기로 만듦
+ *
+ * 응답 = 고정 머리 + userName + BST 조각 + 분석 건별 조각(rendered) + actions 고정 꼬리
+ * - BST 조각 : headline / skinDescription / whiteList / blackList, BSTInfo 16개 + 알 수 없는 코드용 1개를 시작 시 한 번 직렬화
+ * - rendered : skinMbtiType / skinDisplayName / axis / concerns / recommendations, DONE 시점에 한 번 직렬화해 DB 에 보관
+ * - 조각은 JSON 객체의 중괄호를 뗀 "필드들" 이라 쉼표로 바로 이어붙일 수 있음
+ * 필드 이름 / 값은 AnalysisResultResponse 를 Jackson 으로 직렬화한 것과 같음 (필드 순서만 다름)
+ *
+ * 같은 결과 행 + 같은 고정 조각(배포 단위로만 바뀜) + 같은 닉네임이면 응답 바이트도 같음 → etag 로 조건부 조회
+ */
+@Slf4j
+@Component
+public class AnalysisResultRenderer {
+
+    static final Map<String, Boolean> ACTIONS = Map.of("canRetake", true, "canShare", true, "canSave", true);
+
+    private static final byte[] HEAD = "{\"code\":200,\"message\":\"OK\",\"data\":{\"userName\":"
+            .getBytes(StandardCharsets.UTF_8);
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectMapper objectMapper;
+    private final IngredientMatcher ingredientMatcher;
+
+    private final Map<BSTInfo, byte[]> bstFragments = new EnumMap<>(BSTInfo.class);
+    private final byte[] unknownBstFragment;
+    private final byte[] tail;
+    private final long fragmentsChecksum;   // BST 조각 + actions, 문구가 바뀐 배포에서 ETag 가 달라지도록
+
+    public AnalysisResultRenderer(ObjectMapper objectMapper, IngredientMatcher ingredientMatcher) {
+        this.objectMapper = objectMapper;
+        this.ingredientMatcher = ingredientMatcher;
+        for (BSTInfo bst : BSTInfo.values()) {
+            bstFragments.put(bst, fields(new BstFields(bst.getHeadline(), bst.getDescription(),
+                    bst.getWhiteListIngredients(), bst.getWhiteListRecommendation(), bst.getBlackListIngredients())));
+        }
+        this.unknownBstFragment = fields(new BstFields("", "", Collections.emptyList(), "", Collections.emptyList()));
+        this.tail = concat((",\"actions\":").getBytes(StandardCharsets.UTF_8), json(ACTIONS),
+                "}}".getBytes(StandardCharsets.UTF_8));
+
+        CRC32C crc = new CRC32C();
+        bstFragments.values().forEach(crc::update);
+        crc.update(unknownBstFragment);
+        crc.update(tail);
+        this.fragmentsChecksum = crc.getValue();
+    }
+
+    /**
+     * DONE 시점: 분석 건별 조각 직렬화
+     *
+     * @return fusion 이 없으면 null (조회 때 기존처럼 400)
+     */
+    public byte[] render(FastApiResponseDto result) {
+        if (result == null || result.fusion() == null) {
+            return null;
+        }
+        FastApiResponseDto.FastApiFusionDto fusion = result.fusion();
+        BSTInfo bst = BSTInfo.fromCode(fusion.skinMbti());
+        if (bst == null) {
+            log.warn("[SkinAnalysis] 알 수 없는 MBTI 코드: {}", fusion.skinMbti());
+        }
+        return fields(new AnalysisFields(
+                fusion.skinMbti(),
+                fusion.skinType() != null ? fusion.skinType() : "",
+                fusion.indices(),
+                fusion.visionRaw(),
+                recommendations(result.recommendations(), bst)));
+    }
+
+    /**
+     * 조회 시점: JSON 트리를 만들지 않고 조각만 복사
+     */
+    public byte[] assemble(String userName, String skinMbti, byte[] rendered) {
+        byte[] name = quote(userName);
+        BSTInfo bst = BSTInfo.fromCode(skinMbti);
+        byte[] bstFragment = bst != null ? bstFragments.get(bst) : unknownBstFragment;
+
+        byte[] out = new byte[HEAD.length + name.length + 1 + bstFragment.length + 1 + rendered.length + tail.length];
+        int pos = put(out, 0, HEAD);
+        pos = put(out, pos, name);
+        out[pos++] = ',';
+        pos = put(out, pos, bstFragment);
+        out[pos++] = ',';
+        pos = put(out, pos, rendered);
+        put(out, pos, tail);
+        return out;
+    }
+
+    /**
+     * 조건부 조회용 강한 ETag ("{analysisId}-{결과 행 생성 시각 / 고정 조각 / 닉네임 체크섬}")
+     */
+    public String etag(Long analysisId, OffsetDateTime resultCreatedAt, String userName) {
+        ByteBuffer version = ByteBuffer.allocate(Long.BYTES * 2)
+                .putLong(fragmentsChecksum)
+                .putLong(resultCreatedAt != null ? resultCreatedAt.toInstant().toEpochMilli() : 0L);
+        CRC32C crc = new CRC32C();
+        crc.update(version.flip());
+        crc.update(quote(userName));
+        return ETags.strong(analysisId + "-" + Long.toHexString(crc.getValue()));
+    }
+
+    private List<CategoryRecommendationResponse> recommendations(
+            List<FastApiResponseDto.FastApiProductDto> recommendations, BSTInfo bst) {
+        if (recommendations == null || recommendations.isEmpty()) {
+            return List.of();
+        }
+        return recommendations.stream()
+                .filter(Objects::nonNull)
+                .map(product -> {
+                    IngredientMatcher.BstMatch match = ingredientMatcher.match(bst, product.ingredients());
+                    return CategoryRecommendationResponse.from(product, match.whiteList(), match.blackList());
+                })
+                .toList();
+    }
+
+    private byte[] json(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("분석 결과 JSON 직렬화 실패", e);
+        }
+    }
+
+    /**
+     * {"a":1,"b":2} → "a":1,"b":2
+     */
+    private byte[] fields(Object value) {
+        byte[] json = json(value);
+        return Arrays.copyOfRange(json, 1, json.length - 1);
+    }
+
+    private static byte[] quote(String value) {
+        if (value == null) {
+            return NULL;
+        }
+        byte[] escaped = JsonStringEncoder.getInstance().quoteAsUTF8(value);
+        byte[] quoted = new byte[escaped.length + 2];
+        quoted[0] = '"';
+        System.arraycopy(escaped, 0, quoted, 1, escaped.length);
+        quoted[quoted.length - 1] = '"';
+        return quoted;
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        int length = 0;
+        for (byte[] part : parts) {
+            length += part.length;
+        }
+        byte[] out = new byte[length];
+        int pos = 0;
+        for (byte[] part : parts) {
+            pos = put(out, pos, part);
+        }
+        return out;
+    }
+
+    private static int put(byte[] out, int pos, byte[] part) {
+        System.arraycopy(part, 0, out, pos, part.length);
+        return pos + part.length;
+    }
+
+    private record BstFields(
+            String headline,
+            String skinDescription,
+            List<String> whiteListIngredients,
+            String whiteListRecommendation,
+            List<String> blackListIngredients
+    ) { }
+
+    private record AnalysisFields(
+            String skinMbtiType,
+            String skinDisplayName,
+            FastApiResponseDto.FastApiIndicesDto axis,
+            FastApiResponseDto.FastApiVisionRawDto concerns,
+            List<CategoryRecommendationResponse> recommendations
+    ) { }
+}
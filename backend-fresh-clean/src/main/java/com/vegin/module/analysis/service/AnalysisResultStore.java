@@ -0,0 +1,177 @@
+package com.vegin.module.analysis.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vegin.external.dto.FastApiResponseDto;
+import com.vegin.module.analysis.domain.SkinAnalysisResult;
+import com.vegin.module.analysis.repository.SkinAnalysisResultRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 분석 결과 원본 저장소 (skin_analysis_result)
+ * - 필요한 화면(결과 상세 / 프로필 요약 재생성)에서만 analysisId 로 읽음
+ * - zlib : MySQL COMPRESS() 와 같은 형식 (원본 길이 4바이트 little-endian + zlib 스트림)
+ *          → 마이그레이션에서 기존 JSON 을 SQL 로 옮길 수 있고, 운영에서 UNCOMPRESS() 로 바로 확인 가능
+ * - json : 압축하지 않은 UTF-8 JSON (수동 입력 / 디버깅용)
+ * - rendered : 결과 상세 응답용 조각, 저장할 때 같이 만들어 둠 (AnalysisResultRenderer)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AnalysisResultStore {
+
+    static final String CODEC_ZLIB = "zlib";
+    static final String CODEC_JSON = "json";
+
+    private final SkinAnalysisResultRepository results;
+    private final ObjectMapper objectMapper;
+    private final AnalysisResultRenderer renderer;
+
+    public void save(Long analysisId, FastApiResponseDto result) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(result);
+        } catch (JsonProcessingException e) {
+            log.error("[SkinAnalysis] FastAPI 응답 직렬화 실패. analysisId={}", analysisId, e);
+            throw new RuntimeException("FastAPI 응답 JSON 직렬화 실패", e);
+        }
+        byte[] payload = compress(json);
+        results.save(SkinAnalysisResult.builder()
+                .analysisId(analysisId)
+                .codec(CODEC_ZLIB)
+                .payload(payload)
+                .rawSize(json.length)
+                .rendered(renderer.render(result))
+                .build());
+        log.debug("[SkinAnalysis] result stored. analysisId={} raw={}B stored={}B", analysisId, json.length, payload.length);
+    }
+
+    /**
+     * 중복 요청 재사용: 인코딩된 payload / rendered 를 그대로 복사 (압축 해제 / 재압축 없음)
+     */
+    public void copy(Long sourceAnalysisId, Long targetAnalysisId) {
+        results.findById(sourceAnalysisId).ifPresentOrElse(
+                source -> results.save(SkinAnalysisResult.builder()
+                        .analysisId(targetAnalysisId)
+                        .codec(source.getCodec())
+                        .payload(source.getPayload())
+                        .rawSize(source.getRawSize())
+                        .rendered(source.getRendered())
+                        .build()),
+                () -> log.warn("[SkinAnalysis] 복사할 결과가 없습니다. sourceId={} targetId={}",
+                        sourceAnalysisId, targetAnalysisId));
+    }
+
+    /**
+     * @throws IllegalStateException 저장된 결과를 읽을 수 없을 때
+     */
+    public Optional<FastApiResponseDto> load(Long analysisId) {
+        return results.findById(analysisId).map(this::decode);
+    }
+
+    /**
+     * 여러 건 한 번에 (IN 조회 1회), 읽을 수 없는 결과는 빼고 반환
+     */
+    public Map<Long, FastApiResponseDto> loadAll(Collection<Long> analysisIds) {
+        Map<Long, FastApiResponseDto> decoded = new HashMap<>();
+        if (analysisIds.isEmpty()) {
+            return decoded;
+        }
+        for (SkinAnalysisResult row : results.findAllById(analysisIds)) {
+            try {
+                decoded.put(row.getAnalysisId(), decode(row));
+            } catch (IllegalStateException e) {
+                log.warn("[SkinAnalysis] 결과 읽기 실패. analysisId={} : {}", row.getAnalysisId(), e.getMessage());
+            }
+        }
+        return decoded;
+    }
+
+    private FastApiResponseDto decode(SkinAnalysisResult row) {
+        try {
+            byte[] json = switch (row.getCodec()) {
+                case CODEC_ZLIB -> decompress(row.getPayload());
+                case CODEC_JSON -> row.getPayload();
+                default -> throw new IllegalStateException("알 수 없는 codec: " + row.getCodec());
+            };
+            return objectMapper.readValue(json, FastApiResponseDto.class);
+        } catch (IOException e) {
+            throw new IllegalStateException("분석 결과를 읽는 중 오류가 발생했습니다. analysisId=" + row.getAnalysisId(), e);
+        }
+    }
+
+    // ================== MySQL COMPRESS() 형식 ==================
+
+    static byte[] compress(byte[] raw) {
+        if (raw.length == 0) {
+            return raw; // COMPRESS('') = ''
+        }
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 4 + 16);
+            out.write(raw.length);
+            out.write(raw.length >>> 8);
+            out.write(raw.length >>> 16);
+            out.write(raw.length >>> 24);
+            byte[] buf = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buf, 0, deflater.deflate(buf));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    static byte[] decompress(byte[] stored) throws IOException {
+        if (stored.length == 0) {
+            return stored;
+        }
+        if (stored.length < 4) {
+            throw new IOException("압축 데이터가 너무 짧습니다.");
+        }
+        int rawSize = (stored[0] & 0xff)
+                | (stored[1] & 0xff) << 8
+                | (stored[2] & 0xff) << 16
+                | (stored[3] & 0xff) << 24;
+        if (rawSize < 0) {
+            throw new IOException("잘못된 원본 길이: " + rawSize);
+        }
+
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(stored, 4, stored.length - 4);
+            byte[] raw = new byte[rawSize];
+            int n = 0;
+            while (n < rawSize && !inflater.finished()) {
+                int read = inflater.inflate(raw, n, rawSize - n);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                n += read;
+            }
+            if (n != rawSize) {
+                throw new IOException("압축 해제 길이 불일치: expected=" + rawSize + " actual=" + n);
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IOException("압축 데이터가 손상되었습니다.", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.vegin.module.analysis.service;
+
+import com.vegin.dto.response.AnalysisStatsResponse;
+import com.vegin.module.analysis.domain.SkinAnalysisStatRow;
+import com.vegin.module.analysis.repository.SkinAnalysisRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * 분석 분포 통계 (skin_mbti / skin_type 별 건수 + 평균 지수)
+ * - skin_analysis 요약 컬럼 + idx_skin_analysis_stats 로 GROUP BY → 결과 JSON 은 읽지 않음
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AnalysisStatsService {
+
+    private static final int DEFAULT_DAYS = 30;
+
+    private final SkinAnalysisRepository analyses;
+
+    @Value("${analysis.stats.zone:Asia/Seoul}")
+    private String zone;
+
+    @Value("${analysis.stats.max-days:366}")
+    private int maxDays;
+
+    /**
+     * @param from 시작일 (없으면 to 기준 30일 전)
+     * @param to   종료일, 포함 (없으면 오늘)
+     */
+    @Transactional(readOnly = true)
+    public AnalysisStatsResponse getStats(LocalDate from, LocalDate to) {
+        ZoneId zoneId = ZoneId.of(zone);
+        LocalDate end = to != null ? to : LocalDate.now(zoneId);
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_DAYS - 1);
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("from 은 to 보다 늦을 수 없습니다.");
+        }
+        if (ChronoUnit.DAYS.between(start, end) + 1 > maxDays) {
+            throw new IllegalArgumentException("조회 기간은 최대 " + maxDays + "일입니다.");
+        }
+
+        OffsetDateTime fromTs = start.atStartOfDay(zoneId).toOffsetDateTime();
+        OffsetDateTime toTs = end.plusDays(1).atStartOfDay(zoneId).toOffsetDateTime();
+
+        List<SkinAnalysisStatRow> mbtiRows = analyses.countByMbti(fromTs, toTs);
+        List<SkinAnalysisStatRow> typeRows = analyses.countBySkinType(fromTs, toTs);
+
+        long total = mbtiRows.stream().mapToLong(SkinAnalysisStatRow::count).sum();
+        log.debug("[SkinAnalysis] stats. from={} to={} total={}", start, end, total);
+
+        return new AnalysisStatsResponse(start, end, total, toBuckets(mbtiRows), toBuckets(typeRows));
+    }
+
+    private static List<AnalysisStatsResponse.Bucket> toBuckets(List<SkinAnalysisStatRow> rows) {
+        long total = rows.stream().mapToLong(SkinAnalysisStatRow::count).sum();
+        return rows.stream()
+                .map(row -> new AnalysisStatsResponse.Bucket(
+                        row.code(),
+                        row.count(),
+                        total == 0 ? 0.0 : (double) row.count() / total,
+                        new AnalysisStatsResponse.Indices(
+                                row.avgOil(), row.avgDry(), row.avgSensitivity(),
+                                row.avgWrinkle(), row.avgPigment())))
+                .toList();
+    }
+}
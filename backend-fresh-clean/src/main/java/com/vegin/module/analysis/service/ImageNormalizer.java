@@ -0,0 +1,322 @@
+package com.vegin.module.analysis.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.w3c.dom.Node;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 업로드 이미지 정규화
+ * - 디코딩 → EXIF orientation 반영 → 짧은 변을 모델 입력 크기(768)로 축소 → JPEG 재인코딩
+ * - AI/skin_fusion.py 가 어차피 _resize_short(768) 하므로 원본 해상도를 S3 / FastAPI 로 보낼 필요가 없음
+ * - 작은 이미지는 확대하지 않음 (확대는 Python 쪽에서 그대로 처리)
+ * - 재인코딩하면서 EXIF(GPS 등) 메타데이터도 같이 제거됨
+ *
+ * 디코딩은 imageExecutor(고정 크기 풀)에서만 실행 → 동시에 메모리에 올라가는 원본 이미지 수 제한
+ */
+@Slf4j
+@Component
+public class ImageNormalizer {
+
+    public static final String OUTPUT_CONTENT_TYPE = "image/jpeg";
+    public static final String OUTPUT_EXTENSION = ".jpg";
+
+    private static final int EXIF_MARKER = 0xE1;      // APP1
+    private static final int ORIENTATION_TAG = 0x0112;
+
+    private final AsyncTaskExecutor imageExecutor;
+
+    @Value("${analysis.image.normalize.enabled:true}")
+    private boolean enabled;
+
+    @Value("${analysis.image.normalize.target-short-side:768}")
+    private int targetShortSide;
+
+    @Value("${analysis.image.normalize.jpeg-quality:0.85}")
+    private float jpegQuality;
+
+    @Value("${analysis.image.normalize.max-pixels:50000000}")
+    private long maxPixels;
+
+    @Value("${analysis.image.timeout-seconds:20}")
+    private long timeoutSeconds;
+
+    public ImageNormalizer(@Qualifier("imageExecutor") AsyncTaskExecutor imageExecutor) {
+        this.imageExecutor = imageExecutor;
+    }
+
+    public record Result(byte[] bytes, int width, int height) {
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * ImageIO 로 디코딩 가능한 형식인지 (기본 JDK: JPEG / PNG / BMP / GIF)
+     * HEIC / WebP 는 디코더가 없으므로 원본 그대로 업로드
+     */
+    public boolean supports(String contentType) {
+        return contentType != null && ImageIO.getImageReadersByMIMEType(contentType).hasNext();
+    }
+
+    /**
+     * 이미지 워커 풀에서 정규화 실행 후 결과 대기
+     * - 풀 포화 / 시간 초과 : ResponseStatusException(503)
+     * - 디코딩 불가 / 너무 큰 이미지 : IllegalArgumentException(400)
+     */
+    public Result normalize(InputStream in) {
+        Future<Result> future;
+        try {
+            future = imageExecutor.submit(() -> normalizeNow(in));
+        } catch (TaskRejectedException e) {
+            log.warn("[ImageNormalizer] 이미지 워커 풀 포화로 거절됨");
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "이미지 처리 요청이 많습니다. 잠시 후 다시 시도해주세요.");
+        }
+
+        try {
+            return future.get(timeoutSeconds, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "이미지 처리 시간이 초과되었습니다.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "이미지 처리가 중단되었습니다.");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IllegalArgumentException iae) {
+                throw iae;
+            }
+            throw new IllegalArgumentException("이미지를 읽을 수 없습니다.", cause);
+        }
+    }
+
+    Result normalizeNow(InputStream in) throws IOException {
+        long start = System.nanoTime();
+
+        ImageInputStream iis = new MemoryCacheImageInputStream(in);
+        try {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
+            if (!readers.hasNext()) {
+                throw new IllegalArgumentException("지원하지 않는 이미지 형식입니다.");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(iis, true, false);
+
+                int srcWidth = reader.getWidth(0);
+                int srcHeight = reader.getHeight(0);
+                if ((long) srcWidth * srcHeight > maxPixels) {
+                    throw new IllegalArgumentException("이미지 해상도가 너무 큽니다.");
+                }
+                int orientation = readOrientation(reader);
+
+                // 목표의 2배 이상 크면 디코딩 단계에서 먼저 솎아내서 메모리 사용량을 줄임
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsampling = Math.max(1, Math.min(srcWidth, srcHeight) / (targetShortSide * 2));
+                if (subsampling > 1) {
+                    param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                }
+
+                BufferedImage decoded = reader.read(0, param);
+                BufferedImage resized = resizeShort(decoded, targetShortSide);
+                BufferedImage oriented = applyOrientation(resized, orientation);
+                byte[] jpeg = encodeJpeg(oriented, jpegQuality);
+
+                log.info("[ImageNormalizer] {}x{} (orientation={}) → {}x{}, {} bytes, {}ms",
+                        srcWidth, srcHeight, orientation,
+                        oriented.getWidth(), oriented.getHeight(), jpeg.length,
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+                return new Result(jpeg, oriented.getWidth(), oriented.getHeight());
+            } finally {
+                reader.dispose();
+            }
+        } finally {
+            iis.close();
+        }
+    }
+
+    // ================== 내부 유틸 ==================
+
+    /**
+     * 짧은 변을 target 으로 축소 (확대는 하지 않음)
+     * 한 번에 크게 줄이면 bilinear 가 계단 현상을 만들기 때문에 절반씩 나눠서 줄임
+     * 결과는 항상 TYPE_INT_RGB (PNG 투명 영역은 흰색으로 채움)
+     */
+    static BufferedImage resizeShort(BufferedImage src, int target) {
+        int w = src.getWidth();
+        int h = src.getHeight();
+        double scale = Math.min(1.0, target / (double) Math.min(w, h));
+        int finalW = Math.max(1, (int) Math.round(w * scale));
+        int finalH = Math.max(1, (int) Math.round(h * scale));
+
+        BufferedImage current = src;
+        do {
+            int nextW = Math.max(finalW, current.getWidth() / 2);
+            int nextH = Math.max(finalH, current.getHeight() / 2);
+            current = draw(current, nextW, nextH, null);
+        } while (current.getWidth() != finalW || current.getHeight() != finalH);
+        return current;
+    }
+
+    /**
+     * EXIF orientation(1~8) 을 실제 픽셀에 반영
+     */
+    static BufferedImage applyOrientation(BufferedImage src, int orientation) {
+        int w = src.getWidth();
+        int h = src.getHeight();
+        AffineTransform t = switch (orientation) {
+            case 2 -> new AffineTransform(-1, 0, 0, 1, w, 0);   // 좌우 반전
+            case 3 -> new AffineTransform(-1, 0, 0, -1, w, h);  // 180도
+            case 4 -> new AffineTransform(1, 0, 0, -1, 0, h);   // 상하 반전
+            case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0);    // transpose
+            case 6 -> new AffineTransform(0, 1, -1, 0, h, 0);   // 시계 방향 90도
+            case 7 -> new AffineTransform(0, -1, -1, 0, h, w);  // transverse
+            case 8 -> new AffineTransform(0, -1, 1, 0, 0, w);   // 반시계 방향 90도
+            default -> null;
+        };
+        if (t == null) {
+            return src;
+        }
+        boolean swap = orientation >= 5;
+        return draw(src, swap ? h : w, swap ? w : h, t);
+    }
+
+    private static BufferedImage draw(BufferedImage src, int width, int height, AffineTransform transform) {
+        BufferedImage dst = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = dst.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, width, height);
+            if (transform != null) {
+                g.drawImage(src, transform, null);
+            } else {
+                g.drawImage(src, 0, 0, width, height, null);
+            }
+        } finally {
+            g.dispose();
+        }
+        return dst;
+    }
+
+    private static byte[] encodeJpeg(BufferedImage image, float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 * 1024);
+        try (MemoryCacheImageOutputStream ios = new MemoryCacheImageOutputStream(out)) {
+            writer.setOutput(ios);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private static int readOrientation(ImageReader reader) {
+        try {
+            return readOrientation(reader.getImageMetadata(0));
+        } catch (IOException e) {
+            // 마커 순서가 표준과 다른 JPEG 등 → 메타데이터 없이 픽셀만 사용
+            log.debug("[ImageNormalizer] 메타데이터 읽기 실패, orientation=1 로 처리: {}", e.getMessage());
+            return 1;
+        }
+    }
+
+    /**
+     * JPEG 메타데이터의 APP1(Exif) 세그먼트에서 orientation 태그만 읽음
+     * 없거나 읽을 수 없으면 1(정방향)
+     */
+    static int readOrientation(IIOMetadata metadata) {
+        if (metadata == null || !"javax_imageio_jpeg_image_1.0".equals(metadata.getNativeMetadataFormatName())) {
+            return 1;
+        }
+        Node root = metadata.getAsTree("javax_imageio_jpeg_image_1.0");
+        for (Node n = root.getFirstChild(); n != null; n = n.getNextSibling()) {
+            if (!"markerSequence".equals(n.getNodeName())) continue;
+            for (Node m = n.getFirstChild(); m != null; m = m.getNextSibling()) {
+                if (!"unknown".equals(m.getNodeName())) continue;
+                Node tag = m.getAttributes().getNamedItem("MarkerTag");
+                if (tag != null && Integer.parseInt(tag.getNodeValue()) == EXIF_MARKER
+                        && m instanceof IIOMetadataNode node
+                        && node.getUserObject() instanceof byte[] app1) {
+                    return parseExifOrientation(app1);
+                }
+            }
+        }
+        return 1;
+    }
+
+    /**
+     * "Exif\0\0" + TIFF 헤더 + IFD0 에서 0x0112(Orientation, SHORT) 검색
+     */
+    static int parseExifOrientation(byte[] app1) {
+        int tiff = 6;
+        if (app1.length < tiff + 8 || app1[0] != 'E' || app1[1] != 'x' || app1[2] != 'i' || app1[3] != 'f') {
+            return 1;
+        }
+        boolean little = app1[tiff] == 'I' && app1[tiff + 1] == 'I';
+        int ifd = tiff + readInt(app1, tiff + 4, little);
+        if (ifd + 2 > app1.length || ifd < tiff) {
+            return 1;
+        }
+        int entries = readShort(app1, ifd, little);
+        for (int i = 0; i < entries; i++) {
+            int entry = ifd + 2 + i * 12;
+            if (entry + 12 > app1.length) break;
+            if (readShort(app1, entry, little) == ORIENTATION_TAG) {
+                int value = readShort(app1, entry + 8, little);
+                return value >= 1 && value <= 8 ? value : 1;
+            }
+        }
+        return 1;
+    }
+
+    private static int readShort(byte[] b, int off, boolean little) {
+        int b0 = b[off] & 0xFF;
+        int b1 = b[off + 1] & 0xFF;
+        return little ? (b1 << 8) | b0 : (b0 << 8) | b1;
+    }
+
+    private static int readInt(byte[] b, int off, boolean little) {
+        int hi = readShort(b, little ? off + 2 : off, little);
+        int lo = readShort(b, little ? off : off + 2, little);
+        return (hi << 16) | lo;
+    }
+}
@@ -0,0 +1,138 @@
+package com.vegin.module.analysis.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vegin.external.dto.FastApiResponseDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 추천 결과 Redis 캐시 (FastAPI /recommend 앞단)
+ *
+ * es_ltr_online.recommend_for_request 의 입력은 사실상 아래뿐이라 같은 버킷이면 결과도 같음
+ * - ES 쿼리 벡터 : skin_type + skin_mbti 문장
+ * - LTR 피처     : 지수별 "high" 여부 (_make_pos_neg_vocab) → oil / dry / sensitivity / pigment 4비트
+ * 키 : reco:{catalogVersion}:{topk}:{skinType}:{mbti}:{oil}{dry}{sen}{pig}  (H = high, L = 그 외)
+ *
+ * 카탈로그(ES 인덱스 / LTR 모델)를 다시 올리면 reco:catalog-version 을 INCR → 이전 키는 안 읽히고 TTL 로 사라짐
+ * 임계값은 AI/es_ltr_online.py 의 level_* 함수와 맞춰야 함
+ */
+@Slf4j
+@Component
+public class RecommendationCache {
+
+    private static final String KEY_PREFIX = "reco:";
+    private static final String CATALOG_VERSION_KEY = "reco:catalog-version";
+    private static final TypeReference<List<FastApiResponseDto.FastApiProductDto>> PRODUCTS = new TypeReference<>() { };
+
+    private final StringRedisTemplate redis;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Duration ttl;
+    private final long versionRefreshMs;
+    private final int topk;
+
+    private volatile String catalogVersion;
+    private volatile long catalogVersionReadAt;
+
+    public RecommendationCache(
+            StringRedisTemplate redis,
+            ObjectMapper objectMapper,
+            @Value("${ai.recommendation-cache.enabled:true}") boolean enabled,
+            @Value("${ai.recommendation-cache.ttl-seconds:21600}") long ttlSeconds,
+            @Value("${ai.recommendation-cache.catalog-version-refresh-ms:30000}") long versionRefreshMs,
+            @Value("${ai.recommendation-cache.topk:3}") int topk
+    ) {
+        this.redis = redis;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.versionRefreshMs = versionRefreshMs;
+        this.topk = topk;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getTopk() {
+        return topk;
+    }
+
+    public Optional<List<FastApiResponseDto.FastApiProductDto>> get(FastApiResponseDto.FastApiFusionDto fusion) {
+        String key = key(fusion);
+        if (key == null) {
+            return Optional.empty();
+        }
+        try {
+            String json = redis.opsForValue().get(key);
+            return json != null ? Optional.of(objectMapper.readValue(json, PRODUCTS)) : Optional.empty();
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.warn("[RecoCache] 조회 실패 → FastAPI 추천 호출. key={} : {}", key, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public void put(FastApiResponseDto.FastApiFusionDto fusion, List<FastApiResponseDto.FastApiProductDto> products) {
+        String key = key(fusion);
+        if (key == null || products == null || products.isEmpty()) {
+            return;
+        }
+        try {
+            redis.opsForValue().set(key, objectMapper.writeValueAsString(products), ttl);
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.warn("[RecoCache] 저장 실패. key={} : {}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * 버킷을 만들 수 없는 fusion(지수 / MBTI 없음)은 null → 캐시하지 않음
+     */
+    String key(FastApiResponseDto.FastApiFusionDto fusion) {
+        String bucket = bucket(fusion);
+        return bucket != null ? KEY_PREFIX + catalogVersion() + ":" + topk + ":" + bucket : null;
+    }
+
+    static String bucket(FastApiResponseDto.FastApiFusionDto fusion) {
+        if (fusion == null || fusion.indices() == null || fusion.skinMbti() == null || fusion.skinMbti().isBlank()) {
+            return null;
+        }
+        FastApiResponseDto.FastApiIndicesDto idx = fusion.indices();
+        String skinType = fusion.skinType() != null ? fusion.skinType() : "";
+        return skinType + ":" + fusion.skinMbti().toUpperCase() + ":"
+                + level(idx.oil() > 1.60)          // level_oil  high
+                + level(idx.dry() >= 3)            // level_dry  high
+                + level(idx.sensitivity() > 1.30)  // level_sen  high
+                + level(idx.pigment() > 1.65);     // level_pig  high
+    }
+
+    private static char level(boolean high) {
+        return high ? 'H' : 'L';
+    }
+
+    private String catalogVersion() {
+        long now = System.currentTimeMillis();
+        String version = catalogVersion;
+        if (version != null && now - catalogVersionReadAt < versionRefreshMs) {
+            return version;
+        }
+        try {
+            String stored = redis.opsForValue().get(CATALOG_VERSION_KEY);
+            version = stored != null ? stored : "0";
+        } catch (DataAccessException e) {
+            log.warn("[RecoCache] catalog-version 조회 실패 : {}", e.getMessage());
+            version = version != null ? version : "0";
+        }
+        catalogVersion = version;
+        catalogVersionReadAt = now;
+        return version;
+    }
+}
@@ -0,0 +1,52 @@
+package com.vegin.module.analysis.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vegin.module.analysis.domain.AnalysisEvent;
+import com.vegin.module.analysis.repository.RecommendationRepository;
+import com.vegin.module.users.service.ProfileSummaryCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * analysis.done → recommendation 행 (분석 1건당 1행, items = 상위 N개 카드 JSON)
+ * - 이미 그 분석의 행이 있으면 아무것도 하지 않음 → 재전달돼도 한 번만 반영
+ *   동시에 두 번 처리돼도 analysis_id UNIQUE + INSERT ... ON DUPLICATE KEY 로 행은 1개
+ * - 저장 후 프로필 요약의 추천 목록도 그 행으로 갱신
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RecommendationProjection implements AnalysisEventHandler {
+
+    private final RecommendationRepository recommendations;
+    private final ProfileSummaryCache profileSummaryCache;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional
+    public void handle(long eventId, String type, AnalysisEvent event) {
+        if (!AnalysisEvent.DONE.equals(type) || event.recommendations() == null || event.recommendations().isEmpty()) {
+            return;
+        }
+        if (recommendations.existsByAnalysisId(event.analysisId())) {
+            log.debug("[RecommendationProjection] 이미 반영됨. eventId={} analysisId={}", eventId, event.analysisId());
+            return;
+        }
+        // exists 확인과 INSERT 사이에 다른 노드가 먼저 넣었으면 no-op (요약 갱신은 몇 번 해도 결과가 같음)
+        recommendations.insertIfAbsent(event.userId(), event.analysisId(), toJson(event));
+        profileSummaryCache.onRecommendationSaved(event.userId(), event.analysisId());
+        log.info("[RecommendationProjection] saved. eventId={} analysisId={} count={}",
+                eventId, event.analysisId(), event.recommendations().size());
+    }
+
+    private String toJson(AnalysisEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event.recommendations());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("추천 카드 직렬화 실패. analysisId=" + event.analysisId(), e);
+        }
+    }
+}
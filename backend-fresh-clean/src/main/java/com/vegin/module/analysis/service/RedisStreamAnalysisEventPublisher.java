@@ -0,0 +1,65 @@
+package com.vegin.module.analysis.service;
+
+import com.vegin.module.analysis.domain.AnalysisOutboxEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * analysis:events 스트림에 XADD (배치 1번 = 파이프라인 1번)
+ * - 필드 : eventId(outbox id), type, analysisId, payload(AnalysisEvent JSON)
+ * - 스트림 길이는 max-len 근처로 자름 (MAXLEN ~), 소비자 그룹이 그보다 오래 밀리면 유실 → outbox 행으로 재발행 가능
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "analysis.outbox.publisher", havingValue = "redis-stream", matchIfMissing = true)
+public class RedisStreamAnalysisEventPublisher implements AnalysisEventPublisher {
+
+    public static final String STREAM = "analysis:events";
+
+    private final StringRedisTemplate redis;
+    private final long maxLen;
+
+    public RedisStreamAnalysisEventPublisher(StringRedisTemplate redis,
+                                             @Value("${analysis.outbox.stream-max-len:100000}") long maxLen) {
+        this.redis = redis;
+        this.maxLen = maxLen;
+    }
+
+    @Override
+    public void publish(List<AnalysisOutboxEvent> events) {
+        redis.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                for (AnalysisOutboxEvent event : events) {
+                    ops.opsForStream().add(StreamRecords.string(fields(event)).withStreamKey(STREAM));
+                }
+                return null;
+            }
+        });
+        try {
+            redis.opsForStream().trim(STREAM, maxLen, true);
+        } catch (DataAccessException e) {
+            log.debug("[AnalysisEvents] 스트림 길이 정리 실패 : {}", e.getMessage());
+        }
+    }
+
+    private static Map<String, String> fields(AnalysisOutboxEvent event) {
+        return Map.of(
+                "eventId", event.getId().toString(),
+                "type", event.getEventType(),
+                "analysisId", event.getAnalysisId().toString(),
+                "payload", event.getPayload());
+    }
+}
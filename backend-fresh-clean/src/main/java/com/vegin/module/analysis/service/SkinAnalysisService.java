@@ -1,42 +1,71 @@
 package com.vegin.module.analysis.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vegin.common.ETags;
+import com.vegin.common.ImageTypes;
 import com.vegin.common.S3Service;
-import com.vegin.domain.BSTInfo;
+import com.vegin.dto.response.AnalysisHistoryResponse;
+import com.vegin.dto.response.AnalysisStatusResponse;
 import com.vegin.dto.response.AnalysisUploadResponse;
-import com.vegin.dto.response.CategoryRecommendationResponse;
+import com.vegin.dto.response.UploadUrlResponse;
 import com.vegin.external.dto.FastApiResponseDto;
 import com.vegin.external.service.FastApiClient;
-import com.vegin.module.analysis.AnalysisResultResponse;
+import com.vegin.module.analysis.domain.AnalysisResultDocumentRow;
+import com.vegin.module.analysis.domain.AnalysisResultVersionRow;
 import com.vegin.module.analysis.domain.SkinAnalysis;
+import com.vegin.module.analysis.domain.SkinAnalysisSummary;
 import com.vegin.module.analysis.repository.SkinAnalysisRepository;
-import com.vegin.module.users.Entity.User;
-import com.vegin.module.users.repository.UserRepository;
+import com.vegin.module.users.service.ProfileSummaryCache;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
 import java.util.List;
-import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class SkinAnalysisService {
 
-    private final UserRepository userRepo;
     private final S3Service s3;
     private final SkinAnalysisRepository analyses;
     private final FastApiClient fastApiClient;
-    private final ObjectMapper objectMapper;   // FastAPI 응답을 JSON 문자열로 저장하기 위함
+    private final SkinAnalyzer skinAnalyzer;      // fusion + 추천 캐시
+    private final AnalysisResultStore resultStore;   // FastAPI 응답 원본 (압축 저장)
+    private final AnalysisJobWorker jobWorker;
+    private final AnalysisContentHasher contentHasher;
+    private final ImageNormalizer imageNormalizer;
+    private final ProfileSummaryCache profileSummaryCache;
+    private final AnalysisResultRenderer resultRenderer;  // 결과 상세 응답 조각 (BST / 분석 건별)
+    private final AnalysisProgressHub progressHub;        // 진행 단계 이벤트 (SSE)
+    private final AnalysisOutbox analysisOutbox;          // DONE 상태 + 완료 이벤트 (같은 트랜잭션)
+
+    private static final int MAX_HISTORY_PAGE_SIZE = 50;
+
+    @Value("${analysis.async.enabled:false}")
+    private boolean asyncEnabled;
+
+    @Value("${spring.servlet.multipart.max-file-size:20MB}")
+    private DataSize maxUploadSize;
+
+    @Value("${analysis.dedup.enabled:true}")
+    private boolean dedupEnabled;
+
+    public boolean isAsyncEnabled() {
+        return asyncEnabled;
+    }
 
     /**
      * 동기 플로우:
@@ -54,108 +83,231 @@ public class SkinAnalysisService {
             throw new IllegalArgumentException("이미지 파일이 비어 있습니다.");
         }
 
-        // 1) S3 Object Key 생성
-        String key = generateKey(userId, file.getOriginalFilename());
+        // 0) 같은 사진 + 같은 설문 재요청이면 S3 업로드 / FastAPI 호출 생략
+        String contentHash = hashContent(file, surveyJson);
+        Optional<AnalysisUploadResponse> reused = reuseExisting(userId, surveyJson, contentHash);
+        if (reused.isPresent()) {
+            return reused.get();
+        }
 
-        // 2) S3 업로드
-        log.info("[S3] upload start. key={}", key);
-        s3.upload(file, key);
+        // 1) S3 업로드 (가능하면 축소 / 회전 정규화한 JPEG 로)
+        String key = uploadImage(userId, file);
         String imageUrl = s3.getUrl(key);
         log.info("[S3] upload done. url={}", imageUrl);
 
-        // 3) DB에 PENDING 상태로 저장
-        SkinAnalysis entity = SkinAnalysis.builder()
-                .userId(userId)
-                .s3Key(key)
-                .userInput(surveyJson)   // 설문 JSON 문자열 그대로 저장
-                .status("PENDING")
-                .build();
+        // 3) PENDING 저장 → 4) FastAPI 동기 호출 → 5) DONE 반영
+        return startAnalysis(userId, key, imageUrl, surveyJson, contentHash, false);
+    }
 
-        entity = analyses.save(entity); // PK 발급
-        log.info("[SkinAnalysis] saved PENDING. id={}", entity.getId());
-
-        // 4) FastAPI 동기 호출 (image_url 방식)
-        FastApiResponseDto fastApiRes =
-                fastApiClient.analyzeWithImageUrl(imageUrl, surveyJson);
-
-        String fastApiResultJson = toJsonSafely(fastApiRes);
-
-        // 5) 결과 반영 (DONE + result JSON)
-        SkinAnalysis updated = SkinAnalysis.builder()
-                .id(entity.getId())
-                .userId(entity.getUserId())
-                .s3Key(entity.getS3Key())
-                .userInput(entity.getUserInput())
-                .status("DONE")
-                .result(fastApiResultJson)
-                .createdAt(entity.getCreatedAt()) // 기존 createdAt 유지
-                .build();
+    /**
+     * 비동기 플로우:
+     * 1) S3 업로드 (트랜잭션 밖 → DB 커넥션 점유 없음)
+     * 2) DB에 PENDING 상태로 insert
+     * 3) FastAPI 호출은 analysisExecutor 워커에 위임 (DONE / FAILED 는 워커가 갱신)
+     * 4) FE에는 analysisId 를 즉시 반환 → 이후 /status 또는 결과 조회 API로 폴링
+     */
+    public AnalysisUploadResponse submitAnalysis(Long userId,
+                                                 MultipartFile file,
+                                                 String surveyJson) {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("이미지 파일이 비어 있습니다.");
+        }
 
-        analyses.save(updated);
-        log.info("[SkinAnalysis] updated DONE. id={}", updated.getId());
+        String contentHash = hashContent(file, surveyJson);
+        Optional<AnalysisUploadResponse> reused = reuseExisting(userId, surveyJson, contentHash);
+        if (reused.isPresent()) {
+            return reused.get();
+        }
 
-        // 6) FE용 응답 (일단 최소 정보만)
-        return new AnalysisUploadResponse(updated.getId(), imageUrl);
+        String key = uploadImage(userId, file);
+        String imageUrl = s3.getUrl(key);
+        log.info("[S3] upload done. url={}", imageUrl);
+
+        return startAnalysis(userId, key, imageUrl, surveyJson, contentHash, true);
+    }
+
+    /**
+     * 스트리밍 업로드 플로우 (multipart 아님, 요청 본문 = 이미지 바이트)
+     * - 요청 본문을 고정 크기 버퍼로 S3에 바로 흘려보냄 → 이미지 전체 byte[] 복사 없음
+     * - 그래서 이미지 정규화는 하지 않음 (디코딩하려면 전체를 힙에 올려야 함, 정규화는 multipart 경로에서만)
+     * - 해시는 업로드하면서 같이 계산 (중복이면 FastAPI 호출만 생략)
+     * - analysis.async.enabled 에 따라 동기 / 비동기로 분석 진행
+     */
+    public AnalysisUploadResponse uploadStreamAndAnalyze(Long userId,
+                                                         InputStream body,
+                                                         long contentLength,
+                                                         String contentType,
+                                                         String surveyJson) {
+        if (contentLength <= 0) {
+            throw new IllegalArgumentException("이미지 파일이 비어 있습니다.");
+        }
+
+        MessageDigest digest = dedupEnabled ? contentHasher.newDigest() : null;
+        InputStream in = digest != null ? new DigestInputStream(body, digest) : body;
+
+        String key = generateKey(userId, ImageTypes.extensionOf(contentType));
+        log.info("[S3] stream upload start. key={} size={}", key, contentLength);
+        s3.upload(in, contentLength, contentType, key);
+        String imageUrl = s3.getUrl(key);
+        log.info("[S3] stream upload done. url={}", imageUrl);
+
+        String contentHash = digest != null ? contentHasher.finish(digest, surveyJson) : null;
+
+        // 이미 같은 내용의 DONE 분석이 있으면 방금 올린 객체를 가리키는 행 + 기존 결과로 마무리
+        if (contentHash != null) {
+            Optional<SkinAnalysis> cached =
+                    analyses.findFirstByUserIdAndContentHashAndStatusOrderByIdDesc(userId, contentHash, "DONE");
+            if (cached.isPresent()) {
+                SkinAnalysis copy = analysisOutbox.saveCopy(cached.get(), cached.get().copyAsDone(key, surveyJson, contentHash));
+                log.info("[SkinAnalysis] 중복 요청(stream) → 기존 결과 재사용. sourceId={} newId={}",
+                        cached.get().getId(), copy.getId());
+                profileSummaryCache.evict(userId);
+                return new AnalysisUploadResponse(copy.getId(), imageUrl);
+            }
+        }
+
+        return startAnalysis(userId, key, imageUrl, surveyJson, contentHash, asyncEnabled);
+    }
+
+    /**
+     * 직접 업로드 플로우 1단계: presigned PUT URL 발급
+     * - 이미지 바이트가 백엔드를 거치지 않으므로 앱 노드의 네트워크 / 힙 부담 없음
+     * - key 는 서버가 정해서 내려줌 (analysis/{userId}/...)
+     */
+    public UploadUrlResponse issueUploadUrl(Long userId, String contentType, long contentLength) {
+        String key = generateKey(userId, ImageTypes.extensionOf(contentType));
+        S3Service.PresignedUpload presigned =
+                s3.presignPut(key, contentType, contentLength, maxUploadSize.toBytes());
+        return new UploadUrlResponse(key, presigned.uploadUrl(), contentType, contentLength, presigned.expiresAt());
+    }
+
+    /**
+     * 직접 업로드 플로우 2단계: 업로드 완료 확인 후 분석 시작
+     * - key 가 본인 폴더(analysis/{userId}/) 아래인지, 실제로 올라왔는지 HEAD 로 확인
+     * - 같은 key 로 두 번 분석 시작하지 않음
+     * - 이미지 바이트를 읽지 않으므로 중복 분석 재사용 / 서버 측 정규화는 적용되지 않음
+     */
+    public AnalysisUploadResponse confirmUpload(Long userId, String key, String surveyJson) {
+        s3.verifyUpload(key, "analysis/%d/".formatted(userId), maxUploadSize.toBytes());
+        if (analyses.existsByS3Key(key)) {
+            throw new IllegalArgumentException("이미 분석 요청된 이미지입니다.");
+        }
+
+        String imageUrl = s3.getUrl(key);
+        log.info("[SkinAnalysis] direct upload confirmed. key={}", key);
+        return startAnalysis(userId, key, imageUrl, surveyJson, null, asyncEnabled);
+    }
+
+    /**
+     * 개발/테스트용: 요청 본문을 S3 / DB 없이 FastAPI(image_file)로 바로 스트리밍
+     */
+    public FastApiResponseDto analyzeStreamOnlyForTest(InputStream body,
+                                                       long contentLength,
+                                                       String contentType,
+                                                       String surveyJson) {
+        if (contentLength <= 0) {
+            throw new IllegalArgumentException("이미지 파일이 비어 있습니다.");
+        }
+        log.info("[SkinAnalysis] TEST ONLY - 스트림으로 FastAPI 호출 시작");
+        return fastApiClient.analyzeWithImageStream(
+                body, contentLength, contentType, "upload" + ImageTypes.extensionOf(contentType), surveyJson);
     }
 
     @Transactional(readOnly = true)
-    public AnalysisResultResponse getAnalysisResult(Long analysisId, Long userId) {
+    public AnalysisStatusResponse getStatus(Long analysisId, Long userId) {
         SkinAnalysis analysis = analyses.findByIdAndUserId(analysisId, userId)
                 .orElseThrow(() -> new EntityNotFoundException("분석 결과를 찾을 수 없습니다."));
+        return new AnalysisStatusResponse(analysis.getId(), analysis.getStatus());
+    }
 
-        if (analysis.getResult() == null || analysis.getResult().isEmpty()) {
+    /**
+     * 분석 히스토리 (keyset 페이지네이션)
+     * - cursor 가 없으면 최신부터, 있으면 그 커서 행보다 오래된 것부터 size 건
+     * - 목록에 필요한 컬럼만 프로젝션으로 조회
+     */
+    @Transactional(readOnly = true)
+    public AnalysisHistoryResponse getHistory(Long userId, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_HISTORY_PAGE_SIZE));
+        PageRequest limit = PageRequest.of(0, pageSize + 1);   // 1건 더 읽어서 다음 페이지 유무 판단
+
+        List<SkinAnalysisSummary> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = analyses.findHistory(userId, limit);
+        } else {
+            AnalysisHistoryCursor after = AnalysisHistoryCursor.decode(cursor);
+            rows = analyses.findHistoryBefore(userId, after.createdAt(), after.id(), limit);
+        }
+
+        boolean hasNext = rows.size() > pageSize;
+        List<SkinAnalysisSummary> page = hasNext ? rows.subList(0, pageSize) : rows;
+
+        List<AnalysisHistoryResponse.Item> items = page.stream()
+                .map(row -> new AnalysisHistoryResponse.Item(
+                        row.id(),
+                        row.s3Key() != null ? s3.getUrl(row.s3Key()) : null,
+                        row.status(),
+                        row.createdAt()))
+                .toList();
+        String nextCursor = hasNext ? AnalysisHistoryCursor.of(page.get(page.size() - 1)).encode() : null;
+
+        return new AnalysisHistoryResponse(items, nextCursor);
+    }
+
+    /**
+     * 결과 상세 응답 본문 (ApiResponse<AnalysisResultResponse> JSON 바이트) + ETag
+     * - 상태 / MBTI / 미리 렌더링된 결과 / 닉네임을 쿼리 1회로 읽고 조각만 이어붙임
+     * - If-None-Match 가 있으면 먼저 버전 컬럼만 읽어 현재 ETag 와 같으면 본문 없이 반환 (304)
+     * - V16 이전 결과(rendered 없음)는 payload 를 읽어 그 자리에서 렌더링
+     */
+    @Transactional(readOnly = true)
+    public AnalysisResultDocument getAnalysisResultDocument(Long analysisId, Long userId, String ifNoneMatch) {
+        // 재검증 요청이면 BLOB 없이 버전만 읽어 304 판단
+        if (ifNoneMatch != null) {
+            AnalysisResultVersionRow version = analyses.findResultVersion(analysisId, userId)
+                    .orElseThrow(() -> new EntityNotFoundException("분석 결과를 찾을 수 없습니다."));
+            requireDone(version.status());
+            String etag = resultRenderer.etag(analysisId, version.resultCreatedAt(), version.nickname());
+            if (version.resultCreatedAt() != null && ETags.matches(ifNoneMatch, etag)) {
+                return AnalysisResultDocument.notModified(etag);
+            }
+        }
+
+        AnalysisResultDocumentRow row = analyses.findResultDocument(analysisId, userId)
+                .orElseThrow(() -> new EntityNotFoundException("분석 결과를 찾을 수 없습니다."));
+        requireDone(row.status());
+
+        String etag = resultRenderer.etag(analysisId, row.resultCreatedAt(), row.nickname());
+        byte[] rendered = row.rendered();
+        if (rendered == null) {
+            rendered = renderStoredResult(analysisId);
+        }
+        return new AnalysisResultDocument(etag, resultRenderer.assemble(row.nickname(), row.skinMbti(), rendered));
+    }
+
+    private void requireDone(String status) {
+        if ("FAILED".equals(status)) {
+            throw new IllegalArgumentException("분석에 실패했습니다. 다시 시도해주세요.");
+        }
+        if (!"DONE".equals(status)) {
             throw new IllegalArgumentException("분석 결과가 아직 준비되지 않았습니다.");
         }
+    }
 
-        // JSON 문자열을 FastApiResponseDto로 파싱
+    private byte[] renderStoredResult(Long analysisId) {
         FastApiResponseDto fastApiResponse;
         try {
-            fastApiResponse = objectMapper.readValue(analysis.getResult(), FastApiResponseDto.class);
-        } catch (JsonProcessingException e) {
-            log.error("[SkinAnalysis] JSON 파싱 실패. analysisId={}", analysisId, e);
+            fastApiResponse = resultStore.load(analysisId)
+                    .orElseThrow(() -> new IllegalArgumentException("분석 결과가 아직 준비되지 않았습니다."));
+        } catch (IllegalStateException e) {
+            log.error("[SkinAnalysis] 결과 읽기 실패. analysisId={}", analysisId, e);
             throw new RuntimeException("분석 결과를 읽는 중 오류가 발생했습니다.", e);
         }
 
-        if (fastApiResponse.fusion() == null) {
+        byte[] rendered = resultRenderer.render(fastApiResponse);
+        if (rendered == null) {
             throw new IllegalArgumentException("분석 결과에 fusion 데이터가 없습니다.");
         }
-
-        Map<String, Object> fusion = fastApiResponse.fusion();
-        String skinType = (String) fusion.get("skin_type");
-        String mbti = (String) fusion.get("skin_mbti");
-        Map<String, Object> indices = (Map<String, Object>) fusion.get("indices");
-        Map<String, Object> visionRaw = (Map<String, Object>) fusion.get("vision_raw");
-
-        BSTInfo bst = BSTInfo.fromCode(mbti);
-        if (bst == null) {
-            log.warn("[SkinAnalysis] 알 수 없는 MBTI 코드: {}", mbti);
-        }
-
-        User user = userRepo.findById(userId)
-                .orElseThrow(() -> new EntityNotFoundException("사용자를 찾을 수 없습니다."));
-
-        Map<String, Boolean> actions = new HashMap<>();
-        actions.put("canRetake", true);
-        actions.put("canShare", true);
-        actions.put("canSave", true);
-
-        // recommendations 파싱 및 변환
-        List<CategoryRecommendationResponse> recommendationsList = parseRecommendations(fastApiResponse.recommendations());
-
-        return AnalysisResultResponse.builder()
-                .userName(user.getNickname())
-                .skinMbtiType(mbti)
-                .skinDisplayName(skinType != null ? skinType : "")
-                .headline(bst != null ? bst.getHeadline() : "")
-                .skinDescription(bst != null ? bst.getDescription() : "")
-                .whiteListIngredients(bst != null ? bst.getWhiteListIngredients() : java.util.Collections.emptyList())
-                .whiteListRecommendation(bst != null ? bst.getWhiteListRecommendation() : "")
-                .blackListIngredients(bst != null ? bst.getBlackListIngredients() : java.util.Collections.emptyList())
-                .axis(indices != null ? indices : new HashMap<>())
-                .concerns(visionRaw != null ? visionRaw : new HashMap<>())
-                .actions(actions)
-                .recommendations(recommendationsList)
-                .build();
+        return rendered;
     }
 
 
@@ -191,82 +343,125 @@ public class SkinAnalysisService {
         );
     }
 
-    private String toJsonSafely(FastApiResponseDto dto) {
+    /**
+     * 업로드가 끝난 이미지로 분석 시작
+     * - PENDING 행 저장 (PK 발급)
+     * - async=true  : 워커에 FastAPI 호출 위임 후 PENDING 으로 즉시 반환
+     * - async=false : FastAPI 동기 호출 (image_url 방식) 후 DONE 반영
+     */
+    private AnalysisUploadResponse startAnalysis(Long userId,
+                                                 String key,
+                                                 String imageUrl,
+                                                 String surveyJson,
+                                                 String contentHash,
+                                                 boolean async) {
+        SkinAnalysis entity = SkinAnalysis.builder()
+                .userId(userId)
+                .s3Key(key)
+                .userInput(surveyJson)   // 설문 JSON 문자열 그대로 저장
+                .status("PENDING")
+                .contentHash(contentHash)
+                .build();
+
+        entity = analyses.save(entity); // PK 발급
+        log.info("[SkinAnalysis] saved PENDING. id={} async={}", entity.getId(), async);
+        profileSummaryCache.onAnalysisSaved(entity, null);
+        progressHub.publish(userId, entity.getId(), AnalysisProgressHub.Stage.UPLOADED, null);
+
+        if (async) {
+            jobWorker.submit(userId, entity.getId(), imageUrl, surveyJson);
+            return new AnalysisUploadResponse(entity.getId(), imageUrl, "PENDING");
+        }
+
+        FastApiResponseDto fastApiRes = skinAnalyzer.analyze(imageUrl, surveyJson,
+                progressHub.tracker(userId, entity.getId()));
+
+        // 결과 원본 먼저 저장 → DONE 을 본 조회가 항상 결과를 찾도록
+        resultStore.save(entity.getId(), fastApiRes);
+
+        // 결과 반영 (DONE + 요약 컬럼, 기존 createdAt 유지) + 완료 이벤트 outbox 기록
+        SkinAnalysis updated = entity.withResult("DONE", fastApiRes);
+
+        analysisOutbox.saveCompleted(updated, fastApiRes);
+        log.info("[SkinAnalysis] updated DONE. id={}", updated.getId());
+        profileSummaryCache.onAnalysisSaved(updated, fastApiRes);
+        progressHub.publish(userId, updated.getId(), AnalysisProgressHub.Stage.DONE, null);
+
+        // FE용 응답 (일단 최소 정보만)
+        return new AnalysisUploadResponse(updated.getId(), imageUrl);
+    }
+
+    /**
+     * 업로드 이미지 → S3
+     * - 정규화 가능(JPEG / PNG)하면 짧은 변 768 JPEG 로 줄여서 업로드
+     * - 정규화 비활성 / 미지원 형식(HEIC, WebP) / 디코딩 실패 시 원본 그대로 업로드
+     * - AnalysisBatchService 도 같은 규칙으로 업로드
+     * @return 업로드된 S3 key
+     */
+    public String uploadImage(Long userId, MultipartFile file) {
+        if (imageNormalizer.isEnabled() && imageNormalizer.supports(file.getContentType())) {
+            ImageNormalizer.Result normalized = null;
+            try (InputStream in = file.getInputStream()) {
+                normalized = imageNormalizer.normalize(in);
+            } catch (IOException | IllegalArgumentException e) {
+                log.warn("[SkinAnalysis] 이미지 정규화 실패 → 원본 업로드. filename={} reason={}",
+                        file.getOriginalFilename(), e.getMessage());
+            }
+            if (normalized != null) {
+                String key = generateKey(userId, ImageNormalizer.OUTPUT_EXTENSION);
+                uploadNormalized(normalized, key);
+                return key;
+            }
+        }
+
+        String key = generateKey(userId, file.getOriginalFilename());
+        log.info("[S3] upload start. key={}", key);
+        s3.upload(file, key);
+        return key;
+    }
+
+    private void uploadNormalized(ImageNormalizer.Result normalized, String key) {
+        log.info("[S3] upload start (normalized {}x{}). key={} size={}",
+                normalized.width(), normalized.height(), key, normalized.bytes().length);
+        s3.upload(new ByteArrayInputStream(normalized.bytes()), normalized.bytes().length,
+                ImageNormalizer.OUTPUT_CONTENT_TYPE, key);
+    }
+
+
+    /**
+     * 중복 재사용용 내용 해시 (비활성 / 실패 시 null)
+     */
+    public String hashContent(MultipartFile file, String surveyJson) {
+        if (!dedupEnabled) {
+            return null;
+        }
         try {
-            return objectMapper.writeValueAsString(dto);
-        } catch (JsonProcessingException e) {
-            log.error("[SkinAnalysis] FastAPI 응답 직렬화 실패", e);
-            // 필요하면 별도 예외 타입
-            throw new RuntimeException("FastAPI 응답 JSON 직렬화 실패", e);
+            return contentHasher.hash(file, surveyJson);
+        } catch (Exception e) {
+            // 해시 실패는 분석 자체를 막지 않음 (중복 재사용만 포기)
+            log.warn("[SkinAnalysis] 내용 해시 계산 실패 → 중복 재사용 생략", e);
+            return null;
         }
     }
 
     /**
-     * FastAPI recommendations 배열을 CategoryRecommendationResponse 리스트로 변환
+     * 같은 유저가 같은 사진 + 같은 설문으로 이미 DONE 분석이 있으면
+     * 기존 s3Key / 결과 요약 + 결과 원본 사본을 가진 새 SkinAnalysis 행을 만들어 바로 반환
+     * (새 행도 analysis.done 이벤트를 남김, AnalysisOutbox.saveCopy)
      */
-    private List<CategoryRecommendationResponse> parseRecommendations(List<Map<String, Object>> recommendations) {
-        if (recommendations == null || recommendations.isEmpty()) {
-            return new ArrayList<>();
+    private Optional<AnalysisUploadResponse> reuseExisting(Long userId, String surveyJson, String contentHash) {
+        if (contentHash == null) {
+            return Optional.empty();
         }
 
-        return recommendations.stream()
-                .map(product -> {
-                    try {
-                        String productId = (String) product.get("productId");
-                        String productName = (String) product.get("productName");
-                        String brand = (String) product.get("brand");
-                        String category = (String) product.get("category");
-                        String imageUrl = (String) product.get("image_url");
-                        
-                        // 숫자 필드 파싱 (null-safe)
-                        Integer salePrice = null;
-                        if (product.get("salePrice") != null) {
-                            if (product.get("salePrice") instanceof Number) {
-                                salePrice = ((Number) product.get("salePrice")).intValue();
-                            }
-                        }
-                        
-                        Double averageReviewScore = null;
-                        if (product.get("averageReviewScore") != null) {
-                            if (product.get("averageReviewScore") instanceof Number) {
-                                averageReviewScore = ((Number) product.get("averageReviewScore")).doubleValue();
-                            }
-                        }
-                        
-                        Integer totalReviewCount = null;
-                        if (product.get("totalReviewCount") != null) {
-                            if (product.get("totalReviewCount") instanceof Number) {
-                                totalReviewCount = ((Number) product.get("totalReviewCount")).intValue();
-                            }
-                        }
-                        
-                        // xai_keywords 파싱
-                        List<String> xaiKeywords = new ArrayList<>();
-                        Object keywordsObj = product.get("xai_keywords");
-                        if (keywordsObj instanceof List) {
-                            xaiKeywords = ((List<?>) keywordsObj).stream()
-                                    .map(Object::toString)
-                                    .collect(Collectors.toList());
-                        }
-
-                        return CategoryRecommendationResponse.builder()
-                                .productId(productId)
-                                .productName(productName != null ? productName : "")
-                                .brand(brand)
-                                .salePrice(salePrice)
-                                .averageReviewScore(averageReviewScore)
-                                .totalReviewCount(totalReviewCount)
-                                .category(category != null ? category : "")
-                                .imageUrl(imageUrl != null ? imageUrl : "")
-                                .xaiKeywords(xaiKeywords)
-                                .tags(xaiKeywords) // 프론트엔드 호환성을 위해 tags도 설정
-                                .build();
-                    } catch (Exception e) {
-                        log.warn("[SkinAnalysis] 추천 제품 파싱 실패. product={}", product, e);
-                        return null;
-                    }
-                })
-                .filter(item -> item != null)
-                .collect(Collectors.toList());
+        return analyses.findFirstByUserIdAndContentHashAndStatusOrderByIdDesc(userId, contentHash, "DONE")
+                .map(cached -> {
+                    SkinAnalysis copy = analysisOutbox.saveCopy(cached, cached.copyAsDone(cached.getS3Key(), surveyJson, contentHash));
+                    log.info("[SkinAnalysis] 중복 요청 → 기존 결과 재사용. sourceId={} newId={}",
+                            cached.getId(), copy.getId());
+                    profileSummaryCache.evict(userId);
+                    return new AnalysisUploadResponse(copy.getId(), s3.getUrl(copy.getS3Key()));
+                });
     }
+
 }
\ No newline at end of file
@@ -0,0 +1,92 @@
+package com.vegin.module.analysis.service;
+
+import com.vegin.external.dto.FastApiResponseDto;
+import com.vegin.external.service.FastApiClient;
+import com.vegin.module.recommend.service.LtrRecommender;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 분석 1건 = FastAPI fusion + 추천
+ * - 캐시 사용 시 FastAPI 에는 fusion 만 요청하고, 추천은 RecommendationCache 에서 가져옴
+ *   (miss 일 때만 /recommend 호출 → ES script_score + XGBoost 가 요청 경로에서 빠짐)
+ * - include_recommendations 를 모르는 예전 FastAPI 가 추천까지 보내면 그대로 쓰고 캐시에 넣음
+ * - 내장 LTR 엔진(LtrRecommender)이 올라와 있으면 추천은 백엔드에서 바로 계산 (캐시 / FastAPI 거치지 않음)
+ * - fusion / 추천이 끝날 때마다 진행 단계 발행 (AnalysisProgressHub.Tracker)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SkinAnalyzer {
+
+    private final FastApiClient fastApiClient;
+    private final RecommendationCache recommendationCache;
+    private final LtrRecommender ltrRecommender;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * @param progress fusion / 추천이 끝날 때마다 단계 이벤트 발행 (SSE)
+     */
+    public FastApiResponseDto analyze(String imageUrl, String surveyJson, AnalysisProgressHub.Tracker progress) {
+        boolean local = ltrRecommender.isAvailable();
+        if (!local && !recommendationCache.isEnabled()) {
+            FastApiResponseDto res = fastApiClient.analyzeWithImageUrl(imageUrl, surveyJson);
+            progress.fusionDone(res.fusion());
+            progress.recommendationsDone(res.recommendations());
+            return res;
+        }
+
+        FastApiResponseDto res = fastApiClient.analyzeWithImageUrl(imageUrl, surveyJson, false);
+        FastApiResponseDto.FastApiFusionDto fusion = res.fusion();
+        if (fusion == null) {
+            return res;
+        }
+        progress.fusionDone(fusion);
+        if (res.recommendations() != null && !res.recommendations().isEmpty()) {
+            recommendationCache.put(fusion, res.recommendations());
+            progress.recommendationsDone(res.recommendations());
+            return res;
+        }
+
+        if (local) {
+            Optional<List<FastApiResponseDto.FastApiProductDto>> computed =
+                    ltrRecommender.recommend(fusion, recommendationCache.getTopk());
+            if (computed.isPresent()) {
+                count("local");
+                progress.recommendationsDone(computed.get());
+                return new FastApiResponseDto(res.status(), fusion, computed.get(), res.error());
+            }
+            log.info("[LTR] 로컬 추천 불가 → FastAPI 추천. mbti={} skinType={}", fusion.skinMbti(), fusion.skinType());
+        }
+        if (!recommendationCache.isEnabled()) {
+            List<FastApiResponseDto.FastApiProductDto> fresh =
+                    fastApiClient.recommend(fusion, recommendationCache.getTopk());
+            progress.recommendationsDone(fresh);
+            return new FastApiResponseDto(res.status(), fusion, fresh, res.error());
+        }
+
+        Optional<List<FastApiResponseDto.FastApiProductDto>> cached = recommendationCache.get(fusion);
+        count(cached.isPresent() ? "hit" : "miss");
+
+        List<FastApiResponseDto.FastApiProductDto> recommendations = cached.orElseGet(() -> {
+            List<FastApiResponseDto.FastApiProductDto> fresh =
+                    fastApiClient.recommend(fusion, recommendationCache.getTopk());
+            recommendationCache.put(fusion, fresh);
+            return fresh;
+        });
+        log.info("[RecoCache] {} mbti={} skinType={}", cached.isPresent() ? "hit" : "miss",
+                fusion.skinMbti(), fusion.skinType());
+        progress.recommendationsDone(recommendations);
+
+        return new FastApiResponseDto(res.status(), fusion, recommendations, res.error());
+    }
+
+    private void count(String result) {
+        meterRegistry.counter("recommendation.cache", "result", result).increment();
+    }
+}
@@ -0,0 +1,655 @@
+package com.vegin.module.recommend.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * 카테고리별 HNSW 그래프 (review_vector 근사 최근접 탐색)
+ *
+ * - 벡터는 ProductIndex 의 정규화된 float[] 를 그대로 쓰고, 파일에는 그래프(이웃 목록)만 저장
+ * - 유사도 = 내적 (= 코사인, ES score_es 는 여기에 +1.0)
+ * - 빌드는 시드를 고정해 같은 카탈로그면 같은 그래프
+ *
+ * 파일 형식 (little-endian, 읽을 때는 mmap)
+ *   int magic, int formatVersion, str catalogVersion, int dim, int m, int efConstruction, int categoryCount
+ *   카테고리마다: str name, int size, int m, int entryPoint, int maxLevel, int upperLength
+ *                int[size] upperOffset (-1 = layer 0 에만 있음)
+ *                int[size * (1 + 2m)] layer0   (노드별 [개수, 이웃...])
+ *                int[upperLength]   upper      (노드별 layer 1..level 블록 [개수, 이웃 m개])
+ *   str = int 길이 + UTF-8
+ */
+final class HnswIndex {
+
+    private static final int MAGIC = 0x48_4E_53_57; // "HNSW"
+    private static final int FORMAT_VERSION = 2;
+    private static final long SEED = 42L;
+    private static final int VISITED_POOL_SIZE = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+    private final String catalogVersion;
+    private final int dim;
+    private final int m;
+    private final int efConstruction;
+    private final Map<String, Graph> graphs;
+
+    private HnswIndex(String catalogVersion, int dim, int m, int efConstruction, Map<String, Graph> graphs) {
+        this.catalogVersion = catalogVersion;
+        this.dim = dim;
+        this.m = m;
+        this.efConstruction = efConstruction;
+        this.graphs = graphs;
+    }
+
+    String catalogVersion() {
+        return catalogVersion;
+    }
+
+    Graph graph(String category) {
+        return graphs.get(category);
+    }
+
+    /**
+     * 같은 카탈로그(버전 / 차원 / 카테고리 크기)와 같은 빌드 설정(m / efConstruction / minSize)으로 만든 파일인지
+     */
+    boolean matches(ProductIndex index, int m, int efConstruction, int minSize) {
+        if (!Objects.equals(catalogVersion, index.version()) || dim != index.dim()
+                || this.m != m || this.efConstruction != efConstruction) {
+            return false;
+        }
+        for (String name : LtrFeatures.CATEGORIES) {
+            ProductIndex.Category cat = index.category(name);
+            Graph graph = graphs.get(name);
+            boolean expected = cat != null && cat.size > 0 && cat.size >= minSize;
+            if (expected != (graph != null) || (graph != null && cat.size != graph.size)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ================== 빌드 / 저장 / 로드 ==================
+
+    /**
+     * minSize 보다 작은 카테고리는 그래프를 만들지 않음 (전수 비교가 더 빠름)
+     */
+    static void build(ProductIndex index, int m, int efConstruction, int minSize, Path path) throws IOException {
+        Map<String, Builder> built = new LinkedHashMap<>();
+        for (String name : LtrFeatures.CATEGORIES) {
+            ProductIndex.Category cat = index.category(name);
+            if (cat != null && cat.size >= minSize && cat.size > 0) {
+                Builder b = new Builder(cat, m, efConstruction);
+                for (int i = 0; i < cat.size; i++) {
+                    b.insert(i);
+                }
+                built.put(name, b);
+            }
+        }
+        write(index.version(), index.dim(), m, efConstruction, built, path);
+    }
+
+    private static void write(String catalogVersion, int dim, int m, int efConstruction,
+                              Map<String, Builder> built, Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path tmp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer head = ByteBuffer.allocate(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+            head.putInt(MAGIC).putInt(FORMAT_VERSION);
+            putString(head, catalogVersion == null ? "" : catalogVersion);
+            head.putInt(dim).putInt(m).putInt(efConstruction).putInt(built.size());
+            flush(ch, head);
+
+            for (Map.Entry<String, Builder> e : built.entrySet()) {
+                Builder b = e.getValue();
+                int[] upperOffset = new int[b.size];
+                int upperLength = 0;
+                for (int i = 0; i < b.size; i++) {
+                    upperOffset[i] = b.levels[i] > 0 ? upperLength : -1;
+                    upperLength += b.levels[i] * (1 + b.m);
+                }
+                int[] upper = new int[upperLength];
+                for (int i = 0; i < b.size; i++) {
+                    for (int l = 1; l <= b.levels[i]; l++) {
+                        System.arraycopy(b.upper[i][l - 1], 0, upper, upperOffset[i] + (l - 1) * (1 + b.m), 1 + b.m);
+                    }
+                }
+
+                putString(head, e.getKey());
+                head.putInt(b.size).putInt(b.m).putInt(b.entryPoint).putInt(b.maxLevel).putInt(upperLength);
+                flush(ch, head);
+                writeInts(ch, upperOffset);
+                writeInts(ch, b.layer0);
+                writeInts(ch, upper);
+            }
+            ch.force(true);
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * @throws IOException 파일이 없거나 형식이 다를 때
+     */
+    static HnswIndex load(Path path) throws IOException {
+        ByteBuffer buf;
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size()).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        if (buf.remaining() < 8 || buf.getInt() != MAGIC || buf.getInt() != FORMAT_VERSION) {
+            throw new IOException("HNSW 파일 형식이 아닙니다: " + path);
+        }
+        String catalogVersion = getString(buf);
+        int dim = buf.getInt();
+        int buildM = buf.getInt();
+        int efConstruction = buf.getInt();
+        int count = buf.getInt();
+
+        Map<String, Graph> graphs = new LinkedHashMap<>();
+        for (int c = 0; c < count; c++) {
+            String name = getString(buf);
+            int size = buf.getInt();
+            int m = buf.getInt();
+            int entryPoint = buf.getInt();
+            int maxLevel = buf.getInt();
+            int upperLength = buf.getInt();
+            IntBuffer upperOffset = slice(buf, size);
+            IntBuffer layer0 = slice(buf, size * (1 + 2 * m));
+            IntBuffer upper = slice(buf, upperLength);
+            graphs.put(name, new Graph(size, m, entryPoint, maxLevel, upperOffset, layer0, upper));
+        }
+        return new HnswIndex(catalogVersion.isEmpty() ? null : catalogVersion, dim, buildM, efConstruction, graphs);
+    }
+
+    private static IntBuffer slice(ByteBuffer buf, int ints) {
+        ByteBuffer part = buf.slice(buf.position(), ints * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buf.position(buf.position() + ints * Integer.BYTES);
+        return part.asIntBuffer();
+    }
+
+    private static void putString(ByteBuffer buf, String s) {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        buf.putInt(bytes.length).put(bytes);
+    }
+
+    private static String getString(ByteBuffer buf) {
+        byte[] bytes = new byte[buf.getInt()];
+        buf.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void flush(FileChannel ch, ByteBuffer buf) throws IOException {
+        buf.flip();
+        while (buf.hasRemaining()) {
+            ch.write(buf);
+        }
+        buf.clear();
+    }
+
+    private static void writeInts(FileChannel ch, int[] values) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+        for (int v : values) {
+            if (!buf.hasRemaining()) {
+                flush(ch, buf);
+            }
+            buf.putInt(v);
+        }
+        flush(ch, buf);
+    }
+
+    // ================== 탐색 ==================
+
+    /**
+     * mmap 된 그래프 1개 (읽기 전용, 여러 스레드에서 같이 사용)
+     */
+    static final class Graph {
+
+        final int size;
+        private final int m;
+        private final int entryPoint;
+        private final int maxLevel;
+        private final IntBuffer upperOffset;
+        private final IntBuffer layer0;
+        private final IntBuffer upper;
+
+        // 방문 표시 배열 재사용 풀 (가상 스레드는 요청마다 새 스레드라 ThreadLocal 로는 재사용이 안 됨)
+        // - 동시에 탐색 중인 수만큼만 꺼내 쓰고, 풀이 꽉 차 있으면 반납하지 않고 버림 → 보관 메모리 상한 = 풀 크기 * size
+        private final BlockingQueue<Visited> visitedPool = new ArrayBlockingQueue<>(VISITED_POOL_SIZE);
+
+        Graph(int size, int m, int entryPoint, int maxLevel, IntBuffer upperOffset, IntBuffer layer0, IntBuffer upper) {
+            this.size = size;
+            this.m = m;
+            this.entryPoint = entryPoint;
+            this.maxLevel = maxLevel;
+            this.upperOffset = upperOffset;
+            this.layer0 = layer0;
+            this.upper = upper;
+        }
+
+        /**
+         * 유사도(내적 + 1.0) 상위 k 개를 점수 내림차순으로 ids / scores 에 채움 (같은 점수는 id 순)
+         * @param ef 탐색 폭 (클수록 recall ↑, 느려짐), k 보다 작으면 k 사용
+         */
+        int search(ProductIndex.Category cat, float[] query, int k, int ef, int[] ids, float[] scores) {
+            if (size == 0) {
+                return 0;
+            }
+            int node = entryPoint;
+            float best = cat.dot(query, node);
+            for (int level = maxLevel; level > 0; level--) {
+                boolean changed = true;
+                while (changed) {
+                    changed = false;
+                    int base = upperOffset.get(node) + (level - 1) * (1 + m);
+                    int count = upper.get(base);
+                    for (int j = 1; j <= count; j++) {
+                        int next = upper.get(base + j);
+                        float s = cat.dot(query, next);
+                        if (s > best) {
+                            best = s;
+                            node = next;
+                            changed = true;
+                        }
+                    }
+                }
+            }
+
+            Heap result = searchLayer0(cat, query, node, best, Math.max(ef, k));
+            int n = Math.min(k, result.size);
+            result.sortDescending();
+            for (int i = 0; i < n; i++) {
+                ids[i] = result.ids[i];
+                scores[i] = result.scores[i] + 1.0f;
+            }
+            return n;
+        }
+
+        private Heap searchLayer0(ProductIndex.Category cat, float[] query, int start, float startScore, int ef) {
+            Visited seen = visitedPool.poll();
+            if (seen == null) {
+                seen = new Visited(size);
+            }
+            try {
+                return searchLayer0(cat, query, start, startScore, ef, seen);
+            } finally {
+                visitedPool.offer(seen);
+            }
+        }
+
+        private Heap searchLayer0(ProductIndex.Category cat, float[] query, int start, float startScore, int ef,
+                                  Visited seen) {
+            seen.next();
+            Heap candidates = new Heap(ef * 2, true);   // 가까운 것부터 꺼냄
+            Heap result = new Heap(ef, false);          // 가장 먼 것이 top
+            seen.mark(start);
+            candidates.push(start, startScore);
+            result.push(start, startScore);
+
+            int stride = 1 + 2 * m;
+            while (candidates.size > 0) {
+                float score = candidates.topScore();
+                int node = candidates.pop();
+                if (result.size >= ef && score < result.topScore()) {
+                    break;
+                }
+                int base = node * stride;
+                int count = layer0.get(base);
+                for (int j = 1; j <= count; j++) {
+                    int next = layer0.get(base + j);
+                    if (!seen.mark(next)) {
+                        continue;
+                    }
+                    float s = cat.dot(query, next);
+                    if (result.size < ef || s > result.topScore()) {
+                        candidates.push(next, s);
+                        result.push(next, s);
+                        if (result.size > ef) {
+                            result.pop();
+                        }
+                    }
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * 방문 표시 (Graph 의 풀에서 빌려 씀, 세대 번호로 초기화 비용 없음)
+     */
+    private static final class Visited {
+
+        private final int[] marks;
+        private int epoch;
+
+        Visited(int size) {
+            this.marks = new int[size];
+        }
+
+        void next() {
+            if (++epoch == Integer.MAX_VALUE) {
+                Arrays.fill(marks, 0);
+                epoch = 1;
+            }
+        }
+
+        /**
+         * @return 처음 방문이면 true
+         */
+        boolean mark(int node) {
+            if (marks[node] == epoch) {
+                return false;
+            }
+            marks[node] = epoch;
+            return true;
+        }
+    }
+
+    /**
+     * (id, score) 이진 힙, max = true 면 점수 큰 것이 top
+     * 같은 점수는 id 가 작은 쪽을 "더 가까운" 것으로 봄 (전수 비교와 같은 순서)
+     */
+    private static final class Heap {
+
+        int[] ids;
+        float[] scores;
+        int size;
+        private final boolean max;
+
+        Heap(int capacity, boolean max) {
+            this.ids = new int[Math.max(capacity, 4) + 1];
+            this.scores = new float[ids.length];
+            this.max = max;
+        }
+
+        float topScore() {
+            return scores[0];
+        }
+
+        void push(int id, float score) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                scores = Arrays.copyOf(scores, size * 2);
+            }
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!before(id, score, ids[parent], scores[parent])) {
+                    break;
+                }
+                ids[i] = ids[parent];
+                scores[i] = scores[parent];
+                i = parent;
+            }
+            ids[i] = id;
+            scores[i] = score;
+        }
+
+        int pop() {
+            int top = ids[0];
+            size--;
+            if (size > 0) {
+                int id = ids[size];
+                float score = scores[size];
+                int i = 0;
+                while (true) {
+                    int child = 2 * i + 1;
+                    if (child >= size) {
+                        break;
+                    }
+                    if (child + 1 < size && before(ids[child + 1], scores[child + 1], ids[child], scores[child])) {
+                        child++;
+                    }
+                    if (!before(ids[child], scores[child], id, score)) {
+                        break;
+                    }
+                    ids[i] = ids[child];
+                    scores[i] = scores[child];
+                    i = child;
+                }
+                ids[i] = id;
+                scores[i] = score;
+            }
+            return top;
+        }
+
+        private boolean before(int idA, float a, int idB, float b) {
+            boolean closer = a > b || (a == b && idA < idB);
+            return max == closer;
+        }
+
+        /**
+         * 힙을 깨고 점수 내림차순(같으면 id 오름차순)으로 정렬
+         * (점수를 정렬 가능한 int 로 바꿔 id 와 long 하나로 묶은 뒤 Arrays.sort)
+         */
+        void sortDescending() {
+            long[] keys = new long[size];
+            for (int i = 0; i < size; i++) {
+                int bits = Float.floatToIntBits(scores[i]);
+                int ordered = bits ^ ((bits >> 31) & 0x7fffffff);
+                keys[i] = ((long) ~ordered << 32) | (ids[i] & 0xffffffffL);
+            }
+            Arrays.sort(keys);
+            for (int i = 0; i < size; i++) {
+                int ordered = ~(int) (keys[i] >> 32);
+                ids[i] = (int) keys[i];
+                scores[i] = Float.intBitsToFloat(ordered ^ ((ordered >> 31) & 0x7fffffff));
+            }
+        }
+    }
+
+    // ================== 빌더 (힙 메모리, 파일로 쓰고 나면 버림) ==================
+
+    private static final class Builder {
+
+        final ProductIndex.Category cat;
+        final int size;
+        final int m;
+        final int efConstruction;
+        final int[] levels;
+        final int[] layer0;
+        final int[][][] upper;     // [node][level - 1] = [개수, 이웃 m개]
+        final double levelMult;
+        final Random random = new Random(SEED);
+        int entryPoint = -1;
+        int maxLevel = -1;
+
+        Builder(ProductIndex.Category cat, int m, int efConstruction) {
+            this.cat = cat;
+            this.size = cat.size;
+            this.m = m;
+            this.efConstruction = efConstruction;
+            this.levels = new int[size];
+            this.layer0 = new int[size * (1 + 2 * m)];
+            this.upper = new int[size][][];
+            this.levelMult = 1.0 / Math.log(m);
+        }
+
+        void insert(int node) {
+            int level = (int) (-Math.log(1.0 - random.nextDouble()) * levelMult);
+            levels[node] = level;
+            upper[node] = new int[level][1 + m];
+            if (entryPoint < 0) {
+                entryPoint = node;
+                maxLevel = level;
+                return;
+            }
+
+            float[] query = Arrays.copyOfRange(cat.vectors, node * cat.dim, (node + 1) * cat.dim);
+            int ep = entryPoint;
+            float epScore = cat.dot(query, ep);
+            for (int l = maxLevel; l > level; l--) {
+                boolean changed = true;
+                while (changed) {
+                    changed = false;
+                    int[] block = upper[ep][l - 1];
+                    for (int j = 1; j <= block[0]; j++) {
+                        float s = cat.dot(query, block[j]);
+                        if (s > epScore) {
+                            epScore = s;
+                            ep = block[j];
+                            changed = true;
+                        }
+                    }
+                }
+            }
+
+            for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+                Heap found = searchLayer(query, ep, epScore, l);
+                found.sortDescending();
+                int max = l == 0 ? 2 * m : m;
+                int count = selectNeighbors(found.ids, found.scores, found.size, m);
+                for (int j = 0; j < count; j++) {
+                    setNeighbor(node, l, j + 1, found.ids[j]);
+                }
+                setNeighbor(node, l, 0, count);
+                for (int j = 0; j < count; j++) {
+                    connect(found.ids[j], node, l, max);
+                }
+                ep = found.ids[0];
+                epScore = found.scores[0];
+            }
+
+            if (level > maxLevel) {
+                maxLevel = level;
+                entryPoint = node;
+            }
+        }
+
+        private Heap searchLayer(float[] query, int start, float startScore, int level) {
+            boolean[] seen = new boolean[size];
+            Heap candidates = new Heap(efConstruction * 2, true);
+            Heap result = new Heap(efConstruction, false);
+            seen[start] = true;
+            candidates.push(start, startScore);
+            result.push(start, startScore);
+            while (candidates.size > 0) {
+                float score = candidates.topScore();
+                int node = candidates.pop();
+                if (result.size >= efConstruction && score < result.topScore()) {
+                    break;
+                }
+                int count = neighborCount(node, level);
+                for (int j = 1; j <= count; j++) {
+                    int next = neighbor(node, level, j);
+                    if (seen[next]) {
+                        continue;
+                    }
+                    seen[next] = true;
+                    float s = cat.dot(query, next);
+                    if (result.size < efConstruction || s > result.topScore()) {
+                        candidates.push(next, s);
+                        result.push(next, s);
+                        if (result.size > efConstruction) {
+                            result.pop();
+                        }
+                    }
+                }
+            }
+            return result;
+        }
+
+        private int neighborCount(int node, int level) {
+            return level == 0 ? layer0[node * (1 + 2 * m)] : upper[node][level - 1][0];
+        }
+
+        private int neighbor(int node, int level, int j) {
+            return level == 0 ? layer0[node * (1 + 2 * m) + j] : upper[node][level - 1][j];
+        }
+
+        private void setNeighbor(int node, int level, int j, int value) {
+            if (level == 0) {
+                layer0[node * (1 + 2 * m) + j] = value;
+            } else {
+                upper[node][level - 1][j] = value;
+            }
+        }
+
+        /**
+         * 이웃 선택 휴리스틱 (HNSW 논문 Algorithm 4)
+         * 후보(유사도 내림차순) 중 이미 고른 이웃보다 기준 노드에 더 가까운 것만 골라 방향이 다양한 간선을 남기고,
+         * 모자라면 버린 후보로 채움. 고른 것을 ids / scores 앞쪽으로 옮기고 개수를 반환
+         */
+        private int selectNeighbors(int[] ids, float[] scores, int n, int max) {
+            int[] picked = new int[n];
+            float[] pickedScores = new float[n];
+            int[] pruned = new int[n];
+            float[] prunedScores = new float[n];
+            int p = 0;
+            int q = 0;
+            for (int i = 0; i < n && p < max; i++) {
+                int c = ids[i];
+                boolean diverse = true;
+                for (int j = 0; j < p && diverse; j++) {
+                    diverse = neighborSimilarity(c, picked[j]) <= scores[i];
+                }
+                if (diverse) {
+                    picked[p] = c;
+                    pickedScores[p++] = scores[i];
+                } else {
+                    pruned[q] = c;
+                    prunedScores[q++] = scores[i];
+                }
+            }
+            for (int i = 0; i < q && p < max; i++) {
+                picked[p] = pruned[i];
+                pickedScores[p++] = prunedScores[i];
+            }
+            System.arraycopy(picked, 0, ids, 0, p);
+            System.arraycopy(pickedScores, 0, scores, 0, p);
+            return p;
+        }
+
+        private float neighborSimilarity(int a, int b) {
+            float sum = 0f;
+            int baseA = a * cat.dim;
+            int baseB = b * cat.dim;
+            for (int d = 0; d < cat.dim; d++) {
+                sum += cat.vectors[baseA + d] * cat.vectors[baseB + d];
+            }
+            return sum;
+        }
+
+        /**
+         * from → to 간선 추가, 가득 찼으면 기존 이웃 + to 에서 휴리스틱으로 다시 고름
+         */
+        private void connect(int from, int to, int level, int max) {
+            int count = neighborCount(from, level);
+            for (int j = 1; j <= count; j++) {
+                if (neighbor(from, level, j) == to) {
+                    return;
+                }
+            }
+            if (count < max) {
+                setNeighbor(from, level, count + 1, to);
+                setNeighbor(from, level, 0, count + 1);
+                return;
+            }
+            Heap all = new Heap(count + 1, true);
+            all.push(to, neighborSimilarity(from, to));
+            for (int j = 1; j <= count; j++) {
+                int other = neighbor(from, level, j);
+                all.push(other, neighborSimilarity(from, other));
+            }
+            all.sortDescending();
+            int kept = selectNeighbors(all.ids, all.scores, all.size, max);
+            for (int j = 0; j < kept; j++) {
+                setNeighbor(from, level, j + 1, all.ids[j]);
+            }
+            setNeighbor(from, level, 0, kept);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.vegin.module.recommend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * HNSW 그래프 오프라인 빌드 (Spring 없이 실행)
+ * - 카탈로그를 내보낸 뒤 배포 전에 그래프를 미리 만들어 두면 앱 시작 시 빌드하지 않고 바로 mmap
+ * - m / efConstruction / minSize 는 ai.ltr.hnsw.* 설정과 같아야 함 (다르면 앱이 다시 빌드)
+ *
+ *   ./gradlew buildHnsw -PltrCatalog=ltr/catalog.json -PltrHnsw=ltr/catalog.hnsw [-PhnswM=16 -PhnswEfConstruction=200 -PhnswMinSize=2000]
+ */
+public final class HnswIndexBuilder {
+
+    private HnswIndexBuilder() {
+    }
+
+    /**
+     * @param args catalogPath outPath [m efConstruction minSize]
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2 && args.length != 5) {
+            System.err.println("usage: HnswIndexBuilder <catalog.json> <out.hnsw> [m efConstruction minSize]");
+            System.exit(2);
+        }
+        Path catalogPath = Path.of(args[0]);
+        Path outPath = Path.of(args[1]);
+        int m = args.length == 5 ? Integer.parseInt(args[2]) : 16;
+        int efConstruction = args.length == 5 ? Integer.parseInt(args[3]) : 200;
+        int minSize = args.length == 5 ? Integer.parseInt(args[4]) : 2000;
+
+        long started = System.nanoTime();
+        ProductIndex index;
+        try (InputStream in = Files.newInputStream(catalogPath)) {
+            index = ProductIndex.load(in, new ObjectMapper(), new IngredientMatcher());
+        }
+        HnswIndex.build(index, m, efConstruction, minSize, outPath);
+
+        HnswIndex built = HnswIndex.load(outPath);
+        System.out.printf("[HNSW] built. catalog=%s version=%s m=%d efConstruction=%d minSize=%d → %s (%d ms)%n",
+                catalogPath, built.catalogVersion(), m, efConstruction, minSize, outPath,
+                (System.nanoTime() - started) / 1_000_000);
+        for (String name : LtrFeatures.CATEGORIES) {
+            HnswIndex.Graph graph = built.graph(name);
+            System.out.printf("  %s: %s%n", name, graph != null ? graph.size + " nodes" : "전수 비교 (min-size 미만)");
+        }
+    }
+}
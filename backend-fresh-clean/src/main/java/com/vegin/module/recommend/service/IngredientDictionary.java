@@ -0,0 +1,55 @@
+package com.vegin.module.recommend.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 성분 이름 → int id (한 번 준 id 는 바뀌지 않음, 추가만 가능)
+ *
+ * 카탈로그 성분은 es_indexing.normalize_ingredients 로 이미 정리된 문자열이라 앞뒤 공백만 제거해 그대로 씀
+ * (LTR featurize 가 문자열 완전 일치로 세기 때문에 대소문자 / 띄어쓰기를 더 바꾸면 Python 결과와 달라짐)
+ */
+public final class IngredientDictionary {
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final List<String> names = Collections.synchronizedList(new ArrayList<>());
+
+    public static String canonical(String name) {
+        return name == null ? "" : name.strip();
+    }
+
+    /**
+     * 없으면 새 id 발급
+     */
+    public int intern(String name) {
+        String key = canonical(name);
+        Integer id = ids.get(key);
+        if (id != null) {
+            return id;
+        }
+        synchronized (this) {
+            return ids.computeIfAbsent(key, k -> {
+                names.add(k);
+                return names.size() - 1;
+            });
+        }
+    }
+
+    /**
+     * @return 사전에 없으면 -1
+     */
+    public int idOf(String name) {
+        return ids.getOrDefault(canonical(name), -1);
+    }
+
+    public String nameOf(int id) {
+        return names.get(id);
+    }
+
+    public int size() {
+        return names.size();
+    }
+}
@@ -0,0 +1,122 @@
+package com.vegin.module.recommend.service;
+
+import com.vegin.domain.BSTInfo;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * 성분 매칭 (추천 랭킹 / 분석 결과 응답 공용)
+ *
+ * - 성분 이름은 IngredientDictionary 의 int id 로, 목록은 IngredientSet 비트셋으로 보관
+ * - BST 코드별 whiteList / blackList 는 시작 시 한 번 비트셋으로 만들어 둠
+ *   "나이아신아마이드(저농도)", "고농도 알코올" 처럼 농도 표기가 붙은 항목은 성분 이름만 떼어 매칭
+ * - 겹침 계산 = popcount(제품 비트셋 AND 목록 비트셋)
+ */
+@Component
+public class IngredientMatcher {
+
+    private static final Pattern QUALIFIER = Pattern.compile("\\([^)]*\\)|^(고농도|저농도)\\s+");
+
+    private final IngredientDictionary dictionary = new IngredientDictionary();
+    private final Map<BSTInfo, BstLists> bstLists = new EnumMap<>(BSTInfo.class);
+
+    public IngredientMatcher() {
+        for (BSTInfo bst : BSTInfo.values()) {
+            bstLists.put(bst, new BstLists(lists(bst.getWhiteListIngredients()), lists(bst.getBlackListIngredients())));
+        }
+    }
+
+    public IngredientDictionary dictionary() {
+        return dictionary;
+    }
+
+    /**
+     * 요청 / 응답 데이터용: 사전에 없는 성분은 어떤 목록과도 겹칠 수 없으므로 id 를 새로 만들지 않음
+     */
+    public IngredientSet lookup(List<String> ingredients) {
+        if (ingredients == null || ingredients.isEmpty()) {
+            return IngredientSet.EMPTY;
+        }
+        int[] ids = new int[ingredients.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = dictionary.idOf(ingredients.get(i));
+        }
+        return IngredientSet.of(ids);
+    }
+
+    /**
+     * 카탈로그 적재용: 처음 보는 성분도 id 발급
+     */
+    public IngredientSet intern(List<String> ingredients) {
+        if (ingredients == null || ingredients.isEmpty()) {
+            return IngredientSet.EMPTY;
+        }
+        int[] ids = new int[ingredients.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = dictionary.intern(ingredients.get(i));
+        }
+        return IngredientSet.of(ids);
+    }
+
+    public int whiteListOverlap(BSTInfo bst, IngredientSet product) {
+        return bst == null ? 0 : product.overlap(bstLists.get(bst).white().set());
+    }
+
+    public int blackListOverlap(BSTInfo bst, IngredientSet product) {
+        return bst == null ? 0 : product.overlap(bstLists.get(bst).black().set());
+    }
+
+    /**
+     * 제품 성분 중 BST whiteList / blackList 에 걸리는 항목 (BST 표기 그대로, 목록 순서)
+     */
+    public BstMatch match(BSTInfo bst, List<String> ingredients) {
+        if (bst == null) {
+            return BstMatch.NONE;
+        }
+        IngredientSet product = lookup(ingredients);
+        if (product.isEmpty()) {
+            return BstMatch.NONE;
+        }
+        BstLists lists = bstLists.get(bst);
+        return new BstMatch(lists.white().matched(product), lists.black().matched(product));
+    }
+
+    static String baseName(String listEntry) {
+        return QUALIFIER.matcher(listEntry).replaceAll("").strip();
+    }
+
+    private ListSet lists(List<String> entries) {
+        int[] ids = new int[entries.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = dictionary.intern(baseName(entries.get(i)));
+        }
+        return new ListSet(List.copyOf(entries), ids, IngredientSet.of(ids));
+    }
+
+    public record BstMatch(List<String> whiteList, List<String> blackList) {
+        public static final BstMatch NONE = new BstMatch(List.of(), List.of());
+    }
+
+    private record BstLists(ListSet white, ListSet black) { }
+
+    private record ListSet(List<String> entries, int[] ids, IngredientSet set) {
+
+        List<String> matched(IngredientSet product) {
+            if (product.overlap(set) == 0) {
+                return List.of();
+            }
+            List<String> out = new ArrayList<>();
+            for (int i = 0; i < ids.length; i++) {
+                if (product.contains(ids[i])) {
+                    out.add(entries.get(i));
+                }
+            }
+            return out;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.vegin.module.recommend.service;
+
+import java.util.Arrays;
+
+/**
+ * 성분 id 집합 (희소 비트셋)
+ *
+ * 제품 1개 성분은 수십 개라 사전 전체 크기의 비트셋 대신 0 이 아닌 64비트 워드만 (워드 번호, 워드) 로 보관
+ * - 겹치는 수 = Σ popcount(word & other)
+ * - repeats : 목록에 두 번 이상 나온 성분 id (중복 횟수만큼)
+ *   featurize 는 성분 목록을 돌며 세므로 중복도 포함한 개수가 필요 (대부분 빈 배열)
+ */
+public final class IngredientSet {
+
+    public static final IngredientSet EMPTY = new IngredientSet(new int[0], new long[0], new int[0]);
+
+    private final int[] wordIndex;   // 오름차순
+    private final long[] words;
+    private final int[] repeats;
+
+    private IngredientSet(int[] wordIndex, long[] words, int[] repeats) {
+        this.wordIndex = wordIndex;
+        this.words = words;
+        this.repeats = repeats;
+    }
+
+    /**
+     * @param ids 음수(사전에 없는 성분)는 무시
+     */
+    public static IngredientSet of(int[] ids) {
+        int[] sorted = Arrays.stream(ids).filter(id -> id >= 0).sorted().toArray();
+        if (sorted.length == 0) {
+            return EMPTY;
+        }
+        int[] wordIndex = new int[sorted.length];
+        long[] words = new long[sorted.length];
+        int[] repeats = new int[sorted.length];
+        int w = -1;
+        int r = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            int id = sorted[i];
+            if (i > 0 && sorted[i - 1] == id) {
+                repeats[r++] = id;
+                continue;
+            }
+            int index = id >>> 6;
+            if (w < 0 || wordIndex[w] != index) {
+                wordIndex[++w] = index;
+            }
+            words[w] |= 1L << id;
+        }
+        return new IngredientSet(Arrays.copyOf(wordIndex, w + 1), Arrays.copyOf(words, w + 1), Arrays.copyOf(repeats, r));
+    }
+
+    public boolean isEmpty() {
+        return words.length == 0;
+    }
+
+    public boolean contains(int id) {
+        if (id < 0) {
+            return false;
+        }
+        int w = Arrays.binarySearch(wordIndex, id >>> 6);
+        return w >= 0 && (words[w] & (1L << id)) != 0;
+    }
+
+    /**
+     * 서로 다른 성분 수
+     */
+    public int cardinality() {
+        int n = 0;
+        for (long word : words) {
+            n += Long.bitCount(word);
+        }
+        return n;
+    }
+
+    /**
+     * 밀집 비트셋(요청마다 만드는 긍정 / 부정 성분 사전)과 겹치는 수, 중복 성분 포함
+     */
+    public int countIn(long[] dense) {
+        int n = 0;
+        for (int i = 0; i < words.length; i++) {
+            int index = wordIndex[i];
+            if (index < dense.length) {
+                n += Long.bitCount(words[i] & dense[index]);
+            }
+        }
+        for (int id : repeats) {
+            int index = id >>> 6;
+            if (index < dense.length && (dense[index] & (1L << id)) != 0) {
+                n++;
+            }
+        }
+        return n;
+    }
+
+    /**
+     * 두 집합에 모두 있는 서로 다른 성분 수
+     */
+    public int overlap(IngredientSet other) {
+        int n = 0;
+        int i = 0;
+        int j = 0;
+        while (i < wordIndex.length && j < other.wordIndex.length) {
+            if (wordIndex[i] < other.wordIndex[j]) {
+                i++;
+            } else if (wordIndex[i] > other.wordIndex[j]) {
+                j++;
+            } else {
+                n += Long.bitCount(words[i++] & other.words[j++]);
+            }
+        }
+        return n;
+    }
+
+    /**
+     * 밀집 비트셋으로 펼침 (여러 집합을 OR 해서 요청용 사전을 만들 때)
+     */
+    public void orInto(long[] dense) {
+        for (int i = 0; i < words.length; i++) {
+            if (wordIndex[i] < dense.length) {
+                dense[wordIndex[i]] |= words[i];
+            }
+        }
+    }
+
+    public static long[] denseWords(int dictionarySize) {
+        return new long[(dictionarySize + 63) >>> 6];
+    }
+}
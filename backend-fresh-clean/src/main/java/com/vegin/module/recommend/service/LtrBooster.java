@@ -0,0 +1,154 @@
+package com.vegin.module.recommend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * XGBoost JSON 모델(AI/ltr_booster.json) 트리 평가기
+ *
+ * xgboost 의 CPU predictor 와 같은 규칙
+ * - 입력 / 분기값 / 리프값 모두 float32 (DMatrix 가 float32 로 바꿈)
+ * - 수치 분기 : x < split_condition 이면 왼쪽, NaN(결측)이면 default_left
+ * - 리프 : split_conditions[node] 에 learning_rate 가 곱해진 리프값이 들어 있음
+ * - 출력 : base_score + Σ 리프값 (rank:pairwise 는 변환 없이 margin 그대로)
+ *
+ * 모든 트리를 하나의 평탄한 배열로 펼쳐 둠 → predict 1회에 객체 생성 없음
+ */
+public final class LtrBooster {
+
+    private final int numFeature;
+    private final float baseScore;
+    private final int[] treeRoots;
+    private final int[] left;
+    private final int[] right;
+    private final int[] feature;
+    private final float[] value;        // 내부 노드 = 분기값, 리프 = 리프값
+    private final boolean[] defaultLeft;
+
+    private LtrBooster(int numFeature, float baseScore, int[] treeRoots, int[] left, int[] right,
+                       int[] feature, float[] value, boolean[] defaultLeft) {
+        this.numFeature = numFeature;
+        this.baseScore = baseScore;
+        this.treeRoots = treeRoots;
+        this.left = left;
+        this.right = right;
+        this.feature = feature;
+        this.value = value;
+        this.defaultLeft = defaultLeft;
+    }
+
+    public static LtrBooster load(InputStream in, ObjectMapper objectMapper) throws IOException {
+        return parse(objectMapper.readTree(in));
+    }
+
+    /**
+     * @throws IllegalArgumentException 지원하지 않는 모델 (다중 출력 / gblinear / 범주형 분기)
+     */
+    static LtrBooster parse(JsonNode root) {
+        JsonNode learner = root.path("learner");
+        JsonNode params = learner.path("learner_model_param");
+        int numFeature = Integer.parseInt(params.path("num_feature").asText("0"));
+        int numClass = Integer.parseInt(params.path("num_class").asText("0"));
+        int numTarget = Integer.parseInt(params.path("num_target").asText("1"));
+        if (numClass > 1 || numTarget > 1) {
+            throw new IllegalArgumentException("다중 출력 모델은 지원하지 않습니다.");
+        }
+
+        JsonNode booster = learner.path("gradient_booster");
+        if (!"gbtree".equals(booster.path("name").asText())) {
+            throw new IllegalArgumentException("gbtree 모델만 지원합니다: " + booster.path("name").asText());
+        }
+        JsonNode trees = booster.path("model").path("trees");
+
+        int total = 0;
+        for (JsonNode tree : trees) {
+            if (tree.path("categories_nodes").size() > 0) {
+                throw new IllegalArgumentException("범주형 분기는 지원하지 않습니다.");
+            }
+            total += tree.path("left_children").size();
+        }
+
+        int[] treeRoots = new int[trees.size()];
+        int[] left = new int[total];
+        int[] right = new int[total];
+        int[] feature = new int[total];
+        float[] value = new float[total];
+        boolean[] defaultLeft = new boolean[total];
+
+        int offset = 0;
+        for (int t = 0; t < trees.size(); t++) {
+            JsonNode tree = trees.get(t);
+            JsonNode l = tree.path("left_children");
+            JsonNode r = tree.path("right_children");
+            JsonNode f = tree.path("split_indices");
+            JsonNode v = tree.path("split_conditions");
+            JsonNode d = tree.path("default_left");
+            treeRoots[t] = offset;
+            for (int n = 0; n < l.size(); n++) {
+                int i = offset + n;
+                // 리프는 자식 -1 그대로, 내부 노드는 전체 배열 기준 인덱스로 바꿔 둠
+                left[i] = l.get(n).asInt() < 0 ? -1 : offset + l.get(n).asInt();
+                right[i] = r.get(n).asInt() < 0 ? -1 : offset + r.get(n).asInt();
+                feature[i] = f.get(n).asInt();
+                value[i] = (float) v.get(n).asDouble();
+                defaultLeft[i] = d.get(n).asInt() != 0;
+                if (left[i] >= 0 && feature[i] >= numFeature) {
+                    throw new IllegalArgumentException("피처 인덱스가 범위를 벗어났습니다: " + feature[i]);
+                }
+            }
+            offset += l.size();
+        }
+
+        return new LtrBooster(numFeature, parseBaseScore(params.path("base_score").asText("0")),
+                treeRoots, left, right, feature, value, defaultLeft);
+    }
+
+    /**
+     * xgboost 2.x 이상은 "[-0E0]" 처럼 벡터 표기로 저장
+     */
+    private static float parseBaseScore(String raw) {
+        String s = raw.trim();
+        if (s.startsWith("[") && s.endsWith("]")) {
+            s = s.substring(1, s.length() - 1).trim();
+        }
+        return s.isEmpty() ? 0f : Float.parseFloat(s);
+    }
+
+    public int numFeature() {
+        return numFeature;
+    }
+
+    public int numTrees() {
+        return treeRoots.length;
+    }
+
+    /**
+     * @param x row 의 시작 위치부터 numFeature 개 (행렬을 평탄한 배열로 넘길 수 있게 offset 사용)
+     */
+    public float predict(float[] x, int offset) {
+        float sum = 0f;
+        for (int root : treeRoots) {
+            int node = root;
+            while (left[node] >= 0) {
+                float fv = x[offset + feature[node]];
+                if (Float.isNaN(fv)) {
+                    node = defaultLeft[node] ? left[node] : right[node];
+                } else {
+                    node = fv < value[node] ? left[node] : right[node];
+                }
+            }
+            sum += value[node];
+        }
+        return sum + baseScore;
+    }
+
+    public float predict(float[] x) {
+        if (x.length < numFeature) {
+            throw new IllegalArgumentException("피처 수가 모자랍니다: " + x.length + " < " + numFeature);
+        }
+        return predict(x, 0);
+    }
+}
@@ -0,0 +1,104 @@
+package com.vegin.module.recommend.service;
+
+import com.vegin.external.dto.FastApiResponseDto;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * es_ltr_online.py 의 쿼리 문장 / 성분 사전 / featurize 규칙 (Java 쪽 사본)
+ * AI/es_ltr_online.py 를 고치면 여기도 같이 고쳐야 골든셋(LtrRecommenderTest)이 맞음
+ *
+ * 피처 순서 (7개, ltr_booster.json num_feature)
+ * 0 pos_hits * 0.5 / 1 neg_hits * 0.5 / 2 (pos - neg) * 0.5
+ * 3 averageReviewScore / 4 log1p(totalReviewCount) / 5 log1p(salePrice) / 6 score_es
+ */
+final class LtrFeatures {
+
+    static final int NUM_FEATURES = 7;
+    static final float SCALE = 0.5f;
+
+    static final List<String> CATEGORIES = List.of("cream", "essence", "skintoner");
+
+    // 성분 그룹 비트 (POS_ING / NEG_ING 의 key)
+    static final int PIGMENT = 1;
+    static final int SENSITIVITY = 1 << 1;
+    static final int DRY = 1 << 2;
+    static final int ACNE = 1 << 3;
+
+    static final Map<Integer, Set<String>> POS_ING = Map.of(
+            PIGMENT, Set.of("niacinamide", "비타민c", "arbutin", "트라넥삼산", "감초", "코직"),
+            SENSITIVITY, Set.of("panthenol", "판테놀", "cica", "병풀", "알란토인", "베타글루칸", "알로에", "세라마이드"),
+            DRY, Set.of("히알루론산", "글리세린", "스쿠알란", "세라마이드", "콜레스테롤", "요소"),
+            ACNE, Set.of("살리실산", "바하", "아젤라익", "아연")
+    );
+    static final Map<Integer, Set<String>> NEG_ING = Map.of(
+            SENSITIVITY, Set.of("향", "향료", "퍼퓸", "알코올", "에탄올", "에센셜 오일", "티트리 오일"),
+            ACNE, Set.of("코코넛 오일", "아이소프로필 미리스테이트", "라놀린")
+    );
+
+    private static final List<Map<Character, String>> MBTI_TEXT = List.of(
+            Map.of('O', "유분이 많은", 'D', "건조한"),
+            Map.of('S', "민감한", 'R', "저항성이 좋은"),
+            Map.of('P', "색소 침착이 고민인", 'N', "색소 침착이 적은"),
+            Map.of('W', "주름이 고민인", 'T', "탱탱한")
+    );
+
+    private LtrFeatures() {
+    }
+
+    /**
+     * search_candidates 의 qtext
+     */
+    static String queryText(FastApiResponseDto.FastApiFusionDto fusion) {
+        String skinType = fusion.skinType() != null ? fusion.skinType() : "";
+        String qtext = (skinType + " " + mbtiToText(fusion.skinMbti())).strip();
+        if (qtext.isEmpty()) {
+            qtext = skinType.isEmpty() ? "피부" : skinType;
+        }
+        return qtext;
+    }
+
+    static String mbtiToText(String mbti) {
+        if (mbti == null || mbti.isEmpty()) {
+            return "";
+        }
+        String upper = mbti.toUpperCase();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < upper.length() && i < MBTI_TEXT.size(); i++) {
+            String part = MBTI_TEXT.get(i).get(upper.charAt(i));
+            if (part != null) {
+                if (!sb.isEmpty()) {
+                    sb.append(' ');
+                }
+                sb.append(part);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * _make_pos_neg_vocab : "high" 인 지수의 성분 그룹 비트
+     */
+    static int posGroups(FastApiResponseDto.FastApiIndicesDto idx) {
+        int groups = 0;
+        if (idx.pigment() > 1.65) {
+            groups |= PIGMENT;
+        }
+        if (idx.sensitivity() > 1.30) {
+            groups |= SENSITIVITY;
+        }
+        if (idx.dry() >= 3) {
+            groups |= DRY;
+        }
+        if (idx.oil() > 1.60) {
+            groups |= ACNE;
+        }
+        return groups;
+    }
+
+    static int negGroups(FastApiResponseDto.FastApiIndicesDto idx) {
+        return posGroups(idx) & (SENSITIVITY | ACNE);
+    }
+}
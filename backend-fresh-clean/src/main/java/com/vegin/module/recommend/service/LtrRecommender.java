@@ -0,0 +1,301 @@
+package com.vegin.module.recommend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vegin.external.dto.FastApiResponseDto;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 백엔드 내장 추천 엔진 (es_ltr_online.recommend_for_request 와 같은 결과)
+ *
+ * 1) 쿼리 문장 임베딩 : catalog.json 에 미리 인코딩된 벡터 (skin_type x skin_mbti 64개)
+ * 2) 후보           : 카테고리별 코사인 top-15 (ES script_score "cosineSimilarity + 1.0" 과 같은 점수)
+ *                      제품 수가 hnsw.min-size 이상인 카테고리는 HNSW 근사 탐색 (ef 는 recall-target 에 맞춰 보정)
+ * 3) 피처 / 점수     : featurize 7개 피처 → ltr_booster.json 트리 평가
+ * 4) 정렬           : score_ltr 내림차순 (같으면 후보 순서), 카테고리별 topk
+ *
+ * 카탈로그 / 모델은 시작 시 파일에서 읽음 (AI/export_ltr_catalog.py 로 생성)
+ * HNSW 그래프는 hnsw.path 에 저장해 두고 mmap, 카탈로그 / m / ef-construction 이 바뀌었으면 다시 빌드해서 덮어씀
+ * (배포 전에 ./gradlew buildHnsw 로 미리 만들어 두면 시작 시 빌드 없음, HnswIndexBuilder)
+ * 파일이 없거나 읽지 못하면 비활성 → SkinAnalyzer 가 기존 경로(캐시 + FastAPI /recommend)를 사용
+ */
+@Slf4j
+@Component
+public class LtrRecommender {
+
+    static final int CANDIDATES_PER_CATEGORY = 15;
+
+    private final ObjectMapper objectMapper;
+    private final IngredientMatcher ingredientMatcher;
+    private final boolean enabled;
+    private final String catalogPath;
+    private final String boosterPath;
+    private final HnswSettings hnsw;
+
+    private volatile Engine engine;
+
+    public LtrRecommender(
+            ObjectMapper objectMapper,
+            IngredientMatcher ingredientMatcher,
+            @Value("${ai.ltr.enabled:false}") boolean enabled,
+            @Value("${ai.ltr.catalog-path:ltr/catalog.json}") String catalogPath,
+            @Value("${ai.ltr.booster-path:ltr/ltr_booster.json}") String boosterPath,
+            @Value("${ai.ltr.hnsw.enabled:true}") boolean hnswEnabled,
+            @Value("${ai.ltr.hnsw.path:ltr/catalog.hnsw}") String hnswPath,
+            @Value("${ai.ltr.hnsw.m:16}") int hnswM,
+            @Value("${ai.ltr.hnsw.ef-construction:200}") int hnswEfConstruction,
+            @Value("${ai.ltr.hnsw.min-size:2000}") int hnswMinSize,
+            @Value("${ai.ltr.hnsw.recall-target:0.95}") double hnswRecallTarget,
+            @Value("${ai.ltr.hnsw.max-ef:512}") int hnswMaxEf
+    ) {
+        this.objectMapper = objectMapper;
+        this.ingredientMatcher = ingredientMatcher;
+        this.enabled = enabled;
+        this.catalogPath = catalogPath;
+        this.boosterPath = boosterPath;
+        this.hnsw = new HnswSettings(hnswEnabled, Path.of(hnswPath), hnswM, hnswEfConstruction, hnswMinSize,
+                hnswRecallTarget, hnswMaxEf);
+    }
+
+    record HnswSettings(boolean enabled, Path path, int m, int efConstruction, int minSize,
+                        double recallTarget, int maxEf) { }
+
+    @PostConstruct
+    void init() {
+        if (enabled) {
+            reload();
+        }
+    }
+
+    /**
+     * 카탈로그 / 모델 다시 읽기 (실패하면 이전 상태 유지)
+     */
+    public boolean reload() {
+        long started = System.nanoTime();
+        try (InputStream catalogIn = Files.newInputStream(Path.of(catalogPath));
+             InputStream boosterIn = Files.newInputStream(Path.of(boosterPath))) {
+            ProductIndex index = ProductIndex.load(catalogIn, objectMapper, ingredientMatcher);
+            LtrBooster booster = LtrBooster.load(boosterIn, objectMapper);
+            if (booster.numFeature() != LtrFeatures.NUM_FEATURES) {
+                throw new IllegalArgumentException("LTR 모델 피처 수 불일치: " + booster.numFeature());
+            }
+            Map<String, Ann> ann = hnsw.enabled() ? loadAnn(index, hnsw) : Map.of();
+            engine = new Engine(index, booster, ann);
+            log.info("[LTR] catalog loaded. version={} products={} trees={} hnsw={} ({} ms)",
+                    index.version(), index.size(), booster.numTrees(), ann.keySet(),
+                    (System.nanoTime() - started) / 1_000_000);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.warn("[LTR] catalog / booster 로드 실패 → FastAPI 추천 사용. catalog={} booster={} : {}",
+                    catalogPath, boosterPath, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 저장된 그래프가 이 카탈로그용이면 mmap, 아니면 빌드 → 저장 → mmap
+     * 카테고리별 ef 는 미리 인코딩된 쿼리들로 전수 비교 대비 recall 을 재서 recallTarget 을 넘는 최솟값
+     */
+    static Map<String, Ann> loadAnn(ProductIndex index, HnswSettings settings) throws IOException {
+        HnswIndex graphs = null;
+        if (Files.exists(settings.path())) {
+            try {
+                graphs = HnswIndex.load(settings.path());
+            } catch (IOException | RuntimeException e) {
+                log.warn("[LTR] HNSW 파일을 읽지 못해 다시 빌드합니다. path={} : {}", settings.path(), e.getMessage());
+            }
+        }
+        if (graphs == null || !graphs.matches(index, settings.m(), settings.efConstruction(), settings.minSize())) {
+            long started = System.nanoTime();
+            HnswIndex.build(index, settings.m(), settings.efConstruction(), settings.minSize(), settings.path());
+            graphs = HnswIndex.load(settings.path());
+            log.info("[LTR] HNSW built. path={} ({} ms)", settings.path(), (System.nanoTime() - started) / 1_000_000);
+        }
+
+        Map<String, Ann> ann = new HashMap<>();
+        for (String name : LtrFeatures.CATEGORIES) {
+            HnswIndex.Graph graph = graphs.graph(name);
+            if (graph == null) {
+                continue;
+            }
+            ProductIndex.Category cat = index.category(name);
+            int ef = CANDIDATES_PER_CATEGORY;
+            double recall = recall(cat, graph, index, ef);
+            while (recall < settings.recallTarget() && ef < settings.maxEf()) {
+                ef = Math.min(ef * 2, settings.maxEf());
+                recall = recall(cat, graph, index, ef);
+            }
+            log.info("[LTR] HNSW category={} size={} ef={} recall@{}={}", name, cat.size, ef,
+                    CANDIDATES_PER_CATEGORY, String.format("%.3f", recall));
+            ann.put(name, new Ann(graph, ef));
+        }
+        return ann;
+    }
+
+    /**
+     * 쿼리 벡터 전체에 대한 평균 recall@15 (전수 비교 top-15 중 HNSW 가 찾은 비율)
+     */
+    static double recall(ProductIndex.Category cat, HnswIndex.Graph graph, ProductIndex index, int ef) {
+        int k = CANDIDATES_PER_CATEGORY;
+        int[] exact = new int[k];
+        int[] approx = new int[k];
+        float[] scores = new float[k];
+        long found = 0;
+        long total = 0;
+        for (float[] query : index.queries()) {
+            int n = Engine.topByCosine(cat, query, exact, scores);
+            int m = graph.search(cat, query, k, ef, approx, scores);
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < m; j++) {
+                    if (exact[i] == approx[j]) {
+                        found++;
+                        break;
+                    }
+                }
+            }
+            total += n;
+        }
+        return total == 0 ? 1.0 : (double) found / total;
+    }
+
+    record Ann(HnswIndex.Graph graph, int ef) { }
+
+    public boolean isAvailable() {
+        return engine != null;
+    }
+
+    /**
+     * 로컬에서 추천할 수 없으면(비활성 / 지수 없음 / 카탈로그에 없는 쿼리 문장) empty
+     */
+    public Optional<List<FastApiResponseDto.FastApiProductDto>> recommend(
+            FastApiResponseDto.FastApiFusionDto fusion, int topk) {
+        Engine current = engine;
+        if (current == null || fusion == null || fusion.indices() == null) {
+            return Optional.empty();
+        }
+        return current.recommend(fusion, topk);
+    }
+
+    static final class Engine {
+
+        private final ProductIndex index;
+        private final LtrBooster booster;
+        private final Map<String, Ann> ann;
+
+        Engine(ProductIndex index, LtrBooster booster, Map<String, Ann> ann) {
+            this.index = index;
+            this.booster = booster;
+            this.ann = ann;
+        }
+
+        Optional<List<FastApiResponseDto.FastApiProductDto>> recommend(
+                FastApiResponseDto.FastApiFusionDto fusion, int topk) {
+            float[] query = index.query(LtrFeatures.queryText(fusion));
+            if (query == null) {
+                return Optional.empty();
+            }
+            long[] pos = index.posVocab(LtrFeatures.posGroups(fusion.indices()));
+            long[] neg = index.negVocab(LtrFeatures.negGroups(fusion.indices()));
+
+            int[] ids = new int[CANDIDATES_PER_CATEGORY];
+            float[] esScores = new float[CANDIDATES_PER_CATEGORY];
+            float[] ltrScores = new float[CANDIDATES_PER_CATEGORY];
+            float[] x = new float[CANDIDATES_PER_CATEGORY * LtrFeatures.NUM_FEATURES];
+
+            List<FastApiResponseDto.FastApiProductDto> out = new ArrayList<>(topk * LtrFeatures.CATEGORIES.size());
+            for (String name : LtrFeatures.CATEGORIES) {
+                ProductIndex.Category cat = index.category(name);
+                Ann graph = ann.get(name);
+                int n = graph != null
+                        ? graph.graph().search(cat, query, CANDIDATES_PER_CATEGORY, graph.ef(), ids, esScores)
+                        : topByCosine(cat, query, ids, esScores);
+                for (int c = 0; c < n; c++) {
+                    featurize(cat, ids[c], esScores[c], pos, neg, x, c * LtrFeatures.NUM_FEATURES);
+                    ltrScores[c] = booster.predict(x, c * LtrFeatures.NUM_FEATURES);
+                }
+                int[] order = rankByLtr(ltrScores, n);
+                for (int r = 0; r < Math.min(topk, n); r++) {
+                    int c = order[r];
+                    out.add(withScores(cat.products[ids[c]], esScores[c], ltrScores[c]));
+                }
+            }
+            return Optional.of(out);
+        }
+
+        /**
+         * 코사인 + 1.0 상위 k 개를 점수 내림차순으로 ids / scores 에 채움 (같은 점수는 카탈로그 순서)
+         * k 가 작아서 정렬된 배열에 삽입하는 것으로 충분
+         */
+        static int topByCosine(ProductIndex.Category cat, float[] query, int[] ids, float[] scores) {
+            if (cat == null) {
+                return 0;
+            }
+            int k = ids.length;
+            int n = 0;
+            for (int i = 0; i < cat.size; i++) {
+                float score = cat.dot(query, i) + 1.0f;
+                if (n == k && score <= scores[k - 1]) {
+                    continue;
+                }
+                int p = n < k ? n++ : k - 1;
+                while (p > 0 && scores[p - 1] < score) {
+                    scores[p] = scores[p - 1];
+                    ids[p] = ids[p - 1];
+                    p--;
+                }
+                scores[p] = score;
+                ids[p] = i;
+            }
+            return n;
+        }
+
+        static void featurize(ProductIndex.Category cat, int id, float scoreEs, long[] pos, long[] neg,
+                              float[] x, int offset) {
+            int posHits = cat.ingredients[id].countIn(pos);
+            int negHits = cat.ingredients[id].countIn(neg);
+            x[offset] = posHits * LtrFeatures.SCALE;
+            x[offset + 1] = negHits * LtrFeatures.SCALE;
+            x[offset + 2] = (posHits - negHits) * LtrFeatures.SCALE;
+            x[offset + 3] = cat.avgScore[id];
+            x[offset + 4] = cat.logCount[id];
+            x[offset + 5] = cat.logPrice[id];
+            x[offset + 6] = scoreEs;
+        }
+
+        /**
+         * score_ltr 내림차순 안정 정렬 (Python list.sort 와 같이 같은 점수는 후보 순서 유지)
+         */
+        static int[] rankByLtr(float[] scores, int n) {
+            int[] order = new int[n];
+            for (int i = 0; i < n; i++) {
+                int p = i;
+                while (p > 0 && scores[order[p - 1]] < scores[i]) {
+                    order[p] = order[p - 1];
+                    p--;
+                }
+                order[p] = i;
+            }
+            return order;
+        }
+
+        private static FastApiResponseDto.FastApiProductDto withScores(
+                FastApiResponseDto.FastApiProductDto p, float scoreEs, float scoreLtr) {
+            return new FastApiResponseDto.FastApiProductDto(
+                    p.productId(), p.productName(), p.brand(), p.ingredients(), p.salePrice(),
+                    p.averageReviewScore(), p.totalReviewCount(), p.category(),
+                    (double) scoreEs, (double) scoreLtr, p.imageUrl(), p.xaiKeywords());
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package com.vegin.module.recommend.service;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vegin.external.dto.FastApiResponseDto;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 추천 카탈로그 메모리 인덱스 (AI/export_ltr_catalog.py 의 catalog.json)
+ *
+ * 카테고리별로 원시 배열에 보관
+ * - vectors   : review_vector 를 단위 벡터로 정규화해 [제품 x dim] 한 배열로 → 코사인 = 내적
+ * - features  : featurize 의 제품 고정 피처 (평점 / log1p(리뷰 수) / log1p(가격)) 를 미리 계산
+ * - ingredients : 제품별 성분 비트셋 (IngredientMatcher 의 사전 id, 중복 성분 횟수 포함)
+ * - posVocab / negVocab : POS_ING / NEG_ING 그룹 조합(4비트 → 16가지)별 밀집 비트셋
+ *   → pos_hits = popcount(제품 AND posVocab[그룹])
+ * - queries   : 쿼리 문장 → 정규화한 임베딩
+ */
+final class ProductIndex {
+
+    private final String version;
+    private final int dim;
+    private final Map<String, Category> categories;
+    private final Map<String, float[]> queries;
+    private final long[][] posVocab;
+    private final long[][] negVocab;
+
+    private ProductIndex(String version, int dim, Map<String, Category> categories, Map<String, float[]> queries,
+                         long[][] posVocab, long[][] negVocab) {
+        this.version = version;
+        this.dim = dim;
+        this.categories = categories;
+        this.queries = queries;
+        this.posVocab = posVocab;
+        this.negVocab = negVocab;
+    }
+
+    /**
+     * @param groups LtrFeatures.posGroups 결과 (PIGMENT | SENSITIVITY | DRY | ACNE)
+     */
+    long[] posVocab(int groups) {
+        return posVocab[groups];
+    }
+
+    long[] negVocab(int groups) {
+        return negVocab[groups];
+    }
+
+    String version() {
+        return version;
+    }
+
+    int dim() {
+        return dim;
+    }
+
+    Category category(String name) {
+        return categories.get(name);
+    }
+
+    /**
+     * 카탈로그에 없는 쿼리 문장이면 null (→ FastAPI 로 넘김)
+     */
+    float[] query(String text) {
+        return queries.get(text);
+    }
+
+    /**
+     * 미리 인코딩된 쿼리 벡터 전체 (HNSW recall 보정용)
+     */
+    Collection<float[]> queries() {
+        return queries.values();
+    }
+
+    int size() {
+        int n = 0;
+        for (Category c : categories.values()) {
+            n += c.size;
+        }
+        return n;
+    }
+
+    static ProductIndex load(InputStream in, ObjectMapper objectMapper, IngredientMatcher matcher) throws IOException {
+        return build(objectMapper.readValue(in, CatalogFile.class), matcher);
+    }
+
+    /**
+     * @throws IllegalArgumentException 벡터 차원이 맞지 않을 때
+     */
+    static ProductIndex build(CatalogFile file, IngredientMatcher matcher) {
+        int dim = file.dim();
+        if (dim <= 0) {
+            throw new IllegalArgumentException("카탈로그 dim 이 없습니다.");
+        }
+
+        Map<String, float[]> queries = new HashMap<>();
+        if (file.queries() != null) {
+            file.queries().forEach((text, vec) -> queries.put(text, normalized(vec, dim, "query: " + text)));
+        }
+
+        Map<String, List<CatalogProduct>> byCategory = new HashMap<>();
+        for (String cat : LtrFeatures.CATEGORIES) {
+            byCategory.put(cat, new ArrayList<>());
+        }
+        if (file.products() != null) {
+            for (CatalogProduct p : file.products()) {
+                List<CatalogProduct> rows = byCategory.get(p.category());
+                if (rows != null && p.reviewVector() != null) {
+                    rows.add(p);
+                }
+            }
+        }
+
+        Map<String, Category> categories = new HashMap<>();
+        byCategory.forEach((cat, rows) -> categories.put(cat, Category.build(cat, rows, dim, matcher)));
+
+        // 사전 id 는 제품 성분을 모두 넣은 뒤의 크기 기준 (이후에 늘어난 id 는 어떤 제품에도 없음)
+        IngredientDictionary dictionary = matcher.dictionary();
+        return new ProductIndex(file.version(), dim, categories, queries,
+                vocabCombos(LtrFeatures.POS_ING, dictionary), vocabCombos(LtrFeatures.NEG_ING, dictionary));
+    }
+
+    /**
+     * 그룹 비트 조합 16가지 각각의 성분 사전 (합집합) → 밀집 비트셋
+     * 카탈로그에 없는 성분은 어떤 제품과도 겹치지 않으므로 빼도 결과가 같음
+     */
+    private static long[][] vocabCombos(Map<Integer, Set<String>> vocab, IngredientDictionary dictionary) {
+        long[][] combos = new long[16][];
+        for (int groups = 0; groups < 16; groups++) {
+            long[] dense = IngredientSet.denseWords(dictionary.size());
+            for (Map.Entry<Integer, Set<String>> e : vocab.entrySet()) {
+                if ((groups & e.getKey()) == 0) {
+                    continue;
+                }
+                for (String name : e.getValue()) {
+                    int id = dictionary.idOf(name);
+                    if (id >= 0 && id < dense.length * 64) {
+                        dense[id >>> 6] |= 1L << id;
+                    }
+                }
+            }
+            combos[groups] = dense;
+        }
+        return combos;
+    }
+
+    private static float[] normalized(float[] vec, int dim, String what) {
+        if (vec == null || vec.length != dim) {
+            throw new IllegalArgumentException("벡터 차원 불일치 (" + what + "): expected=" + dim
+                    + " actual=" + (vec == null ? 0 : vec.length));
+        }
+        double norm = 0;
+        for (float v : vec) {
+            norm += (double) v * v;
+        }
+        float[] out = new float[dim];
+        if (norm == 0) {
+            return out;
+        }
+        float inv = (float) (1.0 / Math.sqrt(norm));
+        for (int i = 0; i < dim; i++) {
+            out[i] = vec[i] * inv;
+        }
+        return out;
+    }
+
+    static final class Category {
+
+        final String name;
+        final int size;
+        final int dim;
+        final float[] vectors;
+        final float[] avgScore;
+        final float[] logCount;
+        final float[] logPrice;
+        final IngredientSet[] ingredients;
+        final FastApiResponseDto.FastApiProductDto[] products;   // 점수 없는 원본
+
+        private Category(String name, int size, int dim, float[] vectors, float[] avgScore, float[] logCount,
+                         float[] logPrice, IngredientSet[] ingredients, FastApiResponseDto.FastApiProductDto[] products) {
+            this.name = name;
+            this.size = size;
+            this.dim = dim;
+            this.vectors = vectors;
+            this.avgScore = avgScore;
+            this.logCount = logCount;
+            this.logPrice = logPrice;
+            this.ingredients = ingredients;
+            this.products = products;
+        }
+
+        static Category build(String name, List<CatalogProduct> rows, int dim, IngredientMatcher matcher) {
+            int size = rows.size();
+            float[] vectors = new float[size * dim];
+            float[] avgScore = new float[size];
+            float[] logCount = new float[size];
+            float[] logPrice = new float[size];
+            IngredientSet[] ingredients = new IngredientSet[size];
+            FastApiResponseDto.FastApiProductDto[] products = new FastApiResponseDto.FastApiProductDto[size];
+
+            for (int i = 0; i < size; i++) {
+                CatalogProduct p = rows.get(i);
+                System.arraycopy(normalized(p.reviewVector(), dim, "product: " + p.productId()), 0,
+                        vectors, i * dim, dim);
+                avgScore[i] = (float) orZero(p.averageReviewScore());
+                logCount[i] = (float) Math.log1p(orZero(p.totalReviewCount()));
+                logPrice[i] = (float) Math.log1p(orZero(p.salePrice()));
+
+                List<String> ings = p.ingredients() != null ? p.ingredients() : List.of();
+                ingredients[i] = matcher.intern(ings);
+
+                products[i] = new FastApiResponseDto.FastApiProductDto(
+                        p.productId(), p.productName(), p.brand(), ings,
+                        p.salePrice() != null ? p.salePrice().intValue() : null,
+                        p.averageReviewScore(),
+                        p.totalReviewCount() != null ? p.totalReviewCount().intValue() : null,
+                        name, null, null, p.imageUrl(),
+                        p.xaiKeywords() != null ? p.xaiKeywords() : List.of());
+            }
+
+            return new Category(name, size, dim, vectors, avgScore, logCount, logPrice, ingredients, products);
+        }
+
+        /**
+         * 정규화된 쿼리와 제품 i 의 내적 (= 코사인)
+         * 전수 비교 / HNSW 가 같은 순서로 더해 score_es 가 경로와 상관없이 같게
+         */
+        float dot(float[] query, int i) {
+            float sum = 0f;
+            int base = i * dim;
+            for (int d = 0; d < dim; d++) {
+                sum += query[d] * vectors[base + d];
+            }
+            return sum;
+        }
+
+        private static double orZero(Double v) {
+            return v != null ? v : 0.0;
+        }
+    }
+
+    // ================== catalog.json ==================
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record CatalogFile(
+            String version,
+            int dim,
+            Map<String, float[]> queries,
+            List<CatalogProduct> products
+    ) { }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record CatalogProduct(
+            @JsonProperty("product_id") String productId,
+            String category,
+            String productName,
+            String brand,
+            Double salePrice,
+            @JsonFormat(with = JsonFormat.Feature.ACCEPT_SINGLE_VALUE_AS_ARRAY) List<String> ingredients,
+            Double averageReviewScore,
+            Double totalReviewCount,
+            @JsonProperty("image_url") String imageUrl,
+            @JsonProperty("xai_keywords") @JsonFormat(with = JsonFormat.Feature.ACCEPT_SINGLE_VALUE_AS_ARRAY)
+            List<String> xaiKeywords,
+            @JsonProperty("review_vector") float[] reviewVector
+    ) { }
+}
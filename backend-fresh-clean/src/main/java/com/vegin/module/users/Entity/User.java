@@ -57,6 +57,11 @@ public class User {
         this.updatedAt = OffsetDateTime.now();
     }
 
+    public void changePassword(String encodedPassword){
+        this.password = encodedPassword;
+        this.updatedAt = OffsetDateTime.now();
+    }
+
     public enum Gender {M, F}
 
 }
@@ -2,17 +2,27 @@ package com.vegin.module.users.controller;
 
 import com.vegin.auth.UserPrincipal;
 import com.vegin.common.ApiResponse;
+import com.vegin.common.ImageTypes;
+import com.vegin.dto.request.PasswordChangeRequest;
 import com.vegin.dto.request.ProfileUpdateRequest;
+import com.vegin.dto.request.UploadConfirmRequest;
+import com.vegin.dto.request.UploadUrlRequest;
+import com.vegin.dto.response.UploadUrlResponse;
 import com.vegin.module.analysis.repository.RecommendationRepository;
-import com.vegin.module.analysis.repository.SkinAnalysisRepository;
 import com.vegin.common.S3Service;
+import com.vegin.module.analysis.service.SkinAnalysisService;
 import com.vegin.module.users.service.SkinProfileService;
+import com.vegin.module.users.service.UserService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.Authentication;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @RestController
@@ -21,22 +31,35 @@ import java.util.Map;
 public class MyPageController {
 
     private final SkinProfileService profiles;
-    private final SkinAnalysisRepository analyses;
+    private final SkinAnalysisService analysisService;
     private final RecommendationRepository recos;
     private final S3Service s3Service;
+    private final UserService userService;
+
+    private static final int FIRST_PAGE_SIZE = 20;
+
+    // 직접 업로드도 multipart 업로드와 같은 최대 크기 사용
+    @Value("${spring.servlet.multipart.max-file-size:20MB}")
+    private DataSize maxUploadSize;
+
+    /**
+     * 마이페이지 요약
+     * - analysis : 히스토리 첫 페이지만 (결과 JSON 제외), 이후는 analysisNextCursor 로 GET /api/analysis/history
+     */
     @GetMapping
     public ApiResponse<Map<String,Object>> get(Authentication auth){
         Long userId = ((UserPrincipal) auth.getPrincipal()).getId();
         var profile = profiles.get(userId).orElse(null);
-        var history = analyses.findByUserIdOrderByCreatedAtDesc(userId);
+        var history = analysisService.getHistory(userId, null, FIRST_PAGE_SIZE);
         var reco = recos.findFirstByUserIdOrderByCreatedAtDesc(userId).orElse(null);
-        return ApiResponse.ok(
-                Map.of(
-                        "profile", profile,
-                        "analysis", history,
-                        "recommendation", reco
-                )
-        );
+
+        // 프로필 / 추천이 아직 없을 수 있으므로 null 허용 Map 사용
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("profile", profile);
+        body.put("analysis", history.items());
+        body.put("analysisNextCursor", history.nextCursor());
+        body.put("recommendation", reco);
+        return ApiResponse.ok(body);
     }
 
     @PutMapping("/profile")
@@ -49,6 +72,19 @@ public class MyPageController {
         return ApiResponse.ok(null);
     }
 
+    /**
+     * 비밀번호 변경 → 이 사용자의 기존 토큰 전부 폐기 (현재 토큰 포함, 다시 로그인)
+     */
+    @PutMapping("/password")
+    public ApiResponse<Void> changePassword(
+            @Valid @RequestBody PasswordChangeRequest req,
+            Authentication auth
+    ){
+        Long userId = ((UserPrincipal) auth.getPrincipal()).getId();
+        userService.changePassword(userId, req);
+        return ApiResponse.ok(null);
+    }
+
     /**
      * 마이페이지 프로필 이미지 업로드
      */
@@ -81,6 +117,49 @@ public class MyPageController {
         return ApiResponse.ok(Map.of("profileImageUrl", url));
     }
 
+    /**
+     * 프로필 이미지 직접 업로드 1단계: presigned PUT URL + key 발급
+     */
+    @PostMapping("/profile/image/upload-url")
+    public ApiResponse<UploadUrlResponse> issueProfileImageUploadUrl(
+            @RequestBody UploadUrlRequest req,
+            Authentication auth
+    ) {
+        Long userId = ((UserPrincipal) auth.getPrincipal()).getId();
+
+        String key = "profile/%d/%d%s".formatted(
+                userId,
+                System.currentTimeMillis(),
+                ImageTypes.extensionOf(req.contentType())
+        );
+
+        S3Service.PresignedUpload presigned =
+                s3Service.presignPut(key, req.contentType(), req.contentLength(), maxUploadSize.toBytes());
+
+        return ApiResponse.ok(new UploadUrlResponse(
+                key, presigned.uploadUrl(), req.contentType(), req.contentLength(), presigned.expiresAt()));
+    }
+
+    /**
+     * 프로필 이미지 직접 업로드 2단계: 업로드 확인 후 프로필에 URL 저장
+     */
+    @PostMapping("/profile/image/confirm")
+    public ApiResponse<Map<String, String>> confirmProfileImage(
+            @RequestBody UploadConfirmRequest req,
+            Authentication auth
+    ) {
+        Long userId = ((UserPrincipal) auth.getPrincipal()).getId();
+
+        // 본인 폴더(profile/{userId}/) 아래에 실제로 올라왔는지 확인
+        s3Service.verifyUpload(req.key(), "profile/%d/".formatted(userId), maxUploadSize.toBytes());
+
+        String url = s3Service.getUrl(req.key());
+        profiles.updateProfileImage(userId, url);
+
+        return ApiResponse.ok(Map.of("profileImageUrl", url));
+    }
+
+
     private String getExt(String name) {
         if (name == null) return "";
         int i = name.lastIndexOf('.');
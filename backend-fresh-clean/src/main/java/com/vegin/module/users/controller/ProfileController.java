@@ -2,6 +2,7 @@ package com.vegin.module.users.controller;
 
 import com.vegin.auth.UserPrincipal;
 import com.vegin.common.ApiResponse;
+import com.vegin.common.ETags;
 import com.vegin.dto.request.ProfileUpdateRequest;
 import com.vegin.dto.response.ProfileResponse;
 import com.vegin.module.users.service.SkinProfileService;
@@ -10,6 +11,10 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
@@ -19,18 +24,38 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 public class ProfileController {
 
+    // 프로필은 바뀌므로 immutable 없이 매번 재검증 (304 면 본문 없음)
+    private static final CacheControl PROFILE_CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
     private final SkinProfileService profileService;
 
     @Operation(
             summary = "프로필 조회",
-            description = "사용자 프로필 정보와 최근 분석 기록을 조회합니다.",
+            description = """
+                    사용자 프로필 정보와 최근 분석 기록을 조회합니다.
+                    ETag(프로필 수정 / 분석 저장 때마다 바뀜) 를 내려주고, If-None-Match 가 같으면 본문 없이 304 를 반환합니다.
+                    """,
             security = { @SecurityRequirement(name = "bearerAuth") }
     )
     @GetMapping
-    public ApiResponse<ProfileResponse> getProfile(Authentication auth) {
+    public ResponseEntity<ApiResponse<ProfileResponse>> getProfile(
+            Authentication auth,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
         Long userId = resolveUserId(auth);
+        String etag = profileService.profileETag(userId);
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(PROFILE_CACHE_CONTROL)
+                    .build();
+        }
         ProfileResponse response = profileService.getProfile(userId);
-        return ApiResponse.ok(response);
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok().cacheControl(PROFILE_CACHE_CONTROL);
+        if (etag != null) {
+            ok.eTag(etag);
+        }
+        return ok.body(ApiResponse.ok(response));
     }
 
     @Operation(
@@ -40,4 +40,16 @@ public class UserController {
         LoginResponse res = userService.login(req);
         return ResponseEntity.ok(ApiResponse.ok(res));
     }
+
+    @Operation(summary = "로그아웃", description = "현재 JWT 토큰을 폐기합니다. 이후 같은 토큰으로 요청하면 401 입니다.")
+    @PostMapping("/logout")
+    public ResponseEntity<ApiResponse<Void>> logout(
+            @RequestHeader(value = "Authorization", required = false) String authorization
+    ) {
+        String token = authorization != null && authorization.startsWith("Bearer ")
+                ? authorization.substring(7)
+                : null;
+        userService.logout(token);
+        return ResponseEntity.ok(ApiResponse.ok(null));
+    }
 }
@@ -0,0 +1,108 @@
+package com.vegin.module.users.service;
+
+import com.vegin.external.dto.FastApiResponseDto;
+import com.vegin.module.analysis.domain.Recommendation;
+import com.vegin.module.analysis.domain.SkinAnalysis;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * GET /api/profile 용 미리 계산해 둔 읽기 모델 (Redis 에 JSON 으로 캐시)
+ * - history 는 최신순, 분석 결과 JSON 을 이미 풀어 둔 요약이라 조회 시 다시 파싱하지 않음
+ * - 분석이 끝날 때마다 withAnalysis 로 한 건씩 갱신
+ */
+public record ProfileSummary(
+        String profileImageUrl,
+        String profileSkinType,                 // skin_profile.skin_type (없으면 최신 분석의 skinType 사용)
+        List<String> concerns,
+        List<AnalysisDigest> history,
+        List<RecommendationRow> recommendationItems   // 가장 최신 분석의 recommendation 행
+) {
+
+    /**
+     * 분석 1건 요약
+     * - analyzed : result 에 fusion 이 있었는지 (lastAnalysis 노출 여부)
+     */
+    public record AnalysisDigest(
+            Long analysisId,
+            String s3Key,
+            OffsetDateTime createdAt,
+            boolean analyzed,
+            String mbti,
+            String skinType,
+            FastApiResponseDto.FastApiVisionRawDto concerns,
+            List<FastApiResponseDto.FastApiProductDto> recommendations
+    ) {
+
+        public static AnalysisDigest of(SkinAnalysis analysis, FastApiResponseDto result) {
+            FastApiResponseDto.FastApiFusionDto fusion = result != null ? result.fusion() : null;
+            List<FastApiResponseDto.FastApiProductDto> recos =
+                    result != null && result.recommendations() != null ? result.recommendations() : List.of();
+            return new AnalysisDigest(
+                    analysis.getId(),
+                    analysis.getS3Key(),
+                    analysis.getCreatedAt(),
+                    fusion != null,
+                    fusion != null ? fusion.skinMbti() : null,
+                    fusion != null ? fusion.skinType() : null,
+                    fusion != null ? fusion.visionRaw() : null,
+                    recos
+            );
+        }
+    }
+
+    public record RecommendationRow(
+            Long id,
+            Long analysisId,
+            String items,
+            OffsetDateTime createdAt
+    ) {
+
+        public static RecommendationRow of(Recommendation rec) {
+            return new RecommendationRow(rec.getId(), rec.getAnalysisId(), rec.getItems(), rec.getCreatedAt());
+        }
+    }
+
+    public AnalysisDigest latest() {
+        return history == null || history.isEmpty() ? null : history.get(0);
+    }
+
+    /**
+     * 분석 1건 반영 (같은 analysisId 가 있으면 교체, 없으면 추가 후 최신순 정렬 + limit 개만 유지)
+     * @param latestRows 이 분석이 최신이 될 때 쓸 recommendation 행
+     */
+    public ProfileSummary withAnalysis(AnalysisDigest digest, List<RecommendationRow> latestRows, int limit) {
+        List<AnalysisDigest> next = new ArrayList<>(history != null ? history : List.of());
+        next.removeIf(d -> d.analysisId().equals(digest.analysisId()));
+        next.add(digest);
+        next.sort(Comparator.comparing(AnalysisDigest::createdAt, Comparator.nullsLast(Comparator.reverseOrder()))
+                .thenComparing(AnalysisDigest::analysisId, Comparator.reverseOrder()));
+        if (next.size() > limit) {
+            next = new ArrayList<>(next.subList(0, limit));
+        }
+
+        AnalysisDigest previousLatest = latest();
+        boolean latestChanged = previousLatest == null
+                || !previousLatest.analysisId().equals(next.get(0).analysisId());
+        List<RecommendationRow> rows = latestChanged && next.get(0).analysisId().equals(digest.analysisId())
+                ? latestRows
+                : recommendationItems;
+
+        return new ProfileSummary(profileImageUrl, profileSkinType, concerns, List.copyOf(next),
+                rows != null ? rows : List.of());
+    }
+
+    /**
+     * 추천 목록만 교체 (analysisId 가 지금 최신 분석일 때만, 아니면 그대로)
+     */
+    public ProfileSummary withRecommendations(Long analysisId, List<RecommendationRow> rows) {
+        AnalysisDigest latest = latest();
+        if (latest == null || !latest.analysisId().equals(analysisId)) {
+            return this;
+        }
+        return new ProfileSummary(profileImageUrl, profileSkinType, concerns, history, List.copyOf(rows));
+    }
+}
@@ -0,0 +1,285 @@
+package com.vegin.module.users.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vegin.external.dto.FastApiResponseDto;
+import com.vegin.module.analysis.domain.SkinAnalysis;
+import com.vegin.module.analysis.repository.RecommendationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+
+/**
+ * 프로필 요약(ProfileSummary) Redis 캐시
+ * - profile:summary:{userId}     : 요약 JSON
+ * - profile:summary:ver:{userId} : 변경 버전. 분석 저장 / 프로필 수정 때마다 증가
+ *   DB 에서 다시 만든 요약은 만들기 시작할 때의 버전이 그대로일 때만 저장 → 그 사이 변경을 덮어쓰지 않음
+ *   GET /api/profile 의 ETag 에도 씀. 키가 만료되어도 예전 값으로 돌아가지 않게 처음 값은 현재 시각(ms)에서 시작
+ * - 갱신은 DB 커밋 이후에 반영, Redis 장애 시 조회는 DB 로 대체하고 갱신은 로그만 남김
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProfileSummaryCache {
+
+    private static final String KEY_PREFIX = "profile:summary:";
+    private static final String VERSION_KEY_PREFIX = "profile:summary:ver:";
+
+    private final StringRedisTemplate redis;
+    private final ObjectMapper objectMapper;
+    private final RecommendationRepository recommendations;
+
+    @Value("${profile.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${profile.cache.ttl-seconds:86400}")
+    private long ttlSeconds;
+
+    @Value("${profile.cache.history-size:10}")
+    private int historySize;
+
+    public int getHistorySize() {
+        return historySize;
+    }
+
+    public Optional<ProfileSummary> get(Long userId) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        try {
+            String json = redis.opsForValue().get(key(userId));
+            return json != null ? Optional.of(read(json)) : Optional.empty();
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.warn("[ProfileCache] 조회 실패 → DB 조회로 대체. userId={} : {}", userId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * DB 에서 요약을 만들기 전에 현재 버전을 읽어 둠 (putIfUnchanged 에 그대로 넘김)
+     */
+    public String version(Long userId) {
+        if (!enabled) {
+            return null;
+        }
+        try {
+            return redis.opsForValue().get(versionKey(userId));
+        } catch (DataAccessException e) {
+            log.warn("[ProfileCache] 버전 조회 실패. userId={} : {}", userId, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * ETag 용 버전 (키가 없으면 지금 만들어서 반환), 캐시 비활성 / Redis 장애면 null
+     */
+    public String currentVersion(Long userId) {
+        if (!enabled) {
+            return null;
+        }
+        try {
+            String version = redis.opsForValue().get(versionKey(userId));
+            if (version != null) {
+                return version;
+            }
+            initVersion(userId);
+            return redis.opsForValue().get(versionKey(userId));
+        } catch (DataAccessException e) {
+            log.warn("[ProfileCache] 버전 조회 실패. userId={} : {}", userId, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 요약을 만드는 동안 버전이 바뀌지 않았을 때만 저장
+     */
+    public void putIfUnchanged(Long userId, ProfileSummary summary, String expectedVersion) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            String json = objectMapper.writeValueAsString(summary);
+            Boolean stored = redis.execute(new SessionCallback<Boolean>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Boolean execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                    ops.watch(versionKey(userId));
+                    if (!Objects.equals(ops.opsForValue().get(versionKey(userId)), expectedVersion)) {
+                        ops.unwatch();
+                        return false;
+                    }
+                    ops.multi();
+                    ops.opsForValue().set(key(userId), json, ttl());
+                    return !ops.exec().isEmpty();
+                }
+            });
+            if (!Boolean.TRUE.equals(stored)) {
+                log.debug("[ProfileCache] 만드는 동안 변경이 있어 저장 생략. userId={}", userId);
+            }
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.warn("[ProfileCache] 저장 실패. userId={} : {}", userId, e.getMessage());
+        }
+    }
+
+    /**
+     * 프로필 정보가 바뀐 경우: 커밋 후 요약 삭제 (다음 조회에서 다시 만듦)
+     */
+    public void evict(Long userId) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> {
+            try {
+                bumpVersion(userId);
+                redis.delete(key(userId));
+            } catch (DataAccessException e) {
+                log.warn("[ProfileCache] 삭제 실패. userId={} : {}", userId, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * 분석 행이 저장된 경우: 커밋 후 해당 분석 요약만 캐시에 반영
+     * - result 가 없으면(PENDING) 이미지 / 날짜만 있는 요약으로 들어감
+     * - 캐시에 요약이 없으면 아무것도 하지 않음 (다음 조회에서 DB 로 만듦)
+     */
+    public void onAnalysisSaved(SkinAnalysis analysis, FastApiResponseDto result) {
+        if (!enabled) {
+            return;
+        }
+        Long userId = analysis.getUserId();
+        ProfileSummary.AnalysisDigest digest = ProfileSummary.AnalysisDigest.of(analysis, result);
+        afterCommit(() -> {
+            try {
+                bumpVersion(userId);
+                List<ProfileSummary.RecommendationRow> rows = recommendations.findByAnalysisId(analysis.getId())
+                        .stream()
+                        .map(ProfileSummary.RecommendationRow::of)
+                        .toList();
+                update(userId, summary -> summary.withAnalysis(digest, rows, historySize));
+            } catch (RuntimeException e) {
+                log.warn("[ProfileCache] 분석 반영 실패 → 요약 삭제. userId={} analysisId={} : {}",
+                        userId, analysis.getId(), e.getMessage());
+                deleteQuietly(userId);
+            }
+        });
+    }
+
+    /**
+     * recommendation 행이 (이벤트 소비자에서) 저장된 경우: 커밋 후 그 분석이 최신이면 추천 목록만 교체
+     */
+    public void onRecommendationSaved(Long userId, Long analysisId) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> {
+            try {
+                bumpVersion(userId);
+                List<ProfileSummary.RecommendationRow> rows = recommendations.findByAnalysisId(analysisId)
+                        .stream()
+                        .map(ProfileSummary.RecommendationRow::of)
+                        .toList();
+                update(userId, summary -> summary.withRecommendations(analysisId, rows));
+            } catch (RuntimeException e) {
+                log.warn("[ProfileCache] 추천 반영 실패 → 요약 삭제. userId={} analysisId={} : {}",
+                        userId, analysisId, e.getMessage());
+                deleteQuietly(userId);
+            }
+        });
+    }
+
+    // ================== 내부 유틸 ==================
+
+    /**
+     * WATCH / MULTI 로 요약을 읽고-바꾸고-쓰기, 동시에 다른 갱신이 끼어들면 요약을 지워서 다음 조회에서 다시 만들게 함
+     */
+    private void update(Long userId, UnaryOperator<ProfileSummary> change) {
+        Boolean applied = redis.execute(new SessionCallback<Boolean>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Boolean execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                ops.watch(key(userId));
+                String json = ops.opsForValue().get(key(userId));
+                if (json == null) {
+                    ops.unwatch();
+                    return true;
+                }
+                String next;
+                try {
+                    next = objectMapper.writeValueAsString(change.apply(read(json)));
+                } catch (JsonProcessingException e) {
+                    ops.unwatch();
+                    return false;
+                }
+                ops.multi();
+                ops.opsForValue().set(key(userId), next, ttl());
+                return !ops.exec().isEmpty();
+            }
+        });
+        if (!Boolean.TRUE.equals(applied)) {
+            deleteQuietly(userId);
+        }
+    }
+
+    private void bumpVersion(Long userId) {
+        initVersion(userId);
+        redis.opsForValue().increment(versionKey(userId));
+        redis.expire(versionKey(userId), ttl());
+    }
+
+    private void initVersion(Long userId) {
+        redis.opsForValue().setIfAbsent(versionKey(userId), String.valueOf(System.currentTimeMillis()), ttl());
+    }
+
+    private void deleteQuietly(Long userId) {
+        try {
+            redis.delete(key(userId));
+        } catch (DataAccessException e) {
+            log.warn("[ProfileCache] 삭제 실패. userId={} : {}", userId, e.getMessage());
+        }
+    }
+
+    private ProfileSummary read(String json) throws JsonProcessingException {
+        return objectMapper.readValue(json, ProfileSummary.class);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private Duration ttl() {
+        return Duration.ofSeconds(ttlSeconds);
+    }
+
+    private static String key(Long userId) {
+        return KEY_PREFIX + userId;
+    }
+
+    private static String versionKey(Long userId) {
+        return VERSION_KEY_PREFIX + userId;
+    }
+}
@@ -2,27 +2,29 @@ package com.vegin.module.users.service;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vegin.common.ETags;
 import com.vegin.common.S3Service;
 import com.vegin.dto.request.ProfileUpdateRequest;
 import com.vegin.dto.response.CategoryRecommendationResponse;
 import com.vegin.dto.response.ProfileResponse;
 import com.vegin.external.dto.FastApiResponseDto;
-import com.vegin.module.analysis.domain.Recommendation;
 import com.vegin.module.analysis.domain.SkinAnalysis;
 import com.vegin.module.analysis.repository.RecommendationRepository;
 import com.vegin.module.analysis.repository.SkinAnalysisRepository;
+import com.vegin.module.analysis.service.AnalysisResultStore;
 import com.vegin.module.users.Entity.SkinProfile;
 import com.vegin.module.users.repository.SkinProfileRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -34,8 +36,10 @@ public class SkinProfileService {
     private final SkinProfileRepository profiles;
     private final SkinAnalysisRepository analyses;
     private final RecommendationRepository recommendations;
+    private final AnalysisResultStore resultStore;
     private final ObjectMapper objectMapper;
     private final S3Service s3Service;
+    private final ProfileSummaryCache summaryCache;
 
     /**
      * 마이페이지 조회용
@@ -47,162 +51,24 @@ public class SkinProfileService {
 
     /**
      * 프로필 조회 (프로필 정보 + 최근 분석 기록)
+     * - Redis 의 요약(ProfileSummary)이 있으면 키 하나 조회로 끝
+     * - 없으면 DB 에서 최근 N 건만 읽어 요약을 만들고 캐시에 저장
      */
     @Transactional
     public ProfileResponse getProfile(Long userId) {
-        SkinProfile profile = profiles.findByUserId(userId).orElse(null);
-
-        // concerns 파싱
-        List<String> concernsList = Collections.emptyList();
-        if (profile != null && profile.getConcerns() != null && !profile.getConcerns().isEmpty()) {
-            try {
-                concernsList = objectMapper.readValue(profile.getConcerns(), new TypeReference<List<String>>() {});
-            } catch (Exception e) {
-                log.warn("[SkinProfile] concerns JSON 파싱 실패. userId={}", userId, e);
-            }
-        }
-
-        // 최근 분석 기록 조회 (최대 10개)
-        List<SkinAnalysis> recentAnalyses = analyses.findByUserIdOrderByCreatedAtDesc(userId)
-                .stream()
-                .limit(10)
-                .collect(Collectors.toList());
-
-        // 마지막 분석 정보
-        ProfileResponse.LastAnalysis lastAnalysis = null;
-        Long latestAnalysisId = null;
-        String latestAnalysisSkinType = null;
-        if (!recentAnalyses.isEmpty()) {
-            SkinAnalysis latest = recentAnalyses.get(0);
-            latestAnalysisId = latest.getId();
-            if (latest.getResult() != null && !latest.getResult().isEmpty()) {
-                try {
-                    FastApiResponseDto dto = objectMapper.readValue(
-                            latest.getResult(),
-                            FastApiResponseDto.class
-                    );
-                    if (dto.fusion() != null) {
-                        String mbti = (String) dto.fusion().get("skin_mbti");
-                        latestAnalysisSkinType = (String) dto.fusion().get("skin_type");
-                        
-                        // concerns 추출 (vision_raw)
-                        Map<String, Object> concernsMap = new HashMap<>();
-                        Map<String, Object> visionRaw = (Map<String, Object>) dto.fusion().get("vision_raw");
-                        if (visionRaw != null) {
-                            concernsMap = visionRaw;
-                        }
-                        
-                        // recommendations 파싱
-                        List<CategoryRecommendationResponse> recommendationsList = parseRecommendations(dto.recommendations());
-                        
-                        lastAnalysis = ProfileResponse.LastAnalysis.builder()
-                                .analysisId(latestAnalysisId)
-                                .mbti(mbti)
-                                .skinType(latestAnalysisSkinType)
-                                .date(latest.getCreatedAt())
-                                .concerns(concernsMap)
-                                .recommendations(recommendationsList)
-                                .build();
-                    }
-                } catch (Exception e) {
-                    log.warn("[SkinProfile] 마지막 분석 결과 파싱 실패. analysisId={}", latest.getId(), e);
-                }
-            }
-        }
-
-        // skinType이 null이면 최신 분석 결과의 skinType 사용
-        String finalSkinType = profile != null ? profile.getSkinType() : null;
-        if (finalSkinType == null && latestAnalysisSkinType != null) {
-            finalSkinType = latestAnalysisSkinType;
-            // DB에도 업데이트 (기본 skinType으로 설정)
-            if (profile != null) {
-                SkinProfile updated = SkinProfile.builder()
-                        .id(profile.getId())
-                        .userId(profile.getUserId())
-                        .skinType(finalSkinType)
-                        .concerns(profile.getConcerns())
-                        .mbti(profile.getMbti())
-                        .tone(profile.getTone())
-                        .profileImageUrl(profile.getProfileImageUrl())
-                        .build();
-                profiles.save(updated);
-            } else {
-                // profile이 없으면 새로 생성
-                SkinProfile newProfile = SkinProfile.builder()
-                        .userId(userId)
-                        .skinType(finalSkinType)
-                        .concerns("[]")
-                        .build();
-                profiles.save(newProfile);
-            }
-        }
-
-        // 분석 히스토리
-        List<ProfileResponse.AnalysisHistory> history = recentAnalyses.stream()
-                .map(analysis -> {
-                    String imageUrl = null;
-                    if (analysis.getS3Key() != null) {
-                        imageUrl = s3Service.getUrl(analysis.getS3Key());
-                    }
-                    
-                    // concerns와 recommendations 추출
-                    Map<String, Object> concernsMap = new HashMap<>();
-                    List<CategoryRecommendationResponse> recommendationsList = new ArrayList<>();
-                    
-                    if (analysis.getResult() != null && !analysis.getResult().isEmpty()) {
-                        try {
-                            FastApiResponseDto dto = objectMapper.readValue(
-                                    analysis.getResult(),
-                                    FastApiResponseDto.class
-                            );
-                            if (dto.fusion() != null) {
-                                Map<String, Object> visionRaw = (Map<String, Object>) dto.fusion().get("vision_raw");
-                                if (visionRaw != null) {
-                                    concernsMap = visionRaw;
-                                }
-                            }
-                            recommendationsList = parseRecommendations(dto.recommendations());
-                        } catch (Exception e) {
-                            log.warn("[SkinProfile] 분석 히스토리 파싱 실패. analysisId={}", analysis.getId(), e);
-                        }
-                    }
-                    
-                    return ProfileResponse.AnalysisHistory.builder()
-                            .analysisId(analysis.getId())
-                            .imageUrl(imageUrl)
-                            .createdAt(analysis.getCreatedAt())
-                            .concerns(concernsMap)
-                            .recommendations(recommendationsList)
-                            .build();
-                })
-                .collect(Collectors.toList());
-
-        // 추천 화장품 조회 (가장 최신 분석 기록의 analysisId 사용)
-        List<ProfileResponse.RecommendationItem> recommendationItems = Collections.emptyList();
-        if (latestAnalysisId != null) {
-            try {
-                List<Recommendation> recommendationsList = recommendations.findByAnalysisId(latestAnalysisId);
-                recommendationItems = recommendationsList.stream()
-                        .map(rec -> ProfileResponse.RecommendationItem.builder()
-                                .id(rec.getId())
-                                .analysisId(rec.getAnalysisId())
-                                .items(rec.getItems())
-                                .createdAt(rec.getCreatedAt())
-                                .build())
-                        .collect(Collectors.toList());
-            } catch (Exception e) {
-                log.warn("[SkinProfile] 추천 화장품 조회 실패. analysisId={}", latestAnalysisId, e);
-            }
-        }
+        ProfileSummary summary = summaryCache.get(userId)
+                .map(cached -> applyFallbackSkinType(userId, cached))
+                .orElseGet(() -> loadSummary(userId));
+        return toResponse(summary);
+    }
 
-        return ProfileResponse.builder()
-                .profileImageUrl(profile != null ? profile.getProfileImageUrl() : null)
-                .skinType(finalSkinType)
-                .concerns(concernsList)
-                .lastAnalysis(lastAnalysis)
-                .history(history)
-                .recommendations(recommendationItems)
-                .build();
+    /**
+     * 조건부 조회용 ETag ("p{userId}-{요약 버전}"), 버전을 알 수 없으면(캐시 비활성 / Redis 장애) null
+     * - 본문보다 먼저 읽어야 함: 그 사이 변경이 생겨도 옛 태그에 새 본문이 붙을 뿐이라 다음 조회에서 다시 받음
+     */
+    public String profileETag(Long userId) {
+        String version = summaryCache.currentVersion(userId);
+        return version != null ? ETags.strong("p" + userId + "-" + version) : null;
     }
 
     /**
@@ -235,6 +101,7 @@ public class SkinProfileService {
                 .build();
 
         profiles.save(updated);
+        summaryCache.evict(userId);
     }
 
     /**
@@ -256,75 +123,192 @@ public class SkinProfileService {
                 .build();
 
         profiles.save(updated);
+        summaryCache.evict(userId);
         return imageUrl;
     }
 
+    // ================== 요약(ProfileSummary) ==================
+
+    /**
+     * DB 에서 요약 생성 (최근 history-size 건만 조회, 분석 결과 JSON 은 건별로 한 번만 파싱)
+     */
+    private ProfileSummary loadSummary(Long userId) {
+        String version = summaryCache.version(userId);
+
+        SkinProfile profile = profiles.findByUserId(userId).orElse(null);
+
+        // concerns 파싱
+        List<String> concernsList = Collections.emptyList();
+        if (profile != null && profile.getConcerns() != null && !profile.getConcerns().isEmpty()) {
+            try {
+                concernsList = objectMapper.readValue(profile.getConcerns(), new TypeReference<List<String>>() {});
+            } catch (Exception e) {
+                log.warn("[SkinProfile] concerns JSON 파싱 실패. userId={}", userId, e);
+            }
+        }
+
+        // 최근 분석 기록 조회 (최대 history-size 개) + 결과 원본은 IN 조회 한 번
+        List<SkinAnalysis> recent = analyses
+                .findByUserIdOrderByCreatedAtDesc(userId, PageRequest.of(0, summaryCache.getHistorySize()));
+        Map<Long, FastApiResponseDto> results = readResults(recent);
+        List<ProfileSummary.AnalysisDigest> history = recent.stream()
+                .map(analysis -> ProfileSummary.AnalysisDigest.of(analysis, results.get(analysis.getId())))
+                .toList();
+
+        // 추천 화장품 조회 (가장 최신 분석 기록의 analysisId 사용)
+        List<ProfileSummary.RecommendationRow> recommendationItems = Collections.emptyList();
+        if (!history.isEmpty()) {
+            Long latestAnalysisId = history.get(0).analysisId();
+            try {
+                recommendationItems = recommendations.findByAnalysisId(latestAnalysisId).stream()
+                        .map(ProfileSummary.RecommendationRow::of)
+                        .toList();
+            } catch (Exception e) {
+                log.warn("[SkinProfile] 추천 화장품 조회 실패. analysisId={}", latestAnalysisId, e);
+            }
+        }
+
+        // skinType이 null이면 최신 분석 결과의 skinType 사용 (DB에도 저장)
+        String skinType = profile != null ? profile.getSkinType() : null;
+        String latestSkinType = latestAnalyzedSkinType(history);
+        if (skinType == null && latestSkinType != null) {
+            skinType = latestSkinType;
+            saveSkinType(userId, profile, skinType);
+        }
+
+        ProfileSummary summary = new ProfileSummary(
+                profile != null ? profile.getProfileImageUrl() : null,
+                skinType,
+                concernsList,
+                history,
+                recommendationItems
+        );
+        summaryCache.putIfUnchanged(userId, summary, version);
+        return summary;
+    }
+
+    /**
+     * 캐시된 요약에서도 skinType 이 비어 있고 최신 분석 결과가 있으면 DB 에 저장 후 요약 무효화
+     */
+    private ProfileSummary applyFallbackSkinType(Long userId, ProfileSummary summary) {
+        String latestSkinType = latestAnalyzedSkinType(summary.history());
+        if (summary.profileSkinType() != null || latestSkinType == null) {
+            return summary;
+        }
+        saveSkinType(userId, profiles.findByUserId(userId).orElse(null), latestSkinType);
+        summaryCache.evict(userId);
+        return new ProfileSummary(summary.profileImageUrl(), latestSkinType, summary.concerns(),
+                summary.history(), summary.recommendationItems());
+    }
+
+    private static String latestAnalyzedSkinType(List<ProfileSummary.AnalysisDigest> history) {
+        if (history == null || history.isEmpty() || !history.get(0).analyzed()) {
+            return null;
+        }
+        return history.get(0).skinType();
+    }
+
+    private void saveSkinType(Long userId, SkinProfile profile, String skinType) {
+        if (profile != null) {
+            SkinProfile updated = SkinProfile.builder()
+                    .id(profile.getId())
+                    .userId(profile.getUserId())
+                    .skinType(skinType)
+                    .concerns(profile.getConcerns())
+                    .mbti(profile.getMbti())
+                    .tone(profile.getTone())
+                    .profileImageUrl(profile.getProfileImageUrl())
+                    .build();
+            profiles.save(updated);
+        } else {
+            // profile이 없으면 새로 생성
+            SkinProfile newProfile = SkinProfile.builder()
+                    .userId(userId)
+                    .skinType(skinType)
+                    .concerns("[]")
+                    .build();
+            profiles.save(newProfile);
+        }
+    }
+
+    private Map<Long, FastApiResponseDto> readResults(List<SkinAnalysis> recent) {
+        List<Long> doneIds = recent.stream()
+                .filter(analysis -> "DONE".equals(analysis.getStatus()))
+                .map(SkinAnalysis::getId)
+                .toList();
+        try {
+            return resultStore.loadAll(doneIds);
+        } catch (Exception e) {
+            log.warn("[SkinProfile] 분석 결과 조회 실패. analysisIds={}", doneIds, e);
+            return Map.of();
+        }
+    }
+
+    /**
+     * 요약 → 응답 변환 (JSON 파싱 없이 객체 매핑만)
+     */
+    private ProfileResponse toResponse(ProfileSummary summary) {
+        ProfileSummary.AnalysisDigest latest = summary.latest();
+
+        // 마지막 분석 정보
+        ProfileResponse.LastAnalysis lastAnalysis = null;
+        if (latest != null && latest.analyzed()) {
+            lastAnalysis = ProfileResponse.LastAnalysis.builder()
+                    .analysisId(latest.analysisId())
+                    .mbti(latest.mbti())
+                    .skinType(latest.skinType())
+                    .date(latest.createdAt())
+                    .concerns(latest.concerns())
+                    .recommendations(parseRecommendations(latest.recommendations()))
+                    .build();
+        }
+
+        String skinType = summary.profileSkinType() != null
+                ? summary.profileSkinType()
+                : latestAnalyzedSkinType(summary.history());
+
+        // 분석 히스토리
+        List<ProfileResponse.AnalysisHistory> history = summary.history().stream()
+                .map(digest -> ProfileResponse.AnalysisHistory.builder()
+                        .analysisId(digest.analysisId())
+                        .imageUrl(digest.s3Key() != null ? s3Service.getUrl(digest.s3Key()) : null)
+                        .createdAt(digest.createdAt())
+                        .concerns(digest.concerns())
+                        .recommendations(parseRecommendations(digest.recommendations()))
+                        .build())
+                .collect(Collectors.toList());
+
+        List<ProfileResponse.RecommendationItem> recommendationItems = summary.recommendationItems().stream()
+                .map(rec -> ProfileResponse.RecommendationItem.builder()
+                        .id(rec.id())
+                        .analysisId(rec.analysisId())
+                        .items(rec.items())
+                        .createdAt(rec.createdAt())
+                        .build())
+                .collect(Collectors.toList());
+
+        return ProfileResponse.builder()
+                .profileImageUrl(summary.profileImageUrl())
+                .skinType(skinType)
+                .concerns(summary.concerns())
+                .lastAnalysis(lastAnalysis)
+                .history(history)
+                .recommendations(recommendationItems)
+                .build();
+    }
+
     /**
      * FastAPI recommendations 배열을 CategoryRecommendationResponse 리스트로 변환
      */
-    private List<CategoryRecommendationResponse> parseRecommendations(List<Map<String, Object>> recommendations) {
+    private List<CategoryRecommendationResponse> parseRecommendations(
+            List<FastApiResponseDto.FastApiProductDto> recommendations) {
         if (recommendations == null || recommendations.isEmpty()) {
             return new ArrayList<>();
         }
 
         return recommendations.stream()
-                .map(product -> {
-                    try {
-                        String productId = (String) product.get("productId");
-                        String productName = (String) product.get("productName");
-                        String brand = (String) product.get("brand");
-                        String category = (String) product.get("category");
-                        String imageUrl = (String) product.get("image_url");
-                        
-                        // 숫자 필드 파싱 (null-safe)
-                        Integer salePrice = null;
-                        if (product.get("salePrice") != null) {
-                            if (product.get("salePrice") instanceof Number) {
-                                salePrice = ((Number) product.get("salePrice")).intValue();
-                            }
-                        }
-                        
-                        Double averageReviewScore = null;
-                        if (product.get("averageReviewScore") != null) {
-                            if (product.get("averageReviewScore") instanceof Number) {
-                                averageReviewScore = ((Number) product.get("averageReviewScore")).doubleValue();
-                            }
-                        }
-                        
-                        Integer totalReviewCount = null;
-                        if (product.get("totalReviewCount") != null) {
-                            if (product.get("totalReviewCount") instanceof Number) {
-                                totalReviewCount = ((Number) product.get("totalReviewCount")).intValue();
-                            }
-                        }
-                        
-                        // xai_keywords 파싱
-                        List<String> xaiKeywords = new ArrayList<>();
-                        Object keywordsObj = product.get("xai_keywords");
-                        if (keywordsObj instanceof List) {
-                            xaiKeywords = ((List<?>) keywordsObj).stream()
-                                    .map(Object::toString)
-                                    .collect(Collectors.toList());
-                        }
-
-                        return CategoryRecommendationResponse.builder()
-                                .productId(productId)
-                                .productName(productName != null ? productName : "")
-                                .brand(brand)
-                                .salePrice(salePrice)
-                                .averageReviewScore(averageReviewScore)
-                                .totalReviewCount(totalReviewCount)
-                                .category(category != null ? category : "")
-                                .imageUrl(imageUrl != null ? imageUrl : "")
-                                .xaiKeywords(xaiKeywords)
-                                .tags(xaiKeywords) // 프론트엔드 호환성을 위해 tags도 설정
-                                .build();
-                    } catch (Exception e) {
-                        log.warn("[SkinProfile] 추천 제품 파싱 실패. product={}", product, e);
-                        return null;
-                    }
-                })
-                .filter(item -> item != null)
+                .filter(Objects::nonNull)
+                .map(CategoryRecommendationResponse::from)
                 .collect(Collectors.toList());
     }
 }
\ No newline at end of file
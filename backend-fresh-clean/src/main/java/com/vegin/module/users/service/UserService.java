@@ -8,8 +8,10 @@ package com.vegin.module.users.service;
 
 
 import com.vegin.auth.JwtTokenProvider;
+import com.vegin.auth.TokenRevocationService;
 import com.vegin.module.users.Entity.User;
 import com.vegin.dto.request.LoginRequest;
+import com.vegin.dto.request.PasswordChangeRequest;
 import com.vegin.dto.request.SignupRequest;
 import com.vegin.dto.response.LoginResponse;
 import com.vegin.module.users.repository.UserRepository;
@@ -31,6 +33,7 @@ public class UserService {
     private final UserRepository userRepository;
     private final JwtTokenProvider jwtTokenProvider;
     private final PasswordEncoder passwordEncoder;
+    private final TokenRevocationService tokenRevocationService;
 
     /**
      * 회원가입
@@ -101,6 +104,36 @@ public class UserService {
         );
     }
 
+    /**
+     * 로그아웃
+     * - 토큰을 폐기 목록에 넣고 모든 노드에 전파 (이후 요청은 401)
+     * - 이미 만료 / 잘못된 토큰이면 할 일이 없으므로 그대로 성공 처리
+     */
+    public void logout(String token) {
+        if (token == null || token.isBlank()) {
+            return;
+        }
+        jwtTokenProvider.verify(token).ifPresent(tokenRevocationService::revoke);
+    }
+
+    /**
+     * 비밀번호 변경
+     * - 현재 비밀번호 확인 후 새 비밀번호 암호화 저장
+     * - 지금까지 발급된 이 사용자의 토큰 전부 폐기 (다른 기기 포함, 다시 로그인 필요)
+     */
+    public void changePassword(Long userId, PasswordChangeRequest req) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("User not found: " + userId));
+
+        if (!passwordEncoder.matches(req.getCurrentPassword(), user.getPassword())) {
+            throw new BadCredentialsException("비밀번호가 일치하지 않습니다.");
+        }
+
+        user.changePassword(passwordEncoder.encode(req.getNewPassword()));
+        userRepository.save(user);
+        tokenRevocationService.revokeUser(userId);
+    }
+
     /**
      * 이메일로 userId 조회 (마이페이지 등에서 사용)
      */
@@ -0,0 +1,43 @@
+-- R__drop_skin_analysis_legacy_result.sql
+-- V14 이후 남겨 둔 skin_analysis.result(JSON 원본) 삭제, 새 읽기 경로를 운영에서 확인한 뒤에만
+-- - spring.flyway.placeholders.dropLegacyResult (ANALYSIS_DROP_LEGACY_RESULT) 가 true 일 때만 실행
+--   반복 마이그레이션이라 값이 바뀌면 다음 기동 때 다시 실행됨
+-- - 삭제 직전 모든 result 행이 skin_analysis_result 에 같은 JSON 으로 있는지 다시 확인, 하나라도 다르면 삭제하지 않음
+
+SET @result_exists := (
+    SELECT COUNT(*)
+    FROM information_schema.columns
+    WHERE table_schema = DATABASE()
+      AND table_name   = 'skin_analysis'
+      AND column_name  = 'result'
+);
+
+SET @drop_enabled := ('${dropLegacyResult}' = 'true');
+
+SET @mismatch_sql := IF(
+            @result_exists = 1 AND @drop_enabled,
+            'SELECT COUNT(*) INTO @mismatches
+               FROM skin_analysis a
+               LEFT JOIN skin_analysis_result r ON r.analysis_id = a.id
+              WHERE a.result IS NOT NULL
+                AND (r.analysis_id IS NULL
+                     OR NOT (CAST(CASE r.codec
+                                      WHEN ''zlib'' THEN CONVERT(UNCOMPRESS(r.payload) USING utf8mb4)
+                                      ELSE CONVERT(r.payload USING utf8mb4)
+                                  END AS JSON) <=> a.result))',
+            'SELECT 0 INTO @mismatches'
+    );
+
+PREPARE stmt FROM @mismatch_sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @drop_sql := IF(
+            @result_exists = 1 AND @drop_enabled AND @mismatches = 0,
+            'ALTER TABLE skin_analysis DROP COLUMN result',
+            'SELECT 1'
+    );
+
+PREPARE stmt2 FROM @drop_sql;
+EXECUTE stmt2;
+DEALLOCATE PREPARE stmt2;
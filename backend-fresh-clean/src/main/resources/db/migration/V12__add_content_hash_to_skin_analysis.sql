@@ -0,0 +1,39 @@
+-- V12__add_content_hash_to_skin_analysis.sql
+-- 동일 이미지 + 동일 설문 재요청 시 기존 S3 객체 / 분석 결과를 재사용하기 위한 내용 해시
+
+SET @col_exists := (
+    SELECT COUNT(*)
+    FROM information_schema.columns
+    WHERE table_schema = DATABASE()
+      AND table_name   = 'skin_analysis'
+      AND column_name  = 'content_hash'
+);
+
+SET @add_col_sql := IF(
+            @col_exists = 0,
+            'ALTER TABLE skin_analysis ADD COLUMN content_hash CHAR(64) NULL',
+            'SELECT 1'
+    );
+
+PREPARE stmt FROM @add_col_sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- (user_id, content_hash) 로 조회
+SET @idx_exists := (
+    SELECT COUNT(*)
+    FROM information_schema.statistics
+    WHERE table_schema = DATABASE()
+      AND table_name   = 'skin_analysis'
+      AND index_name   = 'idx_skin_analysis_user_hash'
+);
+
+SET @add_idx_sql := IF(
+            @idx_exists = 0,
+            'CREATE INDEX idx_skin_analysis_user_hash ON skin_analysis (user_id, content_hash)',
+            'SELECT 1'
+    );
+
+PREPARE stmt2 FROM @add_idx_sql;
+EXECUTE stmt2;
+DEALLOCATE PREPARE stmt2;
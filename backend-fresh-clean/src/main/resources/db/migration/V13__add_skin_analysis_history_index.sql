@@ -0,0 +1,21 @@
+-- V13__add_skin_analysis_history_index.sql
+-- 분석 히스토리 keyset 페이지네이션용 인덱스
+-- WHERE user_id = ? AND (created_at, id) < (?, ?) ORDER BY created_at DESC, id DESC LIMIT n
+
+SET @idx_exists := (
+    SELECT COUNT(*)
+    FROM information_schema.statistics
+    WHERE table_schema = DATABASE()
+      AND table_name   = 'skin_analysis'
+      AND index_name   = 'idx_skin_analysis_user_created'
+);
+
+SET @add_idx_sql := IF(
+            @idx_exists = 0,
+            'CREATE INDEX idx_skin_analysis_user_created ON skin_analysis (user_id, created_at, id)',
+            'SELECT 1'
+    );
+
+PREPARE stmt FROM @add_idx_sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
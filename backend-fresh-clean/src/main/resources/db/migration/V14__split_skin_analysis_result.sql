@@ -0,0 +1,83 @@
+-- V14__split_skin_analysis_result.sql
+-- skin_analysis.result(JSON 전체)를 별도 테이블로 분리하고 압축 저장
+-- - skin_analysis 에는 요약 컬럼(skin_mbti, skin_type, 5개 지수)을 추가, 앱은 이후 skin_analysis_result 만 읽고 씀
+-- - payload 는 MySQL COMPRESS() 형식 (codec = 'zlib'), 확인은 UNCOMPRESS(payload)
+-- - 원본 result 컬럼은 여기서 지우지 않음 (MySQL DDL 은 롤백이 안 되므로)
+--   새 읽기 경로를 운영에서 확인한 뒤 R__drop_skin_analysis_legacy_result.sql 로 삭제
+
+CREATE TABLE IF NOT EXISTS skin_analysis_result (
+    analysis_id BIGINT PRIMARY KEY,
+    codec VARCHAR(16) NOT NULL,
+    payload MEDIUMBLOB NOT NULL,
+    raw_size INT NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_skin_analysis_result_analysis
+        FOREIGN KEY (analysis_id) REFERENCES skin_analysis(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- 1) 요약 컬럼 추가
+SET @col_exists := (
+    SELECT COUNT(*)
+    FROM information_schema.columns
+    WHERE table_schema = DATABASE()
+      AND table_name   = 'skin_analysis'
+      AND column_name  = 'skin_mbti'
+);
+
+SET @add_col_sql := IF(
+            @col_exists = 0,
+            'ALTER TABLE skin_analysis
+                ADD COLUMN skin_mbti VARCHAR(10) NULL,
+                ADD COLUMN skin_type VARCHAR(30) NULL,
+                ADD COLUMN oil_index DOUBLE NULL,
+                ADD COLUMN dry_index DOUBLE NULL,
+                ADD COLUMN sensitivity_index DOUBLE NULL,
+                ADD COLUMN wrinkle_index DOUBLE NULL,
+                ADD COLUMN pigment_index DOUBLE NULL',
+            'SELECT 1'
+    );
+
+PREPARE stmt FROM @add_col_sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 2) 기존 result 가 남아 있으면 요약 채우기 → 압축해서 옮기기 (IGNORE 없이, 변환 오류는 마이그레이션 실패로 드러남)
+SET @result_exists := (
+    SELECT COUNT(*)
+    FROM information_schema.columns
+    WHERE table_schema = DATABASE()
+      AND table_name   = 'skin_analysis'
+      AND column_name  = 'result'
+);
+
+SET @backfill_sql := IF(
+            @result_exists = 1,
+            'UPDATE skin_analysis
+                SET skin_mbti         = JSON_VALUE(result, ''$.fusion.skin_mbti''),
+                    skin_type         = JSON_VALUE(result, ''$.fusion.skin_type''),
+                    oil_index         = JSON_VALUE(result, ''$.fusion.indices.oil'' RETURNING DOUBLE),
+                    dry_index         = JSON_VALUE(result, ''$.fusion.indices.dry'' RETURNING DOUBLE),
+                    sensitivity_index = JSON_VALUE(result, ''$.fusion.indices.sensitivity'' RETURNING DOUBLE),
+                    wrinkle_index     = JSON_VALUE(result, ''$.fusion.indices.wrinkle'' RETURNING DOUBLE),
+                    pigment_index     = JSON_VALUE(result, ''$.fusion.indices.pigment'' RETURNING DOUBLE)
+              WHERE result IS NOT NULL',
+            'SELECT 1'
+    );
+
+PREPARE stmt2 FROM @backfill_sql;
+EXECUTE stmt2;
+DEALLOCATE PREPARE stmt2;
+
+SET @move_sql := IF(
+            @result_exists = 1,
+            'INSERT INTO skin_analysis_result (analysis_id, codec, payload, raw_size, created_at)
+             SELECT a.id, ''zlib'', COMPRESS(CAST(a.result AS CHAR)), LENGTH(CAST(a.result AS CHAR)), a.created_at
+               FROM skin_analysis a
+              WHERE a.result IS NOT NULL
+                AND NOT EXISTS (SELECT 1 FROM skin_analysis_result r WHERE r.analysis_id = a.id)',
+            'SELECT 1'
+    );
+
+PREPARE stmt3 FROM @move_sql;
+EXECUTE stmt3;
+DEALLOCATE PREPARE stmt3;
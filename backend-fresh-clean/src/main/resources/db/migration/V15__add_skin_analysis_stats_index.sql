@@ -0,0 +1,42 @@
+-- V15__add_skin_analysis_stats_index.sql
+-- 분포 리포트 (기간별 skin_mbti / skin_type 건수 + 평균 지수) 를 인덱스만으로 처리
+-- - idx_skin_analysis_stats : status = 'DONE' + created_at 범위, 나머지 컬럼은 커버링용
+-- - idx_skin_analysis_mbti  : 특정 MBTI / 피부타입 건 조회
+
+SET @idx_exists := (
+    SELECT COUNT(*)
+    FROM information_schema.statistics
+    WHERE table_schema = DATABASE()
+      AND table_name   = 'skin_analysis'
+      AND index_name   = 'idx_skin_analysis_stats'
+);
+
+SET @add_idx_sql := IF(
+            @idx_exists = 0,
+            'CREATE INDEX idx_skin_analysis_stats ON skin_analysis
+                (status, created_at, skin_mbti, skin_type,
+                 oil_index, dry_index, sensitivity_index, wrinkle_index, pigment_index)',
+            'SELECT 1'
+    );
+
+PREPARE stmt FROM @add_idx_sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @idx2_exists := (
+    SELECT COUNT(*)
+    FROM information_schema.statistics
+    WHERE table_schema = DATABASE()
+      AND table_name   = 'skin_analysis'
+      AND index_name   = 'idx_skin_analysis_mbti'
+);
+
+SET @add_idx2_sql := IF(
+            @idx2_exists = 0,
+            'CREATE INDEX idx_skin_analysis_mbti ON skin_analysis (skin_mbti, skin_type)',
+            'SELECT 1'
+    );
+
+PREPARE stmt2 FROM @add_idx2_sql;
+EXECUTE stmt2;
+DEALLOCATE PREPARE stmt2;
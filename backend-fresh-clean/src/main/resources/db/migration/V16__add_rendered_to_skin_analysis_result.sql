@@ -0,0 +1,22 @@
+-- V16__add_rendered_to_skin_analysis_result.sql
+-- 결과 상세 응답 중 분석 건별 부분(skinMbtiType, skinDisplayName, axis, concerns, recommendations)을
+-- DONE 시점에 미리 직렬화해 두는 컬럼 (UTF-8 JSON 조각, 비압축)
+-- - 기존 행은 NULL 로 두고 조회 때 payload 로 렌더링
+
+SET @col_exists := (
+    SELECT COUNT(*)
+    FROM information_schema.columns
+    WHERE table_schema = DATABASE()
+      AND table_name   = 'skin_analysis_result'
+      AND column_name  = 'rendered'
+);
+
+SET @add_col_sql := IF(
+            @col_exists = 0,
+            'ALTER TABLE skin_analysis_result ADD COLUMN rendered MEDIUMBLOB NULL AFTER raw_size',
+            'SELECT 1'
+    );
+
+PREPARE stmt FROM @add_col_sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
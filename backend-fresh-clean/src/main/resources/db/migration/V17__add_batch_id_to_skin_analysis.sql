@@ -0,0 +1,39 @@
+-- V17__add_batch_id_to_skin_analysis.sql
+-- 배치 분석 요청(POST /api/analysis/batch)으로 함께 만들어진 행 묶음 ID (UUID), 단건 요청은 NULL
+
+SET @col_exists := (
+    SELECT COUNT(*)
+    FROM information_schema.columns
+    WHERE table_schema = DATABASE()
+      AND table_name   = 'skin_analysis'
+      AND column_name  = 'batch_id'
+);
+
+SET @add_col_sql := IF(
+            @col_exists = 0,
+            'ALTER TABLE skin_analysis ADD COLUMN batch_id CHAR(36) NULL',
+            'SELECT 1'
+    );
+
+PREPARE stmt FROM @add_col_sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- GET /api/analysis/batch/{batchId} : (user_id, batch_id) 로 조회
+SET @idx_exists := (
+    SELECT COUNT(*)
+    FROM information_schema.statistics
+    WHERE table_schema = DATABASE()
+      AND table_name   = 'skin_analysis'
+      AND index_name   = 'idx_skin_analysis_user_batch'
+);
+
+SET @add_idx_sql := IF(
+            @idx_exists = 0,
+            'CREATE INDEX idx_skin_analysis_user_batch ON skin_analysis (user_id, batch_id)',
+            'SELECT 1'
+    );
+
+PREPARE stmt2 FROM @add_idx_sql;
+EXECUTE stmt2;
+DEALLOCATE PREPARE stmt2;
@@ -0,0 +1,55 @@
+-- V18__create_analysis_outbox.sql
+-- 분석 완료 / 실패 이벤트 outbox : skin_analysis 상태 변경과 같은 트랜잭션으로 기록
+-- AnalysisOutboxRelay 가 published_at IS NULL 행을 묶어서 Redis Streams(analysis:events)로 내보냄
+-- (skin_analysis 가 지워져도 이벤트는 남아야 하므로 FK 없음)
+-- recommendation(analysis_id) UNIQUE : 이벤트 소비자(RecommendationProjection)의 멱등 처리용
+
+CREATE TABLE IF NOT EXISTS analysis_outbox (
+    id           BIGINT PRIMARY KEY AUTO_INCREMENT,
+    analysis_id  BIGINT NOT NULL,
+    event_type   VARCHAR(40) NOT NULL,
+    payload      JSON NOT NULL,
+    created_at   TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    published_at TIMESTAMP NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- 미발행 행을 id 순으로 (published_at IS NULL ORDER BY id), 발행 후 보관 기간 지난 행 정리
+SET @idx_exists := (
+    SELECT COUNT(*)
+    FROM information_schema.statistics
+    WHERE table_schema = DATABASE()
+      AND table_name   = 'analysis_outbox'
+      AND index_name   = 'idx_analysis_outbox_published'
+);
+
+SET @sql := IF(@idx_exists = 0,
+               'CREATE INDEX idx_analysis_outbox_published ON analysis_outbox (published_at, id)',
+               'SELECT 1'
+    );
+
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+
+-- recommendation 은 분석 1건당 1행 (RecommendationProjection 이 이벤트 재전달 / 동시 처리에도 한 번만 반영하도록)
+-- 혹시 남아 있는 중복 행은 가장 먼저 저장된 것만 남김
+DELETE r1 FROM recommendation r1
+    JOIN recommendation r2 ON r1.analysis_id = r2.analysis_id AND r1.id > r2.id;
+
+SET @idx_exists := (
+    SELECT COUNT(*)
+    FROM information_schema.statistics
+    WHERE table_schema = DATABASE()
+      AND table_name   = 'recommendation'
+      AND index_name   = 'uk_recommendation_analysis'
+);
+
+SET @sql := IF(@idx_exists = 0,
+               'CREATE UNIQUE INDEX uk_recommendation_analysis ON recommendation (analysis_id)',
+               'SELECT 1'
+    );
+
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
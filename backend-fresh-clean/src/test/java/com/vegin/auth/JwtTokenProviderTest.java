@@ -0,0 +1,54 @@
+package com.vegin.auth;
+
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("JwtTokenProvider 단위 테스트")
+class JwtTokenProviderTest {
+
+    private JwtTokenProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "secretKey", "test-secret-key-must-be-at-least-32-bytes!!");
+        ReflectionTestUtils.setField(provider, "expiration", 60_000L);
+    }
+
+    @Test
+    @DisplayName("TC-J01-N01: (정상) 한 번 파싱한 claims 로 userId / email 추출, stateless principal 생성")
+    void parseClaims_ValidToken_BuildsPrincipal() {
+        // Given
+        String token = provider.generateToken(7L, "user@example.com");
+
+        // When
+        Optional<Claims> claims = provider.parseClaims(token);
+
+        // Then
+        assertThat(claims).isPresent();
+        UserPrincipal principal = UserPrincipal.fromClaims(
+                provider.extractUserId(claims.get()), claims.get().getSubject());
+        assertThat(principal.getId()).isEqualTo(7L);
+        assertThat(principal.getUsername()).isEqualTo("user@example.com");
+        assertThat(principal.getAuthorities()).extracting("authority").containsExactly("ROLE_USER");
+    }
+
+    @Test
+    @DisplayName("TC-J01-E01: (예외) 서명이 변조된 토큰은 empty")
+    void parseClaims_TamperedToken_Empty() {
+        // Given
+        String token = provider.generateToken(7L, "user@example.com");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        // When & Then
+        assertThat(provider.parseClaims(tampered)).isEmpty();
+        assertThat(provider.validateToken(tampered)).isFalse();
+    }
+}
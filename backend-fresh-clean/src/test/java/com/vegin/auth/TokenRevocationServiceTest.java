@@ -0,0 +1,89 @@
+package com.vegin.auth;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TokenRevocationService 단위 테스트")
+class TokenRevocationServiceTest {
+
+    @Mock
+    private StringRedisTemplate redis;
+
+    @Mock
+    private ZSetOperations<String, String> zSet;
+
+    private TokenRevocationService revocations;
+
+    @BeforeEach
+    void setUp() {
+        revocations = new TokenRevocationService(redis, true, 1000, 0.01, 60_000L);
+    }
+
+    private void receiveUserRevocation(long userId, long revokedAtSec) {
+        byte[] channel = TokenRevocationService.CHANNEL.getBytes(StandardCharsets.UTF_8);
+        byte[] body = ("user:" + userId + ":" + revokedAtSec).getBytes(StandardCharsets.UTF_8);
+        revocations.onMessage(new DefaultMessage(channel, body), null);
+    }
+
+    private static VerifiedToken issuedAt(long userId, long epochSecond) {
+        return new VerifiedToken(userId, "user@example.com", null,
+                Instant.ofEpochSecond(epochSecond), Instant.ofEpochSecond(epochSecond + 60));
+    }
+
+    @Test
+    @DisplayName("TC-J02-N01: (정상) 사용자 전체 폐기 시각(초, 올림) 이후 초에 발급된 토큰은 통과, 다른 사용자는 영향 없음")
+    void isRevoked_IssuedAfterRevocationSecond_Accepted() {
+        // Given: 1_700_000_000.500 에 폐기 → 1_700_000_001 로 전파
+        receiveUserRevocation(7L, 1_700_000_001L);
+
+        // When & Then
+        assertThat(revocations.isRevoked(issuedAt(7L, 1_700_000_002L))).isFalse();
+        assertThat(revocations.isRevoked(issuedAt(8L, 1_699_999_999L))).isFalse();
+    }
+
+    @Test
+    @DisplayName("TC-J02-E01: (예외) 폐기 이전 / 폐기와 같은 초에 발급된 토큰은 거절")
+    void isRevoked_IssuedUpToRevocationSecond_Rejected() {
+        // Given
+        receiveUserRevocation(7L, 1_700_000_001L);
+
+        // When & Then
+        assertThat(revocations.isRevoked(issuedAt(7L, 1_699_999_999L))).isTrue();
+        assertThat(revocations.isRevoked(issuedAt(7L, 1_700_000_000L))).isTrue();
+        assertThat(revocations.isRevoked(issuedAt(7L, 1_700_000_001L))).isTrue();
+    }
+
+    @Test
+    @DisplayName("TC-J02-E02: (예외) revokeUser 직전 같은 초 안에 발급된 토큰도 거절 (폐기 시각을 초 단위로 올림)")
+    void revokeUser_TokenIssuedEarlierInSameSecond_Rejected() {
+        // Given: 폐기 직전에 발급된 토큰 (iat 은 초 단위로 내림)
+        when(redis.opsForZSet()).thenReturn(zSet);
+        VerifiedToken token = issuedAt(7L, Instant.now().getEpochSecond());
+
+        // When
+        revocations.revokeUser(7L);
+
+        // Then
+        ArgumentCaptor<Double> score = ArgumentCaptor.forClass(Double.class);
+        verify(zSet).add(eq("auth:revoked-users"), eq("7"), score.capture());
+        assertThat(score.getValue().longValue()).isGreaterThanOrEqualTo(token.issuedAt().getEpochSecond());
+        assertThat(revocations.isRevoked(token)).isTrue();
+        verify(redis).convertAndSend(TokenRevocationService.CHANNEL, "user:7:" + score.getValue().longValue());
+    }
+}
@@ -0,0 +1,34 @@
+package com.vegin.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("BloomFilter 단위 테스트")
+class BloomFilterTest {
+
+    @Test
+    @DisplayName("TC-C01-N01: (정상) 넣은 값은 항상 있음, 안 넣은 값의 오탐률은 목표 근처")
+    void mightContain_InsertedAndAbsent() {
+        // Given
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("jti-" + i);
+        }
+
+        // When
+        int falsePositives = 0;
+        for (int i = 10_000; i < 20_000; i++) {
+            if (filter.mightContain("jti-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        // Then
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain("jti-" + i)).isTrue();
+        }
+        assertThat(falsePositives).isLessThan(300);   // 1% 목표, 여유 있게 3%
+    }
+}
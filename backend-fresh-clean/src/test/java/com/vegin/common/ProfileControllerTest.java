@@ -11,6 +11,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 
 import java.time.OffsetDateTime;
@@ -59,7 +61,7 @@ class ProfileControllerTest {
         when(profileService.getProfile(userId)).thenReturn(mockResponse);
 
         // When
-        ApiResponse<ProfileResponse> response = profileController.getProfile(authentication);
+        ApiResponse<ProfileResponse> response = profileController.getProfile(authentication, null).getBody();
 
         // Then
         assertThat(response).isNotNull();
@@ -72,4 +74,24 @@ class ProfileControllerTest {
         // 검증: 프로필 서비스 호출 확인
         verify(profileService, times(1)).getProfile(userId);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("TC-D01-N02: (정상) If-None-Match 가 현재 ETag 와 같으면 프로필을 읽지 않고 304")
+    void getProfile_ETagMatches_NotModified() {
+        // Given
+        Long userId = 1L;
+        UserPrincipal userPrincipal = new UserPrincipal(userId, "test@vegin.com", "테스트유저", Collections.emptyList());
+        when(authentication.getPrincipal()).thenReturn(userPrincipal);
+        when(profileService.profileETag(userId)).thenReturn("\"p1-1735689600007\"");
+
+        // When
+        ResponseEntity<ApiResponse<ProfileResponse>> response =
+                profileController.getProfile(authentication, "\"p1-1735689600007\"");
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"p1-1735689600007\"");
+        assertThat(response.getBody()).isNull();
+        verify(profileService, never()).getProfile(anyLong());
+    }
+}
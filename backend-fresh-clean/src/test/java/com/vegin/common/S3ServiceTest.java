@@ -1,4 +1,156 @@
 package com.vegin.common;
 
-public class S3ServiceTest {
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("S3Service 단위 테스트")
+class S3ServiceTest {
+
+    @Mock
+    private S3AsyncClient s3AsyncClient;
+
+    @Mock
+    private S3Presigner s3Presigner;
+
+    private S3Service s3Service;
+
+    @BeforeEach
+    void setUp() {
+        s3Service = new S3Service(s3AsyncClient, s3Presigner);
+        ReflectionTestUtils.setField(s3Service, "bucket", "vegin-media-submit");
+        ReflectionTestUtils.setField(s3Service, "region", "ap-northeast-2");
+        ReflectionTestUtils.setField(s3Service, "cloudfrontUrl", "");
+        ReflectionTestUtils.setField(s3Service, "uploadTimeoutSeconds", 5L);
+    }
+
+    @Test
+    @DisplayName("TC-S01-N01: (정상) PUT 응답 ETag 로 업로드 확인 (HEAD 재확인 없음)")
+    void upload_ETagReturned_Success() {
+        // Given
+        byte[] bytes = "fake-image".getBytes();
+        when(s3AsyncClient.putObject(any(PutObjectRequest.class), any(AsyncRequestBody.class)))
+                .thenReturn(CompletableFuture.completedFuture(
+                        PutObjectResponse.builder().eTag("\"abc123\"").build()));
+
+        // When
+        String eTag = s3Service.upload(new ByteArrayInputStream(bytes), bytes.length, "image/jpeg", "analysis/1/a.jpg");
+
+        // Then
+        assertThat(eTag).isEqualTo("\"abc123\"");
+
+        ArgumentCaptor<PutObjectRequest> captor = ArgumentCaptor.forClass(PutObjectRequest.class);
+        verify(s3AsyncClient, times(1)).putObject(captor.capture(), any(AsyncRequestBody.class));
+        assertThat(captor.getValue().bucket()).isEqualTo("vegin-media-submit");
+        assertThat(captor.getValue().key()).isEqualTo("analysis/1/a.jpg");
+        assertThat(captor.getValue().contentLength()).isEqualTo((long) bytes.length);
+        verifyNoMoreInteractions(s3AsyncClient);
+    }
+
+    @Test
+    @DisplayName("TC-S01-E01: (예외) ETag 가 비어 있으면 업로드 실패 처리")
+    void upload_EmptyETag_Fails() {
+        // Given
+        when(s3AsyncClient.putObject(any(PutObjectRequest.class), any(AsyncRequestBody.class)))
+                .thenReturn(CompletableFuture.completedFuture(PutObjectResponse.builder().build()));
+
+        // When & Then
+        assertThatThrownBy(() -> s3Service.upload(new ByteArrayInputStream(new byte[1]), 1, "image/jpeg", "k"))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("empty ETag");
+    }
+
+    @Test
+    @DisplayName("TC-S01-E02: (예외) S3 서비스 오류는 ResponseStatusException 으로 변환")
+    void upload_ServiceError_Translated() {
+        // Given
+        CompletableFuture<PutObjectResponse> failed = new CompletableFuture<>();
+        failed.completeExceptionally(S3Exception.builder().message("Access Denied").statusCode(403).build());
+        when(s3AsyncClient.putObject(any(PutObjectRequest.class), any(AsyncRequestBody.class)))
+                .thenReturn(failed);
+
+        // When & Then
+        assertThatThrownBy(() -> s3Service.upload(new ByteArrayInputStream(new byte[1]), 1, null, "k"))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("S3 service error");
+    }
+
+    @Test
+    @DisplayName("TC-S03-N01: (정상) 직접 업로드 확인 - 본인 폴더의 이미지면 HEAD 결과 반환")
+    void verifyUpload_OwnImage_Success() {
+        // Given
+        when(s3AsyncClient.headObject(any(HeadObjectRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(
+                        HeadObjectResponse.builder().contentLength(1024L).contentType("image/jpeg").build()));
+
+        // When
+        HeadObjectResponse head = s3Service.verifyUpload("analysis/1/a.jpg", "analysis/1/", 20L * 1024 * 1024);
+
+        // Then
+        assertThat(head.contentLength()).isEqualTo(1024L);
+    }
+
+    @Test
+    @DisplayName("TC-S03-E01: (예외) 다른 사용자 폴더의 key 는 S3 조회 없이 거절")
+    void verifyUpload_OtherUsersKey_Rejected() {
+        assertThatThrownBy(() -> s3Service.verifyUpload("analysis/2/a.jpg", "analysis/1/", 1024))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(s3AsyncClient);
+    }
+
+    @Test
+    @DisplayName("TC-S03-E02: (예외) 업로드되지 않은 key 는 IllegalArgumentException")
+    void verifyUpload_MissingObject_Rejected() {
+        // Given
+        CompletableFuture<HeadObjectResponse> failed = new CompletableFuture<>();
+        failed.completeExceptionally(NoSuchKeyException.builder().statusCode(404).build());
+        when(s3AsyncClient.headObject(any(HeadObjectRequest.class))).thenReturn(failed);
+
+        // When & Then
+        assertThatThrownBy(() -> s3Service.verifyUpload("analysis/1/a.jpg", "analysis/1/", 1024))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("찾을 수 없습니다");
+    }
+
+    @Test
+    @DisplayName("TC-S04-E01: (예외) presigned URL 발급 - 허용 목록 밖 형식(image/svg+xml)은 서명 없이 거절")
+    void presignPut_SvgContentType_Rejected() {
+        assertThatThrownBy(() -> s3Service.presignPut("profile/1/a.svg", "image/svg+xml", 1024, 20L * 1024 * 1024))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("jpeg / png / webp / heic");
+        verifyNoInteractions(s3Presigner);
+    }
+
+    @Test
+    @DisplayName("TC-S02-N01: (정상) CloudFront URL 이 있으면 CloudFront 경로로 URL 생성")
+    void getUrl_WithCloudFront() {
+        ReflectionTestUtils.setField(s3Service, "cloudfrontUrl", "https://cdn.example.com");
+
+        assertThat(s3Service.getUrl("analysis/1/a.jpg"))
+                .isEqualTo("https://cdn.example.com/analysis/1/a.jpg");
+    }
 }
@@ -0,0 +1,261 @@
+package com.vegin.external.service;
+
+import com.sun.net.httpserver.HttpServer;
+import com.vegin.common.CircuitBreaker;
+import com.vegin.config.FastApiConfig;
+import com.vegin.external.dto.FastApiResponseDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 로컬 스텁 HTTP 서버로 느린 / 실패하는 FastAPI 를 흉내 내서
+ * 타임아웃 / 서킷 브레이커 / 벌크헤드 동작 확인
+ */
+@DisplayName("FastApiClient 장애 대응 테스트")
+class FastApiClientTest {
+
+    private static final String OK_BODY = "{\"status\":\"success\",\"fusion\":{},\"recommendations\":[]}";
+
+    private static final String FULL_BODY = "{\"status\":\"success\","
+            + "\"fusion\":{\"skin_type\":\"건성\",\"skin_mbti\":\"DSPW\","
+            + "\"indices\":{\"oil\":0.2,\"dry\":0.8,\"sensitivity\":0.3,\"wrinkle\":0.4,\"pigment\":0.1},"
+            + "\"vision_raw\":{\"acne\":{\"score\":12.5,\"reason\":\"few\"},\"melasma_darkspots\":{\"score\":40,\"reason\":\"spots\"}}},"
+            + "\"recommendations\":[{\"product_id\":\"A1\",\"productName\":\"크림\",\"salePrice\":15000,"
+            + "\"ingredients\":\"water\",\"score_ltr\":0.91,\"xai_keywords\":[\"보습\"],\"unknown\":1}],"
+            + "\"used_image\":\"https://cdn.example.com/a.jpg\"}";
+
+    private HttpServer server;
+    private volatile String okBody = OK_BODY;
+    private final AtomicInteger hits = new AtomicInteger();
+    private volatile int responseStatus = 200;
+    private volatile long responseDelayMs = 0;
+    private volatile CountDownLatch requestArrived = new CountDownLatch(1);
+
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+
+    private MeterRegistry meterRegistry;
+    private PoolingHttpClientConnectionManager connectionManager;
+    private CloseableHttpClient httpClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/analyze-and-recommend", exchange -> {
+            hits.incrementAndGet();
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            exchange.getRequestBody().readAllBytes();
+            requestArrived.countDown();
+            try {
+                Thread.sleep(responseDelayMs);
+            } catch (InterruptedException ignored) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = (responseStatus == 200 ? okBody : "{\"detail\":\"boom\"}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            try {
+                exchange.sendResponseHeaders(responseStatus, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            } catch (IOException ignored) {
+                // 클라이언트가 타임아웃으로 먼저 끊은 경우
+            }
+        });
+        server.start();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (httpClient != null) {
+            httpClient.close();
+        }
+        server.stop(0);
+    }
+
+    private FastApiClient client(long readTimeoutMs, int maxConcurrent, long bulkheadWaitMs,
+                                 int windowSize, int minimumCalls) {
+        FastApiConfig config = new FastApiConfig();
+        connectionManager = config.fastApiConnectionManager(4, 1000, readTimeoutMs, 60_000);
+        httpClient = config.fastApiHttpClient(connectionManager, 4000, 30, 1000, readTimeoutMs);
+        RestClient restClient = config.fastApiRestClient(
+                "http://127.0.0.1:" + server.getAddress().getPort(), httpClient);
+        return new FastApiClient(restClient, meterRegistry,
+                maxConcurrent, bulkheadWaitMs, windowSize, minimumCalls, 50, 60_000, 0.0);
+    }
+
+    private double count(String outcome) {
+        var counter = meterRegistry.find("fastapi.calls").tag("outcome", outcome).counter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    @Test
+    @DisplayName("TC-F01-N01: (정상) 정상 응답이면 DTO 반환 + success 집계")
+    void analyze_Healthy_ReturnsResult() {
+        FastApiClient client = client(2000, 4, 100, 4, 2);
+
+        FastApiResponseDto res = client.analyzeWithImageUrl("https://cdn.example.com/a.jpg", "{\"q1\":\"1\"}");
+
+        assertThat(res.status()).isEqualTo("success");
+        assertThat(count("success")).isEqualTo(1.0);
+        assertThat(client.getCircuitState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("TC-F02-N01: (정상) 연속 호출은 풀의 keep-alive 연결 하나를 재사용")
+    void analyze_SequentialCalls_ReuseConnection() {
+        FastApiClient client = client(2000, 4, 100, 4, 2);
+
+        for (int i = 0; i < 3; i++) {
+            client.analyzeWithImageUrl("https://cdn.example.com/a.jpg", "{}");
+        }
+
+        assertThat(hits.get()).isEqualTo(3);
+        assertThat(clientPorts).hasSize(1);
+        assertThat(connectionManager.getTotalStats().getLeased()).isZero();
+        assertThat(connectionManager.getTotalStats().getAvailable()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("TC-F01-E01: (예외) 응답이 read-timeout 보다 느리면 기다리지 않고 FastApiUnavailableException")
+    void analyze_SlowServer_TimesOut() {
+        // Given
+        responseDelayMs = 1500;
+        FastApiClient client = client(200, 4, 100, 4, 2);
+
+        // When & Then
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> client.analyzeWithImageUrl("https://cdn.example.com/a.jpg", "{}"))
+                .isInstanceOf(FastApiUnavailableException.class);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(1500);
+        assertThat(count("timeout")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("TC-F01-E02: (예외) 5xx 가 이어지면 서킷 OPEN → 이후 호출은 서버에 닿지 않고 바로 실패")
+    void analyze_FailingServer_OpensCircuit() {
+        // Given
+        responseStatus = 500;
+        FastApiClient client = client(2000, 4, 100, 4, 2);
+
+        // When: 실패 2건 (minimum-calls=2, 실패율 100%)
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> client.analyzeWithImageUrl("https://cdn.example.com/a.jpg", "{}"))
+                    .isInstanceOf(RuntimeException.class)
+                    .isNotInstanceOf(FastApiUnavailableException.class);
+        }
+
+        // Then
+        assertThat(client.getCircuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThatThrownBy(() -> client.analyzeWithImageUrl("https://cdn.example.com/a.jpg", "{}"))
+                .isInstanceOf(FastApiUnavailableException.class);
+        assertThat(hits.get()).isEqualTo(2);
+        assertThat(count("server_error")).isEqualTo(2.0);
+        assertThat(count("rejected_open")).isEqualTo(1.0);
+        assertThat(meterRegistry.find("fastapi.circuit.state").tag("state", "open").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("TC-F01-E03: (예외) 동시 호출 한도를 넘으면 벌크헤드에서 바로 거절")
+    void analyze_BulkheadFull_Rejected() throws Exception {
+        // Given: 한도 1, 첫 호출이 서버에서 붙잡혀 있는 동안
+        responseDelayMs = 800;
+        requestArrived = new CountDownLatch(1);
+        FastApiClient client = client(5000, 1, 0, 4, 2);
+        CompletableFuture<FastApiResponseDto> first = CompletableFuture.supplyAsync(
+                () -> client.analyzeWithImageUrl("https://cdn.example.com/a.jpg", "{}"));
+        assertThat(requestArrived.await(2, TimeUnit.SECONDS)).isTrue();
+
+        // When & Then
+        assertThatThrownBy(() -> client.analyzeWithImageUrl("https://cdn.example.com/b.jpg", "{}"))
+                .isInstanceOf(FastApiUnavailableException.class);
+        assertThat(count("rejected_bulkhead")).isEqualTo(1.0);
+
+        assertThat(first.get(5, TimeUnit.SECONDS).status()).isEqualTo("success");
+        assertThat(hits.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("TC-F01-E04: (예외) 연결 풀 대기 시간 초과(HC5 ConnectionRequestTimeoutException)도 timeout 으로 집계")
+    void analyze_PoolLeaseTimeout_CountedAsTimeout() throws Exception {
+        // Given: 연결 1개, 대기 100ms, 첫 호출이 연결을 붙잡고 있는 동안 (벌크헤드는 여유)
+        responseDelayMs = 800;
+        requestArrived = new CountDownLatch(1);
+        FastApiConfig config = new FastApiConfig();
+        connectionManager = config.fastApiConnectionManager(1, 1000, 5000, 60_000);
+        httpClient = config.fastApiHttpClient(connectionManager, 4000, 30, 100, 5000);
+        FastApiClient client = new FastApiClient(
+                config.fastApiRestClient("http://127.0.0.1:" + server.getAddress().getPort(), httpClient),
+                meterRegistry, 4, 100, 4, 2, 50, 60_000, 0.0);
+        CompletableFuture<FastApiResponseDto> first = CompletableFuture.supplyAsync(
+                () -> client.analyzeWithImageUrl("https://cdn.example.com/a.jpg", "{}"));
+        assertThat(requestArrived.await(2, TimeUnit.SECONDS)).isTrue();
+
+        // When & Then
+        assertThatThrownBy(() -> client.analyzeWithImageUrl("https://cdn.example.com/b.jpg", "{}"))
+                .isInstanceOf(FastApiUnavailableException.class);
+        assertThat(count("timeout")).isEqualTo(1.0);
+        assertThat(count("io_error")).isZero();
+
+        assertThat(first.get(5, TimeUnit.SECONDS).status()).isEqualTo("success");
+    }
+
+    @Test
+    @DisplayName("TC-F03-N01: (정상) 응답 본문을 타입 레코드로 바로 디코딩 (snake_case, 모르는 필드 무시)")
+    void analyze_FullBody_DecodesTypedRecords() {
+        // Given
+        okBody = FULL_BODY;
+        FastApiClient client = client(2000, 4, 100, 4, 2);
+
+        // When
+        FastApiResponseDto res = client.analyzeWithImageUrl("https://cdn.example.com/a.jpg", "{}");
+
+        // Then
+        assertThat(res.fusion().skinMbti()).isEqualTo("DSPW");
+        assertThat(res.fusion().indices().dry()).isEqualTo(0.8);
+        assertThat(res.fusion().visionRaw().melasmaDarkspots().score()).isEqualTo(40.0);
+        assertThat(res.fusion().visionRaw().wrinkle()).isNull();
+        FastApiResponseDto.FastApiProductDto product = res.recommendations().get(0);
+        assertThat(product.productId()).isEqualTo("A1");
+        assertThat(product.ingredients()).containsExactly("water");
+        assertThat(product.xaiKeywords()).containsExactly("보습");
+    }
+
+    @Test
+    @DisplayName("TC-F03-E01: (예외) 200 + {\"error\"} 응답은 분석 실패로 변환, 서킷은 성공으로 집계")
+    void analyze_ErrorBody_Throws() {
+        // Given
+        okBody = "{\"error\":\"vision failed\",\"detail\":\"timeout\"}";
+        FastApiClient client = client(2000, 4, 100, 4, 2);
+
+        // When & Then
+        assertThatThrownBy(() -> client.analyzeWithImageUrl("https://cdn.example.com/a.jpg", "{}"))
+                .isInstanceOf(RuntimeException.class)
+                .isNotInstanceOf(FastApiUnavailableException.class)
+                .hasMessageContaining("vision failed");
+        assertThat(count("success")).isEqualTo(1.0);
+    }
+}
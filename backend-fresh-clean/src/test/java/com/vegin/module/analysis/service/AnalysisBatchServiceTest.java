@@ -0,0 +1,141 @@
+package com.vegin.module.analysis.service;
+
+import com.vegin.common.S3Service;
+import com.vegin.dto.response.AnalysisBatchResponse;
+import com.vegin.module.analysis.domain.SkinAnalysis;
+import com.vegin.module.analysis.repository.SkinAnalysisBatchInserter;
+import com.vegin.module.analysis.repository.SkinAnalysisRepository;
+import com.vegin.module.users.service.ProfileSummaryCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AnalysisBatchService 단위 테스트")
+class AnalysisBatchServiceTest {
+
+    @Mock
+    private SkinAnalysisService analysisService;
+
+    @Mock
+    private SkinAnalysisRepository analyses;
+
+    @Mock
+    private SkinAnalysisBatchInserter batchInserter;
+
+    @Mock
+    private AnalysisJobWorker jobWorker;
+
+    @Mock
+    private S3Service s3Service;
+
+    @Mock
+    private ProfileSummaryCache profileSummaryCache;
+
+    @Mock
+    private AnalysisProgressHub progressHub;
+
+    @Mock
+    private MultipartFile before;
+
+    @Mock
+    private MultipartFile after;
+
+    private AnalysisBatchService batchService;
+
+    @BeforeEach
+    void setUp() {
+        batchService = new AnalysisBatchService(analysisService, analyses, batchInserter, jobWorker, s3Service,
+                profileSummaryCache, progressHub, new SyncTaskExecutor(), 5);
+    }
+
+    @Test
+    @DisplayName("TC-B14-N01: (정상) 배치 요청 - 파일별 업로드, PENDING 행 일괄 저장 1회, 건별 워커 등록 (거절 건만 FAILED)")
+    void submitBatch_ValidFiles_InsertsOnceAndQueuesEach() {
+        // Given
+        Long userId = 1L;
+        String surveyJson = "{\"q1\":\"1\"}";
+        when(before.isEmpty()).thenReturn(false);
+        when(after.isEmpty()).thenReturn(false);
+        when(analysisService.uploadImage(userId, before)).thenReturn("analysis/1/before.jpg");
+        when(analysisService.uploadImage(userId, after)).thenReturn("analysis/1/after.jpg");
+        when(batchInserter.insertPending(anyList())).thenAnswer(invocation -> {
+            List<SkinAnalysis> rows = invocation.getArgument(0);
+            List<SkinAnalysis> saved = new ArrayList<>();
+            for (int i = 0; i < rows.size(); i++) {
+                saved.add(rows.get(i).toBuilder().id(100L + i).build());
+            }
+            return saved;
+        });
+        when(s3Service.getUrl(anyString())).thenAnswer(invocation -> "https://cdn.example.com/" + invocation.getArgument(0));
+        when(jobWorker.enqueue(eq(userId), eq(100L), anyString(), eq(surveyJson))).thenReturn(true);
+        when(jobWorker.enqueue(eq(userId), eq(101L), anyString(), eq(surveyJson))).thenReturn(false);
+
+        // When
+        AnalysisBatchResponse response = batchService.submitBatch(userId, List.of(before, after), surveyJson);
+
+        // Then
+        assertThat(response.batchId()).isNotBlank();
+        assertThat(response.items()).extracting(AnalysisBatchResponse.Item::analysisId).containsExactly(100L, 101L);
+        assertThat(response.items()).extracting(AnalysisBatchResponse.Item::status).containsExactly("PENDING", "FAILED");
+        assertThat(response.items().get(0).imageUrl()).endsWith("analysis/1/before.jpg");
+
+        // 검증: INSERT 는 한 번, 행마다 같은 batchId / 요청 순서 유지
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<SkinAnalysis>> rows = ArgumentCaptor.forClass(List.class);
+        verify(batchInserter, times(1)).insertPending(rows.capture());
+        assertThat(rows.getValue()).extracting(SkinAnalysis::getS3Key)
+                .containsExactly("analysis/1/before.jpg", "analysis/1/after.jpg");
+        assertThat(rows.getValue()).extracting(SkinAnalysis::getBatchId).containsOnly(response.batchId());
+        assertThat(rows.getValue()).extracting(SkinAnalysis::getStatus).containsOnly("PENDING");
+        verify(profileSummaryCache, times(1)).evict(userId);
+        verify(jobWorker, times(2)).enqueue(eq(userId), anyLong(), anyString(), eq(surveyJson));
+    }
+
+    @Test
+    @DisplayName("TC-B14-E02: (예외) 업로드 중 하나가 실패하면 배치 실패, 이미 올라간 객체는 삭제하고 행은 만들지 않음")
+    void submitBatch_UploadFails_DeletesUploadedObjects() {
+        // Given
+        Long userId = 1L;
+        when(before.isEmpty()).thenReturn(false);
+        when(after.isEmpty()).thenReturn(false);
+        when(analysisService.uploadImage(userId, before)).thenReturn("analysis/1/before.jpg");
+        when(analysisService.uploadImage(userId, after))
+                .thenThrow(new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "S3 service error"));
+
+        // When & Then
+        assertThatThrownBy(() -> batchService.submitBatch(userId, List.of(before, after), "{}"))
+                .isInstanceOf(ResponseStatusException.class);
+        verify(s3Service, times(1)).deleteQuietly("analysis/1/before.jpg");
+        verifyNoInteractions(batchInserter, jobWorker, profileSummaryCache);
+    }
+
+    @Test
+    @DisplayName("TC-B14-E01: (예외) 최대 장수를 넘으면 업로드 없이 IllegalArgumentException")
+    void submitBatch_TooManyFiles_ThrowsException() {
+        // Given
+        List<MultipartFile> files = List.of(before, before, before, before, before, before);
+
+        // When & Then
+        assertThatThrownBy(() -> batchService.submitBatch(1L, files, "{}"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("최대 5장");
+        verifyNoInteractions(analysisService, batchInserter, jobWorker);
+    }
+}
@@ -0,0 +1,113 @@
+package com.vegin.module.analysis.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vegin.module.analysis.domain.AnalysisEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AnalysisEventConsumer pending 인수 테스트")
+class AnalysisEventConsumerTest {
+
+    private static final String STREAM = RedisStreamAnalysisEventPublisher.STREAM;
+
+    @Mock
+    private StringRedisTemplate redis;
+
+    @Mock
+    private StreamOperations<String, Object, Object> streams;
+
+    @Mock
+    private AnalysisEventHandler handler;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private AnalysisEventConsumer consumer;
+
+    private final RecordId staleId = RecordId.of("1700000000000-0");
+    private final RecordId freshId = RecordId.of("1700000000001-0");
+
+    @BeforeEach
+    void setUp() {
+        consumer = new AnalysisEventConsumer(redis, objectMapper, List.of(handler),
+                true, "vegin-projections", "node-b", 100, 60000, 5);
+        when(redis.opsForStream()).thenReturn(streams);
+    }
+
+    @Test
+    @DisplayName("TC-B18-N01: (정상) 다른 consumer 에 오래 남은 메시지만 XCLAIM 으로 가져와 처리 후 ACK")
+    void reclaim_StaleFromOtherConsumer_ProcessesAndAcks() throws Exception {
+        // Given: 죽은 노드(node-a)의 메시지는 오래됐고, 방금 전달된 메시지는 아직 처리 중
+        pending(new PendingMessage(staleId, Consumer.from("vegin-projections", "node-a"), Duration.ofMinutes(5), 1),
+                new PendingMessage(freshId, Consumer.from("vegin-projections", "node-c"), Duration.ofSeconds(1), 1));
+        when(streams.claim(eq(STREAM), eq("vegin-projections"), eq("node-b"), eq(Duration.ofMillis(60000)), eq(staleId)))
+                .thenReturn(List.of(record(staleId)));
+
+        // When
+        consumer.reclaim();
+
+        // Then
+        verify(handler, times(1)).handle(eq(7L), eq(AnalysisEvent.DONE), any(AnalysisEvent.class));
+        verify(streams, times(1)).acknowledge(STREAM, "vegin-projections", staleId);
+        verify(streams, never()).add(anyString(), anyMap());
+    }
+
+    @Test
+    @DisplayName("TC-B18-E01: (예외) max-deliveries 만큼 실패한 메시지는 dead stream 으로 옮기고 ACK")
+    void reclaim_ExceededDeliveries_MovesToDeadStream() throws Exception {
+        // Given
+        pending(new PendingMessage(staleId, Consumer.from("vegin-projections", "node-a"), Duration.ofMinutes(5), 5));
+        when(streams.claim(eq(STREAM), eq("vegin-projections"), eq("node-b"), any(Duration.class), eq(staleId)))
+                .thenReturn(List.of(record(staleId)));
+
+        // When
+        consumer.reclaim();
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<Object, Object>> fields = ArgumentCaptor.forClass(Map.class);
+        verify(streams, times(1)).add(eq(AnalysisEventConsumer.DEAD_STREAM), fields.capture());
+        assertThat(fields.getValue())
+                .containsEntry("eventId", "7")
+                .containsEntry("sourceId", staleId.getValue())
+                .containsEntry("deliveries", "5");
+        verify(streams, times(1)).acknowledge(STREAM, "vegin-projections", staleId);
+        verifyNoInteractions(handler);
+    }
+
+    private void pending(PendingMessage... messages) {
+        when(streams.pending(eq(STREAM), eq("vegin-projections"), any(Range.class), anyLong()))
+                .thenReturn(new PendingMessages("vegin-projections", List.of(messages)));
+    }
+
+    private MapRecord<String, Object, Object> record(RecordId id) throws Exception {
+        String payload = objectMapper.writeValueAsString(
+                new AnalysisEvent(100L, 1L, "DONE", "DSPW", "건성", List.of()));
+        Map<Object, Object> fields = Map.of("eventId", "7", "type", AnalysisEvent.DONE, "payload", payload);
+        return StreamRecords.<String, Object, Object>mapBacked(fields).withStreamKey(STREAM).withId(id);
+    }
+}
@@ -0,0 +1,80 @@
+package com.vegin.module.analysis.service;
+
+import com.vegin.module.analysis.domain.AnalysisOutboxEvent;
+import com.vegin.module.analysis.repository.AnalysisOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AnalysisOutboxRelay 단위 테스트")
+class AnalysisOutboxRelayTest {
+
+    @Mock
+    private AnalysisOutboxRepository outbox;
+
+    @Mock
+    private AnalysisEventPublisher publisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AnalysisOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new AnalysisOutboxRelay(outbox, publisher, new TransactionTemplate(transactionManager),
+                true, 2, 10, 72);
+    }
+
+    private static AnalysisOutboxEvent event(long id) {
+        return AnalysisOutboxEvent.builder()
+                .id(id).analysisId(100L + id).eventType("analysis.done").payload("{}")
+                .build();
+    }
+
+    @Test
+    @DisplayName("TC-B15-N01: (정상) 꽉 찬 배치면 이어서 다음 배치까지, 발행한 행만 published_at 기록")
+    void relay_FullBatch_ContinuesUntilPartialBatch() {
+        // Given: batch-size 2 → [1, 2] 다음 [3] 에서 멈춤
+        when(outbox.lockUnpublished(2))
+                .thenReturn(List.of(event(1), event(2)))
+                .thenReturn(List.of(event(3)));
+
+        // When
+        relay.relay();
+
+        // Then
+        verify(publisher, times(2)).publish(anyList());
+        verify(outbox).markPublished(eq(List.of(1L, 2L)), any(OffsetDateTime.class));
+        verify(outbox).markPublished(eq(List.of(3L)), any(OffsetDateTime.class));
+        verify(outbox, times(2)).lockUnpublished(2);
+    }
+
+    @Test
+    @DisplayName("TC-B15-E01: (예외) 발행 실패 시 published_at 을 기록하지 않고 롤백 → 다음 주기에 재발행")
+    void relay_PublishFails_DoesNotMarkPublished() {
+        // Given
+        when(outbox.lockUnpublished(2)).thenReturn(List.of(event(1), event(2)));
+        doThrow(new RedisConnectionFailureException("down")).when(publisher).publish(anyList());
+
+        // When
+        relay.relay();
+
+        // Then
+        verify(outbox, never()).markPublished(anyList(), any());
+        verify(transactionManager, times(1)).rollback(any());
+    }
+}
@@ -0,0 +1,111 @@
+package com.vegin.module.analysis.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vegin.external.dto.FastApiResponseDto;
+import com.vegin.module.analysis.domain.AnalysisEvent;
+import com.vegin.module.analysis.domain.AnalysisOutboxEvent;
+import com.vegin.module.analysis.domain.SkinAnalysis;
+import com.vegin.module.analysis.repository.AnalysisOutboxRepository;
+import com.vegin.module.analysis.repository.SkinAnalysisRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AnalysisOutbox 단위 테스트")
+class AnalysisOutboxTest {
+
+    @Mock
+    private SkinAnalysisRepository analyses;
+
+    @Mock
+    private AnalysisOutboxRepository outboxRepository;
+
+    @Mock
+    private AnalysisResultStore resultStore;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private AnalysisOutbox outbox;
+
+    private SkinAnalysis source;
+
+    @BeforeEach
+    void setUp() {
+        outbox = new AnalysisOutbox(analyses, outboxRepository, resultStore, objectMapper);
+        ReflectionTestUtils.setField(outbox, "enabled", true);
+        ReflectionTestUtils.setField(outbox, "recommendationTopk", 3);
+
+        source = SkinAnalysis.builder()
+                .userId(1L)
+                .s3Key("analysis/1/cached.jpg")
+                .status("DONE")
+                .skinMbti("DSPW")
+                .skinType("건성")
+                .build();
+        ReflectionTestUtils.setField(source, "id", 10L);
+
+        when(analyses.save(any(SkinAnalysis.class))).thenAnswer(invocation -> {
+            SkinAnalysis analysis = invocation.getArgument(0);
+            ReflectionTestUtils.setField(analysis, "id", 11L);
+            return analysis;
+        });
+    }
+
+    @Test
+    @DisplayName("TC-B17-N01: (정상) 재사용 사본 저장 → 결과 원본 복사 + 원본 추천으로 만든 analysis.done 이벤트 기록")
+    void saveCopy_AppendsDoneEventFromSourceResult() throws Exception {
+        // Given
+        FastApiResponseDto.FastApiProductDto product = new FastApiResponseDto.FastApiProductDto(
+                "cream_1", "수분 크림", "브랜드", List.of(), 10000, 4.5, 10, "cream",
+                1.2, 0.8, null, List.of("보습", "진정"));
+        when(resultStore.load(10L))
+                .thenReturn(Optional.of(new FastApiResponseDto("success", null, List.of(product), null)));
+
+        // When
+        SkinAnalysis copy = outbox.saveCopy(source, source.copyAsDone(source.getS3Key(), "{}", "a".repeat(64)));
+
+        // Then
+        assertThat(copy.getId()).isEqualTo(11L);
+        verify(resultStore, times(1)).copy(10L, 11L);
+
+        ArgumentCaptor<AnalysisOutboxEvent> captor = ArgumentCaptor.forClass(AnalysisOutboxEvent.class);
+        verify(outboxRepository, times(1)).save(captor.capture());
+        assertThat(captor.getValue().getAnalysisId()).isEqualTo(11L);
+        assertThat(captor.getValue().getEventType()).isEqualTo(AnalysisEvent.DONE);
+        JsonNode payload = objectMapper.readTree(captor.getValue().getPayload());
+        assertThat(payload.path("analysisId").asLong()).isEqualTo(11L);
+        assertThat(payload.path("skinMbti").asText()).isEqualTo("DSPW");
+        assertThat(payload.path("recommendations").get(0).path("productId").asText()).isEqualTo("cream_1");
+    }
+
+    @Test
+    @DisplayName("TC-B17-E01: (예외) 원본 결과를 읽지 못해도 사본 저장 → 추천 없이 요약만 담은 이벤트 기록")
+    void saveCopy_SourceResultUnreadable_AppendsSummaryEvent() throws Exception {
+        // Given
+        when(resultStore.load(10L)).thenThrow(new IllegalStateException("corrupted"));
+
+        // When
+        outbox.saveCopy(source, source.copyAsDone(source.getS3Key(), "{}", "a".repeat(64)));
+
+        // Then
+        ArgumentCaptor<AnalysisOutboxEvent> captor = ArgumentCaptor.forClass(AnalysisOutboxEvent.class);
+        verify(outboxRepository, times(1)).save(captor.capture());
+        JsonNode payload = objectMapper.readTree(captor.getValue().getPayload());
+        assertThat(payload.path("status").asText()).isEqualTo("DONE");
+        assertThat(payload.path("recommendations")).isEmpty();
+    }
+}
@@ -0,0 +1,92 @@
+package com.vegin.module.analysis.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vegin.external.dto.FastApiResponseDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AnalysisProgressHub 진행 단계 발행 테스트")
+class AnalysisProgressHubTest {
+
+    @Mock
+    private StringRedisTemplate redis;
+
+    @Mock
+    private HashOperations<String, Object, Object> hashOps;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private AnalysisProgressHub hub;
+
+    @BeforeEach
+    void setUp() {
+        hub = new AnalysisProgressHub(redis, objectMapper, true, 60_000L, 3, 600L);
+    }
+
+    @Test
+    @DisplayName("TC-B13-N01: (정상) fusion 응답 → VISION_DONE, FUSION_DONE 순서로 채널 발행 + 재생용 HASH 갱신")
+    void tracker_FusionDone_PublishesStagesInOrder() throws Exception {
+        // Given
+        doReturn(hashOps).when(redis).opsForHash();
+        FastApiResponseDto.FastApiFusionDto fusion = new FastApiResponseDto.FastApiFusionDto("건성", "DSPW",
+                new FastApiResponseDto.FastApiIndicesDto(0.5, 3.2, 1.5, 0.4, 1.0), null);
+
+        // When
+        AnalysisProgressHub.Tracker tracker = hub.tracker(7L, 100L);
+        tracker.fusionDone(fusion);
+        tracker.recommendationsDone(List.of());
+
+        // Then
+        ArgumentCaptor<String> messages = ArgumentCaptor.forClass(String.class);
+        verify(redis, times(3)).convertAndSend(eq(AnalysisProgressHub.CHANNEL), messages.capture());
+        List<String> stages = messages.getAllValues().stream()
+                .peek(m -> assertThat(m).startsWith("7:"))
+                .map(m -> readStage(m.substring(2)))
+                .toList();
+        assertThat(stages).containsExactly("VISION_DONE", "FUSION_DONE", "RECOMMENDATIONS_DONE");
+
+        JsonNode fused = objectMapper.readTree(messages.getAllValues().get(1).substring(2));
+        assertThat(fused.path("analysisId").asLong()).isEqualTo(100L);
+        assertThat(fused.at("/data/skinMbti").asText()).isEqualTo("DSPW");
+        verify(hashOps, times(3)).put(eq("analysis:progress:user:7"), eq("100"), anyString());
+    }
+
+    @Test
+    @DisplayName("TC-B13-E01: (예외) Redis 장애 시 발행 실패를 삼키고 분석 흐름은 계속, NONE 은 아무것도 발행하지 않음")
+    void publish_RedisDown_DoesNotThrow() {
+        // Given
+        when(redis.opsForHash()).thenThrow(new RedisConnectionFailureException("down"));
+
+        // When & Then
+        assertThatCode(() -> hub.publish(7L, 100L, AnalysisProgressHub.Stage.UPLOADED, null))
+                .doesNotThrowAnyException();
+        AnalysisProgressHub.Tracker.NONE.recommendationsDone(List.of());
+        verify(redis, never()).convertAndSend(anyString(), anyString());
+    }
+
+    private String readStage(String json) {
+        try {
+            return objectMapper.readTree(json).path("stage").asText();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.vegin.module.analysis.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vegin.common.ApiResponse;
+import com.vegin.domain.BSTInfo;
+import com.vegin.dto.response.CategoryRecommendationResponse;
+import com.vegin.external.dto.FastApiResponseDto;
+import com.vegin.module.analysis.AnalysisResultResponse;
+import com.vegin.module.recommend.service.IngredientMatcher;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("AnalysisResultRenderer 조각 이어붙이기 테스트")
+class AnalysisResultRendererTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final IngredientMatcher ingredientMatcher = new IngredientMatcher();
+    private final AnalysisResultRenderer renderer = new AnalysisResultRenderer(objectMapper, ingredientMatcher);
+
+    @Test
+    @DisplayName("TC-B12-N01: (정상) 이어붙인 응답이 ApiResponse<AnalysisResultResponse> 직렬화 결과와 같음")
+    void assemble_MatchesResponseDto() throws IOException {
+        // Given
+        FastApiResponseDto.FastApiProductDto product = new FastApiResponseDto.FastApiProductDto(
+                "cream_1", "수분 크림", "브랜드", List.of("정제수", "히알루론산", "알코올"),
+                25000, 4.6, 120, "cream", 1.82, 0.37, "https://img.example.com/1.jpg", List.of("보습"));
+        FastApiResponseDto result = new FastApiResponseDto("success",
+                new FastApiResponseDto.FastApiFusionDto("건성", "DSPW",
+                        new FastApiResponseDto.FastApiIndicesDto(0.5, 3.2, 1.5, 0.4, 1.0),
+                        new FastApiResponseDto.FastApiVisionRawDto(
+                                new FastApiResponseDto.FastApiScoreReasonDto(12.5, "적음"), null, null, null)),
+                List.of(product), null);
+
+        BSTInfo bst = BSTInfo.DSPW;
+        IngredientMatcher.BstMatch match = ingredientMatcher.match(bst, product.ingredients());
+        AnalysisResultResponse expected = AnalysisResultResponse.builder()
+                .userName("홍\"길동")
+                .skinMbtiType("DSPW")
+                .skinDisplayName("건성")
+                .headline(bst.getHeadline())
+                .skinDescription(bst.getDescription())
+                .whiteListIngredients(bst.getWhiteListIngredients())
+                .whiteListRecommendation(bst.getWhiteListRecommendation())
+                .blackListIngredients(bst.getBlackListIngredients())
+                .axis(result.fusion().indices())
+                .concerns(result.fusion().visionRaw())
+                .actions(AnalysisResultRenderer.ACTIONS)
+                .recommendations(List.of(CategoryRecommendationResponse.from(product, match.whiteList(), match.blackList())))
+                .build();
+
+        // When
+        byte[] document = renderer.assemble("홍\"길동", "DSPW", renderer.render(result));
+
+        // Then
+        JsonNode actual = objectMapper.readTree(document);
+        assertThat(actual).isEqualTo(objectMapper.valueToTree(ApiResponse.ok(expected)));
+        assertThat(actual.at("/data/recommendations/0/matchedWhiteList").get(0).asText()).isEqualTo("히알루론산");
+    }
+
+    @Test
+    @DisplayName("TC-B12-N02: (정상) 알 수 없는 MBTI 는 빈 BST 조각, fusion 이 없으면 렌더링하지 않음")
+    void assemble_UnknownMbti_EmptyBstFields() throws IOException {
+        // Given
+        FastApiResponseDto result = new FastApiResponseDto("success",
+                new FastApiResponseDto.FastApiFusionDto(null, "XXXX", null, null), null, null);
+
+        // When
+        JsonNode data = objectMapper.readTree(renderer.assemble(null, "XXXX", renderer.render(result))).path("data");
+
+        // Then
+        assertThat(data.path("userName").isNull()).isTrue();
+        assertThat(data.path("headline").asText()).isEmpty();
+        assertThat(data.path("whiteListIngredients")).isEmpty();
+        assertThat(data.path("skinDisplayName").asText()).isEmpty();
+        assertThat(data.path("recommendations")).isEmpty();
+        assertThat(renderer.render(new FastApiResponseDto("error", null, null, "실패"))).isNull();
+    }
+}
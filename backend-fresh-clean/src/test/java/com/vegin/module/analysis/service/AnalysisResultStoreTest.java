@@ -0,0 +1,52 @@
+package com.vegin.module.analysis.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("AnalysisResultStore 압축 형식 테스트")
+class AnalysisResultStoreTest {
+
+    @Test
+    @DisplayName("TC-B09-N01: (정상) 압축 후 해제하면 원본 JSON 그대로, 크기는 줄어듦")
+    void compress_RoundTrip() throws IOException {
+        // Given
+        String json = "{\"status\":\"success\",\"recommendations\":[" +
+                "{\"product_id\":\"A1\",\"productName\":\"크림\",\"ingredients\":[\"세라마이드\",\"판테놀\"]},".repeat(20) +
+                "{}]}";
+        byte[] raw = json.getBytes(StandardCharsets.UTF_8);
+
+        // When
+        byte[] stored = AnalysisResultStore.compress(raw);
+
+        // Then
+        assertThat(stored.length).isLessThan(raw.length / 4);
+        assertThat(new String(AnalysisResultStore.decompress(stored), StandardCharsets.UTF_8)).isEqualTo(json);
+    }
+
+    @Test
+    @DisplayName("TC-B09-N02: (정상) MySQL COMPRESS('hello') 결과를 그대로 읽음 (마이그레이션으로 옮긴 행)")
+    void decompress_MySqlCompressOutput() throws IOException {
+        // Given: SELECT HEX(COMPRESS('hello'))
+        byte[] mysql = HexFormat.of().parseHex("05000000789CCB48CDC9C90700062C0215");
+
+        // When & Then
+        assertThat(new String(AnalysisResultStore.decompress(mysql), StandardCharsets.UTF_8)).isEqualTo("hello");
+    }
+
+    @Test
+    @DisplayName("TC-B09-E01: (예외) 손상된 데이터는 IOException")
+    void decompress_Corrupted_Throws() {
+        // Given
+        byte[] corrupted = HexFormat.of().parseHex("05000000FFFFFFFF");
+
+        // When & Then
+        assertThatThrownBy(() -> AnalysisResultStore.decompress(corrupted)).isInstanceOf(IOException.class);
+    }
+}
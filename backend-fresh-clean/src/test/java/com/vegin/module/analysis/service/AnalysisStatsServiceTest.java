@@ -0,0 +1,79 @@
+package com.vegin.module.analysis.service;
+
+import com.vegin.dto.response.AnalysisStatsResponse;
+import com.vegin.module.analysis.domain.SkinAnalysisStatRow;
+import com.vegin.module.analysis.repository.SkinAnalysisRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AnalysisStatsService 단위 테스트")
+class AnalysisStatsServiceTest {
+
+    @Mock
+    private SkinAnalysisRepository analyses;
+
+    @InjectMocks
+    private AnalysisStatsService statsService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(statsService, "zone", "Asia/Seoul");
+        ReflectionTestUtils.setField(statsService, "maxDays", 366);
+    }
+
+    @Test
+    @DisplayName("TC-B10-N01: (정상) 기간을 [from 00:00, to+1 00:00) 로 조회하고 비율 계산")
+    void getStats_ValidRange_BuildsBuckets() {
+        // Given
+        LocalDate from = LocalDate.of(2025, 1, 1);
+        LocalDate to = LocalDate.of(2025, 1, 31);
+        OffsetDateTime fromTs = OffsetDateTime.parse("2025-01-01T00:00:00+09:00");
+        OffsetDateTime toTs = OffsetDateTime.parse("2025-02-01T00:00:00+09:00");
+
+        when(analyses.countByMbti(fromTs, toTs)).thenReturn(List.of(
+                new SkinAnalysisStatRow("DSPW", 3L, 0.2, 0.8, 0.3, 0.4, 0.1),
+                new SkinAnalysisStatRow("ORNT", 1L, 0.7, 0.2, 0.1, 0.2, 0.3)));
+        when(analyses.countBySkinType(fromTs, toTs)).thenReturn(List.of(
+                new SkinAnalysisStatRow("건성", 4L, 0.3, 0.6, 0.2, 0.3, 0.2)));
+
+        // When
+        AnalysisStatsResponse stats = statsService.getStats(from, to);
+
+        // Then
+        assertThat(stats.total()).isEqualTo(4L);
+        assertThat(stats.byMbti()).extracting(AnalysisStatsResponse.Bucket::code).containsExactly("DSPW", "ORNT");
+        assertThat(stats.byMbti().get(0).ratio()).isEqualTo(0.75);
+        assertThat(stats.byMbti().get(0).avgIndices().dry()).isEqualTo(0.8);
+        assertThat(stats.bySkinType().get(0).ratio()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("TC-B10-E01: (예외) from 이 to 보다 늦거나 기간이 최대 일수를 넘으면 IllegalArgumentException")
+    void getStats_InvalidRange_Throws() {
+        // When & Then
+        assertThatThrownBy(() -> statsService.getStats(LocalDate.of(2025, 2, 1), LocalDate.of(2025, 1, 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> statsService.getStats(LocalDate.of(2023, 1, 1), LocalDate.of(2025, 1, 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verify(analyses, never()).countByMbti(any(), any());
+    }
+}
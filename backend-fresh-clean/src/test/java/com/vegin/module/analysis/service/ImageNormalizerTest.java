@@ -0,0 +1,139 @@
+package com.vegin.module.analysis.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ImageNormalizer 단위 테스트")
+class ImageNormalizerTest {
+
+    private ThreadPoolTaskExecutor executor;
+    private ImageNormalizer normalizer;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.initialize();
+
+        normalizer = new ImageNormalizer(executor);
+        ReflectionTestUtils.setField(normalizer, "enabled", true);
+        ReflectionTestUtils.setField(normalizer, "targetShortSide", 768);
+        ReflectionTestUtils.setField(normalizer, "jpegQuality", 0.85f);
+        ReflectionTestUtils.setField(normalizer, "maxPixels", 50_000_000L);
+        ReflectionTestUtils.setField(normalizer, "timeoutSeconds", 10L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("TC-I01-N01: (정상) 큰 이미지는 짧은 변 768 JPEG 로 축소")
+    void normalize_LargeImage_DownscaledToShortSide() throws Exception {
+        // Given
+        byte[] png = encode(image(2000, 1000), "png");
+
+        // When
+        ImageNormalizer.Result result = normalizer.normalize(new ByteArrayInputStream(png));
+
+        // Then
+        assertThat(result.width()).isEqualTo(1536);
+        assertThat(result.height()).isEqualTo(768);
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(result.bytes()));
+        assertThat(decoded.getWidth()).isEqualTo(1536);
+        assertThat(result.bytes()[0]).isEqualTo((byte) 0xFF);   // JPEG SOI
+        assertThat(result.bytes()[1]).isEqualTo((byte) 0xD8);
+    }
+
+    @Test
+    @DisplayName("TC-I01-N02: (정상) EXIF orientation=6 이면 시계 방향 90도 회전 반영")
+    void normalize_ExifOrientation6_Rotated() throws Exception {
+        // Given: 좌상단이 빨간 2000x1000 JPEG + Orientation=6
+        byte[] jpeg = withExifOrientation(encode(image(2000, 1000), "jpeg"), 6);
+
+        // When
+        ImageNormalizer.Result result = normalizer.normalize(new ByteArrayInputStream(jpeg));
+
+        // Then: 세로 이미지가 되고, 빨간 모서리는 우상단으로 이동
+        assertThat(result.width()).isEqualTo(768);
+        assertThat(result.height()).isEqualTo(1536);
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(result.bytes()));
+        assertThat(new Color(decoded.getRGB(result.width() - 10, 10)).getRed()).isGreaterThan(200);
+        assertThat(new Color(decoded.getRGB(10, 10)).getRed()).isLessThan(50);
+    }
+
+    @Test
+    @DisplayName("TC-I01-N03: (정상) 작은 이미지는 확대하지 않음")
+    void normalize_SmallImage_NotUpscaled() throws Exception {
+        // Given
+        byte[] png = encode(image(400, 300), "png");
+
+        // When
+        ImageNormalizer.Result result = normalizer.normalize(new ByteArrayInputStream(png));
+
+        // Then
+        assertThat(result.width()).isEqualTo(400);
+        assertThat(result.height()).isEqualTo(300);
+    }
+
+    @Test
+    @DisplayName("TC-I01-E01: (예외) 이미지가 아닌 데이터는 IllegalArgumentException")
+    void normalize_NotAnImage_Throws() {
+        assertThatThrownBy(() -> normalizer.normalize(new ByteArrayInputStream("not-an-image".getBytes())))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // ================== 헬퍼 ==================
+
+    private static BufferedImage image(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(Color.RED);
+        g.fillRect(0, 0, 100, 100);
+        g.dispose();
+        return image;
+    }
+
+    private static byte[] encode(BufferedImage image, String format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, format, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * JFIF APP0 바로 뒤에 Orientation 태그 하나만 있는 APP1(Exif, big-endian) 세그먼트 삽입
+     */
+    private static byte[] withExifOrientation(byte[] jpeg, int orientation) {
+        byte[] app1 = {
+                (byte) 0xFF, (byte) 0xE1, 0, 34,
+                'E', 'x', 'i', 'f', 0, 0,
+                'M', 'M', 0, 42, 0, 0, 0, 8,          // TIFF 헤더, IFD0 offset=8
+                0, 1,                                 // entry 1개
+                0x01, 0x12, 0, 3, 0, 0, 0, 1, 0, (byte) orientation, 0, 0,
+                0, 0, 0, 0                            // next IFD 없음
+        };
+        int pos = 4 + (((jpeg[4] & 0xFF) << 8) | (jpeg[5] & 0xFF));   // SOI(2) + APP0 마커(2) + APP0 길이
+        byte[] out = new byte[jpeg.length + app1.length];
+        System.arraycopy(jpeg, 0, out, 0, pos);
+        System.arraycopy(app1, 0, out, pos, app1.length);
+        System.arraycopy(jpeg, pos, out, pos + app1.length, jpeg.length - pos);
+        return out;
+    }
+}
@@ -0,0 +1,77 @@
+package com.vegin.module.analysis.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vegin.dto.request.RecommendationCard;
+import com.vegin.module.analysis.domain.AnalysisEvent;
+import com.vegin.module.analysis.repository.RecommendationRepository;
+import com.vegin.module.users.service.ProfileSummaryCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RecommendationProjection 이벤트 소비 테스트")
+class RecommendationProjectionTest {
+
+    @Mock
+    private RecommendationRepository recommendations;
+
+    @Mock
+    private ProfileSummaryCache profileSummaryCache;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private RecommendationProjection projection;
+
+    private final AnalysisEvent event = new AnalysisEvent(100L, 1L, "DONE", "DSPW", "건성",
+            List.of(new RecommendationCard("cream_1", "수분 크림", "보습, 진정")));
+
+    @BeforeEach
+    void setUp() {
+        projection = new RecommendationProjection(recommendations, profileSummaryCache, objectMapper);
+    }
+
+    @Test
+    @DisplayName("TC-B16-N01: (정상) analysis.done → recommendation 행 저장 + 프로필 추천 목록 갱신")
+    void handle_DoneEvent_SavesRecommendation() throws Exception {
+        // Given
+        when(recommendations.existsByAnalysisId(100L)).thenReturn(false);
+
+        // When
+        projection.handle(7L, AnalysisEvent.DONE, event);
+
+        // Then
+        ArgumentCaptor<String> items = ArgumentCaptor.forClass(String.class);
+        verify(recommendations, times(1)).insertIfAbsent(eq(1L), eq(100L), items.capture());
+        assertThat(objectMapper.readTree(items.getValue()).get(0).path("productId").asText())
+                .isEqualTo("cream_1");
+        verify(profileSummaryCache, times(1)).onRecommendationSaved(1L, 100L);
+    }
+
+    @Test
+    @DisplayName("TC-B16-N02: (정상) 같은 이벤트 재전달 / 실패 이벤트는 아무것도 저장하지 않음")
+    void handle_RedeliveredOrFailed_NoOp() {
+        // Given
+        when(recommendations.existsByAnalysisId(100L)).thenReturn(true);
+
+        // When
+        projection.handle(7L, AnalysisEvent.DONE, event);
+        projection.handle(8L, AnalysisEvent.FAILED, event);
+
+        // Then
+        verify(recommendations, times(1)).existsByAnalysisId(100L);
+        verify(recommendations, never()).insertIfAbsent(any(), any(), any());
+        verifyNoInteractions(profileSummaryCache);
+    }
+}
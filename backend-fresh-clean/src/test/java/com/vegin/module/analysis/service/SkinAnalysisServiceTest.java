@@ -1,12 +1,16 @@
 package com.vegin.module.analysis.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vegin.common.S3Service;
+import com.vegin.dto.response.AnalysisHistoryResponse;
 import com.vegin.dto.response.AnalysisUploadResponse;
 import com.vegin.external.dto.FastApiResponseDto;
 import com.vegin.external.service.FastApiClient;
+import com.vegin.module.analysis.domain.AnalysisResultDocumentRow;
+import com.vegin.module.analysis.domain.AnalysisResultVersionRow;
 import com.vegin.module.analysis.domain.SkinAnalysis;
+import com.vegin.module.analysis.domain.SkinAnalysisSummary;
 import com.vegin.module.analysis.repository.SkinAnalysisRepository;
+import com.vegin.module.users.service.ProfileSummaryCache;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,18 +18,26 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.lang.reflect.Field;
-import java.util.HashMap;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
 import java.util.List;
-import java.util.Map;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -42,11 +54,35 @@ class SkinAnalysisServiceTest {
     private FastApiClient fastApiClient;
 
     @Mock
-    private ObjectMapper objectMapper;
+    private SkinAnalyzer skinAnalyzer;
+
+    @Mock
+    private AnalysisResultStore resultStore;
 
     @Mock
     private MultipartFile multipartFile;
 
+    @Mock
+    private AnalysisJobWorker jobWorker;
+
+    @Mock
+    private AnalysisContentHasher contentHasher;
+
+    @Mock
+    private ImageNormalizer imageNormalizer;
+
+    @Mock
+    private ProfileSummaryCache profileSummaryCache;
+
+    @Mock
+    private AnalysisResultRenderer resultRenderer;
+
+    @Mock
+    private AnalysisProgressHub progressHub;
+
+    @Mock
+    private AnalysisOutbox analysisOutbox;
+
     @InjectMocks
     private SkinAnalysisService skinAnalysisService;
 
@@ -90,11 +126,12 @@ class SkinAnalysisServiceTest {
         });
 
         // FastAPI 응답 Mock
-        Map<String, Object> fusion = new HashMap<>();
-        fusion.put("skin_type", "건성");
-        fusion.put("skin_mbti", "DSPW");
-        fusion.put("indices", new HashMap<>());
-        fusion.put("vision_raw", new HashMap<>());
+        FastApiResponseDto.FastApiFusionDto fusion = new FastApiResponseDto.FastApiFusionDto(
+                "건성",
+                "DSPW",
+                new FastApiResponseDto.FastApiIndicesDto(0.2, 0.8, 0.3, 0.4, 0.1),
+                null
+        );
 
         FastApiResponseDto fastApiResponse = new FastApiResponseDto(
                 "success",
@@ -103,13 +140,9 @@ class SkinAnalysisServiceTest {
                 null
         );
 
-        when(fastApiClient.analyzeWithImageUrl(anyString(), anyString()))
+        when(skinAnalyzer.analyze(anyString(), anyString(), any()))
                 .thenReturn(fastApiResponse);
 
-        // ObjectMapper Mock - JSON 변환
-        when(objectMapper.writeValueAsString(any(FastApiResponseDto.class)))
-                .thenReturn("{\"status\":\"success\",\"fusion\":{}}");
-
         // When
         AnalysisUploadResponse response = skinAnalysisService.uploadAndAnalyze(
                 userId,
@@ -126,12 +159,18 @@ class SkinAnalysisServiceTest {
         verify(s3Service, times(1)).upload(any(MultipartFile.class), anyString());
         verify(s3Service, times(1)).getUrl(anyString());
 
-        // 검증: DB 저장이 2번 호출되었는지 확인
-        verify(analyses, times(2)).save(any(SkinAnalysis.class));
+        // 검증: PENDING 은 바로 저장, DONE 은 완료 이벤트와 함께 outbox 경유로 저장
+        verify(analyses, times(1)).save(any(SkinAnalysis.class));
+        ArgumentCaptor<SkinAnalysis> doneCaptor = ArgumentCaptor.forClass(SkinAnalysis.class);
+        verify(analysisOutbox, times(1)).saveCompleted(doneCaptor.capture(), eq(fastApiResponse));
+
+        // 검증: 프로필 요약 캐시에 PENDING → DONE 순서로 반영
+        verify(profileSummaryCache, times(1)).onAnalysisSaved(any(SkinAnalysis.class), isNull());
+        verify(profileSummaryCache, times(1)).onAnalysisSaved(any(SkinAnalysis.class), eq(fastApiResponse));
 
         // 검증: ArgumentCaptor로 캡처된 모든 호출 검증
         List<SkinAnalysis> savedAnalyses = analysisCaptor.getAllValues();
-        assertThat(savedAnalyses).hasSize(2);
+        assertThat(savedAnalyses).hasSize(1);
 
         // 첫 번째 저장: PENDING 상태
         SkinAnalysis pendingAnalysis = savedAnalyses.get(0);
@@ -140,17 +179,22 @@ class SkinAnalysisServiceTest {
         assertThat(pendingAnalysis.getS3Key()).isNotNull();
         assertThat(pendingAnalysis.getS3Key()).startsWith("analysis/1/");
         assertThat(pendingAnalysis.getUserInput()).isEqualTo(surveyJson);
-        assertThat(pendingAnalysis.getResult()).isNull();
+        assertThat(pendingAnalysis.getSkinMbti()).isNull();
 
         // 두 번째 저장: DONE 상태
-        SkinAnalysis doneAnalysis = savedAnalyses.get(1);
+        SkinAnalysis doneAnalysis = doneCaptor.getValue();
         assertThat(doneAnalysis.getStatus()).isEqualTo("DONE");
-        assertThat(doneAnalysis.getResult()).isNotNull();
+        assertThat(doneAnalysis.getSkinMbti()).isEqualTo("DSPW");
+        assertThat(doneAnalysis.getSkinType()).isEqualTo("건성");
+        assertThat(doneAnalysis.getDryIndex()).isEqualTo(0.8);
         assertThat(doneAnalysis.getId()).isEqualTo(100L);
         assertThat(doneAnalysis.getUserId()).isEqualTo(userId);
 
+        // 검증: 결과 원본은 별도 저장소로
+        verify(resultStore, times(1)).save(100L, fastApiResponse);
+
         // 검증: FastAPI 호출 확인
-        verify(fastApiClient, times(1)).analyzeWithImageUrl(imageUrl, surveyJson);
+        verify(skinAnalyzer, times(1)).analyze(eq(imageUrl), eq(surveyJson), any());
     }
 
     @Test
@@ -185,6 +229,301 @@ class SkinAnalysisServiceTest {
         verify(analyses, never()).save(any(SkinAnalysis.class));
 
         // 검증: FastAPI 호출은 하지 않음
-        verify(fastApiClient, never()).analyzeWithImageUrl(anyString(), anyString());
+        verify(skinAnalyzer, never()).analyze(anyString(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("TC-B03-N01: (정상) 비동기 모드 - PENDING 저장 후 즉시 반환, FastAPI는 워커에 위임")
+    void submitAnalysis_ValidRequest_ReturnsPending() {
+        // Given
+        Long userId = 1L;
+        String surveyJson = "{\"q1\":\"1\"}";
+        String imageUrl = "https://vegin-media-submit.s3.ap-northeast-2.amazonaws.com/analysis/1/1234567890_abc12345.jpg";
+
+        when(multipartFile.isEmpty()).thenReturn(false);
+        when(multipartFile.getOriginalFilename()).thenReturn("skin.jpg");
+        when(s3Service.getUrl(anyString())).thenReturn(imageUrl);
+        when(analyses.save(any(SkinAnalysis.class))).thenAnswer(invocation -> {
+            SkinAnalysis analysis = invocation.getArgument(0);
+            setId(analysis, 200L);
+            return analysis;
+        });
+
+        // When
+        AnalysisUploadResponse response = skinAnalysisService.submitAnalysis(userId, multipartFile, surveyJson);
+
+        // Then
+        assertThat(response.analysisId()).isEqualTo(200L);
+        assertThat(response.status()).isEqualTo("PENDING");
+
+        // 검증: PENDING 저장 1회, 워커 등록, 요청 스레드에서는 FastAPI 호출 없음
+        verify(analyses, times(1)).save(any(SkinAnalysis.class));
+        verify(jobWorker, times(1)).submit(userId, 200L, imageUrl, surveyJson);
+        verify(progressHub, times(1)).publish(userId, 200L, AnalysisProgressHub.Stage.UPLOADED, null);
+        verify(skinAnalyzer, never()).analyze(anyString(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("TC-B04-N01: (정상) 같은 사진 + 같은 설문 재요청 시 S3 / FastAPI 생략하고 기존 결과 재사용")
+    void uploadAndAnalyze_DuplicateContent_ReusesCachedResult() {
+        // Given
+        Long userId = 1L;
+        String surveyJson = "{\"q1\":\"1\"}";
+        String hash = "a".repeat(64);
+        String cachedKey = "analysis/1/1111111111_cached00.jpg";
+        ReflectionTestUtils.setField(skinAnalysisService, "dedupEnabled", true);
+
+        when(multipartFile.isEmpty()).thenReturn(false);
+        when(contentHasher.hash(multipartFile, surveyJson)).thenReturn(hash);
+
+        SkinAnalysis cached = SkinAnalysis.builder()
+                .userId(userId)
+                .s3Key(cachedKey)
+                .status("DONE")
+                .skinMbti("DSPW")
+                .skinType("건성")
+                .contentHash(hash)
+                .build();
+        setId(cached, 10L);
+        when(analyses.findFirstByUserIdAndContentHashAndStatusOrderByIdDesc(userId, hash, "DONE"))
+                .thenReturn(Optional.of(cached));
+
+        ArgumentCaptor<SkinAnalysis> analysisCaptor = ArgumentCaptor.forClass(SkinAnalysis.class);
+        when(analysisOutbox.saveCopy(eq(cached), analysisCaptor.capture())).thenAnswer(invocation -> {
+            SkinAnalysis analysis = invocation.getArgument(1);
+            setId(analysis, 11L);
+            return analysis;
+        });
+        when(s3Service.getUrl(cachedKey)).thenReturn("https://cdn.example.com/" + cachedKey);
+
+        // When
+        AnalysisUploadResponse response = skinAnalysisService.uploadAndAnalyze(userId, multipartFile, surveyJson);
+
+        // Then
+        assertThat(response.analysisId()).isEqualTo(11L);
+        assertThat(response.status()).isEqualTo("DONE");
+
+        // 검증: 사본 행은 결과 복사 + analysis.done 이벤트와 함께 저장 (AnalysisOutbox.saveCopy)
+        SkinAnalysis saved = analysisCaptor.getValue();
+        assertThat(saved.getStatus()).isEqualTo("DONE");
+        assertThat(saved.getS3Key()).isEqualTo(cachedKey);
+        assertThat(saved.getSkinMbti()).isEqualTo("DSPW");
+        verify(analyses, never()).save(any(SkinAnalysis.class));
+
+        // 검증: 업로드 / FastAPI 호출 없음
+        verify(s3Service, never()).upload(any(MultipartFile.class), anyString());
+        verify(skinAnalyzer, never()).analyze(anyString(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("TC-B05-N01: (정상) 스트리밍 업로드 - 요청 본문을 그대로 S3에 올리고 동기 분석")
+    void uploadStreamAndAnalyze_ValidBody_StreamsToS3() {
+        // Given
+        Long userId = 1L;
+        String surveyJson = "{\"q1\":\"1\"}";
+        byte[] bytes = "fake-image".getBytes();
+        InputStream body = new ByteArrayInputStream(bytes);
+        String imageUrl = "https://cdn.example.com/analysis/1/stream.jpg";
+
+        when(s3Service.getUrl(anyString())).thenReturn(imageUrl);
+        when(analyses.save(any(SkinAnalysis.class))).thenAnswer(invocation -> {
+            SkinAnalysis analysis = invocation.getArgument(0);
+            setId(analysis, 300L);
+            return analysis;
+        });
+        when(skinAnalyzer.analyze(eq(imageUrl), eq(surveyJson), any()))
+                .thenReturn(new FastApiResponseDto("success", null, List.of(), null));
+
+        // When
+        AnalysisUploadResponse response = skinAnalysisService.uploadStreamAndAnalyze(
+                userId, body, bytes.length, "image/jpeg", surveyJson);
+
+        // Then
+        assertThat(response.analysisId()).isEqualTo(300L);
+        assertThat(response.status()).isEqualTo("DONE");
+
+        // 검증: 같은 스트림 객체가 길이와 함께 S3로 전달 (byte[] 복사 없음), .jpg 확장자 키
+        ArgumentCaptor<String> keyCaptor = ArgumentCaptor.forClass(String.class);
+        verify(s3Service, times(1)).upload(eq(body), eq((long) bytes.length), eq("image/jpeg"), keyCaptor.capture());
+        assertThat(keyCaptor.getValue()).startsWith("analysis/1/").endsWith(".jpg");
+        verify(s3Service, never()).upload(any(MultipartFile.class), anyString());
+        verify(analyses, times(1)).save(any(SkinAnalysis.class));
+        verify(analysisOutbox, times(1)).saveCompleted(any(SkinAnalysis.class), any());
+        verifyNoInteractions(imageNormalizer); // 스트리밍 경로는 정규화하지 않음 (전체 버퍼링 방지)
+    }
+
+    @Test
+    @DisplayName("TC-B06-N01: (정상) 이미지 정규화 활성 시 축소된 JPEG 를 .jpg 키로 업로드")
+    void uploadAndAnalyze_NormalizeEnabled_UploadsNormalizedJpeg() throws Exception {
+        // Given
+        Long userId = 1L;
+        String surveyJson = "{\"q1\":\"1\"}";
+        byte[] normalizedBytes = new byte[]{1, 2, 3, 4};
+        String imageUrl = "https://cdn.example.com/analysis/1/normalized.jpg";
+
+        when(multipartFile.isEmpty()).thenReturn(false);
+        when(multipartFile.getContentType()).thenReturn("image/png");
+        when(multipartFile.getInputStream()).thenReturn(new ByteArrayInputStream(new byte[10]));
+        when(imageNormalizer.isEnabled()).thenReturn(true);
+        when(imageNormalizer.supports("image/png")).thenReturn(true);
+        when(imageNormalizer.normalize(any(InputStream.class)))
+                .thenReturn(new ImageNormalizer.Result(normalizedBytes, 768, 1024));
+        when(s3Service.getUrl(anyString())).thenReturn(imageUrl);
+        when(analyses.save(any(SkinAnalysis.class))).thenAnswer(invocation -> {
+            SkinAnalysis analysis = invocation.getArgument(0);
+            setId(analysis, 400L);
+            return analysis;
+        });
+        when(skinAnalyzer.analyze(eq(imageUrl), eq(surveyJson), any()))
+                .thenReturn(new FastApiResponseDto("success", null, List.of(), null));
+
+        // When
+        AnalysisUploadResponse response = skinAnalysisService.uploadAndAnalyze(userId, multipartFile, surveyJson);
+
+        // Then
+        assertThat(response.analysisId()).isEqualTo(400L);
+
+        // 검증: 원본 multipart 업로드 대신 정규화된 바이트를 image/jpeg 로 업로드
+        ArgumentCaptor<String> keyCaptor = ArgumentCaptor.forClass(String.class);
+        verify(s3Service, times(1)).upload(any(InputStream.class), eq((long) normalizedBytes.length),
+                eq("image/jpeg"), keyCaptor.capture());
+        assertThat(keyCaptor.getValue()).startsWith("analysis/1/").endsWith(".jpg");
+        verify(s3Service, never()).upload(any(MultipartFile.class), anyString());
+    }
+
+    @Test
+    @DisplayName("TC-B07-E01: (예외) 직접 업로드 확인 - 이미 분석 요청된 key 는 다시 분석하지 않음")
+    void confirmUpload_AlreadyConfirmedKey_Rejected() {
+        // Given
+        Long userId = 1L;
+        String key = "analysis/1/1234567890_abc12345.jpg";
+        ReflectionTestUtils.setField(skinAnalysisService, "maxUploadSize", DataSize.ofMegabytes(20));
+        when(analyses.existsByS3Key(key)).thenReturn(true);
+
+        // When & Then
+        assertThatThrownBy(() -> skinAnalysisService.confirmUpload(userId, key, "{}"))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        // 검증: 본인 폴더 기준으로 업로드 확인, 새 분석 행 / FastAPI 호출 없음
+        verify(s3Service, times(1)).verifyUpload(key, "analysis/1/", DataSize.ofMegabytes(20).toBytes());
+        verify(analyses, never()).save(any(SkinAnalysis.class));
+        verify(skinAnalyzer, never()).analyze(anyString(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("TC-B08-N01: (정상) 히스토리 - size+1 건으로 다음 페이지 판단, nextCursor 로 이어서 조회")
+    void getHistory_KeysetPagination_ReturnsCursor() {
+        // Given
+        Long userId = 1L;
+        OffsetDateTime base = OffsetDateTime.parse("2025-01-01T00:00:00Z");
+        List<SkinAnalysisSummary> firstRows = List.of(
+                new SkinAnalysisSummary(30L, "analysis/1/c.jpg", "DONE", base.plusMinutes(3)),
+                new SkinAnalysisSummary(20L, "analysis/1/b.jpg", "DONE", base.plusMinutes(2)),
+                new SkinAnalysisSummary(10L, "analysis/1/a.jpg", "PENDING", base.plusMinutes(1)));
+        when(analyses.findHistory(eq(userId), any(Pageable.class))).thenReturn(firstRows);
+        when(s3Service.getUrl(anyString())).thenAnswer(inv -> "https://cdn.example.com/" + inv.getArgument(0));
+
+        // When
+        AnalysisHistoryResponse first = skinAnalysisService.getHistory(userId, null, 2);
+
+        // Then: 2건만 내려주고 마지막 행(20) 기준 커서
+        assertThat(first.items()).extracting(AnalysisHistoryResponse.Item::analysisId).containsExactly(30L, 20L);
+        assertThat(first.nextCursor()).isNotNull();
+
+        // When: 다음 페이지
+        when(analyses.findHistoryBefore(eq(userId), any(OffsetDateTime.class), eq(20L), any(Pageable.class)))
+                .thenReturn(List.of(firstRows.get(2)));
+        AnalysisHistoryResponse second = skinAnalysisService.getHistory(userId, first.nextCursor(), 2);
+
+        // Then
+        ArgumentCaptor<OffsetDateTime> createdAt = ArgumentCaptor.forClass(OffsetDateTime.class);
+        verify(analyses).findHistoryBefore(eq(userId), createdAt.capture(), eq(20L), any(Pageable.class));
+        assertThat(createdAt.getValue().toInstant()).isEqualTo(base.plusMinutes(2).toInstant());
+        assertThat(second.items()).extracting(AnalysisHistoryResponse.Item::analysisId).containsExactly(10L);
+        assertThat(second.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("TC-B08-E01: (예외) 히스토리 - 잘못된 cursor 는 IllegalArgumentException")
+    void getHistory_InvalidCursor_Throws() {
+        assertThatThrownBy(() -> skinAnalysisService.getHistory(1L, "not-a-cursor", 20))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(analyses, never()).findHistoryBefore(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("TC-B12-N03: (정상) 결과 상세 - 미리 렌더링된 조각이 있으면 원본을 읽지 않고 이어붙임")
+    void getAnalysisResultDocument_Rendered_SkipsPayload() {
+        // Given
+        byte[] rendered = "\"skinMbtiType\":\"DSPW\"".getBytes(StandardCharsets.UTF_8);
+        byte[] body = "{\"code\":200}".getBytes(StandardCharsets.UTF_8);
+        OffsetDateTime storedAt = OffsetDateTime.parse("2025-01-01T00:00:00Z");
+        when(analyses.findResultDocument(10L, 1L))
+                .thenReturn(Optional.of(new AnalysisResultDocumentRow("DONE", "DSPW", rendered, storedAt, "홍길동")));
+        when(resultRenderer.etag(10L, storedAt, "홍길동")).thenReturn("\"10-abc\"");
+        when(resultRenderer.assemble("홍길동", "DSPW", rendered)).thenReturn(body);
+
+        // When
+        AnalysisResultDocument result = skinAnalysisService.getAnalysisResultDocument(10L, 1L, null);
+
+        // Then
+        assertThat(result.body()).isSameAs(body);
+        assertThat(result.etag()).isEqualTo("\"10-abc\"");
+        verify(resultStore, never()).load(any());
+        verify(resultRenderer, never()).render(any());
+    }
+
+    @Test
+    @DisplayName("TC-B12-N04: (정상) 결과 상세 - If-None-Match 가 현재 ETag 와 같으면 본문 없이 반환 (304)")
+    void getAnalysisResultDocument_ETagMatches_NotModified() {
+        // Given
+        OffsetDateTime storedAt = OffsetDateTime.parse("2025-01-01T00:00:00Z");
+        when(analyses.findResultVersion(10L, 1L))
+                .thenReturn(Optional.of(new AnalysisResultVersionRow("DONE", storedAt, "홍길동")));
+        when(resultRenderer.etag(10L, storedAt, "홍길동")).thenReturn("\"10-abc\"");
+
+        // When
+        AnalysisResultDocument result = skinAnalysisService.getAnalysisResultDocument(10L, 1L, "W/\"10-abc\", \"10-old\"");
+
+        // Then: rendered BLOB 을 읽는 쿼리는 타지 않음
+        assertThat(result.isNotModified()).isTrue();
+        verify(analyses, never()).findResultDocument(any(), any());
+        verify(resultRenderer, never()).assemble(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("TC-B12-N05: (정상) 결과 상세 - 닉네임이 바뀌어 ETag 가 다르면 새 본문 반환")
+    void getAnalysisResultDocument_NicknameChanged_ReturnsBody() {
+        // Given
+        byte[] rendered = "\"skinMbtiType\":\"DSPW\"".getBytes(StandardCharsets.UTF_8);
+        byte[] body = "{\"code\":200}".getBytes(StandardCharsets.UTF_8);
+        OffsetDateTime storedAt = OffsetDateTime.parse("2025-01-01T00:00:00Z");
+        when(analyses.findResultVersion(10L, 1L))
+                .thenReturn(Optional.of(new AnalysisResultVersionRow("DONE", storedAt, "새닉네임")));
+        when(analyses.findResultDocument(10L, 1L))
+                .thenReturn(Optional.of(new AnalysisResultDocumentRow("DONE", "DSPW", rendered, storedAt, "새닉네임")));
+        when(resultRenderer.etag(10L, storedAt, "새닉네임")).thenReturn("\"10-new\"");
+        when(resultRenderer.assemble("새닉네임", "DSPW", rendered)).thenReturn(body);
+
+        // When
+        AnalysisResultDocument result = skinAnalysisService.getAnalysisResultDocument(10L, 1L, "\"10-abc\"");
+
+        // Then
+        assertThat(result.isNotModified()).isFalse();
+        assertThat(result.etag()).isEqualTo("\"10-new\"");
+        assertThat(result.body()).isSameAs(body);
+    }
+
+    @Test
+    @DisplayName("TC-B12-E01: (예외) 결과 상세 - DONE 이 아니면 IllegalArgumentException")
+    void getAnalysisResultDocument_Pending_Throws() {
+        // Given
+        when(analyses.findResultDocument(10L, 1L))
+                .thenReturn(Optional.of(new AnalysisResultDocumentRow("PENDING", null, null, null, "홍길동")));
+
+        // When & Then
+        assertThatThrownBy(() -> skinAnalysisService.getAnalysisResultDocument(10L, 1L, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(resultRenderer, never()).assemble(any(), any(), any());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,116 @@
+package com.vegin.module.analysis.service;
+
+import com.vegin.external.dto.FastApiResponseDto;
+import com.vegin.external.service.FastApiClient;
+import com.vegin.module.recommend.service.LtrRecommender;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SkinAnalyzer / RecommendationCache 단위 테스트")
+class SkinAnalyzerTest {
+
+    private static final FastApiResponseDto.FastApiFusionDto FUSION = new FastApiResponseDto.FastApiFusionDto(
+            "건성", "DSPW", new FastApiResponseDto.FastApiIndicesDto(0.5, 3.2, 1.5, 0.4, 1.0), null);
+    private static final FastApiResponseDto.FastApiProductDto PRODUCT = new FastApiResponseDto.FastApiProductDto(
+            "A1", "크림", "브랜드", List.of(), 15000, 4.5, 10, "cream", 1.2, 0.8, null, List.of("보습"));
+
+    @Mock
+    private FastApiClient fastApiClient;
+
+    @Mock
+    private RecommendationCache recommendationCache;
+
+    @Mock
+    private LtrRecommender ltrRecommender;
+
+    private SkinAnalyzer skinAnalyzer;
+
+    @BeforeEach
+    void setUp() {
+        skinAnalyzer = new SkinAnalyzer(fastApiClient, recommendationCache, ltrRecommender, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("TC-B11-N01: (정상) 캐시 적중 시 FastAPI 에는 fusion 만 요청하고 /recommend 는 호출하지 않음")
+    void analyze_CacheHit_SkipsRecommend() {
+        // Given
+        when(recommendationCache.isEnabled()).thenReturn(true);
+        when(fastApiClient.analyzeWithImageUrl("url", "{}", false))
+                .thenReturn(new FastApiResponseDto("success", FUSION, List.of(), null));
+        when(recommendationCache.get(FUSION)).thenReturn(Optional.of(List.of(PRODUCT)));
+
+        // When
+        FastApiResponseDto res = skinAnalyzer.analyze("url", "{}", AnalysisProgressHub.Tracker.NONE);
+
+        // Then
+        assertThat(res.fusion()).isEqualTo(FUSION);
+        assertThat(res.recommendations()).containsExactly(PRODUCT);
+        verify(fastApiClient, never()).recommend(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("TC-B11-N02: (정상) 캐시 미스 시 /recommend 결과를 캐시에 저장")
+    void analyze_CacheMiss_RecommendsAndStores() {
+        // Given
+        when(recommendationCache.isEnabled()).thenReturn(true);
+        when(recommendationCache.getTopk()).thenReturn(3);
+        when(fastApiClient.analyzeWithImageUrl("url", "{}", false))
+                .thenReturn(new FastApiResponseDto("success", FUSION, List.of(), null));
+        when(recommendationCache.get(FUSION)).thenReturn(Optional.empty());
+        when(fastApiClient.recommend(FUSION, 3)).thenReturn(List.of(PRODUCT));
+
+        // When
+        FastApiResponseDto res = skinAnalyzer.analyze("url", "{}", AnalysisProgressHub.Tracker.NONE);
+
+        // Then
+        assertThat(res.recommendations()).containsExactly(PRODUCT);
+        verify(recommendationCache, times(1)).put(FUSION, List.of(PRODUCT));
+    }
+
+    @Test
+    @DisplayName("TC-B11-N04: (정상) 내장 LTR 엔진이 있으면 캐시 / FastAPI /recommend 없이 로컬 추천")
+    void analyze_LocalEngine_SkipsCacheAndRecommend() {
+        // Given
+        when(ltrRecommender.isAvailable()).thenReturn(true);
+        when(recommendationCache.getTopk()).thenReturn(3);
+        when(fastApiClient.analyzeWithImageUrl("url", "{}", false))
+                .thenReturn(new FastApiResponseDto("success", FUSION, List.of(), null));
+        when(ltrRecommender.recommend(FUSION, 3)).thenReturn(Optional.of(List.of(PRODUCT)));
+
+        // When
+        FastApiResponseDto res = skinAnalyzer.analyze("url", "{}", AnalysisProgressHub.Tracker.NONE);
+
+        // Then
+        assertThat(res.recommendations()).containsExactly(PRODUCT);
+        verify(recommendationCache, never()).get(any());
+        verify(fastApiClient, never()).recommend(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("TC-B11-N03: (정상) 버킷은 skinType + MBTI + 지수별 high 여부 (es_ltr_online level_* 기준)")
+    void bucket_QuantizesIndices() {
+        // Given: dry 3.2 → high, sensitivity 1.5 → high, oil / pigment → 그 외
+        // When & Then
+        assertThat(RecommendationCache.bucket(FUSION)).isEqualTo("건성:DSPW:LHHL");
+
+        FastApiResponseDto.FastApiFusionDto nearby = new FastApiResponseDto.FastApiFusionDto(
+                "건성", "dspw", new FastApiResponseDto.FastApiIndicesDto(0.9, 3.0, 1.31, 0.1, 1.6), null);
+        assertThat(RecommendationCache.bucket(nearby)).isEqualTo("건성:DSPW:LHHL");
+
+        assertThat(RecommendationCache.bucket(
+                new FastApiResponseDto.FastApiFusionDto("건성", null, null, null))).isNull();
+    }
+}
@@ -0,0 +1,55 @@
+package com.vegin.module.recommend.service;
+
+import com.vegin.domain.BSTInfo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("IngredientMatcher / IngredientSet 단위 테스트")
+class IngredientMatcherTest {
+
+    private final IngredientMatcher matcher = new IngredientMatcher();
+
+    @Test
+    @DisplayName("TC-R02-N01: (정상) 농도 표기를 뗀 성분 이름으로 BST whiteList / blackList 매칭")
+    void match_StripsQualifiers() {
+        // Given: DSPW whiteList "레티놀(저농도)", "나이아신아마이드(저농도)" / blackList "고농도 레티놀"
+        List<String> ingredients = List.of("정제수", "나이아신아마이드", "히알루론산", "레티놀", "향료");
+
+        // When
+        IngredientMatcher.BstMatch match = matcher.match(BSTInfo.DSPW, ingredients);
+
+        // Then: BST 표기 그대로, 목록 순서
+        assertThat(match.whiteList()).containsExactly("히알루론산", "레티놀(저농도)", "나이아신아마이드(저농도)");
+        assertThat(match.blackList()).containsExactly("고농도 레티놀");
+        assertThat(matcher.whiteListOverlap(BSTInfo.DSPW, matcher.lookup(ingredients))).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("TC-R02-N02: (정상) countIn 은 중복 성분까지 세고 overlap 은 서로 다른 성분만 셈")
+    void ingredientSet_CountsRepeats() {
+        // Given: 64 경계를 넘는 id 포함
+        IngredientSet product = IngredientSet.of(new int[]{3, 70, 3, 200, -1});
+        long[] vocab = IngredientSet.denseWords(256);
+        IngredientSet.of(new int[]{3, 200}).orInto(vocab);
+
+        // When & Then
+        assertThat(product.cardinality()).isEqualTo(3);
+        assertThat(product.contains(70)).isTrue();
+        assertThat(product.contains(71)).isFalse();
+        assertThat(product.countIn(vocab)).isEqualTo(3);
+        assertThat(product.overlap(IngredientSet.of(new int[]{3, 200, 500}))).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("TC-R02-E01: (예외) 사전에 없는 성분 / 알 수 없는 BST 코드는 매칭 없음")
+    void match_UnknownIngredientOrCode() {
+        // When & Then
+        assertThat(matcher.match(null, List.of("히알루론산"))).isEqualTo(IngredientMatcher.BstMatch.NONE);
+        assertThat(matcher.match(BSTInfo.DSPW, List.of("처음 보는 성분"))).isEqualTo(IngredientMatcher.BstMatch.NONE);
+        assertThat(matcher.dictionary().idOf("처음 보는 성분")).isEqualTo(-1);
+    }
+}
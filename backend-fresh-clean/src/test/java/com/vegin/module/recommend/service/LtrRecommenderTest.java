@@ -0,0 +1,220 @@
+package com.vegin.module.recommend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vegin.external.dto.FastApiResponseDto;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 골든셋 (src/test/resources/ltr)
+ * - ltr_booster.json : AI/ltr_booster.json 사본
+ * - catalog.json     : 합성 카탈로그 (8차원 벡터, 카테고리별 24개)
+ * - golden.json      : 기대 순서 / 점수, 출처는 generated_by 필드
+ *                      "xgboost x.y.z" : es_ltr_online.rank_candidates (featurize → XGBoost predict → _topk_per_category) 결과
+ *                      "reference evaluator (not xgboost)" : 후보 / 특징 / top-k 규칙은 같지만 score_ltr 은 booster JSON 을
+ *                      별도 평가기로 계산한 값 → 두 평가기 간 일치(회귀)만 확인, XGBoost 일치 테스트는 건너뜀
+ *                      (지금 커밋된 골든셋이 이 경우 → ai.ltr.enabled 는 XGBoost 골든셋으로 확인하기 전까지 끔)
+ *                      다시 만들기 (xgboost 설치 필요, ES 불필요):
+ *                      cd AI && python export_ltr_catalog.py --out /tmp/ltr --golden 8
+ *                          --catalog ../backend-fresh-clean/src/test/resources/ltr/catalog.json
+ */
+@DisplayName("LtrRecommender 골든셋 / 트리 평가 단위 테스트")
+class LtrRecommenderTest {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static LtrRecommender.Engine engine;
+    private static JsonNode golden;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        try (InputStream catalog = resource("catalog.json"); InputStream booster = resource("ltr_booster.json");
+             InputStream cases = resource("golden.json")) {
+            engine = new LtrRecommender.Engine(
+                    ProductIndex.load(catalog, objectMapper, new IngredientMatcher()), LtrBooster.load(booster, objectMapper), Map.of());
+            golden = objectMapper.readTree(cases);
+        }
+    }
+
+    private static InputStream resource(String name) {
+        return LtrRecommenderTest.class.getResourceAsStream("/ltr/" + name);
+    }
+
+    @Test
+    @DisplayName("TC-R01-N01: (정상) golden.json 과 추천 순서 / score_es / score_ltr 가 같음 (회귀 확인)")
+    void recommend_MatchesGolden() throws IOException {
+        assertMatchesGolden();
+    }
+
+    @Test
+    @DisplayName("TC-R01-N04: (정상) XGBoost 로 만든 골든셋이면 es_ltr_online 과 순서 / 점수가 같음")
+    void recommend_MatchesXgboostGolden() throws IOException {
+        String generatedBy = golden.path("generated_by").asText();
+        assumeTrue(generatedBy.startsWith("xgboost"),
+                "golden.json 이 XGBoost 결과가 아님 (" + generatedBy + ") → XGBoost 일치 미검증");
+        assertMatchesGolden();
+    }
+
+    private void assertMatchesGolden() throws IOException {
+        int topk = golden.path("topk").asInt();
+        for (JsonNode c : golden.path("cases")) {
+            // Given
+            FastApiResponseDto.FastApiFusionDto fusion =
+                    objectMapper.treeToValue(c.path("fusion"), FastApiResponseDto.FastApiFusionDto.class);
+
+            // When
+            Optional<List<FastApiResponseDto.FastApiProductDto>> result = engine.recommend(fusion, topk);
+
+            // Then
+            assertThat(result).isPresent();
+            List<String> expectedIds = new ArrayList<>();
+            c.path("expected").forEach(e -> expectedIds.add(e.path("product_id").asText()));
+            assertThat(result.get()).extracting(FastApiResponseDto.FastApiProductDto::productId)
+                    .as("fusion=%s", fusion)
+                    .containsExactlyElementsOf(expectedIds);
+
+            for (int i = 0; i < expectedIds.size(); i++) {
+                JsonNode e = c.path("expected").get(i);
+                assertThat(result.get().get(i).scoreEs()).isCloseTo(e.path("score_es").asDouble(), within(1e-5));
+                assertThat(result.get().get(i).scoreLtr()).isCloseTo(e.path("score_ltr").asDouble(), within(1e-5));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("TC-R01-N02: (정상) 트리 분기는 x < 분기값 이면 왼쪽, NaN 은 default_left")
+    void predict_SplitAndMissing() throws IOException {
+        // Given: f0 < 1.0 → 왼쪽(리프 0.25), 아니면 오른쪽(리프 -0.5), 결측은 오른쪽 / base_score 0.5
+        LtrBooster booster = LtrBooster.parse(objectMapper.readTree("""
+                {"learner": {
+                  "learner_model_param": {"base_score": "[5E-1]", "num_class": "0", "num_feature": "2", "num_target": "1"},
+                  "gradient_booster": {"name": "gbtree", "model": {"trees": [{
+                    "left_children": [1, -1, -1], "right_children": [2, -1, -1],
+                    "split_indices": [0, 0, 0], "split_conditions": [1.0, 0.25, -0.5],
+                    "default_left": [0, 0, 0], "categories_nodes": []
+                  }]}}
+                }}
+                """));
+
+        // When & Then
+        assertThat(booster.predict(new float[]{0.99f, 0f})).isEqualTo(0.75f);
+        assertThat(booster.predict(new float[]{1.0f, 0f})).isEqualTo(0.0f);
+        assertThat(booster.predict(new float[]{Float.NaN, 0f})).isEqualTo(0.0f);
+    }
+
+    @Test
+    @DisplayName("TC-R01-N03: (정상) HNSW 그래프를 파일로 빌드 → mmap 로드, recall-target 을 만족하는 ef 로 보정")
+    void hnsw_BuildLoadAndCalibrate(@TempDir Path dir) throws IOException {
+        // Given: cream 3000개 (32차원 랜덤), 쿼리 64개
+        Random random = new Random(7);
+        List<ProductIndex.CatalogProduct> products = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            products.add(new ProductIndex.CatalogProduct("cream_" + i, "cream", "크림 " + i, "브랜드", 10000.0,
+                    List.of(), 4.5, 10.0, null, List.of(), randomVector(random, 32)));
+        }
+        Map<String, float[]> queries = new HashMap<>();
+        for (int q = 0; q < 64; q++) {
+            queries.put("q" + q, randomVector(random, 32));
+        }
+        ProductIndex index = ProductIndex.build(new ProductIndex.CatalogFile("v1", 32, queries, products), new IngredientMatcher());
+        LtrRecommender.HnswSettings settings = new LtrRecommender.HnswSettings(
+                true, dir.resolve("catalog.hnsw"), 16, 100, 1000, 0.95, 512);
+
+        // When
+        Map<String, LtrRecommender.Ann> ann = LtrRecommender.loadAnn(index, settings);
+
+        // Then: 작은 카테고리는 전수 비교, cream 만 그래프 / 다시 읽어도 같은 카탈로그 + 빌드 설정으로 인식
+        assertThat(ann).containsOnlyKeys("cream");
+        LtrRecommender.Ann cream = ann.get("cream");
+        assertThat(LtrRecommender.recall(index.category("cream"), cream.graph(), index, cream.ef()))
+                .isGreaterThanOrEqualTo(0.95);
+        HnswIndex saved = HnswIndex.load(settings.path());
+        assertThat(saved.matches(index, 16, 100, settings.minSize())).isTrue();
+        assertThat(saved.matches(index, 16, 100, 5000)).isFalse();
+        // 빌드 설정이 바뀌면 같은 카탈로그라도 다시 빌드 대상
+        assertThat(saved.matches(index, 32, 100, settings.minSize())).isFalse();
+        assertThat(saved.matches(index, 16, 200, settings.minSize())).isFalse();
+    }
+
+    @Test
+    @DisplayName("TC-R01-N05: (정상) 가상 스레드 여러 개가 같은 그래프를 동시에 탐색해도 단일 탐색과 결과가 같음")
+    void hnsw_ConcurrentSearch_SameAsSequential(@TempDir Path dir) throws Exception {
+        // Given: cream 2000개 (16차원 랜덤), 방문 표시 풀보다 많은 동시 탐색
+        Random random = new Random(11);
+        List<ProductIndex.CatalogProduct> products = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            products.add(new ProductIndex.CatalogProduct("cream_" + i, "cream", "크림 " + i, "브랜드", 10000.0,
+                    List.of(), 4.5, 10.0, null, List.of(), randomVector(random, 16)));
+        }
+        ProductIndex index = ProductIndex.build(new ProductIndex.CatalogFile("v1", 16, Map.of(), products), new IngredientMatcher());
+        LtrRecommender.Ann cream = LtrRecommender.loadAnn(index, new LtrRecommender.HnswSettings(
+                true, dir.resolve("catalog.hnsw"), 16, 100, 1000, 0.9, 256)).get("cream");
+        List<float[]> queries = new ArrayList<>();
+        for (int q = 0; q < 64; q++) {
+            queries.add(randomVector(random, 16));
+        }
+        List<int[]> expected = new ArrayList<>();
+        for (float[] query : queries) {
+            expected.add(searchIds(index, cream, query));
+        }
+
+        // When
+        List<Future<int[]>> futures = new ArrayList<>();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (float[] query : queries) {
+                futures.add(executor.submit(() -> searchIds(index, cream, query)));
+            }
+        }
+
+        // Then
+        for (int q = 0; q < queries.size(); q++) {
+            assertThat(futures.get(q).get()).containsExactly(expected.get(q));
+        }
+    }
+
+    private static int[] searchIds(ProductIndex index, LtrRecommender.Ann ann, float[] query) {
+        int[] ids = new int[10];
+        float[] scores = new float[10];
+        int n = ann.graph().search(index.category("cream"), query, 10, ann.ef(), ids, scores);
+        return Arrays.copyOf(ids, n);
+    }
+
+    @Test
+    @DisplayName("TC-R01-E01: (예외) 카탈로그에 없는 쿼리 문장이면 empty → FastAPI 추천으로 넘김")
+    void recommend_UnknownQuery_ReturnsEmpty() {
+        // Given
+        FastApiResponseDto.FastApiFusionDto fusion = new FastApiResponseDto.FastApiFusionDto(
+                "알수없음", "DSPW", new FastApiResponseDto.FastApiIndicesDto(0.5, 3.2, 1.5, 0.4, 1.0), null);
+
+        // When & Then
+        assertThat(engine.recommend(fusion, 3)).isEmpty();
+    }
+
+    private static float[] randomVector(Random random, int dim) {
+        float[] v = new float[dim];
+        for (int i = 0; i < dim; i++) {
+            v[i] = (float) random.nextGaussian();
+        }
+        return v;
+    }
+}
@@ -0,0 +1,64 @@
+package com.vegin.module.users.service;
+
+import com.vegin.external.dto.FastApiResponseDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ProfileSummary 갱신 테스트")
+class ProfileSummaryTest {
+
+    private static final OffsetDateTime BASE = OffsetDateTime.parse("2025-01-01T00:00:00+09:00");
+
+    private static ProfileSummary.AnalysisDigest digest(long id, int minutes, boolean analyzed) {
+        return new ProfileSummary.AnalysisDigest(
+                id, "analysis/1/" + id + ".jpg", BASE.plusMinutes(minutes), analyzed,
+                analyzed ? "DSPW" : null, analyzed ? "건성" : null, null, List.of());
+    }
+
+    private static ProfileSummary summary(List<ProfileSummary.AnalysisDigest> history,
+                                          List<ProfileSummary.RecommendationRow> rows) {
+        return new ProfileSummary(null, null, List.of(), history, rows);
+    }
+
+    @Test
+    @DisplayName("TC-P01-N01: (정상) 새 분석은 맨 앞에 추가되고 limit 를 넘는 오래된 기록은 잘림")
+    void withAnalysis_NewAnalysis_PrependsAndTrims() {
+        // Given
+        ProfileSummary current = summary(List.of(digest(2, 2, true), digest(1, 1, true)), List.of());
+        ProfileSummary.RecommendationRow row = new ProfileSummary.RecommendationRow(7L, 3L, "[]", BASE);
+
+        // When
+        ProfileSummary next = current.withAnalysis(digest(3, 3, false), List.of(row), 2);
+
+        // Then
+        assertThat(next.history()).extracting(ProfileSummary.AnalysisDigest::analysisId).containsExactly(3L, 2L);
+        assertThat(next.recommendationItems()).containsExactly(row);
+    }
+
+    @Test
+    @DisplayName("TC-P01-N02: (정상) PENDING 으로 들어간 분석이 DONE 되면 같은 자리에서 교체")
+    void withAnalysis_SameAnalysis_ReplacesInPlace() {
+        // Given
+        ProfileSummary.RecommendationRow row = new ProfileSummary.RecommendationRow(7L, 2L, "[]", BASE);
+        ProfileSummary current = summary(List.of(digest(2, 2, false), digest(1, 1, true)), List.of(row));
+
+        FastApiResponseDto.FastApiProductDto product = new FastApiResponseDto.FastApiProductDto(
+                "A1", "크림", "브랜드", List.of(), 15000, 4.5, 10, "cream", null, null, null, List.of("보습"));
+        ProfileSummary.AnalysisDigest done = new ProfileSummary.AnalysisDigest(
+                2L, "analysis/1/2.jpg", BASE.plusMinutes(2), true, "DSPW", "건성", null, List.of(product));
+
+        // When
+        ProfileSummary next = current.withAnalysis(done, List.of(), 10);
+
+        // Then
+        assertThat(next.history()).hasSize(2);
+        assertThat(next.latest().analyzed()).isTrue();
+        assertThat(next.latest().recommendations()).containsExactly(product);
+        assertThat(next.recommendationItems()).containsExactly(row);
+    }
+}
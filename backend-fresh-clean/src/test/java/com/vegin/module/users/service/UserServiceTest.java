@@ -1,7 +1,10 @@
 package com.vegin.module.users.service;
 
 import com.vegin.auth.JwtTokenProvider;
+import com.vegin.auth.TokenRevocationService;
+import com.vegin.auth.VerifiedToken;
 import com.vegin.dto.request.LoginRequest;
+import com.vegin.dto.request.PasswordChangeRequest;
 import com.vegin.dto.request.SignupRequest;
 import com.vegin.dto.response.LoginResponse;
 import com.vegin.module.users.Entity.User;
@@ -16,6 +19,7 @@ import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.lang.reflect.Field;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.Optional;
@@ -39,6 +43,9 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
     @InjectMocks
     private UserService userService;
 
@@ -206,4 +213,81 @@ class UserServiceTest {
         // 검증: 비밀번호 암호화도 호출되지 않음
         verify(passwordEncoder, never()).encode(anyString());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("TC-A05-N01: (정상) 로그아웃 시 검증된 토큰을 폐기 목록에 등록")
+    void logout_ValidToken_Revokes() {
+        // Given
+        VerifiedToken verified = new VerifiedToken(
+                1L, "test@vegin.com", "jti-1", Instant.now(), Instant.now().plusSeconds(3600));
+        when(jwtTokenProvider.verify("mock.jwt.token")).thenReturn(Optional.of(verified));
+
+        // When
+        userService.logout("mock.jwt.token");
+
+        // Then
+        verify(tokenRevocationService, times(1)).revoke(verified);
+    }
+
+    @Test
+    @DisplayName("TC-A05-E01: (예외) 잘못된 토큰으로 로그아웃해도 예외 없이 폐기하지 않음")
+    void logout_InvalidToken_NoRevoke() {
+        // Given
+        when(jwtTokenProvider.verify("broken")).thenReturn(Optional.empty());
+
+        // When
+        userService.logout("broken");
+        userService.logout(null);
+
+        // Then
+        verify(tokenRevocationService, never()).revoke(any());
+    }
+
+    @Test
+    @DisplayName("TC-A06-N01: (정상) 비밀번호 변경 시 새 비밀번호 저장 + 사용자 토큰 전부 폐기")
+    void changePassword_ValidCurrent_RevokesAllTokens() {
+        // Given
+        User user = User.builder()
+                .id(1L)
+                .email("test@vegin.com")
+                .password("$2a$10$oldHash")
+                .gender(User.Gender.M)
+                .createdAt(OffsetDateTime.now())
+                .updatedAt(OffsetDateTime.now())
+                .build();
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("password123", "$2a$10$oldHash")).thenReturn(true);
+        when(passwordEncoder.encode("newPassword456")).thenReturn("$2a$10$newHash");
+
+        // When
+        userService.changePassword(1L, new PasswordChangeRequest("password123", "newPassword456"));
+
+        // Then
+        assertThat(user.getPassword()).isEqualTo("$2a$10$newHash");
+        verify(userRepository, times(1)).save(user);
+        verify(tokenRevocationService, times(1)).revokeUser(1L);
+    }
+
+    @Test
+    @DisplayName("TC-A06-E01: (예외) 현재 비밀번호가 틀리면 변경 / 토큰 폐기 없이 실패")
+    void changePassword_WrongCurrent_ThrowsBadCredentials() {
+        // Given
+        User user = User.builder()
+                .id(1L)
+                .email("test@vegin.com")
+                .password("$2a$10$oldHash")
+                .gender(User.Gender.M)
+                .createdAt(OffsetDateTime.now())
+                .updatedAt(OffsetDateTime.now())
+                .build();
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("wrong", "$2a$10$oldHash")).thenReturn(false);
+
+        // When & Then
+        assertThatThrownBy(() -> userService.changePassword(1L, new PasswordChangeRequest("wrong", "newPassword456")))
+                .isInstanceOf(BadCredentialsException.class);
+        assertThat(user.getPassword()).isEqualTo("$2a$10$oldHash");
+        verify(userRepository, never()).save(any(User.class));
+        verify(tokenRevocationService, never()).revokeUser(any());
+    }
+}